@@ -0,0 +1,235 @@
+package de.ativelox.rummyz;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares the results of a run of the benchmarks with the baseline saved in
+ * <tt>bench/baseline.csv</tt>, both being written by JMH with
+ * <tt>-rf csv</tt>. A benchmark counts as faster or slower only if its scores
+ * differ by more than their errors summed up, everything else is noise.
+ * Benchmarks missing in either file get listed without a verdict.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+public final class BaselineComparison {
+
+    /**
+     * The result of a single benchmark.
+     */
+    private static final class Result {
+
+	/**
+	 * The mode of the benchmark, as written by JMH.
+	 */
+	private final String mMode;
+
+	/**
+	 * The score of the benchmark.
+	 */
+	private final double mScore;
+
+	/**
+	 * The error of the score, <tt>0</tt> if there were too few samples.
+	 */
+	private final double mError;
+
+	/**
+	 * The unit of the score.
+	 */
+	private final String mUnit;
+
+	/**
+	 * Creates a new {@link Result}.
+	 * 
+	 * @param mode  The mode of the benchmark, as written by JMH.
+	 * @param score The score of the benchmark.
+	 * @param error The error of the score, <tt>NaN</tt> if there were too few
+	 *              samples.
+	 * @param unit  The unit of the score.
+	 */
+	private Result(final String mode, final double score, final double error, final String unit) {
+	    mMode = mode;
+	    mScore = score;
+	    mError = Double.isNaN(error) ? 0 : error;
+	    mUnit = unit;
+
+	}
+    }
+
+    /**
+     * The column holding the name of the benchmark.
+     */
+    private static final int BENCHMARK = 0;
+
+    /**
+     * The column holding the mode of the benchmark.
+     */
+    private static final int MODE = 1;
+
+    /**
+     * The column holding the score of the benchmark.
+     */
+    private static final int SCORE = 4;
+
+    /**
+     * The column holding the error of the score.
+     */
+    private static final int ERROR = 5;
+
+    /**
+     * The column holding the unit of the score.
+     */
+    private static final int UNIT = 6;
+
+    /**
+     * Compares the given score with the given baseline.
+     * 
+     * @param baseline The result of the baseline.
+     * @param current  The result of the current run.
+     * @return <tt>faster</tt>, <tt>slower</tt> or <tt>~</tt> if the difference is
+     *         within the errors, or <tt>?</tt> if the units or modes differ.
+     */
+    private static String compare(final Result baseline, final Result current) {
+	if (!baseline.mMode.equals(current.mMode) || !baseline.mUnit.equals(current.mUnit)) {
+	    return "?";
+
+	}
+
+	if (Math.abs(current.mScore - baseline.mScore) <= baseline.mError + current.mError) {
+	    return "~";
+
+	}
+	// throughput gets better as it rises, every other mode measures time.
+	final boolean higher = current.mScore > baseline.mScore;
+	return higher == baseline.mMode.equals("thrpt") ? "faster" : "slower";
+
+    }
+
+    /**
+     * Reads the results of the given CSV file written by JMH. The name of every
+     * benchmark gets the parameters it has appended, so every combination of
+     * parameters is a benchmark on its own.
+     * 
+     * @param file The path to the file.
+     * @return The results by the name of their benchmark, in the order of the
+     *         file.
+     * @throws IOException If the file could not be read.
+     */
+    private static Map<String, Result> read(final String file) throws IOException {
+	final List<String> lines = Files.readAllLines(Paths.get(file), StandardCharsets.UTF_8);
+	final Map<String, Result> results = new LinkedHashMap<>();
+
+	for (int i = 1; i < lines.size(); i++) {
+	    final List<String> columns = split(lines.get(i));
+
+	    if (columns.size() <= UNIT) {
+		continue;
+
+	    }
+	    String name = columns.get(BENCHMARK);
+
+	    for (int param = UNIT + 1; param < columns.size(); param++) {
+		if (!columns.get(param).isEmpty()) {
+		    name += ":" + columns.get(param);
+
+		}
+	    }
+	    results.put(name, new Result(columns.get(MODE), Double.parseDouble(columns.get(SCORE)),
+		    Double.parseDouble(columns.get(ERROR)), columns.get(UNIT)));
+
+	}
+	return results;
+
+    }
+
+    /**
+     * Splits the given line of a CSV file into its columns, removing the quotes
+     * around them.
+     * 
+     * @param line The line to split.
+     * @return The columns mentioned.
+     */
+    private static List<String> split(final String line) {
+	final List<String> columns = new ArrayList<>();
+	final StringBuilder column = new StringBuilder();
+	boolean quoted = false;
+
+	for (int i = 0; i < line.length(); i++) {
+	    final char c = line.charAt(i);
+
+	    if (c == '"') {
+		quoted = !quoted;
+
+	    } else if (c == ',' && !quoted) {
+		columns.add(column.toString());
+		column.setLength(0);
+
+	    } else {
+		column.append(c);
+
+	    }
+	}
+	columns.add(column.toString());
+
+	return columns;
+
+    }
+
+    /**
+     * Prints the comparison of the results of a run of the benchmarks with the
+     * baseline.
+     * 
+     * @param args The path to the CSV file of the baseline, followed by the path
+     *             to the CSV file of the run.
+     * @throws IOException If a file could not be read.
+     */
+    public static void main(final String[] args) throws IOException {
+	if (args.length != 2) {
+	    System.err.println("Usage: BaselineComparison <baseline.csv> <current.csv>");
+	    return;
+
+	}
+	final Map<String, Result> baseline = read(args[0]);
+	final Map<String, Result> current = read(args[1]);
+
+	System.out.println(String.format("%-80s %14s %14s %9s  %s", "Benchmark", "Baseline", "Current", "Change",
+		"Verdict"));
+
+	for (final Map.Entry<String, Result> entry : current.entrySet()) {
+	    final Result result = entry.getValue();
+	    final Result base = baseline.get(entry.getKey());
+
+	    if (base == null) {
+		System.out.println(String.format("%-80s %14s %14.3f %9s  %s %s", entry.getKey(), "-", result.mScore,
+			"-", "new", result.mUnit));
+		continue;
+
+	    }
+	    final double change = 100 * (result.mScore - base.mScore) / base.mScore;
+
+	    System.out.println(String.format("%-80s %14.3f %14.3f %+8.1f%%  %s %s", entry.getKey(), base.mScore,
+		    result.mScore, change, compare(base, result), result.mUnit));
+
+	}
+
+	for (final String name : baseline.keySet()) {
+	    if (!current.containsKey(name)) {
+		System.out.println(String.format("%-80s %14.3f %14s %9s  %s", name, baseline.get(name).mScore, "-",
+			"-", "missing"));
+
+	    }
+	}
+    }
+
+    private BaselineComparison() {
+
+    }
+}
@@ -0,0 +1,277 @@
+package de.ativelox.rummyz.client.controller;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.ativelox.rummyz.model.Card;
+import de.ativelox.rummyz.model.ICard;
+import de.ativelox.rummyz.model.util.NetworkUtils;
+
+/**
+ * Compares the table driven checks of {@link PackedGameRule} with the checks of
+ * {@link ReferenceGameRule} they replaced, and measures the checks of
+ * {@link GameRule} the client and the bots call. The sequences checked are all
+ * the windows of three to five cards of hands of thirteen cards dealt from a
+ * shuffled deck and sorted the way a player groups them, which is what
+ * {@link GameRule#getAllValid(List)} checks while a player arranges its hand.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameRuleBenchmark {
+
+    /**
+     * The amount of hands dealt.
+     */
+    private static final int HANDS = 64;
+
+    /**
+     * The amount of cards of each hand.
+     */
+    private static final int HAND_SIZE = 13;
+
+    /**
+     * The hands dealt, as lists of cards.
+     */
+    private List<List<ICard>> mHands;
+
+    /**
+     * The windows of every hand dealt, one list of windows per hand.
+     */
+    private List<List<List<ICard>>> mHandSequences;
+
+    /**
+     * The windows of the hands dealt, as lists of cards.
+     */
+    private List<List<ICard>> mSequences;
+
+    /**
+     * The card following every window of {@link GameRuleBenchmark#mSequences} in
+     * its hand, or the first card of the hand for the windows at its end.
+     */
+    private List<ICard> mFollowing;
+
+    /**
+     * The IDs of the cards of every hand dealt, one hand after another.
+     */
+    private int[] mIds;
+
+    /**
+     * The index of the first card of every window in
+     * {@link GameRuleBenchmark#mIds}.
+     */
+    private int[] mFrom;
+
+    /**
+     * The index after the last card of every window in
+     * {@link GameRuleBenchmark#mIds}.
+     */
+    private int[] mTo;
+
+    /**
+     * Deals the hands and cuts them into windows.
+     */
+    @Setup
+    public void setup() {
+	final Random random = new Random(5);
+	final List<int[]> windows = new ArrayList<>();
+
+	mHands = new ArrayList<>();
+	mHandSequences = new ArrayList<>();
+	mSequences = new ArrayList<>();
+	mFollowing = new ArrayList<>();
+	mIds = new int[HANDS * HAND_SIZE];
+
+	for (int hand = 0; hand < HANDS; hand++) {
+	    final List<ICard> deck = new ArrayList<>();
+
+	    for (int type = 0; type < 4; type++) {
+		for (int value = 0; value < 13; value++) {
+		    deck.add(Card.get(type, value));
+
+		}
+	    }
+	    final List<ICard> cards = new ArrayList<>();
+
+	    for (int i = 0; i < HAND_SIZE; i++) {
+		cards.add(deck.remove(random.nextInt(deck.size())));
+
+	    }
+	    // grouped by type for streets every other hand, by value for sames else.
+	    cards.sort(hand % 2 == 0 ? Comparator.comparingInt(NetworkUtils::encodeCardId)
+		    : Comparator.comparing(ICard::getValue));
+
+	    final List<List<ICard>> sequences = new ArrayList<>();
+	    final int offset = hand * HAND_SIZE;
+
+	    for (int i = 0; i < HAND_SIZE; i++) {
+		mIds[offset + i] = NetworkUtils.encodeCardId(cards.get(i));
+
+	    }
+
+	    for (int size = 3; size <= 5; size++) {
+		for (int from = 0; from + size <= HAND_SIZE; from++) {
+		    sequences.add(cards.subList(from, from + size));
+		    mFollowing.add(cards.get((from + size) % HAND_SIZE));
+		    windows.add(new int[] { offset + from, offset + from + size });
+
+		}
+	    }
+	    mHands.add(cards);
+	    mHandSequences.add(sequences);
+	    mSequences.addAll(sequences);
+
+	}
+	mFrom = new int[windows.size()];
+	mTo = new int[windows.size()];
+
+	for (int i = 0; i < windows.size(); i++) {
+	    mFrom[i] = windows.get(i)[0];
+	    mTo[i] = windows.get(i)[1];
+
+	}
+    }
+
+    /**
+     * Finds the valid <i>plays</i> of every hand, the way the client does while a
+     * player arranges its hand.
+     * 
+     * @return The amount of plays found.
+     */
+    @Benchmark
+    public int allValid() {
+	int sum = 0;
+
+	for (final List<ICard> hand : mHands) {
+	    sum += GameRule.getAllValid(hand).size();
+
+	}
+	return sum;
+
+    }
+
+    /**
+     * Appends the card following every window to its end, the way a player
+     * appends a card to a <i>play</i> on the board.
+     * 
+     * @return The points of all the appends summed up.
+     */
+    @Benchmark
+    public int appendPoints() {
+	int sum = 0;
+
+	for (int i = 0; i < mSequences.size(); i++) {
+	    final List<ICard> sequence = mSequences.get(i);
+	    sum += GameRule.getAppendPoints(sequence, mFollowing.get(i), sequence.size());
+
+	}
+	return sum;
+
+    }
+
+    /**
+     * Counts the points of the windows of every hand taken together, the way an
+     * initial play gets checked.
+     * 
+     * @return The points of all the hands summed up.
+     */
+    @Benchmark
+    public int instantPoints() {
+	int sum = 0;
+
+	for (final List<List<ICard>> sequences : mHandSequences) {
+	    sum += GameRule.getInstantPoints(sequences);
+
+	}
+	return sum;
+
+    }
+
+    /**
+     * Checks every window as a <i>same</i> with the packed rules.
+     * 
+     * @return The points of all the windows summed up.
+     */
+    @Benchmark
+    public int packedSame() {
+	int sum = 0;
+
+	for (int i = 0; i < mFrom.length; i++) {
+	    sum += PackedGameRule.getPointsAsSame(mIds, mFrom[i], mTo[i]);
+
+	}
+	return sum;
+
+    }
+
+    /**
+     * Checks every window as a <i>street</i> with the packed rules.
+     * 
+     * @return The points of all the windows summed up.
+     */
+    @Benchmark
+    public int packedStreet() {
+	int sum = 0;
+
+	for (int i = 0; i < mFrom.length; i++) {
+	    sum += PackedGameRule.getPointsAsStreet(mIds, mFrom[i], mTo[i]);
+
+	}
+	return sum;
+
+    }
+
+    /**
+     * Checks every window as a <i>same</i> with the reference rules.
+     * 
+     * @return The points of all the windows summed up.
+     */
+    @Benchmark
+    public int referenceSame() {
+	int sum = 0;
+
+	for (final List<ICard> sequence : mSequences) {
+	    sum += ReferenceGameRule.getPointsAsSame(sequence);
+
+	}
+	return sum;
+
+    }
+
+    /**
+     * Checks every window as a <i>street</i> with the reference rules.
+     * 
+     * @return The points of all the windows summed up.
+     */
+    @Benchmark
+    public int referenceStreet() {
+	int sum = 0;
+
+	for (final List<ICard> sequence : mSequences) {
+	    sum += ReferenceGameRule.getPointsAsStreet(sequence);
+
+	}
+	return sum;
+
+    }
+}
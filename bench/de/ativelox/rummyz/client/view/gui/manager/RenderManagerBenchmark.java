@@ -0,0 +1,170 @@
+package de.ativelox.rummyz.client.view.gui.manager;
+
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.ativelox.rummyz.client.view.gui.items.GuiCard;
+import de.ativelox.rummyz.model.Card;
+import de.ativelox.rummyz.model.Deck;
+import de.ativelox.rummyz.model.assets.Assets;
+
+/**
+ * Measures {@link RenderManager#render(Graphics)} drawing a table the way the
+ * client shows it mid game, a hand of thirteen cards, four <i>plays</i> on the
+ * board and the top of the grave yard, onto an offscreen image the size of the
+ * window. The hand gets dealt from a deck shuffled with a fixed seed. The
+ * images get loaded from the <tt>res</tt> folder, so this has to run from the
+ * root of the project.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class RenderManagerBenchmark {
+
+    /**
+     * The width of the window of the client.
+     */
+    private static final int WIDTH = 1280;
+
+    /**
+     * The height of the window of the client.
+     */
+    private static final int HEIGHT = 720;
+
+    /**
+     * The amount of cards of the hand.
+     */
+    private static final int HAND_SIZE = 13;
+
+    /**
+     * The manager holding the table.
+     */
+    private RenderManager mRenderManager;
+
+    /**
+     * The cards of the hand.
+     */
+    private List<GuiCard> mHand;
+
+    /**
+     * The image drawn onto.
+     */
+    private BufferedImage mImage;
+
+    /**
+     * The graphics of {@link RenderManagerBenchmark#mImage}.
+     */
+    private Graphics mGraphics;
+
+    /**
+     * The index of the card of the hand hovered next.
+     */
+    private int mHovered;
+
+    /**
+     * Loads the images and lays the table out.
+     */
+    @Setup
+    public void setup() {
+	Assets.init();
+
+	final Deck deck = new Deck(new Random(1));
+	deck.generate();
+
+	mRenderManager = new RenderManager();
+	mHand = new ArrayList<>();
+
+	for (int i = 0; i < HAND_SIZE; i++) {
+	    final GuiCard card = new GuiCard(deck.draw());
+	    card.setX(70 + i * (WIDTH - 140 - GuiCard.WIDTH) / (HAND_SIZE - 1));
+	    card.setY(HEIGHT - 50 - GuiCard.HEIGHT);
+
+	    mHand.add(card);
+	    mRenderManager.add(card);
+
+	}
+
+	for (int play = 0; play < 4; play++) {
+	    for (int value = play; value < play + 3 + play % 2; value++) {
+		final GuiCard card = new GuiCard(Card.get(play, value));
+		card.setX(70 + play * (WIDTH - 140) / 4 + (value - play) * GuiCard.WIDTH / 3);
+		card.setY(50);
+
+		mRenderManager.add(card);
+
+	    }
+	}
+	final GuiCard graveyard = new GuiCard(deck.draw());
+	graveyard.setX(WIDTH - 70 - GuiCard.WIDTH);
+	graveyard.setY((HEIGHT - GuiCard.HEIGHT) / 2);
+
+	mRenderManager.add(graveyard);
+
+	mImage = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+	mGraphics = mImage.createGraphics();
+
+    }
+
+    /**
+     * Releases the graphics of the image.
+     */
+    @TearDown
+    public void tearDown() {
+	mGraphics.dispose();
+
+    }
+
+    /**
+     * Draws the table.
+     * 
+     * @return The image drawn onto, so the drawing does not get eliminated.
+     */
+    @Benchmark
+    public BufferedImage render() {
+	mRenderManager.render(mGraphics);
+
+	return mImage;
+
+    }
+
+    /**
+     * Hovers the next card of the hand and draws the table, the way the client
+     * draws while the mouse moves over the hand, which changes the layer of two
+     * cards each time.
+     * 
+     * @return The image drawn onto, so the drawing does not get eliminated.
+     */
+    @Benchmark
+    public BufferedImage renderHovered() {
+	mHand.get(mHovered).onHoverLoss();
+	mHovered = (mHovered + 1) % HAND_SIZE;
+	mHand.get(mHovered).onHoverStart();
+
+	mRenderManager.render(mGraphics);
+
+	return mImage;
+
+    }
+}
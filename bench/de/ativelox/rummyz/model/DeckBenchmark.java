@@ -0,0 +1,81 @@
+package de.ativelox.rummyz.model;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link Deck#generate()}, done once at the start of every game, and
+ * {@link Deck#shuffle()}, done again every time the grave yard gets shuffled
+ * into the deck. The decks get shuffled with a fixed seed, so every run shuffles
+ * the same way.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeckBenchmark {
+
+    /**
+     * The source of randomness of the decks.
+     */
+    private Random mRandom;
+
+    /**
+     * The generated deck to shuffle.
+     */
+    private Deck mDeck;
+
+    /**
+     * Generates the deck to shuffle.
+     */
+    @Setup
+    public void setup() {
+	mRandom = new Random(9);
+	mDeck = new Deck(mRandom);
+	mDeck.generate();
+
+    }
+
+    /**
+     * Generates a new deck.
+     * 
+     * @return The deck, so it does not get eliminated.
+     */
+    @Benchmark
+    public Deck generate() {
+	final Deck deck = new Deck(mRandom);
+	deck.generate();
+
+	return deck;
+
+    }
+
+    /**
+     * Shuffles the full deck.
+     * 
+     * @return The deck, so it does not get eliminated.
+     */
+    @Benchmark
+    public Deck shuffle() {
+	mDeck.shuffle();
+
+	return mDeck;
+
+    }
+}
@@ -0,0 +1,146 @@
+package de.ativelox.rummyz.model.util;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.ativelox.rummyz.model.property.ECardValue;
+import de.ativelox.rummyz.network.protocol.ES2C;
+
+/**
+ * Compares {@link NetworkUtils#ensureEnumConversion(Class, String)} with the
+ * scanning conversion it replaced, for a small and a larger enumeration.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnumConversionBenchmark {
+
+    /**
+     * The ordinals of all the values of {@link ECardValue}.
+     */
+    private String[] mValues;
+
+    /**
+     * The ordinals of all the values of {@link ES2C}.
+     */
+    private String[] mProtocols;
+
+    /**
+     * The index of the ordinal to convert next.
+     */
+    private int mIndex;
+
+    /**
+     * The conversion used before the cache, scanning all the constants.
+     * 
+     * @param c         The class of the enumeration to convert the given string to.
+     * @param toConvert The string to convert.
+     * @return An enumeration of <tt>c</tt> represented by <tt>toConvert</tt>.
+     */
+    private static <C extends Enum<C>> C scan(final Class<C> c, final String toConvert) {
+	for (final C enumField : c.getEnumConstants()) {
+	    if (toConvert.equals(enumField.ordinal() + "")) {
+		return enumField;
+
+	    }
+	}
+	throw new IllegalArgumentException("Could not convert " + toConvert + " to an enum from class " + c);
+
+    }
+
+    /**
+     * Sets up the ordinals to convert.
+     */
+    @Setup
+    public void setup() {
+	mValues = new String[ECardValue.values().length];
+
+	for (int i = 0; i < mValues.length; i++) {
+	    mValues[i] = i + "";
+
+	}
+	mProtocols = new String[ES2C.values().length];
+
+	for (int i = 0; i < mProtocols.length; i++) {
+	    mProtocols[i] = i + "";
+
+	}
+    }
+
+    /**
+     * Gets the index of the next ordinal to convert.
+     * 
+     * @param length The amount of ordinals.
+     * @return The index mentioned.
+     */
+    private int next(final int length) {
+	mIndex++;
+
+	if (mIndex >= length) {
+	    mIndex = 0;
+
+	}
+	return mIndex;
+
+    }
+
+    /**
+     * Converts a card value using the cache.
+     * 
+     * @return The converted value.
+     */
+    @Benchmark
+    public ECardValue cachedValue() {
+	return NetworkUtils.ensureEnumConversion(ECardValue.class, mValues[this.next(mValues.length)]);
+
+    }
+
+    /**
+     * Converts a protocol using the cache.
+     * 
+     * @return The converted protocol.
+     */
+    @Benchmark
+    public ES2C cachedProtocol() {
+	return NetworkUtils.ensureEnumConversion(ES2C.class, mProtocols[this.next(mProtocols.length)]);
+
+    }
+
+    /**
+     * Converts a card value by scanning.
+     * 
+     * @return The converted value.
+     */
+    @Benchmark
+    public ECardValue scanValue() {
+	return scan(ECardValue.class, mValues[this.next(mValues.length)]);
+
+    }
+
+    /**
+     * Converts a protocol by scanning.
+     * 
+     * @return The converted protocol.
+     */
+    @Benchmark
+    public ES2C scanProtocol() {
+	return scan(ES2C.class, mProtocols[this.next(mProtocols.length)]);
+
+    }
+}
@@ -0,0 +1,172 @@
+package de.ativelox.rummyz.model.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.ativelox.rummyz.model.Card;
+import de.ativelox.rummyz.model.Deck;
+import de.ativelox.rummyz.model.ICard;
+import de.ativelox.rummyz.network.codec.MessageCursor;
+
+/**
+ * Measures the encodings of {@link NetworkUtils} for the arguments dominating a
+ * game, a hand of ten cards as dealt at the start of a game and an update of
+ * four <i>plays</i> along with their IDs. The cards get dealt from a deck
+ * shuffled with a fixed seed, so every run encodes the same cards.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NetworkUtilsBenchmark {
+
+    /**
+     * The amount of cards of the hand.
+     */
+    private static final int HAND_SIZE = 10;
+
+    /**
+     * The hand of cards.
+     */
+    private List<ICard> mHand;
+
+    /**
+     * The <i>plays</i> of the update.
+     */
+    private List<List<ICard>> mPlayed;
+
+    /**
+     * The IDs of the <i>plays</i> of the update.
+     */
+    private String[] mIds;
+
+    /**
+     * The encoding of {@link NetworkUtilsBenchmark#mHand}.
+     */
+    private String[] mHandArgs;
+
+    /**
+     * The encoding of {@link NetworkUtilsBenchmark#mPlayed} along with
+     * {@link NetworkUtilsBenchmark#mIds}.
+     */
+    private String[] mPlayedArgs;
+
+    /**
+     * Deals the cards and encodes them.
+     */
+    @Setup
+    public void setup() {
+	final Deck deck = new Deck(new Random(3));
+	deck.generate();
+
+	mHand = new ArrayList<>();
+
+	for (int i = 0; i < HAND_SIZE; i++) {
+	    mHand.add(deck.draw());
+
+	}
+
+	mPlayed = new ArrayList<>();
+	mIds = new String[] { "0", "1", "0", "1" };
+
+	for (int i = 0; i < mIds.length; i++) {
+	    final List<ICard> play = new ArrayList<>();
+
+	    for (int value = i; value < i + 3 + i % 2; value++) {
+		play.add(Card.get(i, value));
+
+	    }
+	    mPlayed.add(play);
+
+	}
+	mHandArgs = NetworkUtils.encodeCards(mHand);
+	mPlayedArgs = NetworkUtils.encodeCardsPlayed(mPlayed, mIds);
+
+    }
+
+    /**
+     * Decodes the hand of cards.
+     * 
+     * @return The decoded cards, so they do not get eliminated.
+     */
+    @Benchmark
+    public Object decodeHand() {
+	return NetworkUtils.decodeCards(mHandArgs);
+
+    }
+
+    /**
+     * Reads the hand of cards through a {@link MessageCursor}, the way the
+     * controllers read the arguments of a message.
+     * 
+     * @return The decoded cards, so they do not get eliminated.
+     */
+    @Benchmark
+    public Object decodeHandFields() {
+	return NetworkUtils.decodeCards(MessageCursor.wrap(mHandArgs));
+
+    }
+
+    /**
+     * Decodes the update of the <i>plays</i>.
+     * 
+     * @return The decoded <i>plays</i> and IDs, so they do not get eliminated.
+     */
+    @Benchmark
+    public Object decodePlayed() {
+	return NetworkUtils.decodeCardsPlayed(mPlayedArgs);
+
+    }
+
+    /**
+     * Reads the update of the <i>plays</i> through a {@link MessageCursor}, the
+     * way the controllers read the arguments of a message.
+     * 
+     * @return The decoded <i>plays</i> and IDs, so they do not get eliminated.
+     */
+    @Benchmark
+    public Object decodePlayedFields() {
+	return NetworkUtils.decodeCardsPlayed(MessageCursor.wrap(mPlayedArgs));
+
+    }
+
+    /**
+     * Encodes the hand of cards.
+     * 
+     * @return The encoded arguments, so they do not get eliminated.
+     */
+    @Benchmark
+    public String[] encodeHand() {
+	return NetworkUtils.encodeCards(mHand);
+
+    }
+
+    /**
+     * Encodes the update of the <i>plays</i>.
+     * 
+     * @return The encoded arguments, so they do not get eliminated.
+     */
+    @Benchmark
+    public String[] encodePlayed() {
+	return NetworkUtils.encodeCardsPlayed(mPlayed, mIds);
+
+    }
+}
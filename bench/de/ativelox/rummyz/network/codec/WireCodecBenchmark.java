@@ -0,0 +1,144 @@
+package de.ativelox.rummyz.network.codec;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.ativelox.rummyz.model.Card;
+import de.ativelox.rummyz.model.ICard;
+import de.ativelox.rummyz.model.property.ECardType;
+import de.ativelox.rummyz.model.property.ECardValue;
+import de.ativelox.rummyz.model.util.NetworkUtils;
+import de.ativelox.rummyz.network.protocol.ES2C;
+
+/**
+ * Compares the {@link ECodec}s on the messages dominating a game, a hand of
+ * cards and an update of the cards played.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireCodecBenchmark {
+
+    /**
+     * The codec to benchmark.
+     */
+    @Param({ "TEXT", "BINARY" })
+    public ECodec mCodec;
+
+    /**
+     * The arguments of {@link ES2C#SEND_CARDS} holding a hand of 13 cards.
+     */
+    private String[] mHand;
+
+    /**
+     * The arguments of {@link ES2C#CARDS_PLAYED_UPDATE} holding four sequences
+     * along with their IDs.
+     */
+    private String[] mPlayed;
+
+    /**
+     * The encoded frame of {@link WireCodecBenchmark#mHand}.
+     */
+    private ByteBuffer mHandFrame;
+
+    /**
+     * The encoded frame of {@link WireCodecBenchmark#mPlayed}.
+     */
+    private ByteBuffer mPlayedFrame;
+
+    /**
+     * Sets up the arguments and frames used by the benchmarks.
+     */
+    @Setup
+    public void setup() {
+	final ECardType[] types = ECardType.values();
+	final ECardValue[] values = ECardValue.values();
+
+	final List<ICard> hand = new ArrayList<>();
+
+	for (int i = 0; i < 13; i++) {
+	    hand.add(new Card(types[i % 4], values[(i * 5) % 13]));
+
+	}
+
+	final List<List<ICard>> played = new ArrayList<>();
+
+	for (int i = 0; i < 4; i++) {
+	    played.add(Arrays.asList(new Card(types[i], values[i]), new Card(types[i], values[i + 1]),
+		    new Card(types[i], values[i + 2])));
+
+	}
+
+	mHand = NetworkUtils.encodeCards(hand);
+	mPlayed = NetworkUtils.encodeCardsPlayed(played, new String[] { "0", "1", "0", "1" });
+
+	mHandFrame = mCodec.getCodec().encode(ES2C.SEND_CARDS, mHand);
+	mPlayedFrame = mCodec.getCodec().encode(ES2C.CARDS_PLAYED_UPDATE, mPlayed);
+
+    }
+
+    /**
+     * Decodes a hand of cards.
+     * 
+     * @return The decoded arguments, so they do not get eliminated.
+     */
+    @Benchmark
+    public Object decodeHand() {
+	return mCodec.getCodec().decode(ES2C.class, mHandFrame.duplicate());
+
+    }
+
+    /**
+     * Decodes an update of the cards played.
+     * 
+     * @return The decoded arguments, so they do not get eliminated.
+     */
+    @Benchmark
+    public Object decodePlayed() {
+	return mCodec.getCodec().decode(ES2C.class, mPlayedFrame.duplicate());
+
+    }
+
+    /**
+     * Encodes a hand of cards.
+     * 
+     * @return The encoded frame, so it does not get eliminated.
+     */
+    @Benchmark
+    public ByteBuffer encodeHand() {
+	return mCodec.getCodec().encode(ES2C.SEND_CARDS, mHand);
+
+    }
+
+    /**
+     * Encodes an update of the cards played.
+     * 
+     * @return The encoded frame, so it does not get eliminated.
+     */
+    @Benchmark
+    public ByteBuffer encodePlayed() {
+	return mCodec.getCodec().encode(ES2C.CARDS_PLAYED_UPDATE, mPlayed);
+
+    }
+}
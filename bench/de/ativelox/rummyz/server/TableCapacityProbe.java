@@ -0,0 +1,299 @@
+package de.ativelox.rummyz.server;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import de.ativelox.rummyz.model.ICard;
+import de.ativelox.rummyz.model.INetworkController;
+import de.ativelox.rummyz.model.property.EIO;
+import de.ativelox.rummyz.model.util.NetworkUtils;
+import de.ativelox.rummyz.network.codec.SharedFrame;
+import de.ativelox.rummyz.network.protocol.EC2S;
+import de.ativelox.rummyz.network.protocol.ES2C;
+import de.ativelox.rummyz.server.controller.IGameControllerReceiver;
+
+/**
+ * Measures the memory needed per table of a {@link TableRegistry} and the
+ * amount of games a single core can host per second. Every game gets played by
+ * scripted players, which draw a card and discard it right away each turn, so
+ * this measures the overhead of the server alone, without any sockets.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+public final class TableCapacityProbe {
+
+    /**
+     * A scripted player, which keeps track of its hand and whether it is its turn.
+     */
+    private static final class ScriptedPlayer implements INetworkController<ES2C, EC2S> {
+
+	/**
+	 * The cards currently held.
+	 */
+	private final List<ICard> mHand = new ArrayList<>();
+
+	/**
+	 * Whether it is this players turn.
+	 */
+	private boolean mOnTurn;
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * de.ativelox.rummyz.model.INetworkController#ignore(de.ativelox.rummyz.model.
+	 * property.EIO)
+	 */
+	@Override
+	public void ignore(final EIO ioType) {
+
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.lang.Runnable#run()
+	 */
+	@Override
+	public void run() {
+
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.ativelox.rummyz.model.INetworkController#send(java.lang.Object)
+	 */
+	@Override
+	public void send(final ES2C protocol) {
+	    this.send(protocol, null);
+
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * de.ativelox.rummyz.model.INetworkController#send(de.ativelox.rummyz.network.
+	 * codec.SharedFrame)
+	 */
+	@Override
+	public void send(final SharedFrame<ES2C> frame) {
+	    this.send(frame.getProtocol(), frame.getAdditional());
+
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.ativelox.rummyz.model.INetworkController#send(java.lang.Object,
+	 * java.lang.String[])
+	 */
+	@Override
+	public void send(final ES2C protocol, final String[] additional) {
+	    switch (protocol) {
+	    case SEND_CARDS:
+		mHand.addAll(NetworkUtils.decodeCards(additional));
+		break;
+
+	    case TURN_START:
+		mOnTurn = true;
+		break;
+
+	    case BLOCK:
+		mOnTurn = false;
+		break;
+
+	    default:
+		break;
+
+	    }
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.ativelox.rummyz.model.INetworkController#serve(java.lang.Object,
+	 * java.lang.String[])
+	 */
+	@Override
+	public void serve(final EC2S protocol, final String[] additional) {
+
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.ativelox.rummyz.model.INetworkController#stop()
+	 */
+	@Override
+	public void stop() {
+
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * de.ativelox.rummyz.model.INetworkController#unignore(de.ativelox.rummyz.model
+	 * .property.EIO)
+	 */
+	@Override
+	public void unignore(final EIO ioType) {
+
+	}
+    }
+
+    /**
+     * The amount of players seated at each table.
+     */
+    private static final int PLAYERS = 2;
+
+    /**
+     * The amount of turns played in each game.
+     */
+    private static final int TURNS = 60;
+
+    /**
+     * The amount of tables used to measure the memory per table.
+     */
+    private static final int TABLES = 10_000;
+
+    /**
+     * The amount of games played to measure the games per second.
+     */
+    private static final int GAMES = 50_000;
+
+    /**
+     * Runs the probe and prints its results.
+     * 
+     * @param args The command-line arguments. Unused.
+     */
+    public static void main(final String[] args) {
+	// warm up, so the measured games run compiled.
+	playGames(GAMES / 5);
+
+	final long start = System.nanoTime();
+	playGames(GAMES);
+	final double seconds = (System.nanoTime() - start) / 1e9;
+
+	System.out.printf("games per second on one core: %.0f (%d turns each)%n", GAMES / seconds, TURNS);
+	System.out.printf("memory per seated and dealt table: %.1f KiB%n", memoryPerTable() / 1024d);
+
+    }
+
+    /**
+     * Measures the heap used by a table with all players seated and their hands
+     * dealt.
+     * 
+     * @return The amount of bytes mentioned.
+     */
+    private static double memoryPerTable() {
+	final TableRegistry registry = new TableRegistry(PLAYERS, TABLES);
+	final long before = usedHeap();
+
+	for (int i = 0; i < TABLES; i++) {
+	    seatTable(registry, new ArrayList<>());
+
+	}
+	final long after = usedHeap();
+
+	if (registry.getTableAmount() != TABLES) {
+	    throw new IllegalStateException("Expected " + TABLES + " tables, got " + registry.getTableAmount());
+
+	}
+	return (after - before) / (double) TABLES;
+
+    }
+
+    /**
+     * Plays the given amount of games one after another on the current Thread.
+     * 
+     * @param games The amount of games to play.
+     */
+    private static void playGames(final int games) {
+	final TableRegistry registry = new TableRegistry(PLAYERS, 1);
+
+	for (int i = 0; i < games; i++) {
+	    final List<ScriptedPlayer> players = new ArrayList<>();
+	    final IGameControllerReceiver gc = seatTable(registry, players);
+
+	    for (int turn = 0; turn < TURNS; turn++) {
+		for (int j = 0; j < PLAYERS; j++) {
+		    final ScriptedPlayer player = players.get(j);
+
+		    if (player.mOnTurn) {
+			gc.onCardDiscard(j + 1, player.mHand.remove(player.mHand.size() - 1));
+			gc.onTurnEnd(j + 1);
+			break;
+
+		    }
+		}
+	    }
+	    gc.onVictory(1);
+
+	}
+    }
+
+    /**
+     * Seats scripted players at the given registry until their table is full, and
+     * marks all of them as ready, so their hands get dealt.
+     * 
+     * @param registry The registry to seat the players at.
+     * @param players  The list to add the seated players to.
+     * @return The game the players got seated at.
+     */
+    private static IGameControllerReceiver seatTable(final TableRegistry registry,
+	    final List<ScriptedPlayer> players) {
+	final List<IGameControllerReceiver> game = new ArrayList<>(1);
+
+	for (int i = 0; i < PLAYERS; i++) {
+	    final ScriptedPlayer player = new ScriptedPlayer();
+
+	    try {
+		registry.seat((gc, playerId) -> {
+		    game.add(gc);
+		    return player;
+
+		});
+
+	    } catch (IOException e) {
+		throw new UncheckedIOException(e);
+
+	    }
+	    players.add(player);
+
+	}
+	final IGameControllerReceiver gc = game.get(0);
+
+	for (int i = 1; i <= PLAYERS; i++) {
+	    gc.onReady(i);
+
+	}
+	return gc;
+
+    }
+
+    /**
+     * Gets the currently used heap, after collecting garbage.
+     * 
+     * @return The amount of bytes mentioned.
+     */
+    private static long usedHeap() {
+	final Runtime runtime = Runtime.getRuntime();
+
+	for (int i = 0; i < 3; i++) {
+	    System.gc();
+
+	}
+	return runtime.totalMemory() - runtime.freeMemory();
+
+    }
+
+    private TableCapacityProbe() {
+
+    }
+}
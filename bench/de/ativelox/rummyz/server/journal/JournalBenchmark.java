@@ -0,0 +1,130 @@
+package de.ativelox.rummyz.server.journal;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.ativelox.rummyz.model.Deck;
+import de.ativelox.rummyz.model.ICard;
+import de.ativelox.rummyz.model.util.NetworkUtils;
+import de.ativelox.rummyz.network.protocol.EC2S;
+import de.ativelox.rummyz.network.protocol.ES2C;
+
+/**
+ * Measures {@link Journal#append(int, int, EC2S, String[])} and
+ * {@link Journal#append(int, int, ES2C, String[])}, done by the games for every
+ * move they accept and every event they send, so they add to the latency of
+ * every turn. The records get committed in the background, as they do on the
+ * server.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JournalBenchmark {
+
+    /**
+     * The directory of the journal.
+     */
+    private Path mDirectory;
+
+    /**
+     * The journal appended to.
+     */
+    private Journal mJournal;
+
+    /**
+     * A single card discarded, taking a single slot.
+     */
+    private String[] mCard;
+
+    /**
+     * A full hand dealt, spanning several slots.
+     */
+    private String[] mHand;
+
+    /**
+     * Opens the journal and encodes the records to append.
+     * 
+     * @throws IOException If an I/O exception occurs when opening the journal.
+     */
+    @Setup
+    public void setup() throws IOException {
+	mDirectory = Files.createTempDirectory("journal");
+	mJournal = new Journal(mDirectory);
+
+	final Deck deck = new Deck(new Random(9));
+	deck.generate();
+	final List<ICard> hand = new ArrayList<>();
+
+	for (int i = 0; i < 13; i++) {
+	    hand.add(deck.draw());
+
+	}
+	mCard = NetworkUtils.encodeCard(hand.get(0));
+	mHand = NetworkUtils.encodeCards(hand);
+
+    }
+
+    /**
+     * Closes the journal and deletes its segments.
+     * 
+     * @throws IOException If an I/O exception occurs when deleting the segments.
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+	mJournal.close();
+
+	try (final Stream<Path> paths = Files.walk(mDirectory)) {
+	    for (final Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+		Files.delete(path);
+
+	    }
+	}
+    }
+
+    /**
+     * Appends the discard of a single card.
+     * 
+     * @return The sequence number of the record, so it does not get eliminated.
+     */
+    @Benchmark
+    public long appendCommand() {
+	return mJournal.append(1, 1, EC2S.CARD_DISCARD, mCard);
+
+    }
+
+    /**
+     * Appends the cards dealt to a player.
+     * 
+     * @return The sequence number of the record, so it does not get eliminated.
+     */
+    @Benchmark
+    public long appendEvent() {
+	return mJournal.append(1, 1 << 1, ES2C.SEND_CARDS, mHand);
+
+    }
+}
@@ -4,6 +4,7 @@ import java.io.IOException;
 import java.net.InetAddress;
 import java.net.Socket;
 import java.net.UnknownHostException;
+import java.util.concurrent.ExecutorService;
 
 import de.ativelox.rummyz.client.controller.ClientNetworkController;
 import de.ativelox.rummyz.client.controller.IPlayerController;
@@ -11,8 +12,13 @@ import de.ativelox.rummyz.client.controller.PlayerController;
 import de.ativelox.rummyz.model.INetworkController;
 import de.ativelox.rummyz.model.IPlayer;
 import de.ativelox.rummyz.model.Player;
+import de.ativelox.rummyz.model.SessionToken;
 import de.ativelox.rummyz.network.protocol.EC2S;
 import de.ativelox.rummyz.network.protocol.ES2C;
+import de.ativelox.rummyz.network.transport.EBackpressure;
+import de.ativelox.rummyz.network.transport.EConnectionThreads;
+import de.ativelox.rummyz.network.transport.StreamTransport;
+import de.ativelox.rummyz.network.transport.TransportStats;
 
 /**
  * The Client functions as the top-class for the Client, also having the
@@ -53,15 +59,52 @@ public final class Client {
      * The network controller, used by the {@link IPlayerController} to send/receive
      * data to/from the server.
      */
-    private INetworkController<EC2S, ES2C> mNetworkController;
+    private ClientNetworkController mNetworkController;
 
     /**
-     * Creates a new {@link Client}.
+     * The kind of Threads serving the connection.
+     */
+    private final EConnectionThreads mConnectionThreads;
+
+    /**
+     * The executor running the Threads serving the connection.
+     */
+    private ExecutorService mExecutor;
+
+    /**
+     * Creates a new {@link Client}, whose connection gets served by platform
+     * Threads.
      * 
      * @param player The player this client handles.
      */
     public Client(final IPlayer player) {
+	this(player, EConnectionThreads.PLATFORM);
+
+    }
+
+    /**
+     * Creates a new {@link Client}.
+     * 
+     * @param player            The player this client handles.
+     * @param connectionThreads The kind of Threads serving the connection.
+     */
+    public Client(final IPlayer player, final EConnectionThreads connectionThreads) {
 	mPc = new PlayerController(player);
+	mConnectionThreads = connectionThreads;
+
+    }
+
+    /**
+     * Creates a new {@link Client}, handled by the given controller rather than
+     * by a {@link PlayerController}, e.g. by a
+     * {@link de.ativelox.rummyz.client.controller.BotController}.
+     * 
+     * @param pc                The controller this client handles.
+     * @param connectionThreads The kind of Threads serving the connection.
+     */
+    public Client(final IPlayerController<EC2S, ES2C> pc, final EConnectionThreads connectionThreads) {
+	mPc = pc;
+	mConnectionThreads = connectionThreads;
 
     }
 
@@ -78,11 +121,54 @@ public final class Client {
      */
     public void startConnection(final String host, final int port) throws UnknownHostException, IOException {
 	mServer = new Socket(InetAddress.getByName(host), port);
-	mNetworkController = new ClientNetworkController(mPc, mServer.getInputStream(), mServer.getOutputStream());
-	new Thread(mNetworkController).start();
+	// a reconnect starts new Threads before the ones of the dropped connection end.
+	mExecutor = mConnectionThreads.newExecutor(Integer.MAX_VALUE);
+	this.connect(ClientNetworkController.NO_SESSION, 0);
+
+    }
+
+    /**
+     * Opens a new connection to the server of the current one, resuming the
+     * session of the current one. The server then only sends the events missed
+     * in between. Used once the current connection dropped, which gets closed if
+     * it is still open. If the session is lost, the server closes the new
+     * connection as well, and {@link Client#startConnection(String, int)} has to
+     * be called to join a new game.
+     * 
+     * @throws IOException If an I/O exception occurs when trying to create the
+     *                     socket.
+     */
+    public void reconnect() throws IOException {
+	final ClientNetworkController dropped = mNetworkController;
+	dropped.stop();
+	mServer.close();
+
+	mServer = new Socket(mServer.getInetAddress(), mServer.getPort());
+	this.connect(dropped.getToken(), dropped.getLastSeq());
 
+    }
+
+    /**
+     * Starts serving the current socket with a new network controller.
+     * 
+     * @param resumeToken The token of the session to resume, or
+     *                    {@link ClientNetworkController#NO_SESSION}.
+     * @param lastSeq     The sequence number of the last event received in that
+     *                    session.
+     * @throws IOException If an I/O exception occurs when trying to access the
+     *                     socket.
+     */
+    private void connect(final SessionToken resumeToken, final int lastSeq) throws IOException {
+	mNetworkController = new ClientNetworkController(mPc,
+		new StreamTransport(mServer.getInputStream(), mServer.getOutputStream(),
+			StreamTransport.DEFAULT_QUEUE_CAPACITY, EBackpressure.CLOSE, new TransportStats(), mExecutor),
+		resumeToken, lastSeq);
+	// the controller has to know the new network controller before it reads the
+	// WELCOME, which gets answered right away.
 	mPc.register(mNetworkController);
 
+	mExecutor.execute(mNetworkController);
+
     }
 
     /**
@@ -96,6 +182,7 @@ public final class Client {
     public void terminateConnection() throws IOException {
 	mNetworkController.stop();
 	mServer.close();
+	mExecutor.shutdown();
 
     }
 }
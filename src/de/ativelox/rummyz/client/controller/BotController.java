@@ -0,0 +1,763 @@
+package de.ativelox.rummyz.client.controller;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.ativelox.rummyz.model.CardSet;
+import de.ativelox.rummyz.model.ICard;
+import de.ativelox.rummyz.model.INetworkController;
+import de.ativelox.rummyz.model.TableSnapshot;
+import de.ativelox.rummyz.model.util.ImmutableTriple;
+import de.ativelox.rummyz.model.util.NetworkUtils;
+import de.ativelox.rummyz.network.log.ELogLevel;
+import de.ativelox.rummyz.network.log.ProtocolLog;
+import de.ativelox.rummyz.network.protocol.EC2S;
+import de.ativelox.rummyz.network.protocol.ERejection;
+import de.ativelox.rummyz.network.protocol.ES2C;
+
+/**
+ * Provides an {@link IPlayerController} playing on its own, without any view.
+ * The moves of each turn are decided by an {@link IBotStrategy} as soon as the
+ * turn starts, and checked against the {@link GameRule}s before being sent.
+ * The hand is kept in a {@link CardSet}, the board and the grave yard the same
+ * way {@link PlayerController} keeps them, so a bot holds little more than the
+ * cards it sees, and thousands of bots can play in a single JVM, e.g. to fill
+ * tables or to stress the server. Like {@link PlayerController}, every call has
+ * to be made by the same Thread at a time.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+public final class BotController implements IPlayerController<EC2S, ES2C>, IBotState {
+
+    /**
+     * The strategy deciding the moves of this bot.
+     */
+    private final IBotStrategy mStrategy;
+
+    /**
+     * The cards this bot holds.
+     */
+    private final CardSet mHand;
+
+    /**
+     * A mapping from IDs to sequences of cards currently on the field.
+     */
+    private final Map<Integer, List<ICard>> mOnFieldCards;
+
+    /**
+     * The state of the current grave yard, the last card being on top.
+     */
+    private final List<ICard> mGraveyard;
+
+    /**
+     * The amount of cards below {@link BotController#mGraveyard}, which aren't
+     * known, since a snapshot only holds the card on top of the grave yard.
+     */
+    private int mHiddenGraveyard;
+
+    /**
+     * The current network controller associated with this controller.
+     */
+    private INetworkController<EC2S, ES2C> mNetworkController;
+
+    /**
+     * The id of this bot, as given by the server.
+     */
+    private int mPlayerId;
+
+    /**
+     * Whether the bot has already done its initial play.
+     */
+    private boolean mDidInitial;
+
+    /**
+     * Whether any of the other players has done its initial play.
+     */
+    private boolean mOpponentDidInitial;
+
+    /**
+     * Whether it is the turn of this bot, so the updates received echo its own
+     * moves rather than the ones of the other players.
+     */
+    private boolean mOnTurn;
+
+    /**
+     * Whether the hands got dealt already.
+     */
+    private boolean mDealt;
+
+    /**
+     * The amount of players at the table, as of the last full snapshot.
+     */
+    private int mPlayerAmount;
+
+    /**
+     * The amount of cards the other players hold together.
+     */
+    private int mOpponentCards;
+
+    /**
+     * Whether the bot has taken a card from the grave yard this turn or not.
+     */
+    private boolean mTookCardsThisTurn;
+
+    /**
+     * The amount of appends sent, which got applied to
+     * {@link BotController#mOnFieldCards} already, but not echoed by the server
+     * yet.
+     */
+    private int mPendingAppends;
+
+    /**
+     * The last full snapshot received, <tt>null</tt> if none got received yet.
+     */
+    private TableSnapshot mSnapshot;
+
+    /**
+     * The amount of turns this bot started.
+     */
+    private int mTurns;
+
+    /**
+     * The amount of moves of this bot the server rejected.
+     */
+    private int mRejections;
+
+    /**
+     * Whether the game this bot plays in has ended.
+     */
+    private boolean mFinished;
+
+    /**
+     * Whether this bot won the game it played in.
+     */
+    private boolean mWon;
+
+    /**
+     * Creates a new {@link BotController}.
+     * 
+     * @param strategy The strategy deciding the moves of the bot.
+     */
+    public BotController(final IBotStrategy strategy) {
+	mStrategy = strategy;
+	mHand = new CardSet();
+	mOnFieldCards = new HashMap<>();
+	mGraveyard = new ArrayList<>();
+	mHiddenGraveyard = 0;
+
+	mDidInitial = false;
+	mOpponentDidInitial = false;
+	mOnTurn = false;
+	mDealt = false;
+	mPlayerAmount = 2;
+	mOpponentCards = 0;
+	mTookCardsThisTurn = false;
+	mPendingAppends = 0;
+	mTurns = 0;
+	mRejections = 0;
+	mFinished = false;
+	mWon = false;
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see de.ativelox.rummyz.client.controller.IBotState#didInitial()
+     */
+    @Override
+    public boolean didInitial() {
+	return mDidInitial;
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see de.ativelox.rummyz.client.controller.IBotState#didOpponentInitial()
+     */
+    @Override
+    public boolean didOpponentInitial() {
+	return mOpponentDidInitial;
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see de.ativelox.rummyz.client.controller.IBotState#getGraveyard()
+     */
+    @Override
+    public List<ICard> getGraveyard() {
+	return Collections.unmodifiableList(mGraveyard);
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see de.ativelox.rummyz.client.controller.IBotState#getHand()
+     */
+    @Override
+    public CardSet getHand() {
+	return new CardSet(mHand);
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see de.ativelox.rummyz.client.controller.IBotState#getMelds()
+     */
+    @Override
+    public Map<Integer, List<ICard>> getMelds() {
+	return Collections.unmodifiableMap(mOnFieldCards);
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see de.ativelox.rummyz.client.controller.IBotState#getOpponentHandSize()
+     */
+    @Override
+    public int getOpponentHandSize() {
+	return mOpponentCards;
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see de.ativelox.rummyz.client.controller.IBotState#getPlayerId()
+     */
+    @Override
+    public int getPlayerId() {
+	return mPlayerId;
+
+    }
+
+    /**
+     * Gets the amount of moves of this bot the server rejected. Since every move
+     * gets checked against the {@link GameRule}s before being sent, a rejection
+     * hints at the rules of the client and the server differing.
+     * 
+     * @return The amount mentioned.
+     */
+    public int getRejections() {
+	return mRejections;
+
+    }
+
+    /**
+     * Gets the amount of turns this bot started.
+     * 
+     * @return The amount mentioned.
+     */
+    public int getTurns() {
+	return mTurns;
+
+    }
+
+    /**
+     * Whether this bot won the game it played in.
+     * 
+     * @return <tt>True</tt> if it did, <tt>false</tt> if it lost or the game
+     *         hasn't ended yet.
+     */
+    public boolean hasWon() {
+	return mWon;
+
+    }
+
+    /**
+     * Whether the game this bot plays in has ended.
+     * 
+     * @return <tt>True</tt> if it has, <tt>false</tt> otherwise.
+     */
+    public boolean isFinished() {
+	return mFinished;
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see de.ativelox.rummyz.client.controller.IPlayerControllerReceiver#onBlock()
+     */
+    @Override
+    public void onBlock() {
+	mOnTurn = false;
+
+	// the player on turn now draws a card.
+	mOpponentCards++;
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see de.ativelox.rummyz.client.controller.IPlayerControllerReceiver#
+     * onCardAppendUpdate(de.ativelox.rummyz.model.ICard, int, int)
+     */
+    @Override
+    public void onCardAppendUpdate(final ICard card, final int superIndex, final int insertIndex) {
+	if (mPendingAppends > 0) {
+	    // the echo of an append of this bot, which got applied already.
+	    mPendingAppends--;
+	    return;
+
+	}
+	mOnFieldCards.get(superIndex).add(insertIndex, card);
+
+	if (!mOnTurn) {
+	    mOpponentCards--;
+
+	}
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see de.ativelox.rummyz.client.controller.IPlayerControllerReceiver#
+     * onCardsPlayedUpdate(java.util.List, java.lang.String[])
+     */
+    @Override
+    public void onCardsPlayedUpdate(final List<List<ICard>> cards, final String[] ids) {
+	for (int i = 0; i < cards.size(); i++) {
+	    mOnFieldCards.put(Integer.parseInt(ids[i]), new ArrayList<>(cards.get(i)));
+
+	    if (!mOnTurn) {
+		mOpponentCards -= cards.get(i).size();
+		mOpponentDidInitial = true;
+
+	    }
+	}
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see de.ativelox.rummyz.client.controller.IPlayerControllerReceiver#
+     * onCardsReceived(java.util.List)
+     */
+    @Override
+    public void onCardsReceived(final List<ICard> cards) {
+	if (!mDealt) {
+	    // every player gets dealt as many cards as this bot.
+	    mOpponentCards = cards.size() * (mPlayerAmount - 1);
+	    mDealt = true;
+
+	}
+
+	for (final ICard card : cards) {
+	    mHand.add(card);
+
+	}
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * de.ativelox.rummyz.client.controller.IPlayerControllerReceiver#onDefeat()
+     */
+    @Override
+    public void onDefeat() {
+	mFinished = true;
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see de.ativelox.rummyz.client.controller.IPlayerControllerReceiver#
+     * onGraveyardDecrease(de.ativelox.rummyz.model.ICard)
+     */
+    @Override
+    public void onGraveyardDecrease(final ICard card) {
+	if (mGraveyard.isEmpty()) {
+	    mHiddenGraveyard = Math.max(0, mHiddenGraveyard - 1);
+
+	} else {
+	    mGraveyard.remove(mGraveyard.size() - 1);
+
+	}
+	this.revealGraveyardTop();
+
+	// only the other players get told about a pick up.
+	mOpponentCards++;
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see de.ativelox.rummyz.client.controller.IPlayerControllerReceiver#
+     * onGraveyardEmpty()
+     */
+    @Override
+    public void onGraveyardEmpty() {
+	mGraveyard.clear();
+	mHiddenGraveyard = 0;
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see de.ativelox.rummyz.client.controller.IPlayerControllerReceiver#
+     * onGraveyardUpdate(de.ativelox.rummyz.model.ICard)
+     */
+    @Override
+    public void onGraveyardUpdate(final ICard card) {
+	mGraveyard.add(card);
+
+	if (!mOnTurn) {
+	    mOpponentCards--;
+
+	}
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * de.ativelox.rummyz.client.controller.IPlayerControllerReceiver#onMoveRejected
+     * (de.ativelox.rummyz.network.protocol.EC2S,
+     * de.ativelox.rummyz.network.protocol.ERejection)
+     */
+    @Override
+    public void onMoveRejected(final EC2S move, final ERejection rejection) {
+	ProtocolLog.get().log(ELogLevel.INFO, "bot " + mPlayerId + ": " + move + " rejected: " + rejection.getMessage());
+	mRejections++;
+
+	if (rejection == ERejection.BELOW_THRESHOLD || rejection == ERejection.NO_INITIAL_PLAY) {
+	    mDidInitial = false;
+
+	}
+
+	if (move == EC2S.CARD_APPEND && mPendingAppends > 0) {
+	    mPendingAppends--;
+
+	}
+
+	if (move == EC2S.CARDS_PLAYED || move == EC2S.CARD_APPEND || move == EC2S.CARD_DISCARD) {
+	    this.sendSnapshotRequest();
+
+	}
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * de.ativelox.rummyz.client.controller.IPlayerControllerReceiver#onServerWelcome
+     * (int)
+     */
+    @Override
+    public void onServerWelcome(final int playerId) {
+	mPlayerId = playerId;
+	this.sendReady();
+
+	// learns the amount of players at the table.
+	this.sendSnapshotRequest();
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * de.ativelox.rummyz.client.controller.IPlayerControllerReceiver#onStateSnapshot
+     * (de.ativelox.rummyz.model.TableSnapshot)
+     */
+    @Override
+    public void onStateSnapshot(final TableSnapshot snapshot) {
+	if (snapshot.isDiff()) {
+	    if (mSnapshot == null || mSnapshot.getVersion() != snapshot.getBaseVersion()) {
+		// the base of the diff is unknown, so ask for a full snapshot.
+		mSnapshot = null;
+		this.sendSnapshotRequest();
+		return;
+
+	    }
+	    mSnapshot = mSnapshot.apply(snapshot);
+
+	} else {
+	    mSnapshot = snapshot;
+
+	}
+
+	mHand.clear();
+
+	for (final ICard card : mSnapshot.getHand()) {
+	    mHand.add(card);
+
+	}
+	mGraveyard.clear();
+	mHiddenGraveyard = mSnapshot.getGraveyardSize();
+
+	if (mSnapshot.getGraveyardTop() != null) {
+	    mGraveyard.add(mSnapshot.getGraveyardTop());
+	    mHiddenGraveyard--;
+
+	}
+
+	// every append sent got echoed before the snapshot.
+	mPendingAppends = 0;
+	mOnFieldCards.clear();
+
+	for (final Map.Entry<Integer, List<ICard>> meld : mSnapshot.getMelds().entrySet()) {
+	    mOnFieldCards.put(meld.getKey(), new ArrayList<>(meld.getValue()));
+
+	}
+	mPlayerAmount = mSnapshot.getPlayerAmount();
+	mOpponentCards = 0;
+
+	for (int id = 1; id <= mPlayerAmount; id++) {
+	    if (id != mPlayerId) {
+		mOpponentCards += mSnapshot.getHandCount(id);
+
+	    }
+	}
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see de.ativelox.rummyz.client.controller.IPlayerControllerReceiver#onTurnEnd()
+     */
+    @Override
+    public void onTurnEnd() {
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * de.ativelox.rummyz.client.controller.IPlayerControllerReceiver#onTurnStart()
+     */
+    @Override
+    public void onTurnStart() {
+	mTookCardsThisTurn = false;
+	mOnTurn = true;
+	mTurns++;
+
+	if (!mGraveyard.isEmpty() && mStrategy.shouldPickup(this)) {
+	    this.sendGraveyardPickupCard();
+
+	}
+	final List<List<ICard>> plays = mStrategy.choosePlays(this);
+
+	if (!plays.isEmpty()) {
+	    this.sendCardsPlayed(plays);
+
+	}
+
+	if (mDidInitial) {
+	    ImmutableTriple<ICard, Integer, Integer> append = null;
+
+	    do {
+		append = mHand.isEmpty() ? null : mStrategy.chooseAppend(this);
+
+	    } while (append != null && this.sendAppendCard(append.getFirst(), append.getSecond(), append.getThird()));
+	}
+
+	if (mHand.isEmpty()) {
+	    // every card got played, there is nothing left to discard.
+	    mNetworkController.send(EC2S.VICTORY);
+	    return;
+
+	}
+	this.sendDiscardCard(mStrategy.chooseDiscard(this));
+
+	if (!mHand.isEmpty()) {
+	    this.sendTurnEnd();
+
+	}
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * de.ativelox.rummyz.client.controller.IPlayerControllerReceiver#onVictory()
+     */
+    @Override
+    public void onVictory() {
+	mFinished = true;
+	mWon = true;
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * de.ativelox.rummyz.client.controller.IPlayerControllerSender#register(de.
+     * ativelox.rummyz.model.INetworkController)
+     */
+    @Override
+    public void register(final INetworkController<EC2S, ES2C> networkController) {
+	mNetworkController = networkController;
+
+    }
+
+    /**
+     * Asks the server for a snapshot, if the card on top of the grave yard is one
+     * of the hidden ones, so it gets known before it might be picked up.
+     */
+    private void revealGraveyardTop() {
+	if (mGraveyard.isEmpty() && mHiddenGraveyard > 0) {
+	    this.sendSnapshotRequest();
+
+	}
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * de.ativelox.rummyz.client.controller.IPlayerControllerSender#sendAppendCard(
+     * de.ativelox.rummyz.model.ICard, int, int)
+     */
+    @Override
+    public boolean sendAppendCard(final ICard card, final int superIndex, final int insertIndex) {
+	final List<ICard> sequence = mOnFieldCards.get(superIndex);
+
+	if (!mDidInitial || sequence == null || !mHand.contains(card)
+		|| GameRule.getAppendPoints(sequence, card, insertIndex) <= 0) {
+	    return false;
+
+	}
+	sequence.add(insertIndex, card);
+	mHand.remove(card);
+	mPendingAppends++;
+
+	mNetworkController.send(EC2S.CARD_APPEND, NetworkUtils.encodeAppendCard(card, superIndex, insertIndex));
+	return true;
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * de.ativelox.rummyz.client.controller.IPlayerControllerSender#sendCardsPlayed(
+     * java.util.List)
+     */
+    @Override
+    public void sendCardsPlayed(final List<List<ICard>> cards) {
+	if (!mDidInitial && !GameRule.isValidInitial(cards) || GameRule.getInstantPoints(cards) <= 0) {
+	    return;
+
+	}
+	final CardSet played = new CardSet();
+
+	for (final List<ICard> play : cards) {
+	    if (GameRule.getInstantPoints(Collections.singletonList(play)) <= 0) {
+		return;
+
+	    }
+	    play.forEach(played::add);
+
+	}
+
+	if (!mHand.containsAll(played)) {
+	    return;
+
+	}
+	mDidInitial = true;
+
+	for (final List<ICard> play : cards) {
+	    play.forEach(mHand::remove);
+
+	}
+	mNetworkController.send(EC2S.CARDS_PLAYED, NetworkUtils.encodeCardsPlayed(cards));
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * de.ativelox.rummyz.client.controller.IPlayerControllerSender#sendDiscardCard(
+     * de.ativelox.rummyz.model.ICard)
+     */
+    @Override
+    public void sendDiscardCard(final ICard card) {
+	if (!mHand.remove(card)) {
+	    return;
+
+	}
+	mNetworkController.send(EC2S.CARD_DISCARD, NetworkUtils.encodeCard(card));
+
+	if (mHand.isEmpty()) {
+	    mNetworkController.send(EC2S.VICTORY);
+
+	}
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see de.ativelox.rummyz.client.controller.IPlayerControllerSender#
+     * sendGraveyardPickupCard()
+     */
+    @Override
+    public void sendGraveyardPickupCard() {
+	if (mTookCardsThisTurn || mGraveyard.isEmpty()) {
+	    return;
+
+	}
+	mHand.add(mGraveyard.remove(mGraveyard.size() - 1));
+	mTookCardsThisTurn = true;
+
+	mNetworkController.send(EC2S.GRAVEYARD_PICKUP);
+	this.revealGraveyardTop();
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see de.ativelox.rummyz.client.controller.IPlayerControllerSender#sendReady()
+     */
+    @Override
+    public void sendReady() {
+	mNetworkController.send(EC2S.READY, new String[] { mPlayerId + "" });
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see de.ativelox.rummyz.client.controller.IPlayerControllerSender#
+     * sendSnapshotRequest()
+     */
+    @Override
+    public void sendSnapshotRequest() {
+	final int knownVersion = mSnapshot == null ? TableSnapshot.NO_BASE : mSnapshot.getVersion();
+	mNetworkController.send(EC2S.SNAPSHOT_REQUEST, new String[] { knownVersion + "" });
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * de.ativelox.rummyz.client.controller.IPlayerControllerSender#sendTurnEnd()
+     */
+    @Override
+    public void sendTurnEnd() {
+	mNetworkController.send(EC2S.TURN_END, new String[0]);
+
+    }
+}
@@ -0,0 +1,134 @@
+package de.ativelox.rummyz.client.controller;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.function.BiConsumer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.ativelox.rummyz.model.INetworkController;
+import de.ativelox.rummyz.network.codec.SharedFrame;
+import de.ativelox.rummyz.network.protocol.EC2S;
+import de.ativelox.rummyz.network.protocol.ES2C;
+import de.ativelox.rummyz.network.transport.ITransport;
+import de.ativelox.rummyz.server.controller.GameController;
+import de.ativelox.rummyz.server.controller.ServerNetworkController;
+import de.ativelox.rummyz.simulation.SelfPlaySimulator;
+
+/**
+ * Provides JUnit test cases for {@link BotController}, letting bots play whole
+ * games against each other, in process.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+public final class BotControllerTest {
+
+    /**
+     * The amount of games played.
+     */
+    private static final int GAMES = 20;
+
+    /**
+     * Creates a network controller, which queues every message sent to it, to be
+     * delivered to the given consumer once dequeued.
+     * 
+     * @param <POut>  The protocol sent.
+     * @param <PIn>   The protocol received.
+     * @param queue   The queue the deliveries get queued in.
+     * @param deliver The consumer the messages get delivered to.
+     * @return The network controller mentioned.
+     */
+    @SuppressWarnings("unchecked")
+    private static <POut, PIn> INetworkController<POut, PIn> queueing(final Queue<Runnable> queue,
+	    final BiConsumer<POut, String[]> deliver) {
+	return (INetworkController<POut, PIn>) Proxy.newProxyInstance(BotControllerTest.class.getClassLoader(),
+		new Class<?>[] { INetworkController.class }, (proxy, method, args) -> {
+		    if (method.getName().equals("send")) {
+			if (args[0] instanceof SharedFrame) {
+			    final SharedFrame<POut> frame = (SharedFrame<POut>) args[0];
+			    queue.add(() -> deliver.accept(frame.getProtocol(), frame.getAdditional()));
+
+			} else {
+			    final String[] additional = args.length > 1 ? (String[]) args[1] : null;
+			    queue.add(() -> deliver.accept((POut) args[0], additional));
+
+			}
+		    }
+		    return null;
+		});
+    }
+
+    /**
+     * Tests that two bots play whole games against each other, each ending with a
+     * single winner, no move of either bot getting rejected, and each bot knowing
+     * the amount of cards the other one holds in the end. Every game is dealt from
+     * a deck shuffled by its own seed, and stopped after
+     * {@link SelfPlaySimulator#DEFAULT_MAX_TURNS} turns, since two bots might
+     * keep on drawing and discarding forever.
+     */
+    @Test
+    public void testGame() {
+	int stopped = 0;
+
+	for (int game = 0; game < GAMES; game++) {
+	    final Queue<Runnable> queue = new ArrayDeque<>();
+	    final GameController controller = new GameController(2, null, new Random(game));
+	    final List<BotController> bots = new ArrayList<>();
+	    final List<EC2S> rejected = new ArrayList<>();
+
+	    for (int id = 1; id <= 2; id++) {
+		final BotController bot = new BotController(new SolverBotStrategy());
+		final ClientNetworkController client = new ClientNetworkController(bot, (ITransport) null);
+		final ServerNetworkController server = new ServerNetworkController(controller, id, (ITransport) null);
+
+		controller.register(id, BotControllerTest.<ES2C, EC2S>queueing(queue, (protocol, additional) -> {
+		    if (protocol == ES2C.MOVE_REJECTED) {
+			rejected.add(EC2S.values()[Integer.parseInt(additional[0])]);
+
+		    }
+		    client.serve(protocol, additional);
+
+		}));
+		bot.register(BotControllerTest.<EC2S, ES2C>queueing(queue, server::serve));
+		bots.add(bot);
+
+	    }
+
+	    for (int id = 1; id <= 2; id++) {
+		bots.get(id - 1).onServerWelcome(id);
+
+	    }
+
+	    while (!queue.isEmpty()
+		    && bots.get(0).getTurns() + bots.get(1).getTurns() <= SelfPlaySimulator.DEFAULT_MAX_TURNS) {
+		queue.poll().run();
+
+	    }
+	    Assert.assertTrue(rejected.toString(), rejected.isEmpty());
+
+	    if (!queue.isEmpty()) {
+		stopped++;
+		continue;
+
+	    }
+	    Assert.assertTrue(bots.get(0).isFinished());
+	    Assert.assertTrue(bots.get(1).isFinished());
+	    Assert.assertNotEquals(bots.get(0).hasWon(), bots.get(1).hasWon());
+
+	    // each bot followed the amount of cards the other one holds.
+	    Assert.assertEquals(bots.get(1).getHand().size(), bots.get(0).getOpponentHandSize());
+	    Assert.assertEquals(bots.get(0).getHand().size(), bots.get(1).getOpponentHandSize());
+
+	}
+	// a stopped game is rare, most of them end with a winner.
+	Assert.assertTrue(stopped + " of " + GAMES + " games got stopped", stopped < GAMES / 2);
+
+    }
+
+}
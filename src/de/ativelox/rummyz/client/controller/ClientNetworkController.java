@@ -2,17 +2,25 @@ package de.ativelox.rummyz.client.controller;
 
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 import de.ativelox.rummyz.model.ANetworkController;
 import de.ativelox.rummyz.model.ICard;
 import de.ativelox.rummyz.model.INetworkController;
+import de.ativelox.rummyz.model.SessionToken;
 import de.ativelox.rummyz.model.util.ImmutablePair;
 import de.ativelox.rummyz.model.util.ImmutableTriple;
 import de.ativelox.rummyz.model.util.NetworkUtils;
+import de.ativelox.rummyz.network.codec.ECodec;
+import de.ativelox.rummyz.network.codec.MessageCursor;
 import de.ativelox.rummyz.network.exception.UnsupportedProtocolException;
+import de.ativelox.rummyz.network.log.ProtocolLog;
 import de.ativelox.rummyz.network.protocol.EC2S;
+import de.ativelox.rummyz.network.protocol.ERejection;
 import de.ativelox.rummyz.network.protocol.ES2C;
+import de.ativelox.rummyz.network.transport.ITransport;
 
 /**
  * Provides a {@link INetworkController} for the client, which sends the
@@ -24,16 +32,56 @@ import de.ativelox.rummyz.network.protocol.ES2C;
  * 
  * @see INetworkController
  * @see ANetworkController
- *
+ * 
  */
 public final class ClientNetworkController extends ANetworkController<EC2S, ES2C> {
 
+    /**
+     * The token of a controller which has no session yet, or doesn't resume one.
+     */
+    public static final SessionToken NO_SESSION = null;
+
+    /**
+     * The protocols not being events of the game, which therefore aren't
+     * numbered.
+     */
+    private static final Set<ES2C> UNSEQUENCED = EnumSet.of(ES2C.WELCOME, ES2C.CODEC, ES2C.RESUMED,
+	    ES2C.RESUME_REJECTED, ES2C.STATE_SNAPSHOT);
+
     /**
      * The controller for the player this controller is associated with, designed to
      * receive data from this class' underlying {@link InputStream}.
      */
     private final IPlayerControllerReceiver mPc;
 
+    /**
+     * The token of the session to resume once welcomed, or
+     * {@link ClientNetworkController#NO_SESSION}.
+     */
+    private final SessionToken mResumeToken;
+
+    /**
+     * The token of the current session, or
+     * {@link ClientNetworkController#NO_SESSION} if not welcomed yet.
+     */
+    private volatile SessionToken mToken;
+
+    /**
+     * The amount of events of the game received, which is the sequence number of
+     * the last one.
+     */
+    private volatile int mLastSeq;
+
+    /**
+     * The id of the player the server welcomed this connection as.
+     */
+    private int mWelcomedId;
+
+    /**
+     * The token the server welcomed this connection with.
+     */
+    private SessionToken mWelcomedToken;
+
     /**
      * Creates a new {@link ClientNetworkController}.
      * 
@@ -48,6 +96,70 @@ public final class ClientNetworkController extends ANetworkController<EC2S, ES2C
 	super(is, os, ES2C.class);
 
 	mPc = pc;
+	mResumeToken = NO_SESSION;
+	mToken = NO_SESSION;
+	mLastSeq = 0;
+
+    }
+
+    /**
+     * Creates a new {@link ClientNetworkController}.
+     * 
+     * @param pc        The {@link IPlayerControllerReceiver} that's used to send
+     *                  data read from the given transport to.
+     * @param transport The transport this instance reads from and writes to.
+     */
+    public ClientNetworkController(final IPlayerControllerReceiver pc, final ITransport transport) {
+	this(pc, transport, NO_SESSION, 0);
+
+    }
+
+    /**
+     * Creates a new {@link ClientNetworkController}, which resumes the given
+     * session once welcomed, instead of joining a new game. If the server rejects
+     * resuming, it closes the connection, so a new one has to be opened to join a
+     * new game.
+     * 
+     * @param pc          The {@link IPlayerControllerReceiver} that's used to send
+     *                    data read from the given transport to.
+     * @param transport   The transport this instance reads from and writes to.
+     * @param resumeToken The token of the session to resume, as given by
+     *                    {@link ClientNetworkController#getToken()}, or
+     *                    {@link ClientNetworkController#NO_SESSION}.
+     * @param lastSeq     The sequence number of the last event received in that
+     *                    session, as given by
+     *                    {@link ClientNetworkController#getLastSeq()}.
+     */
+    public ClientNetworkController(final IPlayerControllerReceiver pc, final ITransport transport,
+	    final SessionToken resumeToken, final int lastSeq) {
+	super(transport, ES2C.class);
+
+	mPc = pc;
+	mResumeToken = resumeToken;
+	mToken = NO_SESSION;
+	mLastSeq = resumeToken == NO_SESSION ? 0 : lastSeq;
+
+    }
+
+    /**
+     * Gets the sequence number of the last event of the game received, which is
+     * needed to resume the session.
+     * 
+     * @return The sequence number mentioned.
+     */
+    public int getLastSeq() {
+	return mLastSeq;
+
+    }
+
+    /**
+     * Gets the token of the current session, which is needed to resume it.
+     * 
+     * @return The token mentioned, or {@link ClientNetworkController#NO_SESSION}
+     *         if not welcomed yet.
+     */
+    public SessionToken getToken() {
+	return mToken;
 
     }
 
@@ -61,7 +173,7 @@ public final class ClientNetworkController extends ANetworkController<EC2S, ES2C
     public void send(final EC2S protocol, final String[] additional) {
 	super.send(protocol, additional);
 
-	System.out.println("Sending " + protocol.toString());
+	ProtocolLog.get().sent(protocol, ProtocolLog.NO_PEER);
     }
 
     /*
@@ -72,8 +184,25 @@ public final class ClientNetworkController extends ANetworkController<EC2S, ES2C
      */
     @Override
     public void serve(final ES2C protocol, final String[] additional) {
+	this.serve(protocol, MessageCursor.wrap(additional));
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see de.ativelox.rummyz.model.ANetworkController#serve(java.lang.Enum,
+     * de.ativelox.rummyz.network.codec.MessageCursor)
+     */
+    @Override
+    public void serve(final ES2C protocol, final MessageCursor additional) {
+
+	ProtocolLog.get().received(protocol, ProtocolLog.NO_PEER);
 
-	System.out.println("Received " + protocol.toString());
+	if (!UNSEQUENCED.contains(protocol)) {
+	    mLastSeq++;
+
+	}
 
 	switch (protocol) {
 	case TURN_END:
@@ -85,7 +214,54 @@ public final class ClientNetworkController extends ANetworkController<EC2S, ES2C
 	    break;
 
 	case WELCOME:
-	    mPc.onServerWelcome(Integer.parseInt(additional[0]));
+	    mWelcomedId = additional.nextInt();
+	    mWelcomedToken = NetworkUtils.decodeToken(additional);
+	    final ECodec codec = NetworkUtils.decodeWelcomeCodec(additional);
+
+	    if (codec != ECodec.TEXT) {
+		// ask for the codec before anything else gets sent, the server switches to it
+		// once it acknowledges it.
+		this.switchOutputCodec(EC2S.CODEC, new String[] { codec.ordinal() + "" }, codec);
+
+	    }
+
+	    if (mResumeToken != NO_SESSION) {
+		this.send(EC2S.RESUME, NetworkUtils.encodeResume(mResumeToken, mLastSeq));
+
+	    } else {
+		mToken = mWelcomedToken;
+		mPc.onServerWelcome(mWelcomedId);
+
+	    }
+	    break;
+
+	case RESUMED:
+	    // the missed events or a snapshot follow, the sequence continues after the
+	    // number given.
+	    additional.nextInt();
+	    mLastSeq = additional.nextInt();
+	    mToken = mResumeToken;
+	    break;
+
+	case STATE_SNAPSHOT:
+	    mPc.onStateSnapshot(NetworkUtils.decodeSnapshot(additional));
+	    break;
+
+	case MOVE_REJECTED:
+	    final EC2S move = NetworkUtils.ensureEnumConversion(EC2S.class, additional.nextInt());
+	    mPc.onMoveRejected(move, NetworkUtils.ensureEnumConversion(ERejection.class, additional.nextInt()));
+	    break;
+
+	case RESUME_REJECTED:
+	    // the session is lost and the server closes the connection, along with the
+	    // seat it got welcomed to.
+	    mToken = NO_SESSION;
+	    mLastSeq = 0;
+	    this.stop();
+	    break;
+
+	case CODEC:
+	    this.switchInputCodec(NetworkUtils.ensureEnumConversion(ECodec.class, additional.nextInt()));
 	    break;
 
 	case BLOCK:
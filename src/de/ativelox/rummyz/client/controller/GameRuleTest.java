@@ -0,0 +1,133 @@
+package de.ativelox.rummyz.client.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.StringJoiner;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.ativelox.rummyz.model.Card;
+import de.ativelox.rummyz.model.ICard;
+import de.ativelox.rummyz.model.property.ECardType;
+import de.ativelox.rummyz.model.property.ECardValue;
+import de.ativelox.rummyz.model.util.ImmutablePair;
+
+/**
+ * Provides JUnit test cases for {@link GameRule}, checking it against
+ * {@link ReferenceGameRule} for random hands.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+public final class GameRuleTest {
+
+    /**
+     * The amount of random hands checked.
+     */
+    private static final int ROUNDS = 20_000;
+
+    /**
+     * Formats the given ranges as <tt>[(from, to), ...]</tt>.
+     * 
+     * @param ranges The ranges to format.
+     * @return The ranges formatted.
+     */
+    private static String format(final List<ImmutablePair<Integer, Integer>> ranges) {
+	final StringJoiner sj = new StringJoiner(", ", "[", "]");
+
+	for (final ImmutablePair<Integer, Integer> range : ranges) {
+	    sj.add("(" + range.getKey() + ", " + range.getValue() + ")");
+
+	}
+	return sj.toString();
+
+    }
+
+    /**
+     * Creates a random hand, made up of random streets, sames and single cards,
+     * jokers and cards of the type <tt>NONE</tt> included, so plays follow each
+     * other, overlap and get cut short.
+     * 
+     * @param random The source of randomness.
+     * @return The hand mentioned.
+     */
+    private static List<ICard> randomHand(final Random random) {
+	final ECardType[] types = ECardType.values();
+	final ECardValue[] values = ECardValue.values();
+	final int size = random.nextInt(20);
+	final List<ICard> cards = new ArrayList<>();
+
+	while (cards.size() < size) {
+	    final ECardType type = types[random.nextInt(types.length)];
+	    final int value = random.nextInt(values.length);
+	    final int length = 1 + random.nextInt(6);
+
+	    switch (random.nextInt(3)) {
+	    case 0:
+		for (int i = 0; i < length; i++) {
+		    cards.add(Card.of(type, values[(value + i) % (values.length - 1)]));
+
+		}
+		break;
+
+	    case 1:
+		for (int i = 0; i < length; i++) {
+		    cards.add(Card.of(types[(type.ordinal() + i) % types.length], values[value]));
+
+		}
+		break;
+
+	    default:
+		cards.add(Card.of(type, values[value]));
+		break;
+
+	    }
+	}
+	return cards;
+
+    }
+
+    /**
+     * Test method for
+     * {@link de.ativelox.rummyz.client.controller.GameRule#getAllValid(java.util.List)}.
+     */
+    @Test
+    public void testGetAllValid() {
+	final Random random = new Random(13);
+
+	for (int i = 0; i < ROUNDS; i++) {
+	    final List<ICard> hand = randomHand(random);
+
+	    Assert.assertEquals(hand.toString(), format(ReferenceGameRule.getAllValid(hand)),
+		    format(GameRule.getAllValid(hand)));
+
+	}
+    }
+
+    /**
+     * Test method for
+     * {@link de.ativelox.rummyz.client.controller.GameRule#getAllValid(java.util.List)},
+     * for a hand with a street, a same of jokers and a same cut short by a card
+     * of another value.
+     */
+    @Test
+    public void testGetAllValidExample() {
+	final List<ICard> hand = new ArrayList<>();
+	hand.add(Card.of(ECardType.HEART, ECardValue.KING));
+	hand.add(Card.of(ECardType.HEART, ECardValue.ACE));
+	hand.add(Card.of(ECardType.HEART, ECardValue.TWO));
+	hand.add(Card.of(ECardType.NONE, ECardValue.JOKER));
+	hand.add(Card.of(ECardType.NONE, ECardValue.JOKER));
+	hand.add(Card.of(ECardType.NONE, ECardValue.JOKER));
+	hand.add(Card.of(ECardType.SPADE, ECardValue.FIVE));
+	hand.add(Card.of(ECardType.CLUB, ECardValue.FIVE));
+	hand.add(Card.of(ECardType.HEART, ECardValue.FIVE));
+	hand.add(Card.of(ECardType.HEART, ECardValue.SIX));
+
+	Assert.assertEquals("[(0, 3), (6, 9)]", format(GameRule.getAllValid(hand)));
+
+    }
+
+}
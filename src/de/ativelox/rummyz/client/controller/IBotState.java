@@ -0,0 +1,71 @@
+package de.ativelox.rummyz.client.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import de.ativelox.rummyz.model.CardSet;
+import de.ativelox.rummyz.model.ICard;
+
+/**
+ * Provides an interface to read the state of the game as a bot sees it, which
+ * is what an {@link IBotStrategy} decides its moves on.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+public interface IBotState {
+
+    /**
+     * Whether the bot has done its initial play. Refer to {@link GameRule} for
+     * further information.
+     * 
+     * @return <tt>True</tt> if it has, <tt>false</tt> otherwise.
+     */
+    boolean didInitial();
+
+    /**
+     * Whether any of the other players has done its initial play.
+     * 
+     * @return <tt>True</tt> if one has, <tt>false</tt> otherwise.
+     */
+    boolean didOpponentInitial();
+
+    /**
+     * Gets the known cards on the grave yard, the last one being on top. After a
+     * snapshot only the card on top is known, not the ones below it.
+     * 
+     * @return An unmodifiable list of the cards mentioned.
+     */
+    List<ICard> getGraveyard();
+
+    /**
+     * Gets the cards the bot holds.
+     * 
+     * @return A copy of the cards mentioned.
+     */
+    CardSet getHand();
+
+    /**
+     * Gets the sequences of cards currently on the board, mapped to by the unique
+     * index used to append cards to them.
+     * 
+     * @return An unmodifiable map of the sequences mentioned.
+     */
+    Map<Integer, List<ICard>> getMelds();
+
+    /**
+     * Gets the amount of cards the other players hold together, as far as the bot
+     * could follow the moves of the game.
+     * 
+     * @return The amount mentioned.
+     */
+    int getOpponentHandSize();
+
+    /**
+     * Gets the id of the bot, as given by the server.
+     * 
+     * @return The id mentioned.
+     */
+    int getPlayerId();
+
+}
@@ -0,0 +1,56 @@
+package de.ativelox.rummyz.client.controller;
+
+import java.util.List;
+
+import de.ativelox.rummyz.model.ICard;
+import de.ativelox.rummyz.model.util.ImmutableTriple;
+
+/**
+ * Provides an interface to decide the moves of a {@link BotController} during
+ * its turn. The methods get called in the order they are declared in, once per
+ * turn, except for {@link IBotStrategy#chooseAppend(IBotState)} which gets
+ * called until it chooses nothing. Each decision is checked against the rules
+ * by the bot before being sent, so a strategy doesn't need to be exact.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+public interface IBotStrategy {
+
+    /**
+     * Whether to pick the top card of the grave yard up. Only gets called if the
+     * grave yard isn't empty.
+     * 
+     * @param state The state of the game.
+     * @return <tt>True</tt> if the card should be picked up, <tt>false</tt>
+     *         otherwise.
+     */
+    boolean shouldPickup(final IBotState state);
+
+    /**
+     * Chooses the <i>plays</i> to play onto the board.
+     * 
+     * @param state The state of the game.
+     * @return The plays mentioned, an empty list to play nothing.
+     */
+    List<List<ICard>> choosePlays(final IBotState state);
+
+    /**
+     * Chooses a card to append to a sequence of cards on the board. Only gets
+     * called once the bot has done its initial play.
+     * 
+     * @param state The state of the game.
+     * @return A triple containing the card, the unique index of the sequence and
+     *         the index to insert the card at, or <tt>null</tt> to append nothing.
+     */
+    ImmutableTriple<ICard, Integer, Integer> chooseAppend(final IBotState state);
+
+    /**
+     * Chooses the card to discard, ending the turn.
+     * 
+     * @param state The state of the game, the hand holding at least one card.
+     * @return The card mentioned.
+     */
+    ICard chooseDiscard(final IBotState state);
+
+}
@@ -3,6 +3,9 @@ package de.ativelox.rummyz.client.controller;
 import java.util.List;
 
 import de.ativelox.rummyz.model.ICard;
+import de.ativelox.rummyz.model.TableSnapshot;
+import de.ativelox.rummyz.network.protocol.EC2S;
+import de.ativelox.rummyz.network.protocol.ERejection;
 
 /**
  * Provides an interface to receive data needed to play the game.
@@ -74,6 +77,15 @@ public interface IPlayerControllerReceiver {
      */
     void onGraveyardUpdate(final ICard card);
 
+    /**
+     * Signifies that the server rejected a move of this player, so the game is
+     * left as it was before the move.
+     * 
+     * @param move      The protocol of the move rejected.
+     * @param rejection The reason the move got rejected.
+     */
+    void onMoveRejected(final EC2S move, final ERejection rejection);
+
     /**
      * Signifies that this player with id {@link playerId} has been registered by
      * the server.
@@ -82,6 +94,15 @@ public interface IPlayerControllerReceiver {
      */
     void onServerWelcome(final int playerId);
 
+    /**
+     * Signifies that the server sent a snapshot of the whole state of the table,
+     * which replaces the state of this player. The snapshot might be a diff
+     * against the last one received.
+     * 
+     * @param snapshot The snapshot mentioned.
+     */
+    void onStateSnapshot(final TableSnapshot snapshot);
+
     /**
      * Signifies that this players turn has ended.
      */
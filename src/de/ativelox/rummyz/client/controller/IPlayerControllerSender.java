@@ -48,13 +48,6 @@ public interface IPlayerControllerSender<POut, PIn> {
      */
     void sendDiscardCard(final ICard card);
 
-    /**
-     * Sends data to signify that this player wants to draw <tt>amount</tt> cards.
-     * 
-     * @param amount The amount of cards to request.
-     */
-    void sendDrawCards(final int amount);
-
     /**
      * Sends data to signify that this player has picked a card up from the grave
      * yard.
@@ -67,6 +60,12 @@ public interface IPlayerControllerSender<POut, PIn> {
      */
     void sendReady();
 
+    /**
+     * Sends data to request a snapshot of the whole state of the table, e.g. to
+     * resynchronize this player.
+     */
+    void sendSnapshotRequest();
+
     /**
      * Sends data to signify that this players turn has ended.
      */
@@ -0,0 +1,354 @@
+package de.ativelox.rummyz.client.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import de.ativelox.rummyz.model.Card;
+import de.ativelox.rummyz.model.ICard;
+import de.ativelox.rummyz.model.util.ImmutableTriple;
+
+/**
+ * Provides an {@link IBotStrategy}, which decides whether to pick up a card
+ * and which card to discard by a determinized Monte Carlo search. Every
+ * playout deals the cards the bot hasn't seen randomly to the hand of the other
+ * player and the deck, makes the move decided on, and plays the game out in a
+ * {@link PlayoutState}. Which move gets played out next gets chosen by
+ * <i>UCB1</i>, so the promising moves get played out the most, and the move
+ * played out the most in the end gets made. The playouts run on the Threads of
+ * an executor until the time budget of the move is used up, each Thread
+ * searching on its own, their counts summed up in the end. The <i>plays</i>
+ * and appends are made the way {@link SolverBotStrategy} makes them.
+ * <p>
+ * The search sees the game as one of two players, the other players taken
+ * together as a single one, which is exact for the tables of a single player
+ * and a bot this is meant for. An instance can be shared by any amount of bots.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+public final class MonteCarloBotStrategy implements IBotStrategy {
+
+    /**
+     * Plays a move out in a given state.
+     * 
+     * @author Ativelox {@literal <ativelox.dev@web.de>}
+     *
+     */
+    @FunctionalInterface
+    private interface IPlayout {
+
+	/**
+	 * Makes the given move in the given state and plays the game out.
+	 * 
+	 * @param state  The state, with the cards of the other player dealt.
+	 * @param move   The index of the move.
+	 * @param random The source of randomness.
+	 * @return <tt>True</tt> if the bot won, <tt>false</tt> otherwise.
+	 */
+	boolean play(final PlayoutState state, final int move, final SplittableRandom random);
+
+    }
+
+    /**
+     * The default time budget of a move, in milliseconds.
+     */
+    public static final long DEFAULT_BUDGET_MILLIS = 50;
+
+    /**
+     * The weight of the exploration term of <i>UCB1</i>.
+     */
+    private static final double EXPLORATION = Math.sqrt(2);
+
+    /**
+     * The maximum amount of turns of a playout, which counts as lost if nobody
+     * won by then.
+     */
+    private static final int MAX_TURNS = 200;
+
+    /**
+     * The amount of playouts between checks of the time budget.
+     */
+    private static final int PLAYOUTS_PER_CHECK = 16;
+
+    /**
+     * The executor running the searches.
+     */
+    private final ExecutorService mExecutor;
+
+    /**
+     * The amount of searches run in parallel for every move.
+     */
+    private final int mThreads;
+
+    /**
+     * The time budget of a move, in nanoseconds.
+     */
+    private final long mBudgetNanos;
+
+    /**
+     * The strategy making the plays and appends.
+     */
+    private final SolverBotStrategy mSolver;
+
+    /**
+     * The amount of playouts run so far.
+     */
+    private final AtomicLong mPlayouts;
+
+    /**
+     * Creates a new {@link MonteCarloBotStrategy}.
+     * 
+     * @param executor     The executor running the searches.
+     * @param threads      The amount of searches run in parallel for every move,
+     *                     at most one for every Thread of the executor.
+     * @param budgetMillis The time budget of a move, in milliseconds.
+     */
+    public MonteCarloBotStrategy(final ExecutorService executor, final int threads, final long budgetMillis) {
+	mExecutor = executor;
+	mThreads = threads;
+	mBudgetNanos = TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+	mSolver = new SolverBotStrategy();
+	mPlayouts = new AtomicLong();
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * de.ativelox.rummyz.client.controller.IBotStrategy#chooseAppend(de.ativelox.
+     * rummyz.client.controller.IBotState)
+     */
+    @Override
+    public ImmutableTriple<ICard, Integer, Integer> chooseAppend(final IBotState state) {
+	return mSolver.chooseAppend(state);
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * de.ativelox.rummyz.client.controller.IBotStrategy#chooseDiscard(de.ativelox.
+     * rummyz.client.controller.IBotState)
+     */
+    @Override
+    public ICard chooseDiscard(final IBotState state) {
+	final PlayoutState root = new PlayoutState(state);
+	final long hand = root.getHand(PlayoutState.SELF);
+
+	if (Long.bitCount(hand) <= 1 || Long.bitCount(hand) != state.getHand().size()) {
+	    // nothing to choose from, or cards the search doesn't know.
+	    return mSolver.chooseDiscard(state);
+
+	}
+	final long[] cards = new long[Long.bitCount(hand)];
+	long left = hand;
+
+	for (int i = 0; i < cards.length; i++) {
+	    cards[i] = Long.lowestOneBit(left);
+	    left &= left - 1;
+
+	}
+	final int move = this.search(root, cards.length, (playout, card, random) -> {
+	    playout.discard(PlayoutState.SELF, cards[card]);
+
+	    return playout.getHand(PlayoutState.SELF) == 0
+		    || playout.playout(PlayoutState.OPPONENT, random, MAX_TURNS) == PlayoutState.SELF;
+	});
+
+	if (move < 0) {
+	    return mSolver.chooseDiscard(state);
+
+	}
+	return Card.of(Long.numberOfTrailingZeros(cards[move]));
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * de.ativelox.rummyz.client.controller.IBotStrategy#choosePlays(de.ativelox.
+     * rummyz.client.controller.IBotState)
+     */
+    @Override
+    public List<List<ICard>> choosePlays(final IBotState state) {
+	return mSolver.choosePlays(state);
+
+    }
+
+    /**
+     * Gets the amount of playouts run so far, by all the bots using this
+     * strategy.
+     * 
+     * @return The amount mentioned.
+     */
+    public long getPlayouts() {
+	return mPlayouts.get();
+
+    }
+
+    /**
+     * Searches for the move played out the most, running a search on each of
+     * {@link MonteCarloBotStrategy#mThreads} Threads until the time budget is
+     * used up.
+     * 
+     * @param root    The state as the bot sees it.
+     * @param moves   The amount of moves.
+     * @param playout Plays a move out.
+     * @return The index of the move mentioned, or <tt>-1</tt> if the search got
+     *         interrupted.
+     */
+    private int search(final PlayoutState root, final int moves, final IPlayout playout) {
+	final long deadline = System.nanoTime() + mBudgetNanos;
+	final List<Callable<long[]>> searches = new ArrayList<>(mThreads);
+
+	for (int i = 0; i < mThreads; i++) {
+	    final long seed = ThreadLocalRandom.current().nextLong();
+	    searches.add(() -> this.search(root, moves, playout, deadline, new SplittableRandom(seed)));
+
+	}
+	final long[] visits = new long[moves];
+
+	try {
+	    for (final Future<long[]> search : mExecutor.invokeAll(searches)) {
+		final long[] counts = search.get();
+
+		for (int move = 0; move < moves; move++) {
+		    visits[move] += counts[move];
+
+		}
+	    }
+
+	} catch (final InterruptedException e) {
+	    Thread.currentThread().interrupt();
+	    return -1;
+
+	} catch (final ExecutionException e) {
+	    throw new IllegalStateException("Could not search for a move.", e.getCause());
+
+	}
+	int best = 0;
+
+	for (int move = 1; move < moves; move++) {
+	    if (visits[move] > visits[best]) {
+		best = move;
+
+	    }
+	}
+	return best;
+
+    }
+
+    /**
+     * Runs a single search until the given deadline.
+     * 
+     * @param root     The state as the bot sees it.
+     * @param moves    The amount of moves.
+     * @param playout  Plays a move out.
+     * @param deadline The time the search has to end at, as given by
+     *                 {@link System#nanoTime()}.
+     * @param random   The source of randomness of the search.
+     * @return The amount of times each move got played out, followed by the amount
+     *         of times each move got won.
+     */
+    private long[] search(final PlayoutState root, final int moves, final IPlayout playout, final long deadline,
+	    final SplittableRandom random) {
+	final long[] counts = new long[2 * moves];
+	final PlayoutState state = new PlayoutState();
+	long total = 0;
+
+	do {
+	    for (int i = 0; i < PLAYOUTS_PER_CHECK; i++) {
+		final int move = select(counts, moves, total);
+		state.determinize(root, random);
+
+		counts[move]++;
+		total++;
+
+		if (playout.play(state, move, random)) {
+		    counts[moves + move]++;
+
+		}
+	    }
+	} while (System.nanoTime() < deadline);
+	mPlayouts.addAndGet(total);
+
+	return counts;
+
+    }
+
+    /**
+     * Selects the move to play out next by <i>UCB1</i>, every move being played
+     * out once first.
+     * 
+     * @param counts The amount of times each move got played out, followed by the
+     *               amount of times each move got won.
+     * @param moves  The amount of moves.
+     * @param total  The amount of playouts so far.
+     * @return The index of the move mentioned.
+     */
+    private static int select(final long[] counts, final int moves, final long total) {
+	if (total < moves) {
+	    return (int) total;
+
+	}
+	final double logTotal = Math.log(total);
+	int best = 0;
+	double bestValue = -1;
+
+	for (int move = 0; move < moves; move++) {
+	    final double value = counts[moves + move] / (double) counts[move]
+		    + EXPLORATION * Math.sqrt(logTotal / counts[move]);
+
+	    if (value > bestValue) {
+		bestValue = value;
+		best = move;
+
+	    }
+	}
+	return best;
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * de.ativelox.rummyz.client.controller.IBotStrategy#shouldPickup(de.ativelox.
+     * rummyz.client.controller.IBotState)
+     */
+    @Override
+    public boolean shouldPickup(final IBotState state) {
+	final List<ICard> graveyard = state.getGraveyard();
+	final PlayoutState root = new PlayoutState(state);
+	final long top = PlayoutState.bitOf(graveyard.get(graveyard.size() - 1));
+
+	if (top == 0) {
+	    return mSolver.shouldPickup(state);
+
+	}
+
+	// the first move leaves the card, the second one picks it up.
+	final int move = this.search(root, 2, (playout, pickup, random) -> {
+	    if (pickup == 1) {
+		playout.pickup(PlayoutState.SELF, top);
+
+	    }
+	    return playout.finishTurn(PlayoutState.SELF, random)
+		    || playout.playout(PlayoutState.OPPONENT, random, MAX_TURNS) == PlayoutState.SELF;
+	});
+	return move < 0 ? mSolver.shouldPickup(state) : move == 1;
+
+    }
+
+}
@@ -0,0 +1,94 @@
+package de.ativelox.rummyz.client.controller;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.ativelox.rummyz.model.Card;
+import de.ativelox.rummyz.model.CardSet;
+import de.ativelox.rummyz.model.property.ECardType;
+import de.ativelox.rummyz.model.property.ECardValue;
+import de.ativelox.rummyz.simulation.SelfPlaySimulator;
+import de.ativelox.rummyz.simulation.SimulationStats;
+
+/**
+ * Provides JUnit test cases for {@link MonteCarloBotStrategy}.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+public final class MonteCarloBotStrategyTest {
+
+    /**
+     * The amount of games played against a {@link SolverBotStrategy}.
+     */
+    private static final int GAMES = 6;
+
+    /**
+     * The executor running the searches.
+     */
+    private ExecutorService mExecutor;
+
+    /**
+     * Sets up the executor running the searches.
+     */
+    @Before
+    public void setUp() {
+	mExecutor = Executors.newFixedThreadPool(2);
+
+    }
+
+    /**
+     * Shuts the executor running the searches down.
+     */
+    @After
+    public void tearDown() {
+	mExecutor.shutdown();
+
+    }
+
+    /**
+     * Test method for
+     * {@link de.ativelox.rummyz.client.controller.MonteCarloBotStrategy#chooseDiscard(de.ativelox.rummyz.client.controller.IBotState)},
+     * for a hand which wins by drawing either of two cards, unless one of them
+     * gets discarded.
+     */
+    @Test
+    public void testChooseDiscard() {
+	final CardSet hand = new CardSet();
+	hand.add(Card.of(ECardType.HEART, ECardValue.FIVE));
+	hand.add(Card.of(ECardType.HEART, ECardValue.SIX));
+	hand.add(Card.of(ECardType.SPADE, ECardValue.NINE));
+
+	final MonteCarloBotStrategy strategy = new MonteCarloBotStrategy(mExecutor, 2, 20);
+	Assert.assertEquals(Card.of(ECardType.SPADE, ECardValue.NINE),
+		strategy.chooseDiscard(PlayoutStateTest.stateOf(hand, 10)));
+	Assert.assertTrue(strategy.getPlayouts() > 0);
+
+    }
+
+    /**
+     * Tests that games against a {@link SolverBotStrategy} end with a winner,
+     * without any move getting rejected.
+     */
+    @Test
+    public void testGame() {
+	final MonteCarloBotStrategy strategy = new MonteCarloBotStrategy(mExecutor, 2, 1);
+	final ForkJoinPool pool = new ForkJoinPool(1);
+	final SimulationStats stats = new SelfPlaySimulator(Arrays.asList(strategy, new SolverBotStrategy()), 11,
+		SelfPlaySimulator.DEFAULT_MAX_TURNS).run(GAMES, pool);
+	pool.shutdown();
+
+	Assert.assertEquals(stats.toString(), 0, stats.getFailed());
+	Assert.assertEquals(stats.toString(), 0, stats.getRejections());
+	Assert.assertEquals(stats.toString(), GAMES - stats.getStalled(), stats.getWins(1) + stats.getWins(2));
+
+    }
+
+}
@@ -0,0 +1,366 @@
+package de.ativelox.rummyz.client.controller;
+
+import de.ativelox.rummyz.model.CardSet;
+import de.ativelox.rummyz.model.ICard;
+import de.ativelox.rummyz.model.property.ECardValue;
+import de.ativelox.rummyz.model.util.NetworkUtils;
+
+/**
+ * Provides the rules of {@link GameRule} for cards packed into their IDs, as
+ * given by {@link NetworkUtils#encodeCardId(ICard)}. A sequence of cards is a
+ * range of an <tt>int</tt> array, so checking a <i>play</i> neither needs card
+ * instances nor allocates anything, which lets the server check every play of
+ * every player. {@link GameRule} packs its cards and uses this class as well,
+ * so a play the client accepts is accepted by the server as well. The points and
+ * the <i>street relation</i> of the values are looked up in tables indexed by
+ * their ordinals, rather than compared value by value.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+public final class PackedGameRule {
+
+    /**
+     * The amount of different card values, the ID of a card being its type times
+     * this amount plus its value.
+     */
+    private static final int CARD_VALUES = CardSet.CARD_VALUES;
+
+    /**
+     * The ordinal of {@link ECardValue#TWO}.
+     */
+    private static final int TWO = ECardValue.TWO.ordinal();
+
+    /**
+     * The ordinal of {@link ECardValue#KING}.
+     */
+    private static final int KING = ECardValue.KING.ordinal();
+
+    /**
+     * The ordinal of {@link ECardValue#ACE}.
+     */
+    private static final int ACE = ECardValue.ACE.ordinal();
+
+    /**
+     * The ordinal of {@link ECardValue#JOKER}.
+     */
+    private static final int JOKER = ECardValue.JOKER.ordinal();
+
+    /**
+     * The points each value is worth, indexed by its ordinal, counting the ace as
+     * its default game value.
+     */
+    private static final int[] POINTS = { 2, 3, 4, 5, 6, 7, 8, 9, 10, 10, 10, 10, 10, 0 };
+
+    /**
+     * The points each value is worth, indexed by its ordinal, counting the ace as
+     * one.
+     */
+    private static final int[] POINTS_ACE_LOW = { 2, 3, 4, 5, 6, 7, 8, 9, 10, 10, 10, 10, 1, 0 };
+
+    /**
+     * The ordinal of the value following each value in a <i>street</i>, indexed by
+     * its ordinal, <tt>-1</tt> if no value follows it.
+     */
+    private static final int[] SUCCESSOR = new int[CARD_VALUES];
+
+    static {
+	for (int value = 0; value < ACE; value++) {
+	    SUCCESSOR[value] = value + 1;
+
+	}
+	SUCCESSOR[ACE] = TWO;
+
+	for (int value = ACE + 1; value < CARD_VALUES; value++) {
+	    SUCCESSOR[value] = -1;
+
+	}
+    }
+
+    /**
+     * Checks for a given street whether the {@link ECardValue#ACE} should be
+     * counted as one.
+     * 
+     * @param ids      The IDs of the cards of the street.
+     * @param from     The index of the first card (inclusive).
+     * @param to       The index of the last card (exclusive).
+     * @param aceIndex The index the {@link ECardValue#ACE} is at.
+     * @return <tt>True</tt> if the ace should be counted as one, <tt>false</tt>
+     *         otherwise.
+     */
+    private static boolean checkIfAceAsOne(final int[] ids, final int from, final int to, final int aceIndex) {
+	if (aceIndex - 1 >= from && valueOf(ids[aceIndex - 1]) == KING) {
+	    return false;
+
+	}
+	return aceIndex + 1 < to && valueOf(ids[aceIndex + 1]) == TWO;
+
+    }
+
+    /**
+     * Returns the amount of points appending the card with <tt>id</tt> to the
+     * given <i>valid play</i> at <tt>insertIndex</tt> is worth, as
+     * {@link GameRule#getAppendPoints(java.util.List, ICard, int)} does.
+     * 
+     * @param ids         The IDs of the cards of the valid play.
+     * @param from        The index of the first card (inclusive).
+     * @param to          The index of the last card (exclusive).
+     * @param id          The ID of the card to append.
+     * @param insertIndex The index at which to insert the card, relative to
+     *                    <tt>from</tt>.
+     * @return The amount of points this append action is worth, or <tt>0</tt> if
+     *         this append action is invalid.
+     */
+    public static int getAppendPoints(final int[] ids, final int from, final int to, final int id,
+	    final int insertIndex) {
+	final int size = to - from;
+
+	if (size <= 0 || insertIndex < 0 || insertIndex > size) {
+	    return 0;
+
+	}
+	final int type = typeOf(id);
+	final int value = valueOf(id);
+
+	if (getPointsAsSame(ids, from, to) > 0) {
+	    for (int i = from; i < to; i++) {
+		if (valueOf(ids[i]) != value || typeOf(ids[i]) == type) {
+		    return 0;
+
+		}
+	    }
+	    return POINTS[value];
+
+	}
+
+	if (type != typeOf(ids[from])) {
+	    return 0;
+
+	}
+
+	if (insertIndex == 0 && isNextInStreetRelation(value, valueOf(ids[from]))) {
+	    return POINTS[value];
+
+	}
+
+	if (insertIndex == size && isNextInStreetRelation(valueOf(ids[to - 1]), value)) {
+	    return POINTS[value];
+
+	}
+
+	if (insertIndex > 0 && insertIndex < size
+		&& isNextInStreetRelation(valueOf(ids[from + insertIndex - 1]), value)
+		&& isNextInStreetRelation(value, valueOf(ids[from + insertIndex]))) {
+	    return POINTS[value];
+
+	}
+	return 0;
+
+    }
+
+    /**
+     * Gets the amount of points the given sequence is worth, viewed as a
+     * <i>same</i> and as a <i>street</i>, as a single entry of
+     * {@link GameRule#getInstantPoints(java.util.List)} is.
+     * 
+     * @param ids  The IDs of the cards of the sequence.
+     * @param from The index of the first card (inclusive).
+     * @param to   The index of the last card (exclusive).
+     * @return The amount of points the sequence is worth, <tt>0</tt> if it is no
+     *         valid play.
+     */
+    public static int getPoints(final int[] ids, final int from, final int to) {
+	return getPointsAsSame(ids, from, to) + getPointsAsStreet(ids, from, to);
+
+    }
+
+    /**
+     * Gets the amount of points the given sequence is worth when viewed as a
+     * <i>same</i>.
+     * 
+     * @param ids  The IDs of the cards of the sequence.
+     * @param from The index of the first card (inclusive).
+     * @param to   The index of the last card (exclusive).
+     * @return The amount of points this sequence is worth as a same, <tt>0</tt> if
+     *         the sequence is an invalid same.
+     */
+    static int getPointsAsSame(final int[] ids, final int from, final int to) {
+	if (to - from < 3) {
+	    return 0;
+
+	}
+	final int value = valueOf(ids[from]);
+	int mismatch = 0;
+
+	for (int i = from + 1; i < to; i++) {
+	    mismatch |= valueOf(ids[i]) ^ value;
+
+	}
+	return mismatch == 0 ? POINTS[value] * (to - from) : 0;
+
+    }
+
+    /**
+     * Gets the amount of points the given sequence is worth when viewed as a
+     * <i>street</i>.
+     * 
+     * @param ids  The IDs of the cards of the sequence.
+     * @param from The index of the first card (inclusive).
+     * @param to   The index of the last card (exclusive).
+     * @return The number of points this sequence is worth as a street, <tt>0</tt>
+     *         if it is an invalid street.
+     */
+    static int getPointsAsStreet(final int[] ids, final int from, final int to) {
+	if (to - from < 3) {
+	    return 0;
+
+	}
+	final int type = typeOf(ids[from]);
+	int lastValue = valueOf(ids[from]);
+	int sum = getPointsFromValue(lastValue, checkIfAceAsOne(ids, from, to, from));
+
+	for (int i = from + 1; i < to; i++) {
+	    final int value = valueOf(ids[i]);
+
+	    if (typeOf(ids[i]) != type || SUCCESSOR[lastValue] != value) {
+		return 0;
+
+	    }
+	    sum += value == ACE ? getPointsFromValue(value, checkIfAceAsOne(ids, from, to, i)) : POINTS[value];
+	    lastValue = value;
+
+	}
+	return sum;
+
+    }
+
+    /**
+     * Gets the end of the longest <i>valid play</i> starting at <tt>from</tt>.
+     * Whether a sequence is a valid <i>same</i> or <i>street</i> only depends on
+     * each card and the one following it, so a sequence is valid exactly if every
+     * pair of neighbours is related the same way as the first pair is, and it has
+     * at least three cards. This looks at each card once, rather than checking
+     * every longer sequence from scratch.
+     * 
+     * @param ids  The IDs of the cards.
+     * @param from The index of the first card of the play (inclusive).
+     * @param to   The index after the last card that may be part of the play.
+     * @return The index after the last card of the play, or <tt>from</tt> if
+     *         there is no valid play starting at <tt>from</tt>.
+     */
+    public static int getValidEnd(final int[] ids, final int from, final int to) {
+	if (to - from < 3) {
+	    return from;
+
+	}
+	final boolean same = isSameRelation(ids[from], ids[from + 1]);
+
+	if (!same && !isStreetRelation(ids[from], ids[from + 1])) {
+	    return from;
+
+	}
+	int end = from + 2;
+
+	while (end < to && (same ? isSameRelation(ids[end - 1], ids[end]) : isStreetRelation(ids[end - 1], ids[end]))) {
+	    end++;
+
+	}
+	return end - from >= 3 ? end : from;
+
+    }
+
+    /**
+     * Gets the amount of points the given value is worth in the game.
+     * 
+     * @param value    The ordinal of the value.
+     * @param aceAsOne Whether to count the ace as a value of 1 or the default game
+     *                 value.
+     * @return The amount mentioned.
+     */
+    private static int getPointsFromValue(final int value, final boolean aceAsOne) {
+	return aceAsOne ? POINTS_ACE_LOW[value] : POINTS[value];
+
+    }
+
+    /**
+     * Whether the cards with the given IDs may follow each other in a valid
+     * <i>same</i>, which is if they have the same value and it is worth any points.
+     * 
+     * @param id1 The ID of the first card.
+     * @param id2 The ID of the card following it.
+     * @return <tt>True</tt> if they may, <tt>false</tt> otherwise.
+     */
+    private static boolean isSameRelation(final int id1, final int id2) {
+	return valueOf(id1) == valueOf(id2) && valueOf(id1) != JOKER;
+
+    }
+
+    /**
+     * Whether the cards with the given IDs may follow each other in a valid
+     * <i>street</i>, which is if they have the same type and their values are in
+     * the <i>street relation</i>.
+     * 
+     * @param id1 The ID of the first card.
+     * @param id2 The ID of the card following it.
+     * @return <tt>True</tt> if they may, <tt>false</tt> otherwise.
+     */
+    static boolean isStreetRelation(final int id1, final int id2) {
+	return typeOf(id1) == typeOf(id2) && SUCCESSOR[valueOf(id1)] == valueOf(id2);
+
+    }
+
+    /**
+     * Whether the given values are in the <i>street relation</i>, as defined by
+     * {@link GameRule}.
+     * 
+     * @param value1 The ordinal of the first value in the relation.
+     * @param value2 The ordinal of the second value in the relation.
+     * @return <tt>True</tt> if <tt>value1</tt> is in a street relation with
+     *         <tt>value2</tt>, <tt>false</tt> otherwise.
+     */
+    private static boolean isNextInStreetRelation(final int value1, final int value2) {
+	return SUCCESSOR[value1] == value2;
+
+    }
+
+    /**
+     * Whether the given amount of points, summed up over all the sequences of a
+     * <i>play</i>, make it a valid initial play.
+     * 
+     * @param points The points mentioned.
+     * @return <tt>True</tt> if it is, <tt>false</tt> otherwise.
+     * 
+     * @see GameRule#isValidInitial(java.util.List)
+     */
+    public static boolean isValidInitial(final int points) {
+	return points >= GameRule.POINT_THRESHOLD;
+
+    }
+
+    /**
+     * Gets the ordinal of the type of the card with the given ID.
+     * 
+     * @param id The ID of the card.
+     * @return The ordinal mentioned.
+     */
+    private static int typeOf(final int id) {
+	return id / CARD_VALUES;
+
+    }
+
+    /**
+     * Gets the ordinal of the value of the card with the given ID.
+     * 
+     * @param id The ID of the card.
+     * @return The ordinal mentioned.
+     */
+    private static int valueOf(final int id) {
+	return id % CARD_VALUES;
+
+    }
+
+    private PackedGameRule() {
+
+    }
+
+}
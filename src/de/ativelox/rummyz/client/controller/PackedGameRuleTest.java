@@ -0,0 +1,142 @@
+package de.ativelox.rummyz.client.controller;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.ativelox.rummyz.model.ICard;
+import de.ativelox.rummyz.model.util.NetworkUtils;
+
+/**
+ * Provides JUnit test cases for {@link PackedGameRule}, checking it against
+ * {@link ReferenceGameRule} for random sequences of cards.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+public final class PackedGameRuleTest {
+
+    /**
+     * The amount of random sequences checked.
+     */
+    private static final int ROUNDS = 20_000;
+
+    /**
+     * The amount of types of the cards dealt, the type <tt>NONE</tt> excluded.
+     */
+    private static final int TYPES = 4;
+
+    /**
+     * The amount of values of the cards dealt, the <tt>JOKER</tt> included.
+     */
+    private static final int VALUES = 14;
+
+    /**
+     * Creates a random sequence of cards, being a street or a same most of the
+     * time, with a random card swapped in sometimes.
+     * 
+     * @param random The source of randomness.
+     * @return The sequence mentioned.
+     */
+    private static List<ICard> randomSequence(final Random random) {
+	final int size = 1 + random.nextInt(6);
+	final int type = random.nextInt(TYPES);
+	final int value = random.nextInt(VALUES);
+	final boolean same = random.nextBoolean();
+	final List<ICard> cards = new ArrayList<>();
+
+	for (int i = 0; i < size; i++) {
+	    final int id = same ? NetworkUtils.encodeCardId((type + i) % TYPES, value)
+		    : NetworkUtils.encodeCardId(type, (value + i) % (VALUES - 1));
+	    cards.add(NetworkUtils.decodeCard(id));
+
+	}
+
+	if (random.nextInt(4) == 0) {
+	    cards.set(random.nextInt(size),
+		    NetworkUtils.decodeCard(NetworkUtils.encodeCardId(random.nextInt(TYPES), random.nextInt(VALUES))));
+
+	}
+	return cards;
+
+    }
+
+    /**
+     * Packs the given cards into their IDs.
+     * 
+     * @param cards The cards to pack.
+     * @return The IDs mentioned.
+     */
+    private static int[] pack(final List<ICard> cards) {
+	final int[] ids = new int[cards.size()];
+
+	for (int i = 0; i < ids.length; i++) {
+	    ids[i] = NetworkUtils.encodeCardId(cards.get(i));
+
+	}
+	return ids;
+
+    }
+
+    /**
+     * Test method for
+     * {@link de.ativelox.rummyz.client.controller.PackedGameRule#getAppendPoints(int[], int, int, int, int)}.
+     */
+    @Test
+    public void testGetAppendPoints() {
+	final Random random = new Random(11);
+
+	for (int i = 0; i < ROUNDS; i++) {
+	    final List<ICard> play = randomSequence(random);
+
+	    if (ReferenceGameRule.getInstantPoints(Collections.singletonList(play)) <= 0) {
+		continue;
+
+	    }
+	    final ICard card = randomSequence(random).get(0);
+	    final int insertIndex = random.nextInt(play.size() + 1);
+	    int expected;
+
+	    try {
+		expected = ReferenceGameRule.getAppendPoints(play, card, insertIndex);
+
+	    } catch (IndexOutOfBoundsException e) {
+		// the original rule only fails on appends which are invalid anyway.
+		expected = 0;
+
+	    }
+
+	    final int[] ids = pack(play);
+	    Assert.assertEquals(play + " <- " + card + "@" + insertIndex, expected,
+		    PackedGameRule.getAppendPoints(ids, 0, ids.length, NetworkUtils.encodeCardId(card), insertIndex));
+
+	}
+    }
+
+    /**
+     * Test method for
+     * {@link de.ativelox.rummyz.client.controller.PackedGameRule#getPoints(int[], int, int)}.
+     */
+    @Test
+    public void testGetPoints() {
+	final Random random = new Random(7);
+
+	for (int i = 0; i < ROUNDS; i++) {
+	    final List<ICard> play = randomSequence(random);
+
+	    // packed at an offset, so the bounds of the range are checked as well.
+	    final int[] packed = pack(play);
+	    final int[] ids = new int[packed.length + 2];
+	    System.arraycopy(packed, 0, ids, 1, packed.length);
+
+	    Assert.assertEquals(play.toString(), ReferenceGameRule.getInstantPoints(Collections.singletonList(play)),
+		    PackedGameRule.getPoints(ids, 1, 1 + packed.length));
+
+	}
+    }
+
+}
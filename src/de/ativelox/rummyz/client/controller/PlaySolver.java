@@ -0,0 +1,403 @@
+package de.ativelox.rummyz.client.controller;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import de.ativelox.rummyz.model.Card;
+import de.ativelox.rummyz.model.CardSet;
+import de.ativelox.rummyz.model.ICard;
+import de.ativelox.rummyz.model.property.ECardValue;
+
+/**
+ * Provides a solver finding the <i>plays</i> a hand is worth the most points
+ * with, looking at all of its cards, rather than only at cards lying next to
+ * each other as {@link GameRule#getAllValid(List)} does.
+ * <p>
+ * The cards of the hand get numbered, so every set of them is a single
+ * <tt>long</tt>, and every <i>same</i> and <i>street</i> the hand holds gets
+ * listed upfront. The best points of a set of cards is then found by deciding
+ * on its lowest card only: either it isn't played, or it is played in one of
+ * the plays made up of cards of the set, every other card of that play being
+ * higher. The best points of every set of cards left over get remembered, since
+ * different choices often leave the same cards over.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+public final class PlaySolver {
+
+    /**
+     * The maximum amount of cards of a hand to solve, every card being a bit of a
+     * <tt>long</tt>.
+     */
+    private static final int MAX_CARDS = Long.SIZE;
+
+    /**
+     * The amount of different values following each other in the longest
+     * <i>street</i>, every value but the {@link ECardValue#JOKER}.
+     */
+    private static final int MAX_STREET = CardSet.CARD_VALUES - 1;
+
+    /**
+     * The ordinal of {@link ECardValue#JOKER}.
+     */
+    private static final int JOKER = ECardValue.JOKER.ordinal();
+
+    /**
+     * The initial capacity of the table of the best points, a power of two.
+     */
+    private static final int INITIAL_CAPACITY = 1 << 10;
+
+    /**
+     * The IDs of the cards of the hand, ordered by ID, indexed by their number.
+     */
+    private final int[] mIds;
+
+    /**
+     * The plays found, as the numbers of their cards in the order they are played
+     * in, indexed by the lowest number of each.
+     */
+    private final int[][][] mPlays;
+
+    /**
+     * The sets of the cards of the plays in {@link PlaySolver#mPlays}.
+     */
+    private final long[][] mPlayMasks;
+
+    /**
+     * The points of the plays in {@link PlaySolver#mPlays}.
+     */
+    private final int[][] mPlayPoints;
+
+    /**
+     * The sets of cards whose best points are known, an open addressed table,
+     * <tt>0</tt> marking an empty slot.
+     */
+    private long[] mKeys;
+
+    /**
+     * The best points of the sets of cards in {@link PlaySolver#mKeys}.
+     */
+    private int[] mValues;
+
+    /**
+     * The amount of sets of cards in {@link PlaySolver#mKeys}.
+     */
+    private int mSize;
+
+    /**
+     * Finds the <i>plays</i> the given hand is worth the most points with. A hand
+     * of a player without its initial play only gets plays worth at least the
+     * {@link GameRule#POINT_THRESHOLD}, as
+     * {@link GameRule#isValidInitial(List)} demands.
+     * 
+     * @param hand       The cards of the hand.
+     * @param didInitial Whether the player has done its initial play.
+     * @return The plays mentioned, every card ordered the way it has to be played,
+     *         an empty list if there are none.
+     * @throws IllegalArgumentException If the hand has more than
+     *                                  {@link PlaySolver#MAX_CARDS} cards.
+     */
+    public static List<List<ICard>> solve(final CardSet hand, final boolean didInitial) {
+	if (hand.size() > MAX_CARDS) {
+	    throw new IllegalArgumentException("Could not solve a hand of " + hand.size() + " cards.");
+
+	}
+	final PlaySolver solver = new PlaySolver(hand);
+	final long all = hand.size() == MAX_CARDS ? -1L : (1L << hand.size()) - 1;
+	final int points = solver.best(all);
+
+	if (points <= 0 || !didInitial && !PackedGameRule.isValidInitial(points)) {
+	    return new ArrayList<>();
+
+	}
+	return solver.collect(all);
+
+    }
+
+    /**
+     * Creates a new {@link PlaySolver}, numbering the cards of the given hand and
+     * listing every play made up of them.
+     * 
+     * @param hand The cards of the hand.
+     */
+    private PlaySolver(final CardSet hand) {
+	mIds = new int[hand.size()];
+	mKeys = new long[INITIAL_CAPACITY];
+	mValues = new int[INITIAL_CAPACITY];
+	mSize = 0;
+
+	int number = 0;
+
+	for (int id = hand.nextId(0); id >= 0; id = hand.nextId(id + 1)) {
+	    for (int i = hand.count(id); i > 0; i--) {
+		mIds[number++] = id;
+
+	    }
+	}
+
+	final List<List<int[]>> plays = new ArrayList<>();
+
+	for (int i = 0; i < mIds.length; i++) {
+	    plays.add(new ArrayList<>());
+
+	}
+	this.listSames(plays);
+
+	final int[] street = new int[MAX_STREET];
+
+	for (int i = 0; i < mIds.length; i++) {
+	    street[0] = i;
+	    this.listStreets(plays, street, 1);
+
+	}
+	mPlays = new int[mIds.length][][];
+	mPlayMasks = new long[mIds.length][];
+	mPlayPoints = new int[mIds.length][];
+
+	for (int lowest = 0; lowest < mIds.length; lowest++) {
+	    mPlays[lowest] = plays.get(lowest).toArray(new int[0][]);
+	    mPlayMasks[lowest] = new long[mPlays[lowest].length];
+	    mPlayPoints[lowest] = new int[mPlays[lowest].length];
+
+	    for (int i = 0; i < mPlays[lowest].length; i++) {
+		for (final int card : mPlays[lowest][i]) {
+		    mPlayMasks[lowest][i] |= 1L << card;
+
+		}
+		mPlayPoints[lowest][i] = this.points(mPlays[lowest][i]);
+
+	    }
+	}
+    }
+
+    /**
+     * Adds the given play to the plays found, listed for its lowest number.
+     * 
+     * @param plays   The plays found, listed for the lowest number of each.
+     * @param numbers The numbers of the cards of the play, in the order they are
+     *                played in.
+     * @param length  The amount of cards of the play.
+     */
+    private static void add(final List<List<int[]>> plays, final int[] numbers, final int length) {
+	int lowest = numbers[0];
+
+	for (int i = 1; i < length; i++) {
+	    lowest = Math.min(lowest, numbers[i]);
+
+	}
+	plays.get(lowest).add(Arrays.copyOf(numbers, length));
+
+    }
+
+    /**
+     * Gets the best points the given set of cards is worth.
+     * 
+     * @param cards The set of cards, one bit for every number.
+     * @return The points mentioned.
+     */
+    private int best(final long cards) {
+	if (cards == 0) {
+	    return 0;
+
+	}
+	int slot = this.slotOf(cards);
+
+	if (mKeys[slot] == cards) {
+	    return mValues[slot];
+
+	}
+	final int lowest = Long.numberOfTrailingZeros(cards);
+	final long[] masks = mPlayMasks[lowest];
+	int best = this.best(cards & ~(1L << lowest));
+
+	for (int i = 0; i < masks.length; i++) {
+	    if ((masks[i] & ~cards) == 0) {
+		best = Math.max(best, mPlayPoints[lowest][i] + this.best(cards & ~masks[i]));
+
+	    }
+	}
+	// the table might have grown while deciding.
+	slot = this.slotOf(cards);
+	mKeys[slot] = cards;
+	mValues[slot] = best;
+	mSize++;
+
+	if (mSize * 2 > mKeys.length) {
+	    this.grow();
+
+	}
+	return best;
+
+    }
+
+    /**
+     * Collects the plays the given set of cards is worth its best points with, as
+     * found by {@link PlaySolver#best(long)}.
+     * 
+     * @param cards The set of cards, one bit for every number.
+     * @return The plays mentioned.
+     */
+    private List<List<ICard>> collect(final long cards) {
+	final List<List<ICard>> plays = new ArrayList<>();
+	long left = cards;
+
+	while (left != 0) {
+	    final int best = this.best(left);
+	    final int lowest = Long.numberOfTrailingZeros(left);
+	    final long[] masks = mPlayMasks[lowest];
+	    long next = left & ~(1L << lowest);
+
+	    for (int i = 0; i < masks.length; i++) {
+		if ((masks[i] & ~left) == 0 && mPlayPoints[lowest][i] + this.best(left & ~masks[i]) == best) {
+		    final List<ICard> play = new ArrayList<>();
+
+		    for (final int number : mPlays[lowest][i]) {
+			play.add(Card.of(mIds[number]));
+
+		    }
+		    plays.add(play);
+		    next = left & ~masks[i];
+		    break;
+
+		}
+	    }
+	    left = next;
+
+	}
+	return plays;
+
+    }
+
+    /**
+     * Doubles the capacity of the table of the best points.
+     */
+    private void grow() {
+	final long[] keys = mKeys;
+	final int[] values = mValues;
+
+	mKeys = new long[keys.length * 2];
+	mValues = new int[values.length * 2];
+
+	for (int i = 0; i < keys.length; i++) {
+	    if (keys[i] != 0) {
+		final int slot = this.slotOf(keys[i]);
+
+		mKeys[slot] = keys[i];
+		mValues[slot] = values[i];
+
+	    }
+	}
+    }
+
+    /**
+     * Lists every <i>same</i> the hand holds, being every set of at least three
+     * cards of the same value.
+     * 
+     * @param plays The plays found, listed for the lowest number of each.
+     */
+    private void listSames(final List<List<int[]>> plays) {
+	final int[] numbers = new int[mIds.length];
+	final int[] same = new int[mIds.length];
+
+	for (int value = 0; value < CardSet.CARD_VALUES; value++) {
+	    if (value == JOKER) {
+		// a same of jokers is worth no points.
+		continue;
+
+	    }
+	    int amount = 0;
+
+	    for (int i = 0; i < mIds.length; i++) {
+		if (mIds[i] % CardSet.CARD_VALUES == value) {
+		    numbers[amount++] = i;
+
+		}
+	    }
+
+	    for (int subset = 1; subset < 1 << amount; subset++) {
+		if (Integer.bitCount(subset) < 3) {
+		    continue;
+
+		}
+		int length = 0;
+
+		for (int i = 0; i < amount; i++) {
+		    if ((subset & (1 << i)) != 0) {
+			same[length++] = numbers[i];
+
+		    }
+		}
+		add(plays, same, length);
+
+	    }
+	}
+    }
+
+    /**
+     * Lists every <i>street</i> the hand holds continuing the given cards, by
+     * appending every card of the same type and the value following the last one.
+     * 
+     * @param plays  The plays found, listed for the lowest number of each.
+     * @param street The numbers of the cards of the street so far.
+     * @param length The amount of cards of the street so far.
+     */
+    private void listStreets(final List<List<int[]>> plays, final int[] street, final int length) {
+	if (length >= 3) {
+	    add(plays, street, length);
+
+	}
+
+	if (length == MAX_STREET) {
+	    return;
+
+	}
+	final int last = mIds[street[length - 1]];
+
+	for (int i = 0; i < mIds.length; i++) {
+	    if (PackedGameRule.isStreetRelation(last, mIds[i])) {
+		street[length] = i;
+		this.listStreets(plays, street, length + 1);
+
+	    }
+	}
+    }
+
+    /**
+     * Gets the points the play made up of the given cards is worth.
+     * 
+     * @param numbers The numbers of the cards, in the order they are played in.
+     * @return The points mentioned.
+     */
+    private int points(final int[] numbers) {
+	final int[] ids = new int[numbers.length];
+
+	for (int i = 0; i < numbers.length; i++) {
+	    ids[i] = mIds[numbers[i]];
+
+	}
+	return PackedGameRule.getPoints(ids, 0, ids.length);
+
+    }
+
+    /**
+     * Gets the slot of the table of the best points the given set of cards is
+     * stored in, or would be stored in.
+     * 
+     * @param cards The set of cards.
+     * @return The slot mentioned.
+     */
+    private int slotOf(final long cards) {
+	final int mask = mKeys.length - 1;
+	int slot = (int) ((cards * 0x9E3779B97F4A7C15L) >>> 40) & mask;
+
+	while (mKeys[slot] != 0 && mKeys[slot] != cards) {
+	    slot = (slot + 1) & mask;
+
+	}
+	return slot;
+
+    }
+
+}
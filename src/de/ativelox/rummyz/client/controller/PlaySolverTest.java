@@ -0,0 +1,132 @@
+package de.ativelox.rummyz.client.controller;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.ativelox.rummyz.model.Card;
+import de.ativelox.rummyz.model.CardSet;
+import de.ativelox.rummyz.model.ICard;
+import de.ativelox.rummyz.model.property.ECardType;
+import de.ativelox.rummyz.model.property.ECardValue;
+import de.ativelox.rummyz.model.util.ImmutablePair;
+import de.ativelox.rummyz.model.util.NetworkUtils;
+
+/**
+ * Provides JUnit test cases for {@link PlaySolver}.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+public final class PlaySolverTest {
+
+    /**
+     * The amount of random hands checked.
+     */
+    private static final int ROUNDS = 500;
+
+    /**
+     * Gets the points the plays found by {@link GameRule#getAllValid(List)} for
+     * the given cards are worth.
+     * 
+     * @param cards The cards, in the order they lie next to each other.
+     * @return The points mentioned.
+     */
+    private static int pointsOfAdjacent(final List<ICard> cards) {
+	final List<List<ICard>> plays = new ArrayList<>();
+
+	for (final ImmutablePair<Integer, Integer> range : GameRule.getAllValid(cards)) {
+	    plays.add(cards.subList(range.getKey(), range.getValue()));
+
+	}
+	return GameRule.getInstantPoints(plays);
+
+    }
+
+    /**
+     * Test method for
+     * {@link de.ativelox.rummyz.client.controller.PlaySolver#solve(de.ativelox.rummyz.model.CardSet, boolean)},
+     * for a hand whose cards fit into more than one play.
+     */
+    @Test
+    public void testSolveExample() {
+	final CardSet hand = new CardSet();
+	hand.add(Card.of(ECardType.HEART, ECardValue.QUEEN));
+	hand.add(Card.of(ECardType.HEART, ECardValue.KING));
+	hand.add(Card.of(ECardType.HEART, ECardValue.ACE));
+	hand.add(Card.of(ECardType.SPADE, ECardValue.KING));
+	hand.add(Card.of(ECardType.CLUB, ECardValue.KING));
+	hand.add(Card.of(ECardType.DIAMOND, ECardValue.KING));
+	hand.add(Card.of(ECardType.SPADE, ECardValue.FIVE));
+
+	// the street and three of the kings, rather than all four kings.
+	final List<List<ICard>> plays = PlaySolver.solve(hand, true);
+	Assert.assertEquals(60, GameRule.getInstantPoints(plays));
+	Assert.assertEquals(2, plays.size());
+
+	hand.remove(Card.of(ECardType.HEART, ECardValue.ACE));
+	Assert.assertEquals(40, GameRule.getInstantPoints(PlaySolver.solve(hand, false)));
+
+	// not enough for an initial play with three kings only.
+	hand.remove(Card.of(ECardType.DIAMOND, ECardValue.KING));
+	Assert.assertEquals(30, GameRule.getInstantPoints(PlaySolver.solve(hand, true)));
+	Assert.assertTrue(PlaySolver.solve(hand, false).isEmpty());
+
+    }
+
+    /**
+     * Test method for
+     * {@link de.ativelox.rummyz.client.controller.PlaySolver#solve(de.ativelox.rummyz.model.CardSet, boolean)},
+     * checking for random hands that the plays found are valid, made up of
+     * different cards of the hand, and worth at least as much as the plays of the
+     * hand sorted by type or by value.
+     */
+    @Test
+    public void testSolveRandom() {
+	final Random random = new Random(17);
+
+	for (int round = 0; round < ROUNDS; round++) {
+	    final List<ICard> deck = new ArrayList<>();
+
+	    for (int type = 0; type < 4; type++) {
+		for (int value = 0; value < 13; value++) {
+		    deck.add(Card.get(type, value));
+
+		}
+	    }
+	    Collections.shuffle(deck, random);
+
+	    final List<ICard> cards = new ArrayList<>(deck.subList(0, 10 + random.nextInt(11)));
+	    final CardSet hand = new CardSet();
+	    cards.forEach(hand::add);
+
+	    final List<List<ICard>> plays = PlaySolver.solve(hand, true);
+	    final CardSet left = new CardSet(hand);
+
+	    for (final List<ICard> play : plays) {
+		Assert.assertTrue(play.toString(), GameRule.getInstantPoints(Collections.singletonList(play)) > 0);
+
+		for (final ICard card : play) {
+		    Assert.assertTrue(cards + " " + plays, left.remove(card));
+
+		}
+	    }
+	    final int points = GameRule.getInstantPoints(plays);
+
+	    cards.sort(Comparator.comparingInt(NetworkUtils::encodeCardId));
+	    Assert.assertTrue(cards.toString(), points >= pointsOfAdjacent(cards));
+
+	    cards.sort(Comparator.comparing(ICard::getValue));
+	    Assert.assertTrue(cards.toString(), points >= pointsOfAdjacent(cards));
+
+	    Assert.assertEquals(PackedGameRule.isValidInitial(points), !PlaySolver.solve(hand, false).isEmpty());
+
+	}
+    }
+
+}
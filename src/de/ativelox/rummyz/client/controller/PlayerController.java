@@ -1,5 +1,7 @@
 package de.ativelox.rummyz.client.controller;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -10,10 +12,14 @@ import de.ativelox.rummyz.client.view.gui.GraphicalView;
 import de.ativelox.rummyz.model.ICard;
 import de.ativelox.rummyz.model.INetworkController;
 import de.ativelox.rummyz.model.IPlayer;
+import de.ativelox.rummyz.model.TableSnapshot;
 import de.ativelox.rummyz.model.assets.Assets;
 import de.ativelox.rummyz.model.property.EIO;
 import de.ativelox.rummyz.model.util.NetworkUtils;
+import de.ativelox.rummyz.network.log.ELogLevel;
+import de.ativelox.rummyz.network.log.ProtocolLog;
 import de.ativelox.rummyz.network.protocol.EC2S;
+import de.ativelox.rummyz.network.protocol.ERejection;
 import de.ativelox.rummyz.network.protocol.ES2C;
 
 /**
@@ -44,6 +50,12 @@ public final class PlayerController implements IPlayerController<EC2S, ES2C> {
      */
     private final Stack<ICard> mGraveyard;
 
+    /**
+     * The amount of cards below {@link PlayerController#mGraveyard}, which aren't
+     * known, since a snapshot only holds the card on top of the grave yard.
+     */
+    private int mHiddenGraveyard;
+
     /**
      * The current network controller associated with this controller, handles
      * socket communication.
@@ -66,6 +78,11 @@ public final class PlayerController implements IPlayerController<EC2S, ES2C> {
      */
     private boolean mTookCardsThisTurn;
 
+    /**
+     * The last full snapshot received, <tt>null</tt> if none got received yet.
+     */
+    private TableSnapshot mSnapshot;
+
     /**
      * Creates a new {@link PlayerController}. Also calls {@link Assets#init()}.
      * 
@@ -78,6 +95,7 @@ public final class PlayerController implements IPlayerController<EC2S, ES2C> {
 	mView = new GraphicalView(1, 2);
 	mOnFieldCards = new HashMap<>();
 	mGraveyard = new Stack<>();
+	mHiddenGraveyard = 0;
 
 	mDidInitial = false;
 
@@ -162,8 +180,15 @@ public final class PlayerController implements IPlayerController<EC2S, ES2C> {
      */
     @Override
     public void onGraveyardDecrease(final ICard card) {
-	mGraveyard.pop();
-	mView.removeCardFromGraveyard();
+	if (mGraveyard.isEmpty()) {
+	    mHiddenGraveyard = Math.max(0, mHiddenGraveyard - 1);
+
+	} else {
+	    mGraveyard.pop();
+	    mView.removeCardFromGraveyard();
+
+	}
+	this.revealGraveyardTop();
 
     }
 
@@ -176,6 +201,7 @@ public final class PlayerController implements IPlayerController<EC2S, ES2C> {
     @Override
     public void onGraveyardEmpty() {
 	mGraveyard.clear();
+	mHiddenGraveyard = 0;
 
 	mView.onGraveyardEmpty();
 
@@ -195,6 +221,32 @@ public final class PlayerController implements IPlayerController<EC2S, ES2C> {
 
     }
 
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * de.ativelox.rummyz.client.controller.IPlayerControllerReceiver#onMoveRejected
+     * (de.ativelox.rummyz.network.protocol.EC2S,
+     * de.ativelox.rummyz.network.protocol.ERejection)
+     */
+    @Override
+    public void onMoveRejected(final EC2S move, final ERejection rejection) {
+	ProtocolLog.get().log(ELogLevel.INFO, move + " rejected: " + rejection.getMessage());
+
+	if (rejection == ERejection.BELOW_THRESHOLD || rejection == ERejection.NO_INITIAL_PLAY) {
+	    mDidInitial = false;
+
+	}
+	mView.invalidPlay();
+
+	// the cards of the move already got taken out of the hand, get it back from the
+	// server.
+	if (move == EC2S.CARDS_PLAYED || move == EC2S.CARD_APPEND || move == EC2S.CARD_DISCARD) {
+	    this.sendSnapshotRequest();
+
+	}
+    }
+
     /*
      * (non-Javadoc)
      * 
@@ -212,6 +264,80 @@ public final class PlayerController implements IPlayerController<EC2S, ES2C> {
 
     }
 
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * de.ativelox.rummyz.client.controller.IPlayerControllerReceiver#onStateSnapshot
+     * (de.ativelox.rummyz.model.TableSnapshot)
+     */
+    @Override
+    public void onStateSnapshot(final TableSnapshot snapshot) {
+	if (snapshot.isDiff()) {
+	    if (mSnapshot == null || mSnapshot.getVersion() != snapshot.getBaseVersion()) {
+		// the base of the diff is unknown, so ask for a full snapshot.
+		mSnapshot = null;
+		this.sendSnapshotRequest();
+		return;
+
+	    }
+	    mSnapshot = mSnapshot.apply(snapshot);
+
+	} else {
+	    mSnapshot = snapshot;
+
+	}
+
+	for (final ICard card : new ArrayList<>(mPlayer.getCards().getAll())) {
+	    mPlayer.getCards().remove(card);
+	    mView.removeCard(card);
+
+	}
+
+	for (final ICard card : mSnapshot.getHand()) {
+	    mPlayer.getCards().add(card);
+	    mView.addCard(card);
+
+	}
+
+	mGraveyard.clear();
+	mView.onGraveyardEmpty();
+	mHiddenGraveyard = mSnapshot.getGraveyardSize();
+
+	if (mSnapshot.getGraveyardTop() != null) {
+	    mGraveyard.add(mSnapshot.getGraveyardTop());
+	    mView.addCardToGraveyard(mSnapshot.getGraveyardTop());
+	    mHiddenGraveyard--;
+
+	}
+
+	for (final Map.Entry<Integer, List<ICard>> meld : mSnapshot.getMelds().entrySet()) {
+	    final List<ICard> known = mOnFieldCards.get(meld.getKey());
+
+	    if (known == null) {
+		final List<ICard> cards = new ArrayList<>(meld.getValue());
+		mOnFieldCards.put(meld.getKey(), cards);
+		mView.addCardsPlayed(Collections.singletonList(cards), new String[] { meld.getKey() + "" });
+		continue;
+
+	    }
+
+	    // melds only ever grow, so every card not known yet got appended.
+	    for (int i = 0; i < meld.getValue().size(); i++) {
+		final ICard card = meld.getValue().get(i);
+
+		if (i >= known.size() || card.getType() != known.get(i).getType()
+			|| card.getValue() != known.get(i).getValue()) {
+		    known.add(i, card);
+		    mView.appendCard(card, meld.getKey(), i);
+
+		}
+	    }
+	}
+	mView.onBlockStateChange(mSnapshot.getCurrentTurn() != mPlayer.getId());
+
+    }
+
     /*
      * (non-Javadoc)
      * 
@@ -259,6 +385,17 @@ public final class PlayerController implements IPlayerController<EC2S, ES2C> {
 
     }
 
+    /**
+     * Asks the server for a snapshot, if the card on top of the grave yard is one
+     * of the hidden ones, so it gets known before it might be picked up.
+     */
+    private void revealGraveyardTop() {
+	if (mGraveyard.isEmpty() && mHiddenGraveyard > 0) {
+	    this.sendSnapshotRequest();
+
+	}
+    }
+
     /*
      * (non-Javadoc)
      * 
@@ -346,19 +483,6 @@ public final class PlayerController implements IPlayerController<EC2S, ES2C> {
 	}
     }
 
-    /*
-     * (non-Javadoc)
-     * 
-     * @see
-     * de.ativelox.rummyz.client.controller.IPlayerControllerSender#sendDrawCards(
-     * int)
-     */
-    @Override
-    public void sendDrawCards(final int amount) {
-	this.mNetworkController.send(EC2S.DRAW_CARDS, new String[] { amount + "" });
-
-    }
-
     /*
      * (non-Javadoc)
      * 
@@ -373,11 +497,12 @@ public final class PlayerController implements IPlayerController<EC2S, ES2C> {
 
 	}
 	mView.addCardFromGraveyard();
-	mPlayer.getCards().add(mGraveyard.peek());
+	mPlayer.getCards().add(mGraveyard.pop());
 
 	mTookCardsThisTurn = true;
 
 	mNetworkController.send(EC2S.GRAVEYARD_PICKUP);
+	this.revealGraveyardTop();
 
     }
 
@@ -392,6 +517,20 @@ public final class PlayerController implements IPlayerController<EC2S, ES2C> {
 
     }
 
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * de.ativelox.rummyz.client.controller.IPlayerControllerSender#
+     * sendSnapshotRequest()
+     */
+    @Override
+    public void sendSnapshotRequest() {
+	final int knownVersion = mSnapshot == null ? TableSnapshot.NO_BASE : mSnapshot.getVersion();
+	mNetworkController.send(EC2S.SNAPSHOT_REQUEST, new String[] { knownVersion + "" });
+
+    }
+
     /*
      * (non-Javadoc)
      * 
@@ -0,0 +1,605 @@
+package de.ativelox.rummyz.client.controller;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import de.ativelox.rummyz.model.CardSet;
+import de.ativelox.rummyz.model.ICard;
+import de.ativelox.rummyz.model.property.ECardValue;
+import de.ativelox.rummyz.model.util.NetworkUtils;
+
+/**
+ * Provides the state of a game of two players as seen by a
+ * {@link MonteCarloBotStrategy}, and plays it out to its end. Every set of
+ * cards is a single <tt>long</tt>, one bit for every card of the deck at the
+ * bit of its ID, so a state is a handful of words: copying one is as cheap as
+ * it gets, and a state gets reused for every playout rather than allocated.
+ * <p>
+ * The players play out their turns by a simple policy: draw a card, play every
+ * <i>street</i> and <i>same</i> the hand holds, as soon as they are worth an
+ * initial play, append every card fitting a play on the board, and discard a
+ * card which has no card of the same value or of the same type and a close
+ * value next to it. The plays on the board are only kept as the cards which fit
+ * onto them, and the grave yard only as a set, as the policy never picks up
+ * cards.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+final class PlayoutState {
+
+    /**
+     * The index of the player the state is seen by.
+     */
+    static final int SELF = 0;
+
+    /**
+     * The index of the other player.
+     */
+    static final int OPPONENT = 1;
+
+    /**
+     * The index of the winner of a game nobody won.
+     */
+    static final int NO_WINNER = -1;
+
+    /**
+     * The amount of types of the cards of the deck.
+     */
+    private static final int TYPES = 4;
+
+    /**
+     * The amount of values of the cards of the deck, which follow each other in a
+     * ring, as the {@link ECardValue#ACE} is followed by the
+     * {@link ECardValue#TWO}.
+     */
+    private static final int VALUES = ECardValue.JOKER.ordinal();
+
+    /**
+     * The bits of all the values of a single type.
+     */
+    private static final long RING = (1L << VALUES) - 1;
+
+    /**
+     * The ordinal of {@link ECardValue#KING}.
+     */
+    private static final int KING = ECardValue.KING.ordinal();
+
+    /**
+     * The ordinal of {@link ECardValue#ACE}.
+     */
+    private static final int ACE = ECardValue.ACE.ordinal();
+
+    /**
+     * The points of every value, indexed by its ordinal, the
+     * {@link PlayoutState#ACE} counted high.
+     */
+    private static final int[] POINTS = { 2, 3, 4, 5, 6, 7, 8, 9, 10, 10, 10, 10, 10 };
+
+    /**
+     * The set of all the cards of the deck.
+     */
+    static final long DECK;
+
+    static {
+	long deck = 0;
+
+	for (int type = 0; type < TYPES; type++) {
+	    deck |= RING << (type * CardSet.CARD_VALUES);
+
+	}
+	DECK = deck;
+
+    }
+
+    /**
+     * The cards of the players, indexed by their index.
+     */
+    private final long[] mHands;
+
+    /**
+     * The players which have done their initial play, one bit for every index.
+     */
+    private int mInitial;
+
+    /**
+     * The cards of the deck, or before {@link PlayoutState#determinize} the
+     * cards not seen, held by the other player or in the deck.
+     */
+    private long mDeck;
+
+    /**
+     * The cards of the grave yard.
+     */
+    private long mGraveyard;
+
+    /**
+     * The cards which fit onto either end of a <i>street</i> on the board.
+     */
+    private long mStreetEnds;
+
+    /**
+     * The cards which fit into a <i>same</i> on the board.
+     */
+    private long mSameGaps;
+
+    /**
+     * The amount of cards the other player holds, dealt from the cards not seen
+     * by {@link PlayoutState#determinize}.
+     */
+    private int mOpponentCards;
+
+    /**
+     * Creates a new, empty {@link PlayoutState}.
+     */
+    PlayoutState() {
+	mHands = new long[2];
+
+    }
+
+    /**
+     * Creates a new {@link PlayoutState} from what the given bot sees, the cards
+     * the other player holds not being dealt yet.
+     * 
+     * @param state The state of the game as the bot sees it.
+     */
+    PlayoutState(final IBotState state) {
+	this();
+	mHands[SELF] = maskOf(state.getHand());
+	mInitial = (state.didInitial() ? 1 << SELF : 0) | (state.didOpponentInitial() ? 1 << OPPONENT : 0);
+
+	for (final ICard card : state.getGraveyard()) {
+	    mGraveyard |= bitOf(card);
+
+	}
+	long board = 0;
+
+	for (final List<ICard> meld : state.getMelds().values()) {
+	    long cards = 0;
+
+	    for (final ICard card : meld) {
+		cards |= bitOf(card);
+
+	    }
+	    board |= cards;
+	    this.addToBoard(cards, meld.get(0).getValue() == meld.get(meld.size() - 1).getValue());
+
+	}
+	mDeck = DECK & ~mHands[SELF] & ~mGraveyard & ~board;
+	mOpponentCards = Math.min(state.getOpponentHandSize(), Long.bitCount(mDeck));
+
+    }
+
+    /**
+     * Gets the bit of the given card.
+     * 
+     * @param card The card.
+     * @return The bit mentioned, <tt>0</tt> if the card isn't part of the deck.
+     */
+    static long bitOf(final ICard card) {
+	final int id = NetworkUtils.encodeCardId(card);
+	return id < Long.SIZE ? DECK & 1L << id : 0;
+
+    }
+
+    /**
+     * Gets the set of the given cards, as used by this class.
+     * 
+     * @param cards The cards.
+     * @return The set mentioned, without any card not part of the deck.
+     */
+    static long maskOf(final CardSet cards) {
+	long mask = 0;
+
+	for (int id = cards.nextId(0); id >= 0 && id < Long.SIZE; id = cards.nextId(id + 1)) {
+	    mask |= 1L << id;
+
+	}
+	return mask & DECK;
+
+    }
+
+    /**
+     * Gets the points the given plays are worth, as {@link GameRule} counts them.
+     * 
+     * @param streets The cards of the <i>streets</i>.
+     * @param sames   The cards of the <i>sames</i>.
+     * @return The points mentioned.
+     */
+    static int points(final long streets, final long sames) {
+	int points = 0;
+
+	for (long left = sames; left != 0; left &= left - 1) {
+	    points += POINTS[Long.numberOfTrailingZeros(left) % CardSet.CARD_VALUES];
+
+	}
+
+	for (int type = 0; type < TYPES; type++) {
+	    final long street = ringOf(streets, type);
+
+	    for (long left = street; left != 0; left &= left - 1) {
+		points += POINTS[Long.numberOfTrailingZeros(left)];
+
+	    }
+
+	    // an ace counts as one, unless it follows a king.
+	    if ((street & 1L << ACE) != 0 && (street & 1L << KING) == 0) {
+		points -= POINTS[ACE] - 1;
+
+	    }
+	}
+	return points;
+
+    }
+
+    /**
+     * Gets the values of the given type held in the given set, as a ring of
+     * {@link PlayoutState#VALUES} bits.
+     * 
+     * @param cards The set of cards.
+     * @param type  The ordinal of the type.
+     * @return The ring mentioned.
+     */
+    private static long ringOf(final long cards, final int type) {
+	return cards >>> (type * CardSet.CARD_VALUES) & RING;
+
+    }
+
+    /**
+     * Picks a random card of the given set.
+     * 
+     * @param cards  The set of cards, not empty.
+     * @param random The source of randomness.
+     * @return The bit of the card picked.
+     */
+    private static long randomOf(final long cards, final SplittableRandom random) {
+	long left = cards;
+
+	for (int skip = random.nextInt(Long.bitCount(cards)); skip > 0; skip--) {
+	    left &= left - 1;
+
+	}
+	return Long.lowestOneBit(left);
+
+    }
+
+    /**
+     * Rotates the given ring of values downwards, each value taking the bit of the
+     * one it is followed by.
+     * 
+     * @param ring     The ring of values.
+     * @param distance The amount of values to rotate by.
+     * @return The ring rotated.
+     */
+    private static long rotateDown(final long ring, final int distance) {
+	return (ring >>> distance | ring << (VALUES - distance)) & RING;
+
+    }
+
+    /**
+     * Rotates the given ring of values upwards, each value taking the bit of the
+     * one it follows.
+     * 
+     * @param ring     The ring of values.
+     * @param distance The amount of values to rotate by.
+     * @return The ring rotated.
+     */
+    private static long rotateUp(final long ring, final int distance) {
+	return (ring << distance | ring >>> (VALUES - distance)) & RING;
+
+    }
+
+    /**
+     * Gets the cards of the given set, which are part of a <i>same</i>, being
+     * every card whose value is held in at least three types.
+     * 
+     * @param cards The set of cards.
+     * @return The set of the cards mentioned.
+     */
+    static long sames(final long cards) {
+	final long a = ringOf(cards, 0);
+	final long b = ringOf(cards, 1);
+	final long c = ringOf(cards, 2);
+	final long d = ringOf(cards, 3);
+	final long values = a & b & (c | d) | c & d & (a | b);
+	long sames = 0;
+
+	for (int type = 0; type < TYPES; type++) {
+	    sames |= values << (type * CardSet.CARD_VALUES);
+
+	}
+	return sames & cards;
+
+    }
+
+    /**
+     * Gets the cards of the given set, which are part of a <i>street</i>, being
+     * every card of a run of at least three values following each other in a
+     * single type.
+     * 
+     * @param cards The set of cards.
+     * @return The set of the cards mentioned.
+     */
+    static long streets(final long cards) {
+	long streets = 0;
+
+	for (int type = 0; type < TYPES; type++) {
+	    final long ring = ringOf(cards, type);
+	    final long starts = ring & rotateDown(ring, 1) & rotateDown(ring, 2);
+
+	    streets |= (starts | rotateUp(starts, 1) | rotateUp(starts, 2)) << (type * CardSet.CARD_VALUES);
+
+	}
+	return streets;
+
+    }
+
+    /**
+     * Adds the given cards, which got played onto the board, to the cards fitting
+     * onto the board.
+     * 
+     * @param cards The cards played.
+     * @param same  Whether the cards are a <i>same</i>, rather than
+     *              <i>streets</i>.
+     */
+    private void addToBoard(final long cards, final boolean same) {
+	if (same) {
+	    long values = 0;
+
+	    for (int type = 0; type < TYPES; type++) {
+		values |= ringOf(cards, type);
+
+	    }
+
+	    for (int type = 0; type < TYPES; type++) {
+		mSameGaps |= values << (type * CardSet.CARD_VALUES);
+
+	    }
+	    mSameGaps &= ~cards;
+	    return;
+
+	}
+
+	for (int type = 0; type < TYPES; type++) {
+	    final long ring = ringOf(cards, type);
+	    final long ends = (rotateUp(ring, 1) | rotateDown(ring, 1)) & ~ring;
+
+	    mStreetEnds |= ends << (type * CardSet.CARD_VALUES);
+
+	}
+    }
+
+    /**
+     * Appends every card of the given player fitting onto the board, until none
+     * fits anymore.
+     * 
+     * @param player The index of the player.
+     */
+    private void append(final int player) {
+	long fitting = mHands[player] & (mStreetEnds | mSameGaps);
+
+	while (fitting != 0) {
+	    final long card = Long.lowestOneBit(fitting);
+	    mHands[player] &= ~card;
+
+	    if ((mSameGaps & card) != 0) {
+		mSameGaps &= ~card;
+
+	    } else {
+		mStreetEnds &= ~card;
+		this.addToBoard(card, false);
+
+	    }
+	    fitting = mHands[player] & (mStreetEnds | mSameGaps);
+
+	}
+    }
+
+    /**
+     * Copies the given state into this one.
+     * 
+     * @param other The state to copy.
+     */
+    void copyFrom(final PlayoutState other) {
+	mHands[SELF] = other.mHands[SELF];
+	mHands[OPPONENT] = other.mHands[OPPONENT];
+	mInitial = other.mInitial;
+	mDeck = other.mDeck;
+	mGraveyard = other.mGraveyard;
+	mStreetEnds = other.mStreetEnds;
+	mSameGaps = other.mSameGaps;
+	mOpponentCards = other.mOpponentCards;
+
+    }
+
+    /**
+     * Copies the given state into this one, dealing the cards the other player
+     * holds randomly from the cards not seen, the rest of them making up the
+     * deck.
+     * 
+     * @param root   The state as the bot sees it.
+     * @param random The source of randomness.
+     */
+    void determinize(final PlayoutState root, final SplittableRandom random) {
+	this.copyFrom(root);
+
+	for (int i = 0; i < mOpponentCards; i++) {
+	    final long card = randomOf(mDeck, random);
+	    mDeck &= ~card;
+	    mHands[OPPONENT] |= card;
+
+	}
+	mOpponentCards = 0;
+
+    }
+
+    /**
+     * Discards the given card of the given player.
+     * 
+     * @param player The index of the player.
+     * @param card   The bit of the card.
+     */
+    void discard(final int player, final long card) {
+	mHands[player] &= ~card;
+	mGraveyard |= card;
+
+    }
+
+    /**
+     * Discards a card of the given player, picked by the policy.
+     * 
+     * @param player The index of the player.
+     * @param random The source of randomness.
+     */
+    private void discard(final int player, final SplittableRandom random) {
+	final long hand = mHands[player];
+	final long a = ringOf(hand, 0);
+	final long b = ringOf(hand, 1);
+	final long c = ringOf(hand, 2);
+	final long d = ringOf(hand, 3);
+	final long pairs = a & (b | c | d) | b & (c | d) | c & d;
+	long kept = 0;
+
+	for (int type = 0; type < TYPES; type++) {
+	    final long ring = ringOf(hand, type);
+	    final long close = rotateUp(ring, 1) | rotateDown(ring, 1) | rotateUp(ring, 2) | rotateDown(ring, 2);
+
+	    kept |= (ring & (close | pairs)) << (type * CardSet.CARD_VALUES);
+
+	}
+	final long loose = hand & ~kept;
+	this.discard(player, randomOf(loose != 0 ? loose : hand, random));
+
+    }
+
+    /**
+     * Draws a card from the deck for the given player. An empty deck gets made up
+     * of the cards of the grave yard first, as the server does.
+     * 
+     * @param player The index of the player.
+     * @param random The source of randomness.
+     */
+    private void draw(final int player, final SplittableRandom random) {
+	if (mDeck == 0) {
+	    mDeck = mGraveyard;
+	    mGraveyard = 0;
+
+	}
+
+	if (mDeck != 0) {
+	    final long card = randomOf(mDeck, random);
+	    mDeck &= ~card;
+	    mHands[player] |= card;
+
+	}
+    }
+
+    /**
+     * Plays the rest of the turn of the given player, after it got its card,
+     * by the policy.
+     * 
+     * @param player The index of the player.
+     * @param random The source of randomness.
+     * @return <tt>True</tt> if the player got rid of all of its cards,
+     *         <tt>false</tt> otherwise.
+     */
+    boolean finishTurn(final int player, final SplittableRandom random) {
+	this.meld(player);
+
+	if (mHands[player] != 0) {
+	    this.discard(player, random);
+
+	}
+	return mHands[player] == 0;
+
+    }
+
+    /**
+     * Gets the cards of the given player.
+     * 
+     * @param player The index of the player.
+     * @return The set of the cards mentioned.
+     */
+    long getHand(final int player) {
+	return mHands[player];
+
+    }
+
+    /**
+     * Plays every <i>street</i> and <i>same</i> the given player holds, if it
+     * has done its initial play or they are worth one, and appends every card
+     * fitting onto the board then. The cards get split into streets and sames the
+     * way playing more of them.
+     * 
+     * @param player The index of the player.
+     */
+    private void meld(final int player) {
+	final long hand = mHands[player];
+	final boolean initial = (mInitial & 1 << player) != 0;
+
+	long streets = streets(hand);
+	long sames = sames(hand & ~streets);
+	final long samesFirst = sames(hand);
+	final long streetsAfter = streets(hand & ~samesFirst);
+
+	if (Long.bitCount(samesFirst | streetsAfter) > Long.bitCount(streets | sames)) {
+	    streets = streetsAfter;
+	    sames = samesFirst;
+
+	}
+
+	if ((streets | sames) != 0 && (initial || PackedGameRule.isValidInitial(points(streets, sames)))) {
+	    mHands[player] &= ~(streets | sames);
+	    mInitial |= 1 << player;
+
+	    this.addToBoard(streets, false);
+	    this.addToBoard(sames, true);
+
+	}
+
+	if ((mInitial & 1 << player) != 0) {
+	    this.append(player);
+
+	}
+    }
+
+    /**
+     * Plays the game out, turn by turn, starting with a whole turn of the given
+     * player.
+     * 
+     * @param player   The index of the player on turn.
+     * @param random   The source of randomness.
+     * @param maxTurns The maximum amount of turns played.
+     * @return The index of the player who got rid of all of its cards first, or
+     *         {@link PlayoutState#NO_WINNER} if nobody did in time.
+     */
+    int playout(final int player, final SplittableRandom random, final int maxTurns) {
+	int current = player;
+
+	for (int turn = 0; turn < maxTurns; turn++) {
+	    this.draw(current, random);
+
+	    if (this.finishTurn(current, random)) {
+		return current;
+
+	    }
+	    current ^= 1;
+
+	}
+	return NO_WINNER;
+
+    }
+
+    /**
+     * Moves the given card from the grave yard to the cards of the given player.
+     * 
+     * @param player The index of the player.
+     * @param card   The bit of the card.
+     */
+    void pickup(final int player, final long card) {
+	mGraveyard &= ~card;
+	mHands[player] |= card;
+
+    }
+
+}
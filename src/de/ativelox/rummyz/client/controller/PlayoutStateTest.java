@@ -0,0 +1,244 @@
+package de.ativelox.rummyz.client.controller;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.ativelox.rummyz.model.Card;
+import de.ativelox.rummyz.model.CardSet;
+import de.ativelox.rummyz.model.ICard;
+
+/**
+ * Provides JUnit test cases for {@link PlayoutState}.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+public final class PlayoutStateTest {
+
+    /**
+     * The amount of random hands checked.
+     */
+    private static final int ROUNDS = 2_000;
+
+    /**
+     * The amount of values of the cards of the deck.
+     */
+    private static final int VALUES = 13;
+
+    /**
+     * Creates the state a bot without any plays on the board and an empty grave
+     * yard sees.
+     * 
+     * @param hand          The cards of the bot.
+     * @param opponentCards The amount of cards the other player holds.
+     * @return The state mentioned.
+     */
+    static IBotState stateOf(final CardSet hand, final int opponentCards) {
+	return new IBotState() {
+
+	    @Override
+	    public boolean didInitial() {
+		return false;
+
+	    }
+
+	    @Override
+	    public boolean didOpponentInitial() {
+		return false;
+
+	    }
+
+	    @Override
+	    public List<ICard> getGraveyard() {
+		return Collections.emptyList();
+
+	    }
+
+	    @Override
+	    public CardSet getHand() {
+		return new CardSet(hand);
+
+	    }
+
+	    @Override
+	    public Map<Integer, List<ICard>> getMelds() {
+		return Collections.emptyMap();
+
+	    }
+
+	    @Override
+	    public int getOpponentHandSize() {
+		return opponentCards;
+
+	    }
+
+	    @Override
+	    public int getPlayerId() {
+		return 1;
+
+	    }
+	};
+    }
+
+    /**
+     * Creates a random hand of cards of the deck.
+     * 
+     * @param random The source of randomness.
+     * @param size   The amount of cards of the hand.
+     * @return The set of the cards of the hand.
+     */
+    private static long randomHand(final SplittableRandom random, final int size) {
+	long hand = 0;
+
+	while (Long.bitCount(hand) < size) {
+	    hand |= 1L << (random.nextInt(4) * CardSet.CARD_VALUES + random.nextInt(VALUES));
+
+	}
+	return hand;
+
+    }
+
+    /**
+     * Splits the given cards into the <i>plays</i> they make up, every run of
+     * values of a type for <tt>streets</tt>, every value for <tt>sames</tt>.
+     * 
+     * @param cards   The set of cards.
+     * @param streets Whether the cards are streets rather than sames.
+     * @return The plays mentioned.
+     */
+    private static List<List<ICard>> playsOf(final long cards, final boolean streets) {
+	final List<List<ICard>> plays = new ArrayList<>();
+
+	if (!streets) {
+	    for (int value = 0; value < VALUES; value++) {
+		final List<ICard> same = new ArrayList<>();
+
+		for (int type = 0; type < 4; type++) {
+		    if ((cards & 1L << (type * CardSet.CARD_VALUES + value)) != 0) {
+			same.add(Card.get(type, value));
+
+		    }
+		}
+
+		if (!same.isEmpty()) {
+		    plays.add(same);
+
+		}
+	    }
+	    return plays;
+
+	}
+
+	for (int type = 0; type < 4; type++) {
+	    final long ring = cards >>> (type * CardSet.CARD_VALUES) & (1L << VALUES) - 1;
+
+	    if (ring == (1L << VALUES) - 1) {
+		final List<ICard> street = new ArrayList<>();
+
+		for (int value = 0; value < VALUES; value++) {
+		    street.add(Card.get(type, value));
+
+		}
+		plays.add(street);
+		continue;
+
+	    }
+
+	    for (int start = 0; start < VALUES; start++) {
+		if ((ring & 1L << start) == 0 || (ring & 1L << (start + VALUES - 1) % VALUES) != 0) {
+		    continue;
+
+		}
+		final List<ICard> street = new ArrayList<>();
+
+		for (int value = start; (ring & 1L << value % VALUES) != 0; value++) {
+		    street.add(Card.get(type, value % VALUES));
+
+		}
+		plays.add(street);
+
+	    }
+	}
+	return plays;
+
+    }
+
+    /**
+     * Test method for
+     * {@link de.ativelox.rummyz.client.controller.PlayoutState#playout(int, java.util.SplittableRandom, int)},
+     * checking random games get played out to a winner without any card getting
+     * dealt twice. A few games may stall, like real ones do when no player can
+     * ever make the initial play.
+     */
+    @Test
+    public void testPlayout() {
+	final SplittableRandom random = new SplittableRandom(3);
+	final PlayoutState state = new PlayoutState();
+	int stalled = 0;
+
+	for (int round = 0; round < ROUNDS; round++) {
+	    final CardSet hand = new CardSet();
+	    final long cards = randomHand(random, 10);
+
+	    for (long left = cards; left != 0; left &= left - 1) {
+		hand.add(Long.numberOfTrailingZeros(left));
+
+	    }
+	    final PlayoutState root = new PlayoutState(stateOf(hand, 10));
+	    state.determinize(root, random);
+
+	    Assert.assertEquals(cards, state.getHand(PlayoutState.SELF));
+	    Assert.assertEquals(10, Long.bitCount(state.getHand(PlayoutState.OPPONENT)));
+	    Assert.assertEquals(0, cards & state.getHand(PlayoutState.OPPONENT));
+
+	    final int winner = state.playout(PlayoutState.OPPONENT, random, 1_000);
+
+	    if (winner == PlayoutState.NO_WINNER) {
+		stalled++;
+
+	    } else {
+		Assert.assertEquals(0, state.getHand(winner));
+
+	    }
+	    Assert.assertEquals(0, state.getHand(PlayoutState.SELF) & state.getHand(PlayoutState.OPPONENT));
+
+	}
+	Assert.assertTrue(String.valueOf(stalled), stalled < ROUNDS / 100);
+
+    }
+
+    /**
+     * Test method for
+     * {@link de.ativelox.rummyz.client.controller.PlayoutState#streets(long)}
+     * and {@link de.ativelox.rummyz.client.controller.PlayoutState#sames(long)},
+     * checking for random hands that the cards found make up valid plays, worth
+     * the points {@link PlayoutState#points(long, long)} counts.
+     */
+    @Test
+    public void testStreetsAndSames() {
+	final SplittableRandom random = new SplittableRandom(5);
+
+	for (int round = 0; round < ROUNDS; round++) {
+	    final long hand = randomHand(random, 10 + random.nextInt(30));
+	    final long streets = PlayoutState.streets(hand);
+	    final long sames = PlayoutState.sames(hand & ~streets);
+
+	    final List<List<ICard>> plays = playsOf(streets, true);
+	    plays.addAll(playsOf(sames, false));
+
+	    for (final List<ICard> play : plays) {
+		Assert.assertTrue(play.toString(), GameRule.getInstantPoints(Collections.singletonList(play)) > 0);
+
+	    }
+	    Assert.assertEquals(plays.toString(), GameRule.getInstantPoints(plays), PlayoutState.points(streets, sames));
+
+	}
+    }
+
+}
@@ -0,0 +1,128 @@
+package de.ativelox.rummyz.client.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import de.ativelox.rummyz.model.Card;
+import de.ativelox.rummyz.model.CardSet;
+import de.ativelox.rummyz.model.ICard;
+import de.ativelox.rummyz.model.util.ImmutableTriple;
+import de.ativelox.rummyz.model.util.NetworkUtils;
+
+/**
+ * Provides a simple {@link IBotStrategy}, which plays whatever the
+ * {@link PlaySolver} finds the most points for and keeps the cards which leave
+ * the hand worth the most points. It doesn't keep any state, so a single
+ * instance can be shared by any amount of bots.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+public final class SolverBotStrategy implements IBotStrategy {
+
+    /**
+     * Gets the points of the best <i>plays</i> the given hand holds, ignoring
+     * whether they are enough for an initial play.
+     * 
+     * @param hand The cards of the hand.
+     * @return The points mentioned.
+     */
+    private static int bestPoints(final CardSet hand) {
+	return GameRule.getInstantPoints(PlaySolver.solve(hand, true));
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * de.ativelox.rummyz.client.controller.IBotStrategy#chooseAppend(de.ativelox.
+     * rummyz.client.controller.IBotState)
+     */
+    @Override
+    public ImmutableTriple<ICard, Integer, Integer> chooseAppend(final IBotState state) {
+	final CardSet hand = state.getHand();
+
+	for (int id = hand.nextId(0); id >= 0; id = hand.nextId(id + 1)) {
+	    final ICard card = Card.of(id);
+
+	    for (final Map.Entry<Integer, List<ICard>> meld : state.getMelds().entrySet()) {
+		final List<ICard> cards = meld.getValue();
+
+		// sames take a card anywhere, streets only at either end.
+		if (GameRule.getAppendPoints(cards, card, 0) > 0) {
+		    return new ImmutableTriple<>(card, meld.getKey(), 0);
+
+		}
+
+		if (GameRule.getAppendPoints(cards, card, cards.size()) > 0) {
+		    return new ImmutableTriple<>(card, meld.getKey(), cards.size());
+
+		}
+	    }
+	}
+	return null;
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * de.ativelox.rummyz.client.controller.IBotStrategy#chooseDiscard(de.ativelox.
+     * rummyz.client.controller.IBotState)
+     */
+    @Override
+    public ICard chooseDiscard(final IBotState state) {
+	final CardSet hand = state.getHand();
+	int bestId = hand.nextId(0);
+	int bestPoints = -1;
+
+	for (int id = hand.nextId(0); id >= 0; id = hand.nextId(id + 1)) {
+	    hand.remove(id);
+	    final int points = bestPoints(hand);
+	    hand.add(id);
+
+	    // on a tie the higher card goes, it is worth more to the other players.
+	    if (points > bestPoints || points == bestPoints && id % CardSet.CARD_VALUES >= bestId % CardSet.CARD_VALUES) {
+		bestPoints = points;
+		bestId = id;
+
+	    }
+	}
+	return NetworkUtils.decodeCard(bestId);
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * de.ativelox.rummyz.client.controller.IBotStrategy#choosePlays(de.ativelox.
+     * rummyz.client.controller.IBotState)
+     */
+    @Override
+    public List<List<ICard>> choosePlays(final IBotState state) {
+	return new ArrayList<>(PlaySolver.solve(state.getHand(), state.didInitial()));
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * de.ativelox.rummyz.client.controller.IBotStrategy#shouldPickup(de.ativelox.
+     * rummyz.client.controller.IBotState)
+     */
+    @Override
+    public boolean shouldPickup(final IBotState state) {
+	final CardSet hand = state.getHand();
+	final int points = bestPoints(hand);
+
+	hand.add(state.getGraveyard().get(state.getGraveyard().size() - 1));
+	return bestPoints(hand) > points;
+
+    }
+
+}
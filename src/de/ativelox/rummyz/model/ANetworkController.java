@@ -1,71 +1,78 @@
 package de.ativelox.rummyz.model;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
-import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
-import java.util.LinkedList;
-import java.util.Queue;
-import java.util.StringJoiner;
+import java.nio.ByteBuffer;
 
 import de.ativelox.rummyz.model.property.EIO;
-import de.ativelox.rummyz.model.util.ImmutablePair;
-import de.ativelox.rummyz.model.util.NetworkUtils;
+import de.ativelox.rummyz.network.codec.ECodec;
+import de.ativelox.rummyz.network.codec.IWireCodec;
+import de.ativelox.rummyz.network.codec.MessageCursor;
+import de.ativelox.rummyz.network.codec.SharedFrame;
+import de.ativelox.rummyz.network.codec.TextWireCodec;
+import de.ativelox.rummyz.network.protocol.IProtocol;
+import de.ativelox.rummyz.network.transport.ITransport;
+import de.ativelox.rummyz.network.transport.ITransportListener;
+import de.ativelox.rummyz.network.transport.StreamTransport;
 
 /**
  * Provides an abstract implementation for {@link INetworkController}, which
- * handles reading, and writing to the given streams. This should be started in
- * its own Thread, since this {@link Runnable} blocks the current Thread. Checks
- * every {@link ANetworkController#CHECK_EACH_MS} milliseconds for data on the
- * stream, and writes data to the stream. Subclasses of this should override
- * {@link ANetworkController#serve(Enum, String[])} to properly handle incoming
- * messages.
+ * translates between the protocol and the frames of its underlying
+ * {@link ITransport}, using an {@link IWireCodec} for each direction. Both
+ * directions start out with {@link ECodec#TEXT}, subclasses may switch to
+ * another codec once both ends agreed on it. When created from streams, this should be started in its
+ * own Thread, since this {@link Runnable} blocks the current Thread while
+ * reading from the stream. Non-blocking transports return from
+ * {@link ANetworkController#run()} immediately instead. Incoming messages are
+ * served as soon as they arrive, outgoing messages are written as soon as the
+ * transport gets to them. Subclasses of this should override
+ * {@link ANetworkController#serve(Enum, MessageCursor)}, or
+ * {@link ANetworkController#serve(Enum, String[])} if they do not care about
+ * the garbage created, to properly handle incoming messages.
  * 
  * @author Ativelox {@literal <ativelox.dev@web.de>}
  *
  */
-public abstract class ANetworkController<POut extends Enum<POut>, PIn extends Enum<PIn>>
-	implements INetworkController<POut, PIn> {
+public abstract class ANetworkController<POut extends Enum<POut> & IProtocol, PIn extends Enum<PIn> & IProtocol>
+	implements INetworkController<POut, PIn>, ITransportListener {
 
     /**
-     * The delimiter used to split incoming message parameters.
+     * The delimiter used to split incoming message parameters, when using
+     * {@link ECodec#TEXT}.
      */
-    public static final String DELIMITER = "\t";
+    public static final String DELIMITER = TextWireCodec.DELIMITER;
 
     /**
-     * Provides a {@link BufferedWriter} for the underlying {@link OutputStream}.
+     * The transport used to read and write messages.
      */
-    protected final BufferedWriter mOs;
+    private final ITransport mTransport;
 
     /**
-     * Provides a {@link BufferedReader} for the underlying {@link InputStream}.
+     * The class of the enumeration of the protocol that is read by this instance.
      */
-    protected final BufferedReader mIs;
+    private final Class<PIn> mProtocol;
 
     /**
-     * Represents a buffer for all the messages that should be sent in the next
-     * {@link ANetworkController#run()} iteration.
+     * The cursor holding the additional arguments of the message currently served,
+     * reused for every message read.
      */
-    protected final Queue<ImmutablePair<POut, String[]>> mMessageBuffer;
+    private final MessageCursor mFields;
 
     /**
-     * The time in milliseconds to wait after each {@link ANetworkController#run()}
-     * iteration.
+     * The lock guarding the encoding and queueing of outgoing frames, so frames
+     * are queued in the order they got encoded in.
      */
-    protected final long CHECK_EACH_MS = 1000;
+    private final Object mWriteLock;
 
     /**
-     * The class of the enumeration of the protocol that is read by this instance.
+     * The codec used to decode incoming frames.
      */
-    private final Class<PIn> mProtocol;
+    private volatile ECodec mInCodec;
 
     /**
-     * Whether this instance is currently running or not.
+     * The codec used to encode outgoing frames.
      */
-    private boolean mIsRunning;
+    private volatile ECodec mOutCodec;
 
     /**
      * Whether to refuse reading from the {@link InputStream}.
@@ -75,21 +82,34 @@ public abstract class ANetworkController<POut extends Enum<POut>, PIn extends En
     /**
      * Whether to refuse writing to the {@link OutputStream}.
      */
-    private boolean mRefuseWrite;
+    private volatile boolean mRefuseWrite;
 
     /**
-     * Creates a new {@link ANetworkController}.
+     * Creates a new {@link ANetworkController} on top of a
+     * {@link StreamTransport}.
      * 
      * @param is       The input stream to read from.
      * @param os       The output stream to write to.
      * @param protocol The protocol used for the incoming messages.
      */
     public ANetworkController(final InputStream is, final OutputStream os, final Class<PIn> protocol) {
-	mOs = new BufferedWriter(new OutputStreamWriter(os));
-	mIs = new BufferedReader(new InputStreamReader(is));
-	mMessageBuffer = new LinkedList<>();
-	mIsRunning = true;
+	this(new StreamTransport(is, os), protocol);
+
+    }
+
+    /**
+     * Creates a new {@link ANetworkController}.
+     * 
+     * @param transport The transport to read messages from and write messages to.
+     * @param protocol  The protocol used for the incoming messages.
+     */
+    public ANetworkController(final ITransport transport, final Class<PIn> protocol) {
+	mTransport = transport;
 	mProtocol = protocol;
+	mFields = new MessageCursor();
+	mWriteLock = new Object();
+	mInCodec = ECodec.TEXT;
+	mOutCodec = ECodec.TEXT;
 
 	mRefuseRead = false;
 	mRefuseWrite = false;
@@ -124,77 +144,55 @@ public abstract class ANetworkController<POut extends Enum<POut>, PIn extends En
     /*
      * (non-Javadoc)
      * 
-     * @see java.lang.Runnable#run()
+     * @see de.ativelox.rummyz.network.transport.ITransportListener#onClose()
      */
     @Override
-    public void run() {
-	while (mIsRunning) {
-
-	    // first read incoming messages from the server
-	    try {
-
-		while (mIs.ready()) {
-		    final String line = mIs.readLine();
-
-		    if (line == null) {
-			break;
-
-		    }
-		    final String[] split = line.split(DELIMITER);
-		    final String[] args = new String[split.length - 1];
-
-		    for (int i = 0; i < args.length; i++) {
-			args[i] = split[i + 1];
-		    }
-
-		    this.serve(NetworkUtils.ensureEnumConversion(mProtocol, split[0]), args);
-
-		}
-
-	    } catch (IOException e1) {
-		e1.printStackTrace();
+    public void onClose() {
 
-	    }
-
-	    final int size = mMessageBuffer.size();
-
-	    for (int i = 0; i < size; i++) {
-		try {
-		    final ImmutablePair<POut, String[]> pair = mMessageBuffer.poll();
-		    final StringJoiner sj = new StringJoiner("\t");
-
-		    sj.add(pair.getKey().ordinal() + "");
-
-		    if (pair.getValue() != null) {
-			for (final String arg : pair.getValue()) {
-			    sj.add(arg);
-			}
-		    }
-
-		    mOs.write(sj.toString() + "\n");
-
-		} catch (IOException e) {
-		    e.printStackTrace();
-
-		}
+    }
 
-	    }
-	    try {
-		mOs.flush();
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * de.ativelox.rummyz.network.transport.ITransportListener#onRead(java.nio.
+     * ByteBuffer)
+     */
+    @Override
+    public void onRead(final ByteBuffer buffer) {
+	while (buffer.hasRemaining()) {
+	    // the codec might get switched by serving a frame, so every frame looks it
+	    // up again.
+	    final IWireCodec codec = mInCodec.getCodec();
+	    final int length = codec.frameLength(buffer);
 
-	    } catch (IOException e1) {
-		e1.printStackTrace();
+	    if (length < 0) {
+		return;
 
 	    }
+	    // narrow the buffer down to the frame instead of slicing it, so no garbage
+	    // gets created.
+	    final int limit = buffer.limit();
+	    final int end = buffer.position() + length;
 
-	    try {
-		Thread.sleep(CHECK_EACH_MS);
+	    buffer.limit(end);
+	    final PIn protocol = codec.decode(mProtocol, buffer, mFields);
+	    buffer.limit(limit);
+	    buffer.position(end);
 
-	    } catch (InterruptedException e) {
-		e.printStackTrace();
+	    this.serve(protocol, mFields);
 
-	    }
 	}
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see java.lang.Runnable#run()
+     */
+    @Override
+    public void run() {
+	mTransport.open(this);
 
     }
 
@@ -221,8 +219,29 @@ public abstract class ANetworkController<POut extends Enum<POut>, PIn extends En
 	    return;
 	}
 
-	mMessageBuffer.add(new ImmutablePair<>(protocol, additional));
+	synchronized (mWriteLock) {
+	    mTransport.write(mOutCodec.getCodec().encode(protocol, additional));
+
+	}
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * de.ativelox.rummyz.model.INetworkController#send(de.ativelox.rummyz.network.
+     * codec.SharedFrame)
+     */
+    @Override
+    public void send(final SharedFrame<POut> frame) {
+	if (mRefuseWrite) {
+	    return;
+	}
+
+	synchronized (mWriteLock) {
+	    mTransport.write(frame.getFrame(mOutCodec));
 
+	}
     }
 
     /*
@@ -239,6 +258,57 @@ public abstract class ANetworkController<POut extends Enum<POut>, PIn extends En
 
     }
 
+    /**
+     * Gets called when this instance has read a message. The given cursor only
+     * stays valid until this returns, since it gets reused for the next message.
+     * Defaults to {@link ANetworkController#serve(Enum, String[])}, creating the
+     * additional arguments from the cursor.
+     * 
+     * @param protocol The protocol that got sent to this instance.
+     * @param fields   The cursor over the additional arguments of the message.
+     */
+    public void serve(final PIn protocol, final MessageCursor fields) {
+	this.serve(protocol, fields.toArgs());
+
+    }
+
+    /**
+     * Stops this instance once every frame sent up to this point got written, so
+     * the last of them reaches the other end.
+     */
+    protected void stopAfterFlush() {
+	mTransport.closeAfterFlush();
+
+    }
+
+    /**
+     * Switches the codec used to decode incoming frames. Must only be called while
+     * serving a frame, every frame following it gets decoded with the given codec.
+     * 
+     * @param codec The codec to switch to.
+     */
+    protected void switchInputCodec(final ECodec codec) {
+	mInCodec = codec;
+
+    }
+
+    /**
+     * Sends the given protocol with the codec currently used and switches the
+     * codec used to encode outgoing frames right after, so the other end can
+     * switch its input when receiving the given protocol.
+     * 
+     * @param protocol   The protocol to send.
+     * @param additional The additional arguments to send with the protocol.
+     * @param codec      The codec to switch to.
+     */
+    protected void switchOutputCodec(final POut protocol, final String[] additional, final ECodec codec) {
+	synchronized (mWriteLock) {
+	    this.send(protocol, additional);
+	    mOutCodec = codec;
+
+	}
+    }
+
     /*
      * (non-Javadoc)
      * 
@@ -246,7 +316,7 @@ public abstract class ANetworkController<POut extends Enum<POut>, PIn extends En
      */
     @Override
     public void stop() {
-	mIsRunning = false;
+	mTransport.close();
 
     }
 
@@ -0,0 +1,173 @@
+package de.ativelox.rummyz.model;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Arrays;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.ativelox.rummyz.network.protocol.EC2S;
+import de.ativelox.rummyz.network.protocol.ES2C;
+
+/**
+ * Provides JUnit test cases for {@link ANetworkController}.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+public final class ANetworkControllerTest {
+
+    /**
+     * The amount of round trips done before measuring, so the code involved got
+     * compiled and the Threads are spun up.
+     */
+    private static final int WARMUP_ROUND_TRIPS = 1000;
+
+    /**
+     * The amount of round trips measured.
+     */
+    private static final int MEASURED_ROUND_TRIPS = 1000;
+
+    /**
+     * The maximum median round trip time in nanoseconds. A round trip consists of
+     * two deliveries, so each of them takes less than a millisecond.
+     */
+    private static final long MAX_MEDIAN_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * A controller that answers every {@link EC2S#READY} with
+     * {@link ES2C#TURN_START}.
+     */
+    private static final class EchoController extends ANetworkController<ES2C, EC2S> {
+
+	/**
+	 * Creates a new {@link EchoController}.
+	 * 
+	 * @param is The input stream to read from.
+	 * @param os The output stream to write to.
+	 */
+	public EchoController(final InputStream is, final OutputStream os) {
+	    super(is, os, EC2S.class);
+
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.ativelox.rummyz.model.ANetworkController#serve(java.lang.Enum,
+	 * java.lang.String[])
+	 */
+	@Override
+	public void serve(final EC2S protocol, final String[] additional) {
+	    this.send(ES2C.TURN_START, additional);
+
+	}
+    }
+
+    /**
+     * A controller that records the time at which each answer arrived.
+     */
+    private static final class PingController extends ANetworkController<EC2S, ES2C> {
+
+	/**
+	 * The arrival times of the answers in nanoseconds.
+	 */
+	private final BlockingQueue<Long> mArrivals;
+
+	/**
+	 * Creates a new {@link PingController}.
+	 * 
+	 * @param is The input stream to read from.
+	 * @param os The output stream to write to.
+	 */
+	public PingController(final InputStream is, final OutputStream os) {
+	    super(is, os, ES2C.class);
+
+	    mArrivals = new LinkedBlockingQueue<>();
+	}
+
+	/**
+	 * Sends a message to the other end and waits for its answer.
+	 * 
+	 * @return The round trip time in nanoseconds.
+	 * @throws InterruptedException If interrupted while waiting.
+	 */
+	public long ping() throws InterruptedException {
+	    final long start = System.nanoTime();
+	    this.send(EC2S.READY, new String[] { "1" });
+
+	    final Long arrival = mArrivals.poll(5, TimeUnit.SECONDS);
+	    Assert.assertNotNull("No answer received.", arrival);
+
+	    return arrival - start;
+
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.ativelox.rummyz.model.ANetworkController#serve(java.lang.Enum,
+	 * java.lang.String[])
+	 */
+	@Override
+	public void serve(final ES2C protocol, final String[] additional) {
+	    mArrivals.add(System.nanoTime());
+
+	}
+    }
+
+    /**
+     * Tests that messages get delivered in less than a millisecond, by measuring
+     * the round trip time on a loopback connection. Only the median gets checked
+     * after warming up, so single round trips delayed by the scheduler or the
+     * garbage collector don't fail this.
+     * 
+     * @throws IOException          If an I/O exception occurs.
+     * @throws InterruptedException If interrupted while waiting for an answer.
+     */
+    @Test
+    public void testLoopbackLatency() throws IOException, InterruptedException {
+	try (final ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+		final Socket client = new Socket(InetAddress.getLoopbackAddress(), server.getLocalPort());
+		final Socket accepted = server.accept()) {
+
+	    client.setTcpNoDelay(true);
+	    accepted.setTcpNoDelay(true);
+
+	    final EchoController echo = new EchoController(accepted.getInputStream(), accepted.getOutputStream());
+	    final PingController ping = new PingController(client.getInputStream(), client.getOutputStream());
+
+	    new Thread(echo).start();
+	    new Thread(ping).start();
+
+	    for (int i = 0; i < WARMUP_ROUND_TRIPS; i++) {
+		ping.ping();
+
+	    }
+
+	    final long[] roundTrips = new long[MEASURED_ROUND_TRIPS];
+
+	    for (int i = 0; i < roundTrips.length; i++) {
+		roundTrips[i] = ping.ping();
+
+	    }
+	    Arrays.sort(roundTrips);
+
+	    final long median = roundTrips[roundTrips.length / 2];
+
+	    echo.stop();
+	    ping.stop();
+
+	    Assert.assertTrue("Median round trip took " + median + "ns.", median < MAX_MEDIAN_NANOS);
+
+	}
+    }
+}
@@ -5,13 +5,44 @@ import de.ativelox.rummyz.model.property.ECardValue;
 
 /**
  * Provides a simple {@link ICard} implementation, mainly used as a container
- * for its underlying {@link ECardType} and {@link ECardValue}.
+ * for its underlying {@link ECardType} and {@link ECardValue}. Cards are
+ * immutable, so there is one shared instance for every card, identified by its
+ * ID <tt>type * 14 + value</tt> and gotten with {@link Card#of(int)} or
+ * {@link Card#of(ECardType, ECardValue)}. Cards are equal if their type and
+ * value are, so cards created with the constructor can be used as map keys
+ * alongside the shared ones.
  * 
  * @author Ativelox {@literal <ativelox.dev@web.de>}
  *
  */
 public final class Card implements ICard {
 
+    /**
+     * The amount of different card values, the ID of a card being its type times
+     * this amount plus its value.
+     */
+    private static final int VALUES = ECardValue.values().length;
+
+    /**
+     * The shared card for every ID.
+     */
+    private static final Card[] CARDS;
+
+    static {
+	final ECardType[] types = ECardType.values();
+	final ECardValue[] values = ECardValue.values();
+
+	CARDS = new Card[types.length * VALUES];
+
+	for (final ECardType type : types) {
+	    for (final ECardValue value : values) {
+		final Card card = new Card(type, value);
+		CARDS[card.mId] = card;
+
+	    }
+	}
+    }
+
     /**
      * Gets a card from two given integer. The result is arbitrary, but ensures that
      * for different parameters, different cards will be generated. One should
@@ -113,7 +144,36 @@ public final class Card implements ICard {
 	    throw new IllegalArgumentException();
 
 	}
-	return new Card(type, value);
+	return Card.of(type, value);
+
+    }
+
+    /**
+     * Gets the shared card of the given type and value.
+     * 
+     * @param type  The type of the card.
+     * @param value The value of the card.
+     * @return The card mentioned.
+     */
+    public static Card of(final ECardType type, final ECardValue value) {
+	return CARDS[type.ordinal() * VALUES + value.ordinal()];
+
+    }
+
+    /**
+     * Gets the shared card with the given ID, being <tt>type * 14 + value</tt> for
+     * the ordinals of its type and value.
+     * 
+     * @param id The ID of the card.
+     * @return The card mentioned.
+     * @throws IllegalArgumentException If the given ID stands for no card.
+     */
+    public static Card of(final int id) {
+	if (id < 0 || id >= CARDS.length) {
+	    throw new IllegalArgumentException("Could not convert " + id + " to a card.");
+
+	}
+	return CARDS[id];
 
     }
 
@@ -128,7 +188,13 @@ public final class Card implements ICard {
     private final ECardValue mValue;
 
     /**
-     * Creates a new {@link Card}.
+     * The ID of this card, being <tt>type * 14 + value</tt>.
+     */
+    private final int mId;
+
+    /**
+     * Creates a new {@link Card}. Prefer the shared cards given by
+     * {@link Card#of(ECardType, ECardValue)}, which equal the created one.
      * 
      * @param type  The type of this card.
      * @param value The value of this card.
@@ -136,6 +202,38 @@ public final class Card implements ICard {
     public Card(final ECardType type, final ECardValue value) {
 	mType = type;
 	mValue = value;
+	mId = type.ordinal() * VALUES + value.ordinal();
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see java.lang.Object#equals(java.lang.Object)
+     */
+    @Override
+    public boolean equals(final Object obj) {
+	if (this == obj) {
+	    return true;
+
+	}
+
+	if (!(obj instanceof Card)) {
+	    return false;
+
+	}
+	return mId == ((Card) obj).mId;
+
+    }
+
+    /**
+     * Gets the ID of this card, being <tt>type * 14 + value</tt> for the ordinals
+     * of its type and value.
+     * 
+     * @return The ID mentioned.
+     */
+    public int getId() {
+	return mId;
 
     }
 
@@ -161,6 +259,17 @@ public final class Card implements ICard {
 
     }
 
+    /*
+     * (non-Javadoc)
+     * 
+     * @see java.lang.Object#hashCode()
+     */
+    @Override
+    public int hashCode() {
+	return mId;
+
+    }
+
     /*
      * (non-Javadoc)
      * 
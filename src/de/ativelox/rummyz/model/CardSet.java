@@ -0,0 +1,371 @@
+package de.ativelox.rummyz.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import de.ativelox.rummyz.model.property.ECardType;
+import de.ativelox.rummyz.model.property.ECardValue;
+import de.ativelox.rummyz.model.util.NetworkUtils;
+
+/**
+ * Provides a set of {@link ICard}s stored as bits, one for every card, the card
+ * being identified by its ID as given by {@link NetworkUtils#encodeCardId(ICard)}.
+ * There are only {@link CardSet#CARD_IDS} different cards, so all of them fit
+ * into two <tt>long</tt>s, and adding, removing and checking for a card takes
+ * constant time. The cards of a single type take up consecutive bits, ordered by
+ * their value, which lets rules find <i>streets</i> by shifting bits.
+ * <p>
+ * A card can be held more than once, e.g. when playing with multiple decks. The
+ * copies beyond the first one get counted in an array, which only gets created
+ * once a card gets added a second time.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+public final class CardSet {
+
+    /**
+     * The amount of different card values, the ID of a card being its type times
+     * this amount plus its value.
+     */
+    public static final int CARD_VALUES = ECardValue.values().length;
+
+    /**
+     * The amount of different card IDs.
+     */
+    public static final int CARD_IDS = ECardType.values().length * CARD_VALUES;
+
+    /**
+     * The amount of bits of a <tt>long</tt>, IDs from this one onwards are stored
+     * in {@link CardSet#mHigh}.
+     */
+    private static final int LOW_BITS = Long.SIZE;
+
+    /**
+     * The mask of the values of a single type, once shifted down to the lowest
+     * bits.
+     */
+    private static final int TYPE_MASK = (1 << CARD_VALUES) - 1;
+
+    /**
+     * The bits of the cards with the IDs below {@link CardSet#LOW_BITS}.
+     */
+    private long mLow;
+
+    /**
+     * The bits of the cards with the IDs from {@link CardSet#LOW_BITS} onwards.
+     */
+    private long mHigh;
+
+    /**
+     * The amount of copies of each card beyond the first one, indexed by its ID,
+     * <tt>null</tt> if no card got held twice yet.
+     */
+    private byte[] mExtra;
+
+    /**
+     * The sum of all the copies counted in {@link CardSet#mExtra}.
+     */
+    private int mExtraAmount;
+
+    /**
+     * Creates a new, empty {@link CardSet}.
+     */
+    public CardSet() {
+	mLow = 0;
+	mHigh = 0;
+	mExtra = null;
+	mExtraAmount = 0;
+
+    }
+
+    /**
+     * Creates a new {@link CardSet}, holding the same cards as the given one.
+     * 
+     * @param cards The set to copy.
+     */
+    public CardSet(final CardSet cards) {
+	mLow = cards.mLow;
+	mHigh = cards.mHigh;
+	mExtra = cards.mExtra == null ? null : cards.mExtra.clone();
+	mExtraAmount = cards.mExtraAmount;
+
+    }
+
+    /**
+     * Adds the given card to this set.
+     * 
+     * @param card The card to add.
+     */
+    public void add(final ICard card) {
+	this.add(NetworkUtils.encodeCardId(card));
+
+    }
+
+    /**
+     * Adds the card with the given ID to this set.
+     * 
+     * @param id The ID of the card.
+     */
+    public void add(final int id) {
+	if (!this.contains(id)) {
+	    if (id < LOW_BITS) {
+		mLow |= 1L << id;
+
+	    } else {
+		mHigh |= 1L << (id - LOW_BITS);
+
+	    }
+	    return;
+
+	}
+
+	if (mExtra == null) {
+	    mExtra = new byte[CARD_IDS];
+
+	}
+	mExtra[id]++;
+	mExtraAmount++;
+
+    }
+
+    /**
+     * Removes all the cards from this set.
+     */
+    public void clear() {
+	mLow = 0;
+	mHigh = 0;
+	mExtraAmount = 0;
+
+	if (mExtra != null) {
+	    Arrays.fill(mExtra, (byte) 0);
+
+	}
+    }
+
+    /**
+     * Whether this set holds the given card at least once.
+     * 
+     * @param card The card mentioned.
+     * @return <tt>True</tt> if it does, <tt>false</tt> otherwise.
+     */
+    public boolean contains(final ICard card) {
+	return this.contains(NetworkUtils.encodeCardId(card));
+
+    }
+
+    /**
+     * Whether this set holds the card with the given ID at least once.
+     * 
+     * @param id The ID of the card.
+     * @return <tt>True</tt> if it does, <tt>false</tt> otherwise.
+     */
+    public boolean contains(final int id) {
+	if (id < LOW_BITS) {
+	    return (mLow & (1L << id)) != 0;
+
+	}
+	return (mHigh & (1L << (id - LOW_BITS))) != 0;
+
+    }
+
+    /**
+     * Whether this set holds every card of the given set, each one at least as
+     * often as the given set does.
+     * 
+     * @param cards The set mentioned.
+     * @return <tt>True</tt> if it does, <tt>false</tt> otherwise.
+     */
+    public boolean containsAll(final CardSet cards) {
+	if ((cards.mLow & ~mLow) != 0 || (cards.mHigh & ~mHigh) != 0) {
+	    return false;
+
+	}
+
+	if (cards.mExtraAmount == 0) {
+	    return true;
+
+	}
+
+	if (cards.mExtraAmount > mExtraAmount) {
+	    return false;
+
+	}
+
+	for (int id = 0; id < CARD_IDS; id++) {
+	    if (cards.mExtra[id] > mExtra[id]) {
+		return false;
+
+	    }
+	}
+	return true;
+
+    }
+
+    /**
+     * Gets how often this set holds the card with the given ID.
+     * 
+     * @param id The ID of the card.
+     * @return The amount mentioned, <tt>0</tt> if it isn't held.
+     */
+    public int count(final int id) {
+	if (!this.contains(id)) {
+	    return 0;
+
+	}
+	return mExtra == null ? 1 : 1 + mExtra[id];
+
+    }
+
+    /**
+     * Gets the values of the cards of the given type held by this set, the bit
+     * <tt>1 &lt;&lt; value</tt> being set for the ordinal of each of them.
+     * 
+     * @param type The ordinal of the type.
+     * @return The values mentioned.
+     */
+    public int getValues(final int type) {
+	final int from = type * CARD_VALUES;
+
+	if (from + CARD_VALUES <= LOW_BITS) {
+	    return (int) (mLow >>> from) & TYPE_MASK;
+
+	}
+
+	if (from >= LOW_BITS) {
+	    return (int) (mHigh >>> (from - LOW_BITS)) & TYPE_MASK;
+
+	}
+	// the type is split across both longs.
+	return (int) ((mLow >>> from) | (mHigh << (LOW_BITS - from))) & TYPE_MASK;
+
+    }
+
+    /**
+     * Whether this set holds no card.
+     * 
+     * @return <tt>True</tt> if it doesn't, <tt>false</tt> otherwise.
+     */
+    public boolean isEmpty() {
+	return mLow == 0 && mHigh == 0;
+
+    }
+
+    /**
+     * Gets the smallest ID of a card held by this set, which is at least
+     * <tt>from</tt>. Iterating over all the cards held looks like
+     * <tt>for (int id = set.nextId(0); id &gt;= 0; id = set.nextId(id + 1))</tt>.
+     * 
+     * @param from The smallest ID to consider.
+     * @return The ID mentioned, or <tt>-1</tt> if there is none.
+     */
+    public int nextId(final int from) {
+	if (from < LOW_BITS) {
+	    final long low = mLow & (-1L << from);
+
+	    if (low != 0) {
+		return Long.numberOfTrailingZeros(low);
+
+	    }
+
+	    if (mHigh != 0) {
+		return LOW_BITS + Long.numberOfTrailingZeros(mHigh);
+
+	    }
+	    return -1;
+
+	}
+
+	if (from >= CARD_IDS) {
+	    return -1;
+
+	}
+	final long high = mHigh & (-1L << (from - LOW_BITS));
+	return high == 0 ? -1 : LOW_BITS + Long.numberOfTrailingZeros(high);
+
+    }
+
+    /**
+     * Removes the given card from this set once.
+     * 
+     * @param card The card to remove.
+     * @return <tt>True</tt> if the card was held, <tt>false</tt> otherwise.
+     */
+    public boolean remove(final ICard card) {
+	return this.remove(NetworkUtils.encodeCardId(card));
+
+    }
+
+    /**
+     * Removes the card with the given ID from this set once.
+     * 
+     * @param id The ID of the card.
+     * @return <tt>True</tt> if the card was held, <tt>false</tt> otherwise.
+     */
+    public boolean remove(final int id) {
+	if (!this.contains(id)) {
+	    return false;
+
+	}
+
+	if (mExtra != null && mExtra[id] > 0) {
+	    mExtra[id]--;
+	    mExtraAmount--;
+	    return true;
+
+	}
+
+	if (id < LOW_BITS) {
+	    mLow &= ~(1L << id);
+
+	} else {
+	    mHigh &= ~(1L << (id - LOW_BITS));
+
+	}
+	return true;
+
+    }
+
+    /**
+     * Gets the amount of cards held by this set, counting every copy.
+     * 
+     * @return The amount mentioned.
+     */
+    public int size() {
+	return Long.bitCount(mLow) + Long.bitCount(mHigh) + mExtraAmount;
+
+    }
+
+    /**
+     * Gets the cards held by this set, ordered by their IDs, each one as often as
+     * it is held.
+     * 
+     * @return The cards mentioned.
+     */
+    public List<ICard> toList() {
+	final List<ICard> cards = new ArrayList<>(this.size());
+
+	for (int id = this.nextId(0); id >= 0; id = this.nextId(id + 1)) {
+	    final ICard card = NetworkUtils.decodeCard(id);
+
+	    for (int i = this.count(id); i > 0; i--) {
+		cards.add(card);
+
+	    }
+	}
+	return cards;
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+	return this.toList().toString();
+
+    }
+}
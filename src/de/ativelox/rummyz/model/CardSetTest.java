@@ -0,0 +1,130 @@
+package de.ativelox.rummyz.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.ativelox.rummyz.model.property.ECardType;
+import de.ativelox.rummyz.model.property.ECardValue;
+import de.ativelox.rummyz.model.util.NetworkUtils;
+
+/**
+ * Provides JUnit test cases for {@link CardSet}.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+public final class CardSetTest {
+
+    /**
+     * Test method for {@link de.ativelox.rummyz.model.CardSet#add(int)} and
+     * {@link de.ativelox.rummyz.model.CardSet#remove(int)}, checking the set
+     * against a list of the IDs added for random operations, the same card being
+     * added more than once as well.
+     */
+    @Test
+    public void testAddRemove() {
+	final Random random = new Random(3);
+	final CardSet set = new CardSet();
+	final List<Integer> ids = new ArrayList<>();
+
+	for (int i = 0; i < 10_000; i++) {
+	    final int id = random.nextInt(CardSet.CARD_IDS);
+
+	    if (random.nextBoolean()) {
+		set.add(id);
+		ids.add(id);
+
+	    } else {
+		Assert.assertEquals(ids.remove((Integer) id), set.remove(id));
+
+	    }
+	    Assert.assertEquals(ids.size(), set.size());
+	    Assert.assertEquals(ids.contains(id), set.contains(id));
+	    Assert.assertEquals(ids.stream().filter(other -> other == id).count(), set.count(id));
+
+	}
+	final List<ICard> expected = new ArrayList<>();
+	ids.stream().sorted().forEach(id -> expected.add(NetworkUtils.decodeCard(id)));
+
+	Assert.assertEquals(expected.toString(), set.toString());
+
+    }
+
+    /**
+     * Test method for
+     * {@link de.ativelox.rummyz.model.CardSet#containsAll(de.ativelox.rummyz.model.CardSet)}.
+     */
+    @Test
+    public void testContainsAll() {
+	final CardSet hand = new CardSet();
+	final CardSet move = new CardSet();
+
+	hand.add(new Card(ECardType.HEART, ECardValue.ACE));
+	hand.add(new Card(ECardType.NONE, ECardValue.JOKER));
+	move.add(new Card(ECardType.NONE, ECardValue.JOKER));
+
+	Assert.assertTrue(hand.containsAll(move));
+	Assert.assertTrue(hand.containsAll(new CardSet()));
+
+	// held once, but used twice.
+	move.add(new Card(ECardType.NONE, ECardValue.JOKER));
+	Assert.assertFalse(hand.containsAll(move));
+
+	hand.add(new Card(ECardType.NONE, ECardValue.JOKER));
+	Assert.assertTrue(hand.containsAll(move));
+
+	move.add(new Card(ECardType.SPADE, ECardValue.TWO));
+	Assert.assertFalse(hand.containsAll(move));
+
+    }
+
+    /**
+     * Test method for {@link de.ativelox.rummyz.model.CardSet#getValues(int)},
+     * including the type whose bits are split across both longs.
+     */
+    @Test
+    public void testGetValues() {
+	for (final ECardType type : ECardType.values()) {
+	    final CardSet set = new CardSet();
+	    int expected = 0;
+
+	    for (final ECardValue value : ECardValue.values()) {
+		if (value.ordinal() % 3 != 0) {
+		    set.add(new Card(type, value));
+		    expected |= 1 << value.ordinal();
+
+		}
+	    }
+	    Assert.assertEquals(type.toString(), expected, set.getValues(type.ordinal()));
+
+	}
+    }
+
+    /**
+     * Test method for {@link de.ativelox.rummyz.model.CardSet#nextId(int)}.
+     */
+    @Test
+    public void testNextId() {
+	final CardSet set = new CardSet();
+	set.add(3);
+	set.add(63);
+	set.add(64);
+	set.add(CardSet.CARD_IDS - 1);
+
+	Assert.assertEquals(3, set.nextId(0));
+	Assert.assertEquals(63, set.nextId(4));
+	Assert.assertEquals(64, set.nextId(64));
+	Assert.assertEquals(CardSet.CARD_IDS - 1, set.nextId(65));
+	Assert.assertEquals(-1, set.nextId(CardSet.CARD_IDS));
+
+	set.remove(3);
+	set.remove(63);
+	Assert.assertEquals(64, set.nextId(0));
+
+    }
+
+}
@@ -0,0 +1,72 @@
+package de.ativelox.rummyz.model;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.ativelox.rummyz.model.property.ECardType;
+import de.ativelox.rummyz.model.property.ECardValue;
+import de.ativelox.rummyz.model.util.NetworkUtils;
+
+/**
+ * Provides JUnit test cases for {@link Card}.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+public final class CardTest {
+
+    /**
+     * Test method for {@link de.ativelox.rummyz.model.Card#equals(java.lang.Object)}
+     * and {@link de.ativelox.rummyz.model.Card#hashCode()}, using created and
+     * shared cards as map keys.
+     */
+    @Test
+    public void testEquals() {
+	final Map<ICard, String> names = new HashMap<>();
+	names.put(new Card(ECardType.HEART, ECardValue.ACE), "ace");
+
+	Assert.assertEquals("ace", names.get(Card.of(ECardType.HEART, ECardValue.ACE)));
+	Assert.assertEquals("ace", names.get(new Card(ECardType.HEART, ECardValue.ACE)));
+	Assert.assertNull(names.get(Card.of(ECardType.SPADE, ECardValue.ACE)));
+
+	final Hand hand = new Hand();
+	hand.add(Card.of(ECardType.CLUB, ECardValue.TWO));
+
+	Assert.assertTrue(hand.remove(new Card(ECardType.CLUB, ECardValue.TWO)));
+	Assert.assertEquals(0, hand.getAmount());
+
+    }
+
+    /**
+     * Test method for {@link de.ativelox.rummyz.model.Card#of(int)}.
+     */
+    @Test
+    public void testOf() {
+	for (final ECardType type : ECardType.values()) {
+	    for (final ECardValue value : ECardValue.values()) {
+		final Card card = Card.of(type, value);
+
+		Assert.assertSame(card, Card.of(card.getId()));
+		Assert.assertSame(card, NetworkUtils.decodeCard(NetworkUtils.encodeCardId(new Card(type, value))));
+		Assert.assertSame(card, NetworkUtils.decodeCard(NetworkUtils.encodeCard(card)));
+		Assert.assertEquals(type, card.getType());
+		Assert.assertEquals(value, card.getValue());
+
+	    }
+	}
+    }
+
+    /**
+     * Test method for {@link de.ativelox.rummyz.model.Card#of(int)}, for an ID
+     * standing for no card.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testOfInvalid() {
+	Card.of(CardSet.CARD_IDS);
+
+    }
+
+}
@@ -1,14 +1,17 @@
 package de.ativelox.rummyz.model;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Stack;
+import java.util.Random;
 
 /**
  * Provides a deck of {@link ICard}s. Further has basic functions to
  * {@link Deck#shuffle() shuffle} the deck, {@link Deck#draw() draw} cards
  * {@link Deck#generate() generate} a new deck and
  * {@link Deck#generateFrom(List) generate} a deck from a given list of cards.
+ * The cards remaining in the deck are kept in a {@link CardSet} as well, see
+ * {@link Deck#getRemaining()}.
  * 
  * @author Ativelox {@literal <ativelox.dev@web.de>}
  *
@@ -16,15 +19,39 @@ import java.util.Stack;
 public final class Deck {
 
     /**
-     * The underlying {@link Stack} representing this deck.
+     * The underlying list representing this deck, its last card being the top of
+     * the deck.
      */
-    private final Stack<ICard> mDeck;
+    private final List<ICard> mDeck;
+
+    /**
+     * The set of the cards in {@link Deck#mDeck}, kept in sync with it.
+     */
+    private final CardSet mRemaining;
+
+    /**
+     * The source of randomness used to shuffle this deck.
+     */
+    private final Random mRandom;
 
     /**
      * Creates a new {@link Deck}.
      */
     public Deck() {
-	mDeck = new Stack<>();
+	this(new Random());
+
+    }
+
+    /**
+     * Creates a new {@link Deck}, shuffled using the given source of randomness,
+     * so a seeded one deals the same cards every time.
+     * 
+     * @param random The source of randomness used to shuffle this deck.
+     */
+    public Deck(final Random random) {
+	mDeck = new ArrayList<>();
+	mRemaining = new CardSet();
+	mRandom = random;
 
     }
 
@@ -34,7 +61,10 @@ public final class Deck {
      * @return The card from the top of the deck.
      */
     public ICard draw() {
-	return mDeck.pop();
+	final ICard card = mDeck.remove(mDeck.size() - 1);
+	mRemaining.remove(card);
+
+	return card;
 
     }
 
@@ -44,7 +74,10 @@ public final class Deck {
     public void generate() {
 	for (int i = 0; i <= 12; i++) {
 	    for (int j = 0; j <= 3; j++) {
-		mDeck.add(Card.get(j, i));
+		final ICard card = Card.get(j, i);
+
+		mDeck.add(card);
+		mRemaining.add(card);
 
 	    }
 	}
@@ -59,14 +92,26 @@ public final class Deck {
      */
     public void generateFrom(final List<ICard> cards) {
 	mDeck.clear();
+	mRemaining.clear();
 
 	for (final ICard card : cards) {
 	    mDeck.add(card);
+	    mRemaining.add(card);
 	}
 	this.shuffle();
 
     }
 
+    /**
+     * Gets the set of the cards remaining in this deck.
+     * 
+     * @return A copy of the set mentioned.
+     */
+    public CardSet getRemaining() {
+	return new CardSet(mRemaining);
+
+    }
+
     /**
      * Whether or not this deck is empty.
      * 
@@ -80,10 +125,10 @@ public final class Deck {
     /**
      * Shuffles this deck.
      * 
-     * @see Collections#shuffle(List)
+     * @see Collections#shuffle(List, Random)
      */
     public void shuffle() {
-	Collections.shuffle(mDeck);
+	Collections.shuffle(mDeck, mRandom);
 
     }
 }
@@ -1,17 +1,21 @@
 package de.ativelox.rummyz.model;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.StringJoiner;
 
 import de.ativelox.rummyz.model.property.ECardType;
 import de.ativelox.rummyz.model.property.ECardValue;
+import de.ativelox.rummyz.model.util.NetworkUtils;
 
 /**
  * Provides a simple container for multiple {@link ICard}s. The most notable
  * method is {@link Hand#get(ECardType, ECardValue)} which returns the card
- * specified by the given parameters if present in the current hand.
+ * specified by the given parameters if present in the current hand. Next to the
+ * ordered list of its cards, the hand keeps a {@link CardSet} of them, so
+ * checking whether a card is held doesn't need to look at every card.
  * 
  * @author Ativelox {@literal <ativelox.dev@web.de>}
  *
@@ -23,11 +27,17 @@ public final class Hand {
      */
     private final List<ICard> mCards;
 
+    /**
+     * The set of the cards in {@link Hand#mCards}, kept in sync with it.
+     */
+    private final CardSet mSet;
+
     /**
      * Creates a new {@link Hand}.
      */
     public Hand() {
 	mCards = new ArrayList<ICard>();
+	mSet = new CardSet();
 
     }
 
@@ -39,6 +49,7 @@ public final class Hand {
      *         <tt>false</tt> otherwise.
      */
     public boolean add(final ICard card) {
+	mSet.add(card);
 	return mCards.add(card);
 
     }
@@ -53,6 +64,11 @@ public final class Hand {
      *         this hand, an empty <tt>Optional</tt> otherwise.
      */
     public Optional<ICard> get(final ECardType type, final ECardValue value) {
+	if (!mSet.contains(NetworkUtils.encodeCardId(type.ordinal(), value.ordinal()))) {
+	    return Optional.empty();
+
+	}
+
 	for (final ICard card : mCards) {
 	    if (card.getType() == type && card.getValue() == value) {
 		return Optional.of(card);
@@ -63,6 +79,19 @@ public final class Hand {
 
     }
 
+    /**
+     * Whether this hand holds a card of the given <tt>type</tt> and
+     * <tt>value</tt>, which takes constant time.
+     * 
+     * @param type  The type of the card.
+     * @param value The value of the card.
+     * @return <tt>True</tt> if it does, <tt>false</tt> otherwise.
+     */
+    public boolean contains(final ECardType type, final ECardValue value) {
+	return mSet.contains(NetworkUtils.encodeCardId(type.ordinal(), value.ordinal()));
+
+    }
+
     /**
      * Gets the card at the specified index in the underlying structure.
      * 
@@ -77,10 +106,11 @@ public final class Hand {
     /**
      * Gets all the cards currently present in this hand.
      * 
-     * @return A list of all the cards.
+     * @return An unmodifiable list of all the cards, use {@link Hand#add(ICard)}
+     *         and {@link Hand#remove(ICard)} to change them.
      */
     public List<ICard> getAll() {
-	return mCards;
+	return Collections.unmodifiableList(mCards);
 
     }
 
@@ -94,6 +124,16 @@ public final class Hand {
 
     }
 
+    /**
+     * Gets the set of the cards currently present in this hand.
+     * 
+     * @return A copy of the set mentioned.
+     */
+    public CardSet getSet() {
+	return new CardSet(mSet);
+
+    }
+
     /**
      * Removes the given card from this hand.
      * 
@@ -102,7 +142,12 @@ public final class Hand {
      *         <tt>false</tt> otherwise.
      */
     public boolean remove(final ICard card) {
-	return mCards.remove(card);
+	if (!mCards.remove(card)) {
+	    return false;
+
+	}
+	mSet.remove(card);
+	return true;
 
     }
 
@@ -4,6 +4,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 
 import de.ativelox.rummyz.model.property.EIO;
+import de.ativelox.rummyz.network.codec.SharedFrame;
 
 /**
  * Provides an interface to ease {@link InputStream Input-} and
@@ -40,6 +41,14 @@ public interface INetworkController<POut, PIn> extends Runnable {
      */
     void send(final POut protocol, final String[] additional);
 
+    /**
+     * Writes the given message, shared with other recipients, to its
+     * {@link OutputStream}. The message gets encoded at most once for all of them.
+     * 
+     * @param frame The message to send.
+     */
+    void send(final SharedFrame<POut> frame);
+
     /**
      * Gets called when this instance has read messages from its
      * {@link InputStream}.
@@ -0,0 +1,103 @@
+package de.ativelox.rummyz.model;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Provides an immutable token identifying the session of a player, which lets
+ * the player resume its session on a new connection. A token consists of
+ * {@link SessionToken#WORDS} ints, so one drawn from a secure source of
+ * randomness has 128 random bits and can't be guessed.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+public final class SessionToken {
+
+    /**
+     * The amount of ints every token consists of.
+     */
+    public static final int WORDS = 4;
+
+    /**
+     * The ints this token consists of.
+     */
+    private final int[] mWords;
+
+    /**
+     * Creates a new {@link SessionToken}.
+     * 
+     * @param words The {@link SessionToken#WORDS} ints the token consists of.
+     * @throws IllegalArgumentException If not exactly {@link SessionToken#WORDS}
+     *                                  ints are given.
+     */
+    public SessionToken(final int[] words) {
+	if (words.length != WORDS) {
+	    throw new IllegalArgumentException("A session token consists of " + WORDS + " ints, not " + words.length + ".");
+
+	}
+	mWords = words.clone();
+
+    }
+
+    /**
+     * Creates a new {@link SessionToken} from the given source of randomness.
+     * 
+     * @param random The source of randomness, which should be a
+     *               {@link java.security.SecureRandom SecureRandom}.
+     * @return The token mentioned.
+     */
+    public static SessionToken generate(final Random random) {
+	final int[] words = new int[WORDS];
+
+	for (int i = 0; i < WORDS; i++) {
+	    words[i] = random.nextInt();
+
+	}
+	return new SessionToken(words);
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see java.lang.Object#equals(java.lang.Object)
+     */
+    @Override
+    public boolean equals(final Object obj) {
+	if (this == obj) {
+	    return true;
+
+	}
+
+	if (!(obj instanceof SessionToken)) {
+	    return false;
+
+	}
+	return Arrays.equals(mWords, ((SessionToken) obj).mWords);
+
+    }
+
+    /**
+     * Gets a single int of this token.
+     * 
+     * @param index The index of the int, between <tt>0</tt> and
+     *              {@link SessionToken#WORDS}, exclusive.
+     * @return The int mentioned.
+     */
+    public int getWord(final int index) {
+	return mWords[index];
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see java.lang.Object#hashCode()
+     */
+    @Override
+    public int hashCode() {
+	return Arrays.hashCode(mWords);
+
+    }
+}
@@ -0,0 +1,271 @@
+package de.ativelox.rummyz.model;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Provides an immutable snapshot of the whole state of a table, as seen by a
+ * single player: the melds on the field keyed by their ids, the top and the
+ * size of the graveyard, the amount of cards each player holds, the hand of
+ * that player and whose turn it is. Every snapshot carries the version of the
+ * state it got taken at, which grows with every event of the game.
+ * <p>
+ * A snapshot is either <i>full</i>, or a <i>diff</i> against an older one,
+ * given by its base version. A diff only holds the melds that changed since
+ * its base, which relies on melds only ever growing, and the hand only if it
+ * changed. Applying a diff to its base yields the full snapshot it got created
+ * from, see {@link TableSnapshot#apply(TableSnapshot)}.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+public final class TableSnapshot {
+
+    /**
+     * The base version of a full snapshot.
+     */
+    public static final int NO_BASE = 0;
+
+    /**
+     * The version of the state this snapshot got taken at.
+     */
+    private final int mVersion;
+
+    /**
+     * The version of the snapshot this is a diff against, or
+     * {@link TableSnapshot#NO_BASE} if this is a full snapshot.
+     */
+    private final int mBaseVersion;
+
+    /**
+     * The id of the player currently on his turn, <tt>0</tt> if the game hasn't
+     * started yet.
+     */
+    private final int mCurrentTurn;
+
+    /**
+     * The melds on the field keyed by their ids, only the changed ones if this is
+     * a diff.
+     */
+    private final SortedMap<Integer, List<ICard>> mMelds;
+
+    /**
+     * The card at the top of the graveyard, <tt>null</tt> if it is empty.
+     */
+    private final ICard mGraveyardTop;
+
+    /**
+     * The amount of cards in the graveyard.
+     */
+    private final int mGraveyardSize;
+
+    /**
+     * The amount of cards each player holds, indexed by its id minus one.
+     */
+    private final int[] mHandCounts;
+
+    /**
+     * The hand of the player this snapshot got taken for, <tt>null</tt> if this
+     * is a diff and the hand didn't change since the base.
+     */
+    private final List<ICard> mHand;
+
+    /**
+     * Creates a new {@link TableSnapshot}.
+     * 
+     * @param version     The version of the state this snapshot got taken at.
+     * @param baseVersion The version of the snapshot this is a diff against, or
+     *                    {@link TableSnapshot#NO_BASE} for a full snapshot.
+     * @param currentTurn The id of the player currently on his turn.
+     * @param melds         The melds on the field keyed by their ids, only the
+     *                      changed ones for a diff.
+     * @param graveyardTop  The card at the top of the graveyard, <tt>null</tt> if
+     *                      it is empty.
+     * @param graveyardSize The amount of cards in the graveyard.
+     * @param handCounts    The amount of cards each player holds, indexed by its
+     *                      id minus one.
+     * @param hand          The hand of the player this snapshot got taken for,
+     *                      <tt>null</tt> for a diff if it didn't change since the
+     *                      base.
+     * @throws IllegalArgumentException If the hand is missing from a full
+     *                                  snapshot, or the top of the graveyard
+     *                                  doesn't match its size.
+     */
+    public TableSnapshot(final int version, final int baseVersion, final int currentTurn,
+	    final Map<Integer, List<ICard>> melds, final ICard graveyardTop, final int graveyardSize,
+	    final int[] handCounts, final List<ICard> hand) {
+	if (hand == null && baseVersion == NO_BASE) {
+	    throw new IllegalArgumentException("A full snapshot needs a hand.");
+
+	}
+
+	if (graveyardSize < 0 || (graveyardTop == null) != (graveyardSize == 0)) {
+	    throw new IllegalArgumentException(
+		    "A graveyard of " + graveyardSize + " cards can't have " + graveyardTop + " at its top.");
+
+	}
+	mVersion = version;
+	mBaseVersion = baseVersion;
+	mCurrentTurn = currentTurn;
+	mMelds = Collections.unmodifiableSortedMap(new TreeMap<>(melds));
+	mGraveyardTop = graveyardTop;
+	mGraveyardSize = graveyardSize;
+	mHandCounts = handCounts.clone();
+	mHand = hand == null ? null : Collections.unmodifiableList(hand);
+
+    }
+
+    /**
+     * Applies the given diff, which must be a diff against this snapshot.
+     * 
+     * @param diff The diff mentioned.
+     * @return The full snapshot the diff got created from.
+     * @throws IllegalArgumentException If the diff is not based on this snapshot.
+     */
+    public TableSnapshot apply(final TableSnapshot diff) {
+	if (!diff.isDiff() || diff.mBaseVersion != mVersion) {
+	    throw new IllegalArgumentException(
+		    "A diff against version " + diff.mBaseVersion + " can't be applied to version " + mVersion + ".");
+
+	}
+	final Map<Integer, List<ICard>> melds = new TreeMap<>(mMelds);
+	melds.putAll(diff.mMelds);
+
+	return new TableSnapshot(diff.mVersion, NO_BASE, diff.mCurrentTurn, melds, diff.mGraveyardTop,
+		diff.mGraveyardSize, diff.mHandCounts, diff.mHand == null ? mHand : diff.mHand);
+
+    }
+
+    /**
+     * Creates a diff of this snapshot against the given older one, holding only
+     * the melds that changed since, and the hand only if it changed.
+     * 
+     * @param base The snapshot to create the diff against, which must be full.
+     * @return The diff mentioned.
+     */
+    public TableSnapshot diff(final TableSnapshot base) {
+	final Map<Integer, List<ICard>> changed = new TreeMap<>();
+
+	for (final Map.Entry<Integer, List<ICard>> meld : mMelds.entrySet()) {
+	    final List<ICard> before = base.mMelds.get(meld.getKey());
+
+	    // melds only ever grow, so a changed one differs in size.
+	    if (before == null || before.size() != meld.getValue().size()) {
+		changed.put(meld.getKey(), meld.getValue());
+
+	    }
+	}
+	final List<ICard> hand = mHand.equals(base.mHand) ? null : mHand;
+
+	return new TableSnapshot(mVersion, base.mVersion, mCurrentTurn, changed, mGraveyardTop, mGraveyardSize,
+		mHandCounts, hand);
+
+    }
+
+    /**
+     * Gets the version of the snapshot this is a diff against.
+     * 
+     * @return The version mentioned, or {@link TableSnapshot#NO_BASE} if this is
+     *         a full snapshot.
+     */
+    public int getBaseVersion() {
+	return mBaseVersion;
+
+    }
+
+    /**
+     * Gets the id of the player currently on his turn.
+     * 
+     * @return The id mentioned, <tt>0</tt> if the game hasn't started yet.
+     */
+    public int getCurrentTurn() {
+	return mCurrentTurn;
+
+    }
+
+    /**
+     * Gets the amount of cards in the graveyard.
+     * 
+     * @return The amount mentioned.
+     */
+    public int getGraveyardSize() {
+	return mGraveyardSize;
+
+    }
+
+    /**
+     * Gets the card at the top of the graveyard.
+     * 
+     * @return The card mentioned, <tt>null</tt> if the graveyard is empty.
+     */
+    public ICard getGraveyardTop() {
+	return mGraveyardTop;
+
+    }
+
+    /**
+     * Gets the hand of the player this snapshot got taken for.
+     * 
+     * @return An unmodifiable list of the cards mentioned, <tt>null</tt> if this
+     *         is a diff and the hand didn't change since the base.
+     */
+    public List<ICard> getHand() {
+	return mHand;
+
+    }
+
+    /**
+     * Gets the amount of cards the player with <tt>playerId</tt> holds.
+     * 
+     * @param playerId The id of the player.
+     * @return The amount mentioned.
+     */
+    public int getHandCount(final int playerId) {
+	return mHandCounts[playerId - 1];
+
+    }
+
+    /**
+     * Gets the melds on the field keyed by their ids, only the ones changed since
+     * the base if this is a diff.
+     * 
+     * @return An unmodifiable map of the melds mentioned.
+     */
+    public SortedMap<Integer, List<ICard>> getMelds() {
+	return mMelds;
+
+    }
+
+    /**
+     * Gets the amount of players at the table.
+     * 
+     * @return The amount mentioned.
+     */
+    public int getPlayerAmount() {
+	return mHandCounts.length;
+
+    }
+
+    /**
+     * Gets the version of the state this snapshot got taken at.
+     * 
+     * @return The version mentioned.
+     */
+    public int getVersion() {
+	return mVersion;
+
+    }
+
+    /**
+     * Whether this is a diff against an older snapshot, rather than a full one.
+     * 
+     * @return <tt>True</tt> if it is a diff, <tt>false</tt> otherwise.
+     */
+    public boolean isDiff() {
+	return mBaseVersion != NO_BASE;
+
+    }
+}
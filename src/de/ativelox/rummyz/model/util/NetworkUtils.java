@@ -1,13 +1,21 @@
 package de.ativelox.rummyz.model.util;
 
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 import de.ativelox.rummyz.client.controller.IPlayerControllerSender;
 import de.ativelox.rummyz.model.Card;
 import de.ativelox.rummyz.model.ICard;
+import de.ativelox.rummyz.model.SessionToken;
+import de.ativelox.rummyz.model.TableSnapshot;
 import de.ativelox.rummyz.model.property.ECardType;
 import de.ativelox.rummyz.model.property.ECardValue;
+import de.ativelox.rummyz.network.codec.ECodec;
+import de.ativelox.rummyz.network.codec.MessageCursor;
+import de.ativelox.rummyz.network.exception.UnsupportedProtocolException;
 import de.ativelox.rummyz.server.controller.IGameControllerSender;
 
 /**
@@ -19,6 +27,35 @@ import de.ativelox.rummyz.server.controller.IGameControllerSender;
  */
 public final class NetworkUtils {
 
+    /**
+     * The constants of every enumeration converted so far, indexed by their
+     * ordinal. {@link Class#getEnumConstants()} clones its array on every call,
+     * this is computed only once per enumeration.
+     */
+    private static final ClassValue<Object[]> ENUM_CONSTANTS = new ClassValue<Object[]>() {
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.lang.ClassValue#computeValue(java.lang.Class)
+	 */
+	@Override
+	protected Object[] computeValue(final Class<?> type) {
+	    return type.getEnumConstants();
+
+	}
+    };
+
+    /**
+     * The maximal amount of digits of an ordinal, so parsing it can not overflow.
+     */
+    private static final int MAX_ORDINAL_DIGITS = 9;
+
+    /**
+     * The amount of different card values, used to pack a card into a single ID.
+     */
+    private static final int CARD_VALUES = ECardValue.values().length;
+
     /**
      * Decodes the given <tt>args</tt>, being a result from a call to
      * {@link NetworkUtils#encodeAppendCard(ICard, int, int)}, into the
@@ -38,6 +75,25 @@ public final class NetworkUtils {
 
     }
 
+    /**
+     * Reads the fields of the given cursor, being a result from a call to
+     * {@link NetworkUtils#encodeAppendCard(ICard, int, int)}, into the
+     * <tt>ICard</tt>, <tt>int</tt> and <tt>int</tt> that got passed to the previous
+     * call.
+     * 
+     * @param fields The cursor mentioned.
+     * @return A triple containing the <tt>ICard</tt>, <tt>int</tt> and
+     *         <tt>int</tt>.
+     */
+    public static ImmutableTriple<ICard, Integer, Integer> decodeAppendCard(final MessageCursor fields) {
+	final ICard card = decodeCard(fields.nextCard());
+	final int superIndex = fields.nextInt();
+	final int insertIndex = fields.nextInt();
+
+	return new ImmutableTriple<>(card, superIndex, insertIndex);
+
+    }
+
     /**
      * Decodes the given <tt>args</tt>, being a result from a call to
      * {@link NetworkUtils#encodeCard(ICard)}, into the <tt>ICard</tt> that got
@@ -47,10 +103,59 @@ public final class NetworkUtils {
      * @return The decoded <tt>ICard</tt>.
      */
     public static ICard decodeCard(final String[] args) {
-	return new Card(ensureEnumConversion(ECardType.class, args[0]),
+	return Card.of(ensureEnumConversion(ECardType.class, args[0]),
 		ensureEnumConversion(ECardValue.class, args[1]));
     }
 
+    /**
+     * Decodes the given <tt>id</tt>, being a result from a call to
+     * {@link NetworkUtils#encodeCardId(ICard)}, into the card it stands for. The
+     * card returned is shared by all the calls for the same ID.
+     * 
+     * @param id The ID mentioned.
+     * @return The card mentioned.
+     * @throws IllegalArgumentException If the given ID stands for no card.
+     * 
+     * @see Card#of(int)
+     */
+    public static ICard decodeCard(final int id) {
+	return Card.of(id);
+
+    }
+
+    /**
+     * Reads the next card from the given cursor, being a result from a call to
+     * {@link NetworkUtils#encodeCard(ICard)}.
+     * 
+     * @param fields The cursor mentioned.
+     * @return The decoded <tt>ICard</tt>.
+     */
+    public static ICard decodeCard(final MessageCursor fields) {
+	return decodeCard(fields.nextCard());
+
+    }
+
+    /**
+     * Reads the next sequence of cards from the given cursor, being a result from
+     * a call to {@link NetworkUtils#encodeCards(List)}.
+     * 
+     * @param fields The cursor mentioned.
+     * @return The sequence of decoded <tt>ICard</tt>s.
+     * @throws UnsupportedProtocolException If the amount of cards read is negative
+     *                                      or exceeds the fields left.
+     */
+    public static List<ICard> decodeCards(final MessageCursor fields) {
+	final int numOfCards = checkAmount(fields, fields.nextInt(), 2);
+	final List<ICard> cards = new ArrayList<>(numOfCards);
+
+	for (int i = 0; i < numOfCards; i++) {
+	    cards.add(decodeCard(fields.nextCard()));
+
+	}
+	return cards;
+
+    }
+
     /**
      * This is equivalent to {@link NetworkUtils#decodeCards(String[], int)} passing
      * <tt>0</tt> as the latter parameter.
@@ -81,7 +186,7 @@ public final class NetworkUtils {
 	    int typeIndex = ((i * 2) + 1) + indexOffset;
 	    int valueIndex = typeIndex + 1;
 
-	    cards.add(new Card(ensureEnumConversion(ECardType.class, args[typeIndex]),
+	    cards.add(Card.of(ensureEnumConversion(ECardType.class, args[typeIndex]),
 		    ensureEnumConversion(ECardValue.class, args[valueIndex])));
 
 	}
@@ -135,6 +240,193 @@ public final class NetworkUtils {
 
     }
 
+    /**
+     * Decodes the given <tt>args</tt>, being a result from a call to
+     * {@link NetworkUtils#encodeWelcome(int, SessionToken)}, into the codec to
+     * switch to. This is the first offered codec that is known, or {@link ECodec#TEXT} if
+     * none is, which is the case for servers not offering any codec.
+     * 
+     * @param args The args mentioned.
+     * @return The codec to switch to.
+     */
+    public static ECodec decodeWelcomeCodec(final String[] args) {
+	final ECodec[] codecs = ECodec.values();
+
+	for (int i = 1 + SessionToken.WORDS; i < args.length; i++) {
+	    final int offered = Integer.parseInt(args[i]);
+
+	    if (offered >= 0 && offered < codecs.length) {
+		return codecs[offered];
+
+	    }
+	}
+	return ECodec.TEXT;
+
+    }
+
+    /**
+     * Reads the fields of the given cursor, being a result from a call to
+     * {@link NetworkUtils#encodeCardsPlayed(List, String[])}, into the sequence of
+     * <tt>ICard</tt>s and their associated IDs that got passed to the previous
+     * call.
+     * 
+     * @param fields The cursor mentioned.
+     * @return A pair containing the decoded list of sequences of cards and its
+     *         associated IDs.
+     */
+    public static ImmutablePair<List<List<ICard>>, String[]> decodeCardsPlayed(final MessageCursor fields) {
+	final List<List<ICard>> toReturn = new ArrayList<>();
+
+	String[] ids = null;
+
+	while (fields.hasNext()) {
+	    if (fields.nextIsMarker()) {
+		ids = new String[toReturn.size()];
+
+		for (int i = 0; i < ids.length && fields.hasNext(); i++) {
+		    ids[i] = fields.nextInt() + "";
+
+		}
+		break;
+	    }
+	    toReturn.add(decodeCards(fields));
+
+	}
+	return new ImmutablePair<List<List<ICard>>, String[]>(toReturn, ids);
+
+    }
+
+    /**
+     * Reads the fields of the given cursor, being a result from a call to
+     * {@link NetworkUtils#encodeSnapshot(TableSnapshot)}, into the snapshot that
+     * got passed to that call.
+     * 
+     * @param fields The cursor mentioned.
+     * @return The snapshot mentioned.
+     * @throws UnsupportedProtocolException If any amount read is negative or
+     *                                      exceeds the fields left.
+     */
+    public static TableSnapshot decodeSnapshot(final MessageCursor fields) {
+	final int version = fields.nextInt();
+	final int baseVersion = fields.nextInt();
+	final int currentTurn = fields.nextInt();
+
+	final int[] handCounts = new int[checkAmount(fields, fields.nextInt(), 1)];
+
+	for (int i = 0; i < handCounts.length; i++) {
+	    handCounts[i] = fields.nextInt();
+
+	}
+
+	// a diff leaves out the hand, if it didn't change since the base.
+	final List<ICard> hand = fields.nextInt() == 0 ? null : decodeCardIds(fields, fields.nextInt());
+
+	final int graveyardSize = fields.nextInt();
+	final ICard graveyardTop = graveyardSize > 0 ? decodeCard(fields.nextInt()) : null;
+
+	final Map<Integer, List<ICard>> melds = new TreeMap<>();
+	// every meld takes at least its id and its size.
+	final int meldAmount = checkAmount(fields, fields.nextInt(), 2);
+
+	for (int i = 0; i < meldAmount; i++) {
+	    final int id = fields.nextInt();
+	    melds.put(id, decodeCardIds(fields, fields.nextInt()));
+
+	}
+	return new TableSnapshot(version, baseVersion, currentTurn, melds, graveyardTop, graveyardSize, handCounts,
+		hand);
+
+    }
+
+    /**
+     * Reads a session token from the given cursor, as encoded by
+     * {@link NetworkUtils#encodeWelcome(int, SessionToken)} and
+     * {@link NetworkUtils#encodeResume(SessionToken, int)}.
+     * 
+     * @param fields The cursor mentioned, positioned at the token.
+     * @return The token mentioned.
+     */
+    public static SessionToken decodeToken(final MessageCursor fields) {
+	final int[] words = new int[SessionToken.WORDS];
+
+	for (int i = 0; i < words.length; i++) {
+	    words[i] = fields.nextInt();
+
+	}
+	return new SessionToken(words);
+
+    }
+
+    /**
+     * Checks the given amount of elements read from the given cursor against the
+     * fields left, before anything gets allocated for them. The amount is sent by
+     * the peer, so it must not be trusted.
+     * 
+     * @param fields           The cursor mentioned.
+     * @param amount           The amount mentioned.
+     * @param fieldsPerElement The least amount of fields each element takes.
+     * @return The given amount.
+     * @throws UnsupportedProtocolException If the given amount is negative or the
+     *                                      fields left can not hold that many
+     *                                      elements.
+     */
+    private static int checkAmount(final MessageCursor fields, final int amount, final int fieldsPerElement) {
+	if (amount < 0 || amount > fields.remaining() / fieldsPerElement) {
+	    throw new UnsupportedProtocolException(
+		    "The amount " + amount + " does not fit the " + fields.remaining() + " fields left.");
+
+	}
+	return amount;
+
+    }
+
+    /**
+     * Reads the given amount of card IDs from the given cursor into the cards they
+     * stand for.
+     * 
+     * @param fields The cursor mentioned.
+     * @param amount The amount of IDs to read.
+     * @return The cards mentioned.
+     * @throws UnsupportedProtocolException If the given amount is negative or
+     *                                      exceeds the fields left.
+     */
+    private static List<ICard> decodeCardIds(final MessageCursor fields, final int amount) {
+	final List<ICard> cards = new ArrayList<>(checkAmount(fields, amount, 1));
+
+	for (int i = 0; i < amount; i++) {
+	    cards.add(decodeCard(fields.nextInt()));
+
+	}
+	return cards;
+
+    }
+
+    /**
+     * Reads the codecs offered following the player ID and token from the given
+     * cursor, being a result from a call to
+     * {@link NetworkUtils#encodeWelcome(int, SessionToken)}, into the codec to
+     * switch to.
+     * 
+     * @param fields The cursor mentioned, positioned after the token.
+     * @return The codec to switch to.
+     * 
+     * @see NetworkUtils#decodeWelcomeCodec(String[])
+     */
+    public static ECodec decodeWelcomeCodec(final MessageCursor fields) {
+	final ECodec[] codecs = ECodec.values();
+
+	while (fields.hasNext()) {
+	    final int offered = fields.nextInt();
+
+	    if (offered >= 0 && offered < codecs.length) {
+		return codecs[offered];
+
+	    }
+	}
+	return ECodec.TEXT;
+
+    }
+
     /**
      * Encodes the <tt>card</tt>, which gets sent by
      * {@link IPlayerControllerSender#sendAppendCard(ICard, int, int)}, to allow
@@ -162,6 +454,41 @@ public final class NetworkUtils {
 
     }
 
+    /**
+     * Encodes the given <tt>card</tt> into a single ID, packing the ordinals of its
+     * type and its value.
+     * 
+     * @param card The card to encode.
+     * @return The ID mentioned.
+     */
+    public static int encodeCardId(final ICard card) {
+	if (card instanceof Card) {
+	    return ((Card) card).getId();
+
+	}
+	return encodeCardId(card.getType().ordinal(), card.getValue().ordinal());
+
+    }
+
+    /**
+     * Encodes the card given by the ordinals of its type and its value into a
+     * single ID.
+     * 
+     * @param type  The ordinal of the type of the card.
+     * @param value The ordinal of the value of the card.
+     * @return The ID mentioned.
+     * @throws IllegalArgumentException If the given value is no ordinal of
+     *                                  {@link ECardValue}.
+     */
+    public static int encodeCardId(final int type, final int value) {
+	if (value < 0 || value >= CARD_VALUES) {
+	    throw new IllegalArgumentException("Could not convert " + value + " to an enum from class " + ECardValue.class);
+
+	}
+	return (type * CARD_VALUES) + value;
+
+    }
+
     public static String[] encodeCards(final List<ICard> toEncode) {
 	final String[] args = new String[1 + (toEncode.size() * 2)];
 
@@ -243,6 +570,120 @@ public final class NetworkUtils {
 	return args;
     }
 
+    /**
+     * Encodes the given session <tt>token</tt> along with the sequence number of
+     * the last event received in that session, to resume it.
+     * 
+     * @param token   The token of the session to resume.
+     * @param lastSeq The sequence number of the last event received.
+     * @return An encoding for the given token and sequence number.
+     */
+    public static String[] encodeResume(final SessionToken token, final int lastSeq) {
+	final String[] args = new String[SessionToken.WORDS + 1];
+
+	for (int i = 0; i < SessionToken.WORDS; i++) {
+	    args[i] = token.getWord(i) + "";
+
+	}
+	args[SessionToken.WORDS] = lastSeq + "";
+
+	return args;
+
+    }
+
+    /**
+     * Encodes the given snapshot into a sequence of integers, each card being
+     * given by its ID as of {@link NetworkUtils#encodeCardId(ICard)}.
+     * 
+     * @param snapshot The snapshot to encode.
+     * @return An encoding for the given snapshot.
+     */
+    public static String[] encodeSnapshot(final TableSnapshot snapshot) {
+	final List<String> args = new ArrayList<>();
+
+	args.add(snapshot.getVersion() + "");
+	args.add(snapshot.getBaseVersion() + "");
+	args.add(snapshot.getCurrentTurn() + "");
+	args.add(snapshot.getPlayerAmount() + "");
+
+	for (int i = 1; i <= snapshot.getPlayerAmount(); i++) {
+	    args.add(snapshot.getHandCount(i) + "");
+
+	}
+
+	if (snapshot.getHand() == null) {
+	    args.add("0");
+
+	} else {
+	    args.add("1");
+	    args.add(snapshot.getHand().size() + "");
+	    encodeCardIds(snapshot.getHand(), args);
+
+	}
+	args.add(snapshot.getGraveyardSize() + "");
+
+	if (snapshot.getGraveyardTop() != null) {
+	    args.add(encodeCardId(snapshot.getGraveyardTop()) + "");
+
+	}
+
+	args.add(snapshot.getMelds().size() + "");
+
+	for (final Map.Entry<Integer, List<ICard>> meld : snapshot.getMelds().entrySet()) {
+	    args.add(meld.getKey() + "");
+	    args.add(meld.getValue().size() + "");
+	    encodeCardIds(meld.getValue(), args);
+
+	}
+	return args.toArray(new String[args.size()]);
+
+    }
+
+    /**
+     * Adds the IDs of the given cards to the given arguments.
+     * 
+     * @param cards The cards to encode.
+     * @param args  The arguments to add the IDs to.
+     */
+    private static void encodeCardIds(final List<ICard> cards, final List<String> args) {
+	for (final ICard card : cards) {
+	    args.add(encodeCardId(card) + "");
+
+	}
+    }
+
+    /**
+     * Encodes the given <tt>playerId</tt> and session <tt>token</tt> along with
+     * the codecs offered to the player, in the order of preference. Clients only
+     * reading the ID keep using {@link ECodec#TEXT}.
+     * 
+     * @param playerId The ID of the player to welcome.
+     * @param token    The token the player can resume its session with.
+     * @return An encoding for the given ID, token and the codecs offered.
+     */
+    public static String[] encodeWelcome(final int playerId, final SessionToken token) {
+	final ECodec[] codecs = ECodec.values();
+	final String[] args = new String[codecs.length + SessionToken.WORDS];
+
+	args[0] = playerId + "";
+
+	for (int i = 0; i < SessionToken.WORDS; i++) {
+	    args[1 + i] = token.getWord(i) + "";
+
+	}
+
+	int j = 1 + SessionToken.WORDS;
+	for (final ECodec codec : codecs) {
+	    if (codec != ECodec.TEXT) {
+		args[j] = codec.ordinal() + "";
+		j++;
+
+	    }
+	}
+	return args;
+
+    }
+
     /**
      * Tries to convert <tt>toConvert</tt> to an enumeration of the given class
      * <tt>c</tt>. Assumes that <tt>toConvert</tt> has been formerly created like
@@ -258,13 +699,67 @@ public final class NetworkUtils {
      *                                  to an enumeration of <tt>c</tt>.
      */
     public static <C extends Enum<C>> C ensureEnumConversion(final Class<C> c, final String toConvert) {
-	for (final C enumField : c.getEnumConstants()) {
-	    if (toConvert.equals(enumField.ordinal() + "")) {
-		return enumField;
+	final Object[] constants = ENUM_CONSTANTS.get(c);
+	final int ordinal = parseOrdinal(toConvert);
+
+	if (ordinal < 0 || ordinal >= constants.length) {
+	    throw new IllegalArgumentException("Could not convert " + toConvert + " to an enum from class " + c);
+
+	}
+	return c.cast(constants[ordinal]);
+
+    }
+
+    /**
+     * Converts the given <tt>ordinal</tt> to an enumeration of the given class
+     * <tt>c</tt>.
+     * 
+     * @param c       The class of the enumeration to convert the given ordinal to.
+     * @param ordinal The ordinal of the enumeration.
+     * @return The enumeration of <tt>c</tt> with the given ordinal.
+     * @throws IllegalArgumentException If <tt>c</tt> has no enumeration with the
+     *                                  given ordinal.
+     */
+    public static <C extends Enum<C>> C ensureEnumConversion(final Class<C> c, final int ordinal) {
+	final Object[] constants = ENUM_CONSTANTS.get(c);
+
+	if (ordinal < 0 || ordinal >= constants.length) {
+	    throw new IllegalArgumentException("Could not convert " + ordinal + " to an enum from class " + c);
+
+	}
+	return c.cast(constants[ordinal]);
+
+    }
+
+    /**
+     * Parses the given string as an ordinal, accepting exactly the strings created
+     * like <tt>ordinal + ""</tt>, so no signs or leading zeros.
+     * 
+     * @param toParse The string to parse.
+     * @return The ordinal parsed, or <tt>-1</tt> if the given string is no
+     *         ordinal.
+     */
+    private static int parseOrdinal(final String toParse) {
+	final int length = toParse.length();
+
+	if (length == 0 || length > MAX_ORDINAL_DIGITS || (length > 1 && toParse.charAt(0) == '0')) {
+	    return -1;
+
+	}
+
+	int ordinal = 0;
+
+	for (int i = 0; i < length; i++) {
+	    final int digit = toParse.charAt(i) - '0';
+
+	    if (digit < 0 || digit > 9) {
+		return -1;
 
 	    }
+	    ordinal = (ordinal * 10) + digit;
+
 	}
-	throw new IllegalArgumentException("Could not convert " + toConvert + " to an enum from class " + c);
+	return ordinal;
 
     }
 
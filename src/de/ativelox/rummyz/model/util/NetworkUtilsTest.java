@@ -1,15 +1,24 @@
 package de.ativelox.rummyz.model.util;
 
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
 
 import org.junit.Assert;
 import org.junit.Test;
 
 import de.ativelox.rummyz.model.Card;
 import de.ativelox.rummyz.model.ICard;
+import de.ativelox.rummyz.model.SessionToken;
+import de.ativelox.rummyz.model.TableSnapshot;
 import de.ativelox.rummyz.model.property.ECardType;
 import de.ativelox.rummyz.model.property.ECardValue;
+import de.ativelox.rummyz.network.codec.ECodec;
+import de.ativelox.rummyz.network.codec.MessageCursor;
+import de.ativelox.rummyz.network.exception.UnsupportedProtocolException;
 
 /**
  * Provides JUnit test cases for {@link NetworkUtils}.
@@ -70,6 +79,138 @@ public final class NetworkUtilsTest {
 
     }
 
+    /**
+     * Test method for
+     * {@link de.ativelox.rummyz.model.util.NetworkUtils#decodeCardsPlayed(de.ativelox.rummyz.network.codec.MessageCursor)}.
+     */
+    @Test
+    public void testDecodeCardsPlayedMessageCursor() {
+	final List<List<ICard>> cards = new LinkedList<>();
+	final List<ICard> inCards = new LinkedList<>();
+
+	inCards.add(new Card(ECardType.CLUB, ECardValue.ACE));
+	inCards.add(new Card(ECardType.NONE, ECardValue.JOKER));
+	cards.add(inCards);
+	cards.add(new LinkedList<>());
+
+	final String[] split = NetworkUtils.encodeCardsPlayed(cards, new String[] { "3", "4" });
+	final ImmutablePair<List<List<ICard>>, String[]> expected = NetworkUtils.decodeCardsPlayed(split);
+	final ImmutablePair<List<List<ICard>>, String[]> actual = NetworkUtils
+		.decodeCardsPlayed(MessageCursor.wrap(split));
+
+	Assert.assertEquals(expected.getKey().toString(), actual.getKey().toString());
+	Assert.assertArrayEquals(expected.getValue(), actual.getValue());
+
+	Assert.assertNull(NetworkUtils.decodeCardsPlayed(MessageCursor.wrap(NetworkUtils.encodeCardsPlayed(cards)))
+		.getValue());
+
+    }
+
+    /**
+     * Tests that amounts sent by a peer get rejected before anything gets
+     * allocated for them, if they are negative or exceed the fields left.
+     */
+    @Test
+    public void testDecodeBogusAmounts() {
+	final String[][] bogus = { { "2000000000", "1", "2" }, { "-1" }, { "2", "1", "2", "1" } };
+
+	for (final String[] args : bogus) {
+	    try {
+		NetworkUtils.decodeCardsPlayed(MessageCursor.wrap(args));
+		Assert.fail("Decoded " + String.join(" ", args));
+
+	    } catch (UnsupportedProtocolException e) {
+		Assert.assertTrue(e.getMessage().contains("fields left"));
+
+	    }
+	}
+
+	try {
+	    NetworkUtils.decodeSnapshot(MessageCursor.wrap(new String[] { "1", "-1", "1", "2000000000", "0" }));
+	    Assert.fail("Decoded a snapshot of 2000000000 players");
+
+	} catch (UnsupportedProtocolException e) {
+	    Assert.assertTrue(e.getMessage().contains("fields left"));
+
+	}
+    }
+
+    /**
+     * Test method for
+     * {@link de.ativelox.rummyz.model.util.NetworkUtils#decodeSnapshot(de.ativelox.rummyz.network.codec.MessageCursor)}.
+     */
+    @Test
+    public void testDecodeSnapshot() {
+	final ICard club = new Card(ECardType.CLUB, ECardValue.ACE);
+	final ICard heart = new Card(ECardType.HEART, ECardValue.ACE);
+	final ICard spade = new Card(ECardType.SPADE, ECardValue.ACE);
+	final ICard joker = new Card(ECardType.NONE, ECardValue.JOKER);
+
+	final Map<Integer, List<ICard>> melds = new TreeMap<>();
+	melds.put(0, Arrays.asList(club, heart, spade));
+
+	final TableSnapshot base = new TableSnapshot(4, TableSnapshot.NO_BASE, 1, melds, joker, 3,
+		new int[] { 5, 7 }, Arrays.asList(club, joker));
+
+	final Map<Integer, List<ICard>> grown = new TreeMap<>(melds);
+	grown.put(0, Arrays.asList(club, heart, spade, joker));
+	grown.put(1, Arrays.asList(heart, heart, heart));
+
+	final TableSnapshot full = new TableSnapshot(9, TableSnapshot.NO_BASE, 2, grown, club, 4,
+		new int[] { 4, 7 }, Arrays.asList(club));
+
+	final TableSnapshot decoded = NetworkUtils
+		.decodeSnapshot(MessageCursor.wrap(NetworkUtils.encodeSnapshot(full.diff(base))));
+
+	Assert.assertTrue(decoded.isDiff());
+	Assert.assertEquals(4, decoded.getBaseVersion());
+
+	final TableSnapshot applied = base.apply(decoded);
+
+	Assert.assertFalse(applied.isDiff());
+	Assert.assertEquals(9, applied.getVersion());
+	Assert.assertEquals(2, applied.getCurrentTurn());
+	Assert.assertEquals(4, applied.getHandCount(1));
+	Assert.assertEquals(full.getMelds().toString(), applied.getMelds().toString());
+	Assert.assertEquals(club.toString(), applied.getGraveyardTop().toString());
+	Assert.assertEquals(4, applied.getGraveyardSize());
+	Assert.assertEquals(full.getHand().toString(), applied.getHand().toString());
+
+	// an unchanged hand and an empty grave yard are left out of a diff.
+	final TableSnapshot drawn = new TableSnapshot(12, TableSnapshot.NO_BASE, 1, grown, null, 0,
+		new int[] { 4, 7 }, Arrays.asList(club));
+	final String[] encoded = NetworkUtils.encodeSnapshot(drawn.diff(full));
+
+	Assert.assertNull(NetworkUtils.decodeSnapshot(MessageCursor.wrap(encoded)).getHand());
+	Assert.assertEquals(3 + 3 + 1 + 1 + 1, encoded.length);
+
+	final TableSnapshot reapplied = full.apply(NetworkUtils.decodeSnapshot(MessageCursor.wrap(encoded)));
+
+	Assert.assertEquals(full.getHand().toString(), reapplied.getHand().toString());
+	Assert.assertNull(reapplied.getGraveyardTop());
+	Assert.assertEquals(0, reapplied.getGraveyardSize());
+
+    }
+
+    /**
+     * Test method for
+     * {@link de.ativelox.rummyz.model.util.NetworkUtils#decodeToken(de.ativelox.rummyz.network.codec.MessageCursor)}.
+     */
+    @Test
+    public void testDecodeToken() {
+	final SessionToken token = SessionToken.generate(new Random(3));
+
+	final MessageCursor welcome = MessageCursor.wrap(NetworkUtils.encodeWelcome(2, token));
+	Assert.assertEquals(2, welcome.nextInt());
+	Assert.assertEquals(token, NetworkUtils.decodeToken(welcome));
+	Assert.assertNotEquals(ECodec.TEXT, NetworkUtils.decodeWelcomeCodec(welcome));
+
+	final MessageCursor resume = MessageCursor.wrap(NetworkUtils.encodeResume(token, 17));
+	Assert.assertEquals(token, NetworkUtils.decodeToken(resume));
+	Assert.assertEquals(17, resume.nextInt());
+
+    }
+
     /**
      * Test method for
      * {@link de.ativelox.rummyz.model.util.NetworkUtils#encodeCardsPlayed(java.util.List, java.lang.String[])}.
@@ -126,4 +267,27 @@ public final class NetworkUtilsTest {
 
     }
 
+    /**
+     * Test method for
+     * {@link de.ativelox.rummyz.model.util.NetworkUtils#ensureEnumConversion(java.lang.Class, java.lang.String)}.
+     */
+    @Test
+    public void testEnsureEnumConversion() {
+	for (final ECardValue value : ECardValue.values()) {
+	    Assert.assertEquals(value, NetworkUtils.ensureEnumConversion(ECardValue.class, value.ordinal() + ""));
+
+	}
+
+	for (final String invalid : new String[] { "", "-1", "+1", "01", "1a", "14", "9999999999" }) {
+	    try {
+		NetworkUtils.ensureEnumConversion(ECardValue.class, invalid);
+		Assert.fail("Converted " + invalid);
+
+	    } catch (IllegalArgumentException e) {
+		Assert.assertTrue(e.getMessage().contains(ECardValue.class.getName()));
+
+	    }
+	}
+    }
+
 }
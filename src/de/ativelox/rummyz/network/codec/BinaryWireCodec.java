@@ -0,0 +1,586 @@
+package de.ativelox.rummyz.network.codec;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import de.ativelox.rummyz.model.property.ECardValue;
+import de.ativelox.rummyz.model.util.ImmutablePair;
+import de.ativelox.rummyz.model.util.NetworkUtils;
+import de.ativelox.rummyz.network.protocol.EPayload;
+import de.ativelox.rummyz.network.protocol.IProtocol;
+
+/**
+ * Provides a compact {@link IWireCodec}. Each frame starts with its length as a
+ * variable length integer, followed by a single byte holding the ordinal of the
+ * protocol and the additional arguments laid out as described by the
+ * {@link EPayload} of the protocol. Integers are written as variable length
+ * integers, and every card takes a single byte, packing its type and its value
+ * together.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+public final class BinaryWireCodec implements IWireCodec {
+
+    /**
+     * A growable buffer of bytes, used to write a frame.
+     */
+    private static final class Output {
+
+	/**
+	 * The bytes written so far.
+	 */
+	private byte[] mBytes;
+
+	/**
+	 * The amount of bytes written so far.
+	 */
+	private int mSize;
+
+	/**
+	 * Creates a new {@link Output}.
+	 * 
+	 * @param capacity The initial capacity in bytes.
+	 */
+	public Output(final int capacity) {
+	    mBytes = new byte[capacity];
+	    mSize = 0;
+
+	}
+
+	/**
+	 * Ensures there is room for the given amount of additional bytes.
+	 * 
+	 * @param amount The amount mentioned.
+	 */
+	private void ensure(final int amount) {
+	    if (mSize + amount > mBytes.length) {
+		mBytes = Arrays.copyOf(mBytes, Math.max(mBytes.length * 2, mSize + amount));
+
+	    }
+	}
+
+	/**
+	 * Writes a single byte.
+	 * 
+	 * @param value The byte to write.
+	 */
+	public void write(final int value) {
+	    this.ensure(1);
+	    mBytes[mSize++] = (byte) value;
+
+	}
+
+	/**
+	 * Writes the given bytes.
+	 * 
+	 * @param bytes The bytes to write.
+	 */
+	public void write(final byte[] bytes) {
+	    this.ensure(bytes.length);
+	    System.arraycopy(bytes, 0, mBytes, mSize, bytes.length);
+	    mSize += bytes.length;
+
+	}
+
+	/**
+	 * Writes the given non-negative integer as a variable length integer.
+	 * 
+	 * @param value The integer to write.
+	 */
+	public void writeVarInt(int value) {
+	    this.ensure(5);
+
+	    while ((value & ~0x7F) != 0) {
+		mBytes[mSize++] = (byte) ((value & 0x7F) | 0x80);
+		value >>>= 7;
+
+	    }
+	    mBytes[mSize++] = (byte) value;
+
+	}
+    }
+
+    /**
+     * The amount of different card values, used to pack a card into a single
+     * byte.
+     */
+    private static final int VALUES = ECardValue.values().length;
+
+    /**
+     * The string representations of small non-negative integers, so decoding
+     * them does not allocate.
+     */
+    private static final String[] SMALL_INTS = new String[256];
+
+    static {
+	for (int i = 0; i < SMALL_INTS.length; i++) {
+	    SMALL_INTS[i] = Integer.toString(i);
+
+	}
+    }
+
+    /**
+     * Gets the string representation of the given integer.
+     * 
+     * @param value The integer mentioned.
+     * @return The string representation mentioned.
+     */
+    private static String toString(final int value) {
+	if (value >= 0 && value < SMALL_INTS.length) {
+	    return SMALL_INTS[value];
+
+	}
+	return Integer.toString(value);
+
+    }
+
+    /**
+     * Reads a variable length integer from the given buffer.
+     * 
+     * @param buffer The buffer to read from.
+     * @return The integer read.
+     */
+    private static int readVarInt(final ByteBuffer buffer) {
+	int value = 0;
+
+	for (int shift = 0; shift < 32; shift += 7) {
+	    final byte b = buffer.get();
+	    value |= (b & 0x7F) << shift;
+
+	    if ((b & 0x80) == 0) {
+		return value;
+
+	    }
+	}
+	throw new IllegalArgumentException("Malformed variable length integer.");
+
+    }
+
+    /**
+     * Reads a card packed into a single byte from the given buffer, and appends the
+     * ordinals of its type and its value to <tt>fields</tt>.
+     * 
+     * @param buffer The buffer to read from.
+     * @param fields The cursor to append the card to.
+     */
+    private static void readCard(final ByteBuffer buffer, final MessageCursor fields) {
+	final int packed = buffer.get() & 0xFF;
+
+	fields.add(packed / VALUES);
+	fields.add(packed % VALUES);
+
+    }
+
+    /**
+     * Reads a card packed into a single byte from the given buffer, and stores its
+     * type and value ordinals into <tt>args</tt>.
+     * 
+     * @param buffer The buffer to read from.
+     * @param args   The arguments to store the card into.
+     * @param index  The index of the type in <tt>args</tt>, the value gets stored
+     *               right after it.
+     */
+    private static void readCard(final ByteBuffer buffer, final String[] args, final int index) {
+	final int packed = buffer.get() & 0xFF;
+
+	args[index] = SMALL_INTS[packed / VALUES];
+	args[index + 1] = SMALL_INTS[packed % VALUES];
+
+    }
+
+    /**
+     * Writes the card given by its type and value ordinals as a single byte.
+     * 
+     * @param out   The output to write to.
+     * @param type  The ordinal of the type of the card.
+     * @param value The ordinal of the value of the card.
+     */
+    private static void writeCard(final Output out, final String type, final String value) {
+	out.write((Integer.parseInt(type) * VALUES) + Integer.parseInt(value));
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see de.ativelox.rummyz.network.codec.IWireCodec#decode(java.lang.Class,
+     * java.nio.ByteBuffer)
+     */
+    @Override
+    public <P extends Enum<P> & IProtocol> ImmutablePair<P, String[]> decode(final Class<P> protocol,
+	    final ByteBuffer frame) {
+	readVarInt(frame);
+
+	final P decoded = NetworkUtils.ensureEnumConversion(protocol, frame.get() & 0xFF);
+	final String[] args;
+
+	switch (decoded.getPayload()) {
+	case INTS:
+	    args = new String[readVarInt(frame)];
+
+	    for (int i = 0; i < args.length; i++) {
+		args[i] = toString(readVarInt(frame));
+
+	    }
+	    break;
+
+	case TEXT:
+	    args = new String[readVarInt(frame)];
+
+	    for (int i = 0; i < args.length; i++) {
+		final byte[] bytes = new byte[readVarInt(frame)];
+		frame.get(bytes);
+		args[i] = new String(bytes, StandardCharsets.UTF_8);
+
+	    }
+	    break;
+
+	case CARD:
+	    args = new String[2];
+	    readCard(frame, args, 0);
+	    break;
+
+	case CARDS: {
+	    final int amount = readVarInt(frame);
+	    args = new String[1 + (2 * amount)];
+	    args[0] = toString(amount);
+
+	    for (int i = 0; i < amount; i++) {
+		readCard(frame, args, 1 + (2 * i));
+
+	    }
+	    break;
+	}
+
+	case APPEND_CARD:
+	    args = new String[4];
+	    readCard(frame, args, 0);
+	    args[2] = toString(readVarInt(frame));
+	    args[3] = toString(readVarInt(frame));
+	    break;
+
+	case CARDS_PLAYED:
+	    args = decodeCardsPlayed(frame);
+	    break;
+
+	case NONE:
+	default:
+	    args = new String[0];
+	    break;
+
+	}
+
+	if (frame.hasRemaining()) {
+	    throw new IllegalArgumentException("Frame of " + decoded + " has " + frame.remaining() + " trailing bytes.");
+
+	}
+	return new ImmutablePair<>(decoded, args);
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see de.ativelox.rummyz.network.codec.IWireCodec#decode(java.lang.Class,
+     * java.nio.ByteBuffer, de.ativelox.rummyz.network.codec.MessageCursor)
+     */
+    @Override
+    public <P extends Enum<P> & IProtocol> P decode(final Class<P> protocol, final ByteBuffer frame,
+	    final MessageCursor fields) {
+	fields.clear();
+	readVarInt(frame);
+
+	final P decoded = NetworkUtils.ensureEnumConversion(protocol, frame.get() & 0xFF);
+
+	switch (decoded.getPayload()) {
+	case INTS: {
+	    final int amount = readVarInt(frame);
+
+	    for (int i = 0; i < amount; i++) {
+		fields.add(readVarInt(frame));
+
+	    }
+	    break;
+	}
+
+	case TEXT:
+	    throw new IllegalArgumentException("Frame of " + decoded + " holds text, which can not be read as fields.");
+
+	case CARD:
+	    readCard(frame, fields);
+	    break;
+
+	case CARDS: {
+	    final int amount = readVarInt(frame);
+	    fields.add(amount);
+
+	    for (int i = 0; i < amount; i++) {
+		readCard(frame, fields);
+
+	    }
+	    break;
+	}
+
+	case APPEND_CARD:
+	    readCard(frame, fields);
+	    fields.add(readVarInt(frame));
+	    fields.add(readVarInt(frame));
+	    break;
+
+	case CARDS_PLAYED: {
+	    final int sequences = readVarInt(frame);
+
+	    for (int i = 0; i < sequences; i++) {
+		final int amount = readVarInt(frame);
+		fields.add(amount);
+
+		for (int j = 0; j < amount; j++) {
+		    readCard(frame, fields);
+
+		}
+	    }
+	    final int ids = readVarInt(frame);
+
+	    if (ids > 0) {
+		fields.addMarker();
+
+		for (int i = 0; i < ids - 1; i++) {
+		    fields.add(readVarInt(frame));
+
+		}
+	    }
+	    break;
+	}
+
+	case NONE:
+	default:
+	    break;
+
+	}
+
+	if (frame.hasRemaining()) {
+	    throw new IllegalArgumentException("Frame of " + decoded + " has " + frame.remaining() + " trailing bytes.");
+
+	}
+	return decoded;
+
+    }
+
+    /**
+     * Decodes the additional arguments laid out as {@link EPayload#CARDS_PLAYED}.
+     * 
+     * @param frame The frame to read from, positioned at the arguments.
+     * @return The additional arguments mentioned.
+     */
+    private String[] decodeCardsPlayed(final ByteBuffer frame) {
+	final int start = frame.position();
+	final int sequences = readVarInt(frame);
+
+	// skim over the frame once to size the arguments.
+	int size = 0;
+
+	for (int i = 0; i < sequences; i++) {
+	    final int amount = readVarInt(frame);
+	    frame.position(frame.position() + amount);
+	    size += 1 + (2 * amount);
+
+	}
+	final int ids = readVarInt(frame);
+
+	if (ids > 0) {
+	    size += ids;
+
+	}
+	frame.position(start);
+	readVarInt(frame);
+
+	final String[] args = new String[size];
+	int index = 0;
+
+	for (int i = 0; i < sequences; i++) {
+	    final int amount = readVarInt(frame);
+	    args[index++] = toString(amount);
+
+	    for (int j = 0; j < amount; j++) {
+		readCard(frame, args, index);
+		index += 2;
+
+	    }
+	}
+	readVarInt(frame);
+
+	if (ids > 0) {
+	    args[index++] = "+";
+
+	    for (int i = 0; i < ids - 1; i++) {
+		args[index++] = toString(readVarInt(frame));
+
+	    }
+	}
+	return args;
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see de.ativelox.rummyz.network.codec.IWireCodec#encode(java.lang.Enum,
+     * java.lang.String[])
+     */
+    @Override
+    public <P extends Enum<P> & IProtocol> ByteBuffer encode(final P protocol, final String[] additional) {
+	final String[] args = additional == null ? new String[0] : additional;
+	final Output out = new Output(16 + args.length);
+
+	out.write(protocol.ordinal());
+
+	switch (protocol.getPayload()) {
+	case INTS:
+	    out.writeVarInt(args.length);
+
+	    for (final String arg : args) {
+		out.writeVarInt(Integer.parseInt(arg));
+
+	    }
+	    break;
+
+	case TEXT:
+	    out.writeVarInt(args.length);
+
+	    for (final String arg : args) {
+		final byte[] bytes = arg.getBytes(StandardCharsets.UTF_8);
+		out.writeVarInt(bytes.length);
+		out.write(bytes);
+
+	    }
+	    break;
+
+	case CARD:
+	    writeCard(out, args[0], args[1]);
+	    break;
+
+	case CARDS: {
+	    final int amount = Integer.parseInt(args[0]);
+	    out.writeVarInt(amount);
+
+	    for (int i = 0; i < amount; i++) {
+		writeCard(out, args[1 + (2 * i)], args[2 + (2 * i)]);
+
+	    }
+	    break;
+	}
+
+	case APPEND_CARD:
+	    writeCard(out, args[0], args[1]);
+	    out.writeVarInt(Integer.parseInt(args[2]));
+	    out.writeVarInt(Integer.parseInt(args[3]));
+	    break;
+
+	case CARDS_PLAYED:
+	    this.encodeCardsPlayed(out, args);
+	    break;
+
+	case NONE:
+	default:
+	    break;
+
+	}
+
+	final Output frame = new Output(out.mSize + 5);
+	frame.writeVarInt(out.mSize);
+	frame.ensure(out.mSize);
+	System.arraycopy(out.mBytes, 0, frame.mBytes, frame.mSize, out.mSize);
+	frame.mSize += out.mSize;
+
+	return ByteBuffer.wrap(frame.mBytes, 0, frame.mSize);
+
+    }
+
+    /**
+     * Encodes the additional arguments laid out as {@link EPayload#CARDS_PLAYED}.
+     * Every sequence of cards is written as its size followed by its cards. The
+     * sequences are followed by the amount of IDs plus one, or <tt>0</tt> if there
+     * are no IDs, and the IDs themselves.
+     * 
+     * @param out  The output to write to.
+     * @param args The additional arguments mentioned.
+     */
+    private void encodeCardsPlayed(final Output out, final String[] args) {
+	int sequences = 0;
+	int index = 0;
+
+	while (index < args.length && !args[index].equals("+")) {
+	    index += 1 + (2 * Integer.parseInt(args[index]));
+	    sequences++;
+
+	}
+	out.writeVarInt(sequences);
+
+	index = 0;
+
+	for (int i = 0; i < sequences; i++) {
+	    final int amount = Integer.parseInt(args[index]);
+	    out.writeVarInt(amount);
+
+	    for (int j = 0; j < amount; j++) {
+		writeCard(out, args[index + 1 + (2 * j)], args[index + 2 + (2 * j)]);
+
+	    }
+	    index += 1 + (2 * amount);
+
+	}
+
+	if (index >= args.length) {
+	    out.writeVarInt(0);
+	    return;
+
+	}
+	// skip the separator.
+	index++;
+
+	out.writeVarInt(args.length - index + 1);
+
+	for (int i = index; i < args.length; i++) {
+	    out.writeVarInt(Integer.parseInt(args[i]));
+
+	}
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * de.ativelox.rummyz.network.codec.IWireCodec#frameLength(java.nio.ByteBuffer)
+     */
+    @Override
+    public int frameLength(final ByteBuffer buffer) {
+	int length = 0;
+	int i = buffer.position();
+
+	for (int shift = 0; shift < 32; shift += 7) {
+	    if (i >= buffer.limit()) {
+		return -1;
+
+	    }
+	    final byte b = buffer.get(i++);
+	    length |= (b & 0x7F) << shift;
+
+	    if ((b & 0x80) == 0) {
+		final int prefix = i - buffer.position();
+
+		// a length using all the 32 bits is negative.
+		if (length < 0 || length > MAX_FRAME_LENGTH - prefix) {
+		    throw new IllegalArgumentException("The frame length " + length + " is out of bounds.");
+
+		}
+		final int total = prefix + length;
+		return total <= buffer.remaining() ? total : -1;
+
+	    }
+	}
+	throw new IllegalArgumentException("Malformed frame length.");
+
+    }
+}
@@ -0,0 +1,170 @@
+package de.ativelox.rummyz.network.codec;
+
+import java.nio.ByteBuffer;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.ativelox.rummyz.model.Card;
+import de.ativelox.rummyz.model.ICard;
+import de.ativelox.rummyz.model.SessionToken;
+import de.ativelox.rummyz.model.property.ECardType;
+import de.ativelox.rummyz.model.property.ECardValue;
+import de.ativelox.rummyz.model.util.ImmutablePair;
+import de.ativelox.rummyz.model.util.NetworkUtils;
+import de.ativelox.rummyz.network.protocol.EC2S;
+import de.ativelox.rummyz.network.protocol.ES2C;
+import de.ativelox.rummyz.network.protocol.IProtocol;
+
+/**
+ * Provides JUnit test cases for {@link BinaryWireCodec}.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+public final class BinaryWireCodecTest {
+
+    /**
+     * Encodes the given protocol with both {@link ECodec#TEXT} and
+     * {@link ECodec#BINARY}, and asserts both decode to the same arguments, with
+     * and without a {@link MessageCursor}.
+     * 
+     * @param protocol   The protocol to encode.
+     * @param additional The additional arguments to encode.
+     * @return The size of the binary frame in bytes.
+     */
+    private static <P extends Enum<P> & IProtocol> int assertSameAsText(final P protocol,
+	    final String[] additional) {
+	final ByteBuffer text = ECodec.TEXT.getCodec().encode(protocol, additional);
+	final ByteBuffer binary = ECodec.BINARY.getCodec().encode(protocol, additional);
+	final int size = binary.remaining();
+
+	final ImmutablePair<P, String[]> expected = ECodec.TEXT.getCodec().decode(protocol.getDeclaringClass(),
+		text);
+	final ImmutablePair<P, String[]> actual = ECodec.BINARY.getCodec().decode(protocol.getDeclaringClass(),
+		binary);
+
+	Assert.assertEquals(expected.getKey(), actual.getKey());
+	Assert.assertArrayEquals(expected.getValue(), actual.getValue());
+
+	// the cursors filled by either codec hold the very same fields.
+	for (final ECodec codec : ECodec.values()) {
+	    final MessageCursor fields = new MessageCursor();
+	    final ByteBuffer frame = codec.getCodec().encode(protocol, additional);
+
+	    Assert.assertEquals(expected.getKey(), codec.getCodec().decode(protocol.getDeclaringClass(), frame, fields));
+	    Assert.assertArrayEquals(expected.getValue(), fields.toArgs());
+
+	}
+
+	return size;
+
+    }
+
+    /**
+     * Tests that every kind of payload decodes to the same arguments as with
+     * {@link TextWireCodec}.
+     */
+    @Test
+    public void testSameAsText() {
+	final List<ICard> hand = new LinkedList<>();
+
+	for (final ECardValue value : ECardValue.values()) {
+	    hand.add(new Card(ECardType.HEART, value));
+
+	}
+	hand.add(new Card(ECardType.NONE, ECardValue.JOKER));
+
+	final List<List<ICard>> played = new LinkedList<>();
+	played.add(hand.subList(0, 3));
+	played.add(hand.subList(5, 9));
+
+	assertSameAsText(ES2C.WELCOME, NetworkUtils.encodeWelcome(3,
+		new SessionToken(new int[] { 123456789, -1, Integer.MIN_VALUE, 0 })));
+	assertSameAsText(ES2C.TURN_START, null);
+	assertSameAsText(EC2S.TURN_END, new String[0]);
+	assertSameAsText(EC2S.SNAPSHOT_REQUEST, new String[] { "1" });
+	assertSameAsText(ES2C.GRAVEYARD_UPDATE, NetworkUtils.encodeCard(hand.get(14)));
+	assertSameAsText(EC2S.CARD_APPEND, NetworkUtils.encodeAppendCard(hand.get(2), 300, 0));
+	assertSameAsText(ES2C.CARDS_PLAYED_UPDATE, NetworkUtils.encodeCardsPlayed(played, new String[] { "0", "1" }));
+	assertSameAsText(EC2S.CARDS_PLAYED, NetworkUtils.encodeCardsPlayed(played));
+	assertSameAsText(EC2S.CARDS_PLAYED, NetworkUtils.encodeCardsPlayed(new LinkedList<>()));
+
+	Assert.assertEquals(2 + 1 + hand.size(), assertSameAsText(ES2C.SEND_CARDS, NetworkUtils.encodeCards(hand)));
+
+    }
+
+    /**
+     * Tests that the length of a frame is only known once it is complete, and
+     * that consecutive frames get split properly.
+     */
+    @Test
+    public void testFrameLength() {
+	final IWireCodec codec = ECodec.BINARY.getCodec();
+	final ByteBuffer first = codec.encode(EC2S.READY, new String[] { "1" });
+	final ByteBuffer second = codec.encode(EC2S.VICTORY, null);
+
+	final ByteBuffer buffer = ByteBuffer.allocate(first.remaining() + second.remaining());
+	buffer.put(first.duplicate()).put(second.duplicate()).flip();
+
+	final ByteBuffer partial = buffer.duplicate();
+	partial.limit(first.remaining() - 1);
+	Assert.assertEquals(-1, codec.frameLength(partial));
+
+	Assert.assertEquals(first.remaining(), codec.frameLength(buffer));
+	buffer.position(first.remaining());
+	Assert.assertEquals(second.remaining(), codec.frameLength(buffer));
+
+	Assert.assertArrayEquals(new String[0], codec.decode(EC2S.class, buffer).getValue());
+	Assert.assertEquals(0, buffer.remaining());
+
+    }
+
+    /**
+     * Tests that lengths of frames longer than {@link IWireCodec#MAX_FRAME_LENGTH}
+     * or negative ones get rejected as soon as the length prefix is read, for the
+     * binary codec, and once too many bytes without a line break got read, for
+     * the text codec.
+     */
+    @Test
+    public void testFrameLengthBounds() {
+	final IWireCodec codec = ECodec.BINARY.getCodec();
+
+	// a prefix of five bytes, decoding to a length of 2^31 - 1 and -1.
+	for (final byte last : new byte[] { 0x07, 0x0F }) {
+	    final ByteBuffer prefix = ByteBuffer.wrap(new byte[] { -1, -1, -1, -1, last });
+
+	    try {
+		codec.frameLength(prefix);
+		Assert.fail("Accepted a length prefix ending in " + last);
+
+	    } catch (IllegalArgumentException e) {
+		Assert.assertTrue(e.getMessage().contains("out of bounds"));
+
+	    }
+	}
+
+	final ByteBuffer line = ByteBuffer.allocate(IWireCodec.MAX_FRAME_LENGTH);
+	Assert.assertEquals(-1, ECodec.TEXT.getCodec().frameLength(line.duplicate().limit(line.capacity() - 1)));
+
+	try {
+	    ECodec.TEXT.getCodec().frameLength(line);
+	    Assert.fail("Accepted a line of " + line.remaining() + " bytes");
+
+	} catch (IllegalArgumentException e) {
+	    Assert.assertTrue(e.getMessage().contains("exceeds"));
+
+	}
+    }
+
+    /**
+     * Tests that an unknown protocol gets rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownProtocol() {
+	ECodec.BINARY.getCodec().decode(EC2S.class, ByteBuffer.wrap(new byte[] { 1, (byte) EC2S.values().length }));
+
+    }
+}
@@ -0,0 +1,39 @@
+package de.ativelox.rummyz.network.codec;
+
+/**
+ * An enumeration for the different {@link IWireCodec}s a connection can use.
+ * Every connection starts out with {@link ECodec#TEXT}, the server offers the
+ * others alongside its welcome and the client may pick one of them.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+public enum ECodec {
+
+    TEXT(new TextWireCodec()), BINARY(new BinaryWireCodec());
+
+    /**
+     * The codec this enumeration stands for.
+     */
+    private final IWireCodec mCodec;
+
+    /**
+     * Creates a new {@link ECodec}.
+     * 
+     * @param codec The codec this enumeration stands for.
+     */
+    private ECodec(final IWireCodec codec) {
+	mCodec = codec;
+
+    }
+
+    /**
+     * Gets the codec this enumeration stands for.
+     * 
+     * @return The codec mentioned.
+     */
+    public IWireCodec getCodec() {
+	return mCodec;
+
+    }
+}
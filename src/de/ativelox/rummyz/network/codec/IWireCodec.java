@@ -0,0 +1,79 @@
+package de.ativelox.rummyz.network.codec;
+
+import java.nio.ByteBuffer;
+
+import de.ativelox.rummyz.model.util.ImmutablePair;
+import de.ativelox.rummyz.network.protocol.IProtocol;
+
+/**
+ * Provides an interface for the encoding of protocols and their additional
+ * arguments into frames of bytes, and back. A codec also defines where a frame
+ * ends, so a stream of bytes can be split into its frames.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ * 
+ * @see ECodec
+ * 
+ */
+public interface IWireCodec {
+
+    /**
+     * The maximum length of a frame in bytes, including its delimiter or length
+     * prefix. Longer frames are malformed, so a peer can't make the other side
+     * buffer an unbounded amount of bytes.
+     */
+    int MAX_FRAME_LENGTH = 1 << 16;
+
+    /**
+     * Decodes the given frame into its protocol and its additional arguments.
+     * 
+     * @param protocol The class of the enumeration of the protocol to decode.
+     * @param frame    The frame to decode, spanning from its position to its
+     *                 limit, as determined by
+     *                 {@link IWireCodec#frameLength(ByteBuffer)}.
+     * @return A pair containing the protocol and its additional arguments.
+     * @throws IllegalArgumentException If the given frame is malformed.
+     */
+    <P extends Enum<P> & IProtocol> ImmutablePair<P, String[]> decode(final Class<P> protocol,
+	    final ByteBuffer frame);
+
+    /**
+     * Decodes the given frame into its protocol, and fills the given cursor with
+     * its additional arguments. This does not create any objects, so it is used
+     * for every frame read. Additional arguments laid out as
+     * {@link de.ativelox.rummyz.network.protocol.EPayload#TEXT EPayload#TEXT}
+     * can only be decoded by {@link IWireCodec#decode(Class, ByteBuffer)}.
+     * 
+     * @param protocol The class of the enumeration of the protocol to decode.
+     * @param frame    The frame to decode, spanning from its position to its
+     *                 limit, as determined by
+     *                 {@link IWireCodec#frameLength(ByteBuffer)}.
+     * @param fields   The cursor to fill, it gets cleared beforehand.
+     * @return The protocol mentioned.
+     * @throws IllegalArgumentException If the given frame is malformed.
+     */
+    <P extends Enum<P> & IProtocol> P decode(final Class<P> protocol, final ByteBuffer frame,
+	    final MessageCursor fields);
+
+    /**
+     * Encodes the given protocol and its additional arguments into a frame.
+     * 
+     * @param protocol   The protocol to encode.
+     * @param additional The additional arguments, might be <tt>null</tt>.
+     * @return The frame mentioned, spanning from its position to its limit.
+     */
+    <P extends Enum<P> & IProtocol> ByteBuffer encode(final P protocol, final String[] additional);
+
+    /**
+     * Gets the length of the frame starting at the position of the given buffer.
+     * Does not change the position of the buffer.
+     * 
+     * @param buffer The buffer holding the bytes read so far, up to its limit.
+     * @return The length of the frame in bytes, or <tt>-1</tt> if the buffer does
+     *         not yet hold the complete frame.
+     * @throws IllegalArgumentException If the frame is malformed or longer than
+     *                                  {@link IWireCodec#MAX_FRAME_LENGTH}.
+     */
+    int frameLength(final ByteBuffer buffer);
+
+}
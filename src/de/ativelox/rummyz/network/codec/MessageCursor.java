@@ -0,0 +1,215 @@
+package de.ativelox.rummyz.network.codec;
+
+import java.util.Arrays;
+
+import de.ativelox.rummyz.model.util.NetworkUtils;
+
+/**
+ * Provides a reusable cursor over the additional arguments of a decoded
+ * message. Every argument is held as a primitive field, so serving a message
+ * does not need to create any strings or arrays. The only argument that is no
+ * integer is the marker separating the cards played from their IDs, as created
+ * by {@link NetworkUtils#encodeCardsPlayed(java.util.List, String[])}, which is
+ * held separately. The fields are laid out just like the arguments of the text
+ * protocol, regardless of the {@link IWireCodec} that filled them.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+public final class MessageCursor {
+
+    /**
+     * The argument used as the marker in the text protocol.
+     */
+    public static final String MARKER = "+";
+
+    /**
+     * The initial amount of fields this cursor can hold.
+     */
+    private static final int INITIAL_CAPACITY = 32;
+
+    /**
+     * Creates a new cursor holding the given arguments.
+     * 
+     * @param args The arguments mentioned.
+     * @return The cursor mentioned.
+     * @throws IllegalArgumentException If an argument is neither an integer nor
+     *                                  the marker.
+     */
+    public static MessageCursor wrap(final String[] args) {
+	final MessageCursor cursor = new MessageCursor();
+
+	if (args != null) {
+	    for (final String arg : args) {
+		if (arg.equals(MARKER)) {
+		    cursor.addMarker();
+
+		} else {
+		    try {
+			cursor.add(Integer.parseInt(arg));
+
+		    } catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Could not convert " + arg + " to a field.", e);
+
+		    }
+		}
+	    }
+	}
+	return cursor;
+
+    }
+
+    /**
+     * The fields of the current message.
+     */
+    private int[] mFields;
+
+    /**
+     * The amount of fields of the current message.
+     */
+    private int mSize;
+
+    /**
+     * The index of the next field to read.
+     */
+    private int mPosition;
+
+    /**
+     * The index of the field the marker precedes, or <tt>-1</tt> if the current
+     * message holds no marker.
+     */
+    private int mMarker;
+
+    /**
+     * Creates a new, empty {@link MessageCursor}.
+     */
+    public MessageCursor() {
+	mFields = new int[INITIAL_CAPACITY];
+	this.clear();
+
+    }
+
+    /**
+     * Appends the given field to the current message.
+     * 
+     * @param field The field to append.
+     */
+    void add(final int field) {
+	if (mSize == mFields.length) {
+	    mFields = Arrays.copyOf(mFields, mSize * 2);
+
+	}
+	mFields[mSize++] = field;
+
+    }
+
+    /**
+     * Appends the marker to the current message.
+     */
+    void addMarker() {
+	mMarker = mSize;
+
+    }
+
+    /**
+     * Clears this cursor, so it can be filled with the next message.
+     */
+    void clear() {
+	mSize = 0;
+	mPosition = 0;
+	mMarker = -1;
+
+    }
+
+    /**
+     * Whether there are fields, or the marker, left to read.
+     * 
+     * @return <tt>True</tt> if there are, <tt>false</tt> otherwise.
+     */
+    public boolean hasNext() {
+	return mPosition < mSize || mMarker == mPosition;
+
+    }
+
+    /**
+     * Reads the next two fields as a card, being the ordinals of its type and its
+     * value.
+     * 
+     * @return The ID of the card, as defined by
+     *         {@link NetworkUtils#encodeCardId(de.ativelox.rummyz.model.ICard)}.
+     * @throws IllegalArgumentException If there are less than two fields left.
+     */
+    public int nextCard() {
+	final int type = this.nextInt();
+	return NetworkUtils.encodeCardId(type, this.nextInt());
+
+    }
+
+    /**
+     * Reads the next field.
+     * 
+     * @return The field mentioned.
+     * @throws IllegalArgumentException If there are no fields left, or the marker
+     *                                  is next.
+     */
+    public int nextInt() {
+	if (mPosition >= mSize || mMarker == mPosition) {
+	    throw new IllegalArgumentException("Expected a field at index " + mPosition + ".");
+
+	}
+	return mFields[mPosition++];
+
+    }
+
+    /**
+     * Reads the marker, if it is next.
+     * 
+     * @return <tt>True</tt> if the marker got read, <tt>false</tt> otherwise.
+     */
+    public boolean nextIsMarker() {
+	if (mMarker != mPosition) {
+	    return false;
+
+	}
+	// the marker is only read once.
+	mMarker = -1;
+	return true;
+
+    }
+
+    /**
+     * Gets the amount of fields left to read, not counting the marker.
+     * 
+     * @return The amount mentioned.
+     */
+    public int remaining() {
+	return mSize - mPosition;
+
+    }
+
+    /**
+     * Creates the arguments of the text protocol for the fields left to read. This
+     * does not move the cursor.
+     * 
+     * @return The arguments mentioned.
+     */
+    public String[] toArgs() {
+	final boolean marked = mMarker >= mPosition;
+	final String[] args = new String[(mSize - mPosition) + (marked ? 1 : 0)];
+
+	int j = 0;
+	for (int i = mPosition; i <= mSize; i++) {
+	    if (marked && i == mMarker) {
+		args[j++] = MARKER;
+
+	    }
+
+	    if (i < mSize) {
+		args[j++] = mFields[i] + "";
+
+	    }
+	}
+	return args;
+
+    }
+}
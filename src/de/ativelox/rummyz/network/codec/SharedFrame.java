@@ -0,0 +1,112 @@
+package de.ativelox.rummyz.network.codec;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+import de.ativelox.rummyz.network.protocol.IProtocol;
+
+/**
+ * Provides a message meant for many recipients, which gets encoded at most once
+ * per {@link ECodec}, no matter how many recipients it gets sent to. Every
+ * recipient gets its own view of the same encoded bytes, so broadcasting costs
+ * as much as the bytes written, rather than the amount of recipients times the
+ * work of encoding. Neither the encoded bytes nor the additional arguments may
+ * be modified.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ * @param <P> The protocol of the message.
+ */
+public final class SharedFrame<P> {
+
+    /**
+     * Creates a new {@link SharedFrame}.
+     * 
+     * @param protocol   The protocol of the message.
+     * @param additional The additional arguments of the message, might be
+     *                   <tt>null</tt>.
+     * @return The frame mentioned.
+     */
+    public static <P extends Enum<P> & IProtocol> SharedFrame<P> of(final P protocol, final String[] additional) {
+	return new SharedFrame<>(protocol, additional, codec -> codec.encode(protocol, additional));
+
+    }
+
+    /**
+     * The protocol of the message.
+     */
+    private final P mProtocol;
+
+    /**
+     * The additional arguments of the message.
+     */
+    private final String[] mAdditional;
+
+    /**
+     * The function encoding the message with a given codec.
+     */
+    private final Function<IWireCodec, ByteBuffer> mEncoder;
+
+    /**
+     * The encoded bytes of the message, indexed by the ordinal of the codec used.
+     */
+    private final AtomicReferenceArray<ByteBuffer> mFrames;
+
+    /**
+     * Creates a new {@link SharedFrame}.
+     * 
+     * @param protocol   The protocol of the message.
+     * @param additional The additional arguments of the message.
+     * @param encoder    The function encoding the message with a given codec.
+     */
+    private SharedFrame(final P protocol, final String[] additional, final Function<IWireCodec, ByteBuffer> encoder) {
+	mProtocol = protocol;
+	mAdditional = additional;
+	mEncoder = encoder;
+	mFrames = new AtomicReferenceArray<>(ECodec.values().length);
+
+    }
+
+    /**
+     * Gets the additional arguments of the message, for recipients which do not
+     * need the encoded bytes.
+     * 
+     * @return The additional arguments mentioned, might be <tt>null</tt>.
+     */
+    public String[] getAdditional() {
+	return mAdditional;
+
+    }
+
+    /**
+     * Gets the message encoded with the given codec, encoding it if this is the
+     * first time it is needed.
+     * 
+     * @param codec The codec mentioned.
+     * @return A view of the encoded bytes, with its own position and limit.
+     */
+    public ByteBuffer getFrame(final ECodec codec) {
+	ByteBuffer frame = mFrames.get(codec.ordinal());
+
+	if (frame == null) {
+	    // recipients racing for the first encoding encode the same bytes, only one of
+	    // them gets kept.
+	    mFrames.compareAndSet(codec.ordinal(), null, mEncoder.apply(codec.getCodec()));
+	    frame = mFrames.get(codec.ordinal());
+
+	}
+	return frame.duplicate();
+
+    }
+
+    /**
+     * Gets the protocol of the message.
+     * 
+     * @return The protocol mentioned.
+     */
+    public P getProtocol() {
+	return mProtocol;
+
+    }
+}
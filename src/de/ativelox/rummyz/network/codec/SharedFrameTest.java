@@ -0,0 +1,45 @@
+package de.ativelox.rummyz.network.codec;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.ativelox.rummyz.model.Card;
+import de.ativelox.rummyz.model.property.ECardType;
+import de.ativelox.rummyz.model.property.ECardValue;
+import de.ativelox.rummyz.model.util.NetworkUtils;
+import de.ativelox.rummyz.network.protocol.ES2C;
+
+/**
+ * Provides JUnit test cases for {@link SharedFrame}.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+public final class SharedFrameTest {
+
+    /**
+     * Tests that every recipient gets a view of the same encoded bytes, which
+     * match encoding the message directly.
+     */
+    @Test
+    public void testEncodedOnce() {
+	final String[] args = NetworkUtils.encodeCard(new Card(ECardType.SPADE, ECardValue.QUEEN));
+	final SharedFrame<ES2C> shared = SharedFrame.of(ES2C.GRAVEYARD_UPDATE, args);
+
+	for (final ECodec codec : ECodec.values()) {
+	    final ByteBuffer first = shared.getFrame(codec);
+	    final ByteBuffer second = shared.getFrame(codec);
+
+	    Assert.assertSame(first.array(), second.array());
+	    Assert.assertEquals(codec.getCodec().encode(ES2C.GRAVEYARD_UPDATE, args), first);
+
+	    // consuming one view leaves the others untouched.
+	    first.position(first.limit());
+	    Assert.assertTrue(second.hasRemaining());
+	    Assert.assertTrue(shared.getFrame(codec).hasRemaining());
+
+	}
+    }
+}
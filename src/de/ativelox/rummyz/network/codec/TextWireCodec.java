@@ -0,0 +1,212 @@
+package de.ativelox.rummyz.network.codec;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import de.ativelox.rummyz.model.util.ImmutablePair;
+import de.ativelox.rummyz.model.util.NetworkUtils;
+import de.ativelox.rummyz.network.protocol.IProtocol;
+
+/**
+ * Provides the original, human readable {@link IWireCodec}. Each frame is a
+ * single line, holding the ordinal of the protocol followed by its additional
+ * arguments, all of them separated by {@link TextWireCodec#DELIMITER}.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+public final class TextWireCodec implements IWireCodec {
+
+    /**
+     * The delimiter used to split incoming message parameters.
+     */
+    public static final String DELIMITER = "\t";
+
+    /**
+     * The byte of {@link TextWireCodec#DELIMITER}.
+     */
+    private static final byte DELIMITER_BYTE = '\t';
+
+    /**
+     * The byte of {@link MessageCursor#MARKER}.
+     */
+    private static final byte MARKER_BYTE = '+';
+
+    /**
+     * The maximal amount of digits of a field, so parsing it can not overflow.
+     */
+    private static final int MAX_FIELD_DIGITS = 10;
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see de.ativelox.rummyz.network.codec.IWireCodec#decode(java.lang.Class,
+     * java.nio.ByteBuffer)
+     */
+    @Override
+    public <P extends Enum<P> & IProtocol> ImmutablePair<P, String[]> decode(final Class<P> protocol,
+	    final ByteBuffer frame) {
+	int length = frame.remaining() - 1;
+
+	// tolerate lines terminated by a carriage return as well.
+	if (length > 0 && frame.get(frame.position() + length - 1) == '\r') {
+	    length--;
+
+	}
+
+	final byte[] bytes = new byte[length];
+	frame.get(bytes);
+
+	final String[] split = new String(bytes, StandardCharsets.UTF_8).split(DELIMITER);
+	final String[] args = new String[split.length - 1];
+
+	for (int i = 0; i < args.length; i++) {
+	    args[i] = split[i + 1];
+	}
+
+	return new ImmutablePair<>(NetworkUtils.ensureEnumConversion(protocol, split[0]), args);
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see de.ativelox.rummyz.network.codec.IWireCodec#decode(java.lang.Class,
+     * java.nio.ByteBuffer, de.ativelox.rummyz.network.codec.MessageCursor)
+     */
+    @Override
+    public <P extends Enum<P> & IProtocol> P decode(final Class<P> protocol, final ByteBuffer frame,
+	    final MessageCursor fields) {
+	fields.clear();
+
+	int end = frame.limit() - 1;
+
+	// tolerate lines terminated by a carriage return as well.
+	if (end > frame.position() && frame.get(end - 1) == '\r') {
+	    end--;
+
+	}
+
+	P decoded = null;
+	int start = frame.position();
+
+	while (true) {
+	    int i = start;
+
+	    while (i < end && frame.get(i) != DELIMITER_BYTE) {
+		i++;
+
+	    }
+
+	    if (decoded == null) {
+		decoded = NetworkUtils.ensureEnumConversion(protocol, parseField(frame, start, i));
+
+	    } else if (i - start == 1 && frame.get(start) == MARKER_BYTE) {
+		fields.addMarker();
+
+	    } else {
+		fields.add(parseField(frame, start, i));
+
+	    }
+
+	    if (i >= end) {
+		break;
+
+	    }
+	    start = i + 1;
+
+	}
+	frame.position(frame.limit());
+
+	return decoded;
+
+    }
+
+    /**
+     * Parses the field spanning the given range of the frame as an integer.
+     * 
+     * @param frame The frame holding the field.
+     * @param start The index of the first byte of the field.
+     * @param end   The index after the last byte of the field.
+     * @return The integer parsed.
+     * @throws IllegalArgumentException If the field is no integer.
+     */
+    private static int parseField(final ByteBuffer frame, final int start, final int end) {
+	final boolean negative = end > start && frame.get(start) == '-';
+	final int first = negative ? start + 1 : start;
+
+	if (first >= end || end - first > MAX_FIELD_DIGITS) {
+	    throw new IllegalArgumentException("Could not convert the field at " + start + " to an integer.");
+
+	}
+
+	long value = 0;
+
+	for (int i = first; i < end; i++) {
+	    final int digit = frame.get(i) - '0';
+
+	    if (digit < 0 || digit > 9) {
+		throw new IllegalArgumentException("Could not convert the field at " + start + " to an integer.");
+
+	    }
+	    value = (value * 10) + digit;
+
+	}
+	value = negative ? -value : value;
+
+	if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+	    throw new IllegalArgumentException("Could not convert the field at " + start + " to an integer.");
+
+	}
+	return (int) value;
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see de.ativelox.rummyz.network.codec.IWireCodec#encode(java.lang.Enum,
+     * java.lang.String[])
+     */
+    @Override
+    public <P extends Enum<P> & IProtocol> ByteBuffer encode(final P protocol, final String[] additional) {
+	final StringBuilder sb = new StringBuilder();
+
+	sb.append(protocol.ordinal());
+
+	if (additional != null) {
+	    for (final String arg : additional) {
+		sb.append(DELIMITER).append(arg);
+	    }
+	}
+	sb.append('\n');
+
+	return ByteBuffer.wrap(sb.toString().getBytes(StandardCharsets.UTF_8));
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * de.ativelox.rummyz.network.codec.IWireCodec#frameLength(java.nio.ByteBuffer)
+     */
+    @Override
+    public int frameLength(final ByteBuffer buffer) {
+	final int end = Math.min(buffer.limit(), buffer.position() + MAX_FRAME_LENGTH);
+
+	for (int i = buffer.position(); i < end; i++) {
+	    if (buffer.get(i) == '\n') {
+		return i - buffer.position() + 1;
+
+	    }
+	}
+
+	if (buffer.remaining() >= MAX_FRAME_LENGTH) {
+	    throw new IllegalArgumentException("The frame exceeds " + MAX_FRAME_LENGTH + " bytes.");
+
+	}
+	return -1;
+
+    }
+}
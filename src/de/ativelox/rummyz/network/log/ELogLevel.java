@@ -0,0 +1,42 @@
+package de.ativelox.rummyz.network.log;
+
+/**
+ * An enumeration for the levels of detail a {@link ProtocolLog} records.
+ * Enabling a level also enables every level declared before it.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+public enum ELogLevel {
+
+    /**
+     * Nothing gets recorded.
+     */
+    OFF,
+
+    /**
+     * Only errors get recorded.
+     */
+    ERROR,
+
+    /**
+     * Noteworthy events, e.g. connections opening and closing, get recorded.
+     */
+    INFO,
+
+    /**
+     * Every message sent or received gets recorded.
+     */
+    DEBUG;
+
+    /**
+     * Whether the given level gets recorded, if this is the enabled level.
+     * 
+     * @param level The level mentioned.
+     * @return <tt>True</tt> if it gets recorded, <tt>false</tt> otherwise.
+     */
+    public boolean includes(final ELogLevel level) {
+	return level != OFF && level.ordinal() <= this.ordinal();
+
+    }
+}
@@ -0,0 +1,524 @@
+package de.ativelox.rummyz.network.log;
+
+import java.io.PrintStream;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Provides a log for the protocol traffic, which never blocks the Thread
+ * recording an entry. Entries are put into a lock-free ring buffer of a fixed
+ * size, and get formatted and written by a background writer Thread later on.
+ * Once the ring buffer is full, further entries get dropped instead of waiting
+ * for room. Nothing is recorded by default, and while a level is disabled
+ * recording an entry costs a single comparison. Messages can additionally be
+ * sampled per opcode, so only every n-th of them gets recorded.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+public final class ProtocolLog {
+
+    /**
+     * The system property holding the name of the {@link ELogLevel} the shared
+     * log starts out with.
+     */
+    public static final String LEVEL_PROPERTY = "rummyz.protocol.log";
+
+    /**
+     * The peer of an entry, if it wasn't sent to or received from a specific
+     * player.
+     */
+    public static final int NO_PEER = -1;
+
+    /**
+     * The amount of entries the ring buffer of the shared log holds.
+     */
+    private static final int DEFAULT_CAPACITY = 8192;
+
+    /**
+     * The time in nanoseconds the writer waits before checking for new entries,
+     * once it wrote all of them.
+     */
+    private static final long IDLE_PARK_NANOS = 10_000_000;
+
+    /**
+     * The log shared by every network controller.
+     */
+    private static final ProtocolLog SHARED = createShared();
+
+    /**
+     * Creates the shared log, writing to {@link System#out}. Its writer only gets
+     * started once a level other than {@link ELogLevel#OFF} gets set, so no
+     * Thread runs while nothing is recorded.
+     * 
+     * @return The log mentioned.
+     */
+    private static ProtocolLog createShared() {
+	final ProtocolLog log = new ProtocolLog(System.out, DEFAULT_CAPACITY);
+	log.startOnEnable();
+	log.setLevel(parseLevel(System.getProperty(LEVEL_PROPERTY)));
+	return log;
+
+    }
+
+    /**
+     * Parses the given name of an {@link ELogLevel}, as given by the
+     * {@link ProtocolLog#LEVEL_PROPERTY}.
+     * 
+     * @param name The name mentioned, may be <tt>null</tt>.
+     * @return The level of the given name, or {@link ELogLevel#OFF} if there is
+     *         no such level.
+     */
+    static ELogLevel parseLevel(final String name) {
+	if (name == null) {
+	    return ELogLevel.OFF;
+
+	}
+
+	try {
+	    return ELogLevel.valueOf(name.trim());
+
+	} catch (IllegalArgumentException e) {
+	    e.printStackTrace();
+	    return ELogLevel.OFF;
+
+	}
+    }
+
+    /**
+     * Gets the log shared by every network controller.
+     * 
+     * @return The log mentioned.
+     */
+    public static ProtocolLog get() {
+	return SHARED;
+
+    }
+
+    /**
+     * The stream the entries get written to.
+     */
+    private final PrintStream mOut;
+
+    /**
+     * The mask to map a sequence onto an index of the ring buffer.
+     */
+    private final int mMask;
+
+    /**
+     * The sequence of each slot, which tells whether it is free to be claimed, or
+     * holds an entry ready to be written.
+     */
+    private final AtomicLongArray mSequences;
+
+    /**
+     * The time in milliseconds each entry got recorded at.
+     */
+    private final long[] mTimes;
+
+    /**
+     * The level of each entry.
+     */
+    private final ELogLevel[] mLevels;
+
+    /**
+     * The text of each entry, if it isn't a message.
+     */
+    private final String[] mTexts;
+
+    /**
+     * The opcode of each entry, if it is a message.
+     */
+    private final Enum<?>[] mOpcodes;
+
+    /**
+     * Whether each entry is a message sent, rather than received.
+     */
+    private final boolean[] mOutgoing;
+
+    /**
+     * The peer of each entry.
+     */
+    private final int[] mPeers;
+
+    /**
+     * The sequence of the next slot to be claimed by a recording Thread.
+     */
+    private final AtomicLong mTail;
+
+    /**
+     * The sequence of the next slot to be written by the writer.
+     */
+    private long mHead;
+
+    /**
+     * The amount of entries dropped, because the ring buffer was full.
+     */
+    private final LongAdder mDropped;
+
+    /**
+     * The sampling of the messages of each protocol.
+     */
+    private final ClassValue<Sampling> mSampling;
+
+    /**
+     * The level of the entries that get recorded.
+     */
+    private volatile ELogLevel mLevel;
+
+    /**
+     * Whether the writer is running or not.
+     */
+    private volatile boolean mIsRunning;
+
+    /**
+     * Whether the writer is yet to be started once a level other than
+     * {@link ELogLevel#OFF} gets set.
+     */
+    private final AtomicBoolean mStartOnEnable;
+
+    /**
+     * Creates a new {@link ProtocolLog}, which records nothing until
+     * {@link ProtocolLog#setLevel(ELogLevel)} gets called, and writes nothing
+     * until {@link ProtocolLog#start()} gets called.
+     * 
+     * @param out      The stream to write the entries to.
+     * @param capacity The amount of entries the ring buffer holds, rounded up to
+     *                 the next power of two.
+     */
+    public ProtocolLog(final PrintStream out, final int capacity) {
+	if (capacity <= 0) {
+	    throw new IllegalArgumentException("A log needs room for at least one entry, got " + capacity);
+
+	}
+	final int size = Integer.highestOneBit(capacity) == capacity ? capacity : Integer.highestOneBit(capacity) << 1;
+
+	mOut = out;
+	mMask = size - 1;
+	mSequences = new AtomicLongArray(size);
+	mTimes = new long[size];
+	mLevels = new ELogLevel[size];
+	mTexts = new String[size];
+	mOpcodes = new Enum<?>[size];
+	mOutgoing = new boolean[size];
+	mPeers = new int[size];
+	mTail = new AtomicLong();
+	mHead = 0;
+	mDropped = new LongAdder();
+	mSampling = new ClassValue<Sampling>() {
+	    @Override
+	    protected Sampling computeValue(final Class<?> type) {
+		return new Sampling(type.getEnumConstants().length);
+
+	    }
+	};
+	mLevel = ELogLevel.OFF;
+	mIsRunning = false;
+	mStartOnEnable = new AtomicBoolean(false);
+
+	for (int i = 0; i < size; i++) {
+	    mSequences.set(i, i);
+
+	}
+    }
+
+    /**
+     * Gets the amount of entries dropped so far, because the ring buffer was
+     * full.
+     * 
+     * @return The amount mentioned.
+     */
+    public long getDropped() {
+	return mDropped.sum();
+
+    }
+
+    /**
+     * Gets the level of the entries that get recorded.
+     * 
+     * @return The level mentioned.
+     */
+    public ELogLevel getLevel() {
+	return mLevel;
+
+    }
+
+    /**
+     * Whether entries of the given level get recorded.
+     * 
+     * @param level The level mentioned.
+     * @return <tt>True</tt> if they do, <tt>false</tt> otherwise.
+     */
+    public boolean isEnabled(final ELogLevel level) {
+	return mLevel.includes(level);
+
+    }
+
+    /**
+     * Records the given text, if its level is enabled.
+     * 
+     * @param level The level of the text.
+     * @param text  The text to record.
+     */
+    public void log(final ELogLevel level, final String text) {
+	if (!this.isEnabled(level)) {
+	    return;
+
+	}
+	this.offer(level, text, null, false, NO_PEER);
+
+    }
+
+    /**
+     * Records a message received from the given peer, if {@link ELogLevel#DEBUG}
+     * is enabled and the message is sampled.
+     * 
+     * @param opcode The opcode of the message.
+     * @param peer   The player the message got received from, or
+     *               {@link ProtocolLog#NO_PEER}.
+     */
+    public void received(final Enum<?> opcode, final int peer) {
+	if (!this.isEnabled(ELogLevel.DEBUG) || !this.isSampled(opcode)) {
+	    return;
+
+	}
+	this.offer(ELogLevel.DEBUG, null, opcode, false, peer);
+
+    }
+
+    /**
+     * Records a message sent to the given peer, if {@link ELogLevel#DEBUG} is
+     * enabled and the message is sampled.
+     * 
+     * @param opcode The opcode of the message.
+     * @param peer   The player the message got sent to, or
+     *               {@link ProtocolLog#NO_PEER}.
+     */
+    public void sent(final Enum<?> opcode, final int peer) {
+	if (!this.isEnabled(ELogLevel.DEBUG) || !this.isSampled(opcode)) {
+	    return;
+
+	}
+	this.offer(ELogLevel.DEBUG, null, opcode, true, peer);
+
+    }
+
+    /**
+     * Sets the level of the entries that get recorded. Starts the writer, if it
+     * is to be started once a level other than {@link ELogLevel#OFF} gets set.
+     * 
+     * @param level The level mentioned.
+     */
+    public void setLevel(final ELogLevel level) {
+	mLevel = level;
+
+	if (level != ELogLevel.OFF && mStartOnEnable.compareAndSet(true, false)) {
+	    this.start();
+
+	}
+    }
+
+    /**
+     * Sets how many messages of the given opcode it takes for one of them to get
+     * recorded. By default every message gets recorded.
+     * 
+     * @param opcode The opcode mentioned.
+     * @param oneIn  The amount mentioned, <tt>1</tt> to record every message, or
+     *               <tt>0</tt> to record none of them.
+     */
+    public void setSampling(final Enum<?> opcode, final int oneIn) {
+	if (oneIn < 0) {
+	    throw new IllegalArgumentException("The sampling must not be negative, got " + oneIn);
+
+	}
+	mSampling.get(opcode.getDeclaringClass()).mOneIn.set(opcode.ordinal(), oneIn);
+
+    }
+
+    /**
+     * Starts the writer, which writes the recorded entries on a daemon Thread of
+     * its own.
+     */
+    public void start() {
+	mIsRunning = true;
+
+	final Thread writer = new Thread(() -> {
+	    while (mIsRunning) {
+		if (this.drain() == 0) {
+		    LockSupport.parkNanos(IDLE_PARK_NANOS);
+
+		}
+	    }
+	    this.drain();
+
+	}, "ProtocolLog-Writer");
+	writer.setDaemon(true);
+	writer.start();
+
+    }
+
+    /**
+     * Starts the writer once a level other than {@link ELogLevel#OFF} gets set,
+     * rather than right away.
+     */
+    void startOnEnable() {
+	mStartOnEnable.set(true);
+
+    }
+
+    /**
+     * Stops the writer, after it wrote every entry recorded up to that point.
+     */
+    public void stop() {
+	mIsRunning = false;
+
+    }
+
+    /**
+     * Formats and writes every entry recorded up to this point. Must only be
+     * called by a single Thread at a time, which is the writer once it got
+     * started.
+     * 
+     * @return The amount of entries written.
+     */
+    int drain() {
+	final StringBuilder sb = new StringBuilder();
+	int written = 0;
+
+	while (true) {
+	    final int index = (int) mHead & mMask;
+
+	    if (mSequences.get(index) != mHead + 1) {
+		// either empty, or the next entry is claimed but not yet published.
+		break;
+
+	    }
+	    sb.append('[').append(mLevels[index]).append(' ');
+	    sb.append(Instant.ofEpochMilli(mTimes[index])).append("] ");
+
+	    if (mOpcodes[index] == null) {
+		sb.append(mTexts[index]);
+
+	    } else {
+		sb.append(mOutgoing[index] ? "Sending " : "Received ").append(mOpcodes[index]);
+
+		if (mPeers[index] != NO_PEER) {
+		    sb.append(mOutgoing[index] ? " to player " : " from player ").append(mPeers[index]);
+
+		}
+	    }
+	    sb.append(System.lineSeparator());
+
+	    mTexts[index] = null;
+	    mOpcodes[index] = null;
+	    mSequences.lazySet(index, mHead + mMask + 1);
+	    mHead++;
+	    written++;
+
+	}
+
+	if (written > 0) {
+	    mOut.print(sb);
+	    mOut.flush();
+
+	}
+	return written;
+
+    }
+
+    /**
+     * Whether the current message of the given opcode is to be recorded, as
+     * given by its sampling.
+     * 
+     * @param opcode The opcode mentioned.
+     * @return <tt>True</tt> if it is, <tt>false</tt> otherwise.
+     */
+    private boolean isSampled(final Enum<?> opcode) {
+	final Sampling sampling = mSampling.get(opcode.getDeclaringClass());
+	final int oneIn = sampling.mOneIn.get(opcode.ordinal());
+
+	if (oneIn <= 1) {
+	    return oneIn == 1;
+
+	}
+	return sampling.mCounts.getAndIncrement(opcode.ordinal()) % oneIn == 0;
+
+    }
+
+    /**
+     * Claims a slot of the ring buffer and publishes the given entry in it, or
+     * drops the entry if the ring buffer is full.
+     * 
+     * @param level    The level of the entry.
+     * @param text     The text of the entry, if it isn't a message.
+     * @param opcode   The opcode of the entry, if it is a message.
+     * @param outgoing Whether the message got sent, rather than received.
+     * @param peer     The peer of the entry.
+     */
+    private void offer(final ELogLevel level, final String text, final Enum<?> opcode, final boolean outgoing,
+	    final int peer) {
+	while (true) {
+	    final long tail = mTail.get();
+	    final int index = (int) tail & mMask;
+	    final long sequence = mSequences.get(index);
+
+	    if (sequence < tail) {
+		// the writer is a whole lap behind.
+		mDropped.increment();
+		return;
+
+	    }
+
+	    if (sequence == tail && mTail.compareAndSet(tail, tail + 1)) {
+		mTimes[index] = System.currentTimeMillis();
+		mLevels[index] = level;
+		mTexts[index] = text;
+		mOpcodes[index] = opcode;
+		mOutgoing[index] = outgoing;
+		mPeers[index] = peer;
+		mSequences.lazySet(index, tail + 1);
+		return;
+
+	    }
+	}
+    }
+
+    /**
+     * Provides the sampling of the messages of a single protocol.
+     * 
+     * @author Ativelox {@literal <ativelox.dev@web.de>}
+     *
+     */
+    private static final class Sampling {
+
+	/**
+	 * How many messages of each opcode it takes for one of them to get recorded.
+	 */
+	private final AtomicIntegerArray mOneIn;
+
+	/**
+	 * The amount of messages of each opcode seen so far.
+	 */
+	private final AtomicLongArray mCounts;
+
+	/**
+	 * Creates a new {@link Sampling}, recording every message.
+	 * 
+	 * @param opcodes The amount of opcodes of the protocol.
+	 */
+	private Sampling(final int opcodes) {
+	    mOneIn = new AtomicIntegerArray(opcodes);
+	    mCounts = new AtomicLongArray(opcodes);
+
+	    for (int i = 0; i < opcodes; i++) {
+		mOneIn.set(i, 1);
+
+	    }
+	}
+    }
+}
@@ -0,0 +1,116 @@
+package de.ativelox.rummyz.network.log;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.ativelox.rummyz.network.protocol.EC2S;
+import de.ativelox.rummyz.network.protocol.ES2C;
+
+/**
+ * Provides JUnit test cases for {@link ProtocolLog}.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+public final class ProtocolLogTest {
+
+    /**
+     * Tests that nothing gets recorded while the level of the entries is
+     * disabled.
+     */
+    @Test
+    public void testDisabledLevel() {
+	final ByteArrayOutputStream out = new ByteArrayOutputStream();
+	final ProtocolLog log = new ProtocolLog(new PrintStream(out), 4);
+
+	log.sent(ES2C.TURN_START, 0);
+	log.setLevel(ELogLevel.INFO);
+	log.received(EC2S.READY, 0);
+	log.log(ELogLevel.INFO, "opened");
+
+	Assert.assertEquals(1, log.drain());
+	Assert.assertTrue(out.toString().contains("opened"));
+	Assert.assertFalse(out.toString().contains("READY"));
+
+    }
+
+    /**
+     * Tests that a writer started on enabling a level writes the entries on its
+     * own, and that an unknown level falls back to {@link ELogLevel#OFF}.
+     * 
+     * @throws InterruptedException If the Thread got interrupted while waiting
+     *                              for the writer.
+     */
+    @Test
+    public void testStartOnEnable() throws InterruptedException {
+	final ByteArrayOutputStream out = new ByteArrayOutputStream();
+	final ProtocolLog log = new ProtocolLog(new PrintStream(out), 4);
+	log.startOnEnable();
+
+	log.setLevel(ProtocolLog.parseLevel("VERBOSE"));
+	Assert.assertEquals(ELogLevel.OFF, log.getLevel());
+	Assert.assertEquals(ELogLevel.OFF, ProtocolLog.parseLevel(null));
+
+	log.setLevel(ProtocolLog.parseLevel("INFO"));
+	log.log(ELogLevel.INFO, "opened");
+
+	for (int i = 0; i < 100 && !out.toString().contains("opened"); i++) {
+	    Thread.sleep(20);
+
+	}
+	log.stop();
+	Assert.assertTrue(out.toString().contains("opened"));
+
+    }
+
+    /**
+     * Tests that only every n-th message of a sampled opcode gets recorded, while
+     * other opcodes stay unaffected.
+     */
+    @Test
+    public void testSampling() {
+	final ByteArrayOutputStream out = new ByteArrayOutputStream();
+	final ProtocolLog log = new ProtocolLog(new PrintStream(out), 16);
+	log.setLevel(ELogLevel.DEBUG);
+	log.setSampling(ES2C.TURN_START, 3);
+	log.setSampling(ES2C.BLOCK, 0);
+
+	for (int i = 0; i < 6; i++) {
+	    log.sent(ES2C.TURN_START, 1);
+	    log.sent(ES2C.BLOCK, 1);
+
+	}
+	log.received(EC2S.READY, ProtocolLog.NO_PEER);
+
+	Assert.assertEquals(3, log.drain());
+	Assert.assertTrue(out.toString().contains("Sending TURN_START to player 1"));
+	Assert.assertFalse(out.toString().contains("BLOCK"));
+	Assert.assertTrue(out.toString().contains("Received READY" + System.lineSeparator()));
+
+    }
+
+    /**
+     * Tests that entries get dropped instead of blocking once the ring buffer is
+     * full, and that it can be reused once drained.
+     */
+    @Test
+    public void testFullRingBuffer() {
+	final ProtocolLog log = new ProtocolLog(new PrintStream(new ByteArrayOutputStream()), 4);
+	log.setLevel(ELogLevel.DEBUG);
+
+	for (int i = 0; i < 6; i++) {
+	    log.sent(ES2C.TURN_START, i);
+
+	}
+	Assert.assertEquals(2, log.getDropped());
+	Assert.assertEquals(4, log.drain());
+
+	log.sent(ES2C.TURN_START, 0);
+	Assert.assertEquals(1, log.drain());
+	Assert.assertEquals(0, log.drain());
+
+    }
+}
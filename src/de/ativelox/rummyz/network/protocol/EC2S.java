@@ -2,11 +2,53 @@ package de.ativelox.rummyz.network.protocol;
 
 /**
  * An enumeration that holds all the protocols that the client can send to the
- * server.
+ * server. Clients do not draw cards, the server deals them on its own at the
+ * start of the game and of every turn.
  * 
  * @author Ativelox {@literal <ativelox.dev@web.de>}
  *
  */
-public enum EC2S {
-    CARDS_PLAYED, TURN_END, READY, DRAW_CARDS, CARD_APPEND, CARD_DISCARD, VICTORY, GRAVEYARD_PICKUP;
+public enum EC2S implements IProtocol {
+    CARDS_PLAYED(EPayload.CARDS_PLAYED), TURN_END(EPayload.NONE), READY(EPayload.INTS),
+
+    /**
+     * Requested to draw the given amount of cards. This always gets rejected with
+     * {@link ERejection#DRAWING_NOT_ALLOWED}, it only keeps its place so the
+     * ordinals of the following protocols stay the same on the wire.
+     * 
+     * @deprecated The server deals every card on its own.
+     */
+    @Deprecated
+    DRAW_CARDS(EPayload.INTS),
+
+    CARD_APPEND(EPayload.APPEND_CARD), CARD_DISCARD(EPayload.CARD), VICTORY(EPayload.NONE),
+    GRAVEYARD_PICKUP(EPayload.NONE), CODEC(EPayload.INTS), RESUME(EPayload.INTS),
+    SNAPSHOT_REQUEST(EPayload.INTS);
+
+    /**
+     * The layout of the additional arguments sent alongside this protocol.
+     */
+    private final EPayload mPayload;
+
+    /**
+     * Creates a new {@link EC2S}.
+     * 
+     * @param payload The layout of the additional arguments sent alongside this
+     *                protocol.
+     */
+    private EC2S(final EPayload payload) {
+	mPayload = payload;
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see de.ativelox.rummyz.network.protocol.IProtocol#getPayload()
+     */
+    @Override
+    public EPayload getPayload() {
+	return mPayload;
+
+    }
 }
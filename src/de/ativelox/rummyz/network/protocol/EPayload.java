@@ -0,0 +1,55 @@
+package de.ativelox.rummyz.network.protocol;
+
+import java.util.List;
+
+import de.ativelox.rummyz.model.ICard;
+import de.ativelox.rummyz.model.util.NetworkUtils;
+
+/**
+ * An enumeration for the different layouts of the additional arguments sent
+ * alongside a protocol. Codecs which do not simply transfer the arguments as
+ * text use this to encode them more compactly.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+public enum EPayload {
+
+    /**
+     * No additional arguments, any given ones get dropped.
+     */
+    NONE,
+
+    /**
+     * A sequence of integers.
+     */
+    INTS,
+
+    /**
+     * A sequence of arbitrary strings.
+     */
+    TEXT,
+
+    /**
+     * A single card, as encoded by {@link NetworkUtils#encodeCard(ICard)}.
+     */
+    CARD,
+
+    /**
+     * A sequence of cards, as encoded by {@link NetworkUtils#encodeCards(List)}.
+     */
+    CARDS,
+
+    /**
+     * A card and two indices, as encoded by
+     * {@link NetworkUtils#encodeAppendCard(ICard, int, int)}.
+     */
+    APPEND_CARD,
+
+    /**
+     * Multiple sequences of cards, optionally followed by their IDs, as encoded by
+     * {@link NetworkUtils#encodeCardsPlayed(List, String[])}.
+     */
+    CARDS_PLAYED;
+
+}
@@ -0,0 +1,97 @@
+package de.ativelox.rummyz.network.protocol;
+
+/**
+ * An enumeration for the reasons the server rejects a move of a player with,
+ * sent alongside {@link ES2C#MOVE_REJECTED}. The state of the game is left
+ * untouched by a rejected move.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+public enum ERejection {
+
+    /**
+     * The move got made while it was not the turn of the player.
+     */
+    NOT_YOUR_TURN("It is not your turn."),
+
+    /**
+     * The move uses a card the player doesn't hold.
+     */
+    NOT_IN_HAND("You don't hold that card."),
+
+    /**
+     * A sequence of cards played is neither a same nor a street.
+     */
+    INVALID_PLAY("That is neither a same nor a street."),
+
+    /**
+     * The initial play of the player isn't worth enough points.
+     */
+    BELOW_THRESHOLD("Your initial play isn't worth enough points."),
+
+    /**
+     * The player appended a card before doing its initial play.
+     */
+    NO_INITIAL_PLAY("You have to do your initial play first."),
+
+    /**
+     * The card got appended to a sequence of cards, which isn't on the board.
+     */
+    UNKNOWN_PLAY("There is no such play on the board."),
+
+    /**
+     * The card appended doesn't fit into the sequence of cards at the given index.
+     */
+    INVALID_APPEND("That card doesn't fit there."),
+
+    /**
+     * The player claimed victory while still holding cards.
+     */
+    HAND_NOT_EMPTY("You still hold cards."),
+
+    /**
+     * The player picked up a card from the grave yard while it was empty.
+     */
+    GRAVEYARD_EMPTY("The grave yard is empty."),
+
+    /**
+     * The player picked up a card from the grave yard a second time in its turn.
+     */
+    ALREADY_PICKED_UP("You already picked up a card this turn."),
+
+    /**
+     * The player requested to draw cards, which the server deals on its own.
+     */
+    DRAWING_NOT_ALLOWED("Cards get dealt to you, you can't draw them."),
+
+    /**
+     * The player discarded a card a second time in its turn.
+     */
+    ALREADY_DISCARDED("You already discarded a card this turn.");
+
+    /**
+     * The message shown to the player.
+     */
+    private final String mMessage;
+
+    /**
+     * Creates a new {@link ERejection}.
+     * 
+     * @param message The message shown to the player.
+     */
+    private ERejection(final String message) {
+	mMessage = message;
+
+    }
+
+    /**
+     * Gets the message shown to the player.
+     * 
+     * @return The message mentioned.
+     */
+    public String getMessage() {
+	return mMessage;
+
+    }
+}
@@ -7,9 +7,38 @@ package de.ativelox.rummyz.network.protocol;
  * @author Ativelox {@literal <ativelox.dev@web.de>}
  *
  */
-public enum ES2C {
+public enum ES2C implements IProtocol {
 
-    WELCOME, TURN_START, TURN_END, BLOCK, SEND_CARDS, CARDS_PLAYED_UPDATE, GRAVEYARD_UPDATE, CARD_APPEND_UPDATE, DEFEAT,
-    VICTORY, GRAVEYARD_EMPTY, GRAVEYARD_DECREASE;
+    WELCOME(EPayload.INTS), TURN_START(EPayload.NONE), TURN_END(EPayload.NONE), BLOCK(EPayload.NONE),
+    SEND_CARDS(EPayload.CARDS), CARDS_PLAYED_UPDATE(EPayload.CARDS_PLAYED), GRAVEYARD_UPDATE(EPayload.CARD),
+    CARD_APPEND_UPDATE(EPayload.APPEND_CARD), DEFEAT(EPayload.NONE), VICTORY(EPayload.NONE),
+    GRAVEYARD_EMPTY(EPayload.NONE), GRAVEYARD_DECREASE(EPayload.CARD), CODEC(EPayload.INTS), RESUMED(EPayload.INTS),
+    RESUME_REJECTED(EPayload.NONE), STATE_SNAPSHOT(EPayload.INTS), MOVE_REJECTED(EPayload.INTS);
 
+    /**
+     * The layout of the additional arguments sent alongside this protocol.
+     */
+    private final EPayload mPayload;
+
+    /**
+     * Creates a new {@link ES2C}.
+     * 
+     * @param payload The layout of the additional arguments sent alongside this
+     *                protocol.
+     */
+    private ES2C(final EPayload payload) {
+	mPayload = payload;
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see de.ativelox.rummyz.network.protocol.IProtocol#getPayload()
+     */
+    @Override
+    public EPayload getPayload() {
+	return mPayload;
+
+    }
 }
@@ -0,0 +1,19 @@
+package de.ativelox.rummyz.network.protocol;
+
+/**
+ * Provides an interface for the enumerations holding the protocols, to describe
+ * the additional arguments sent alongside each protocol.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+public interface IProtocol {
+
+    /**
+     * Gets the layout of the additional arguments sent alongside this protocol.
+     * 
+     * @return The layout mentioned.
+     */
+    EPayload getPayload();
+
+}
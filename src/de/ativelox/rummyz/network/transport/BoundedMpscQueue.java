@@ -0,0 +1,150 @@
+package de.ativelox.rummyz.network.transport;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Provides a bounded, lock-free queue for many producers and a single consumer,
+ * backed by a ring buffer. Producers claim a slot by advancing the tail and
+ * publish their element into it afterwards, the consumer empties the slots in
+ * order. An element claimed, but not yet published, is treated as not queued
+ * yet, which only delays the consumer until the next time it looks.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ * @param <E> The type of the elements queued.
+ */
+final class BoundedMpscQueue<E> {
+
+    /**
+     * The slots of the ring buffer.
+     */
+    private final AtomicReferenceArray<E> mSlots;
+
+    /**
+     * The mask to compute the slot of an index, the capacity being a power of two.
+     */
+    private final int mMask;
+
+    /**
+     * The index of the next slot claimed by a producer.
+     */
+    private final AtomicLong mTail;
+
+    /**
+     * The index of the next slot emptied by the consumer.
+     */
+    private final AtomicLong mHead;
+
+    /**
+     * Creates a new {@link BoundedMpscQueue}.
+     * 
+     * @param capacity The minimal amount of elements this queue can hold, rounded
+     *                 up to the next power of two.
+     */
+    public BoundedMpscQueue(final int capacity) {
+	if (capacity < 1 || capacity > (1 << 30)) {
+	    throw new IllegalArgumentException("The capacity " + capacity + " is out of range.");
+
+	}
+	final int size = Integer.highestOneBit(capacity) == capacity ? capacity
+		: Integer.highestOneBit(capacity) << 1;
+
+	mSlots = new AtomicReferenceArray<>(size);
+	mMask = size - 1;
+	mTail = new AtomicLong();
+	mHead = new AtomicLong();
+
+    }
+
+    /**
+     * Gets the amount of elements this queue can hold.
+     * 
+     * @return The amount mentioned.
+     */
+    public int capacity() {
+	return mMask + 1;
+
+    }
+
+    /**
+     * Whether this queue holds no elements. Elements claimed but not yet published
+     * count as queued.
+     * 
+     * @return <tt>True</tt> if it does not, <tt>false</tt> otherwise.
+     */
+    public boolean isEmpty() {
+	return mHead.get() == mTail.get();
+
+    }
+
+    /**
+     * Queues the given element, if there is room for it. May be called from any
+     * Thread.
+     * 
+     * @param element The element to queue, not <tt>null</tt>.
+     * @return <tt>True</tt> if the element got queued, <tt>false</tt> if this queue
+     *         is full.
+     */
+    public boolean offer(final E element) {
+	while (true) {
+	    final long tail = mTail.get();
+
+	    if (tail - mHead.get() > mMask) {
+		return false;
+
+	    }
+
+	    if (mTail.compareAndSet(tail, tail + 1)) {
+		mSlots.lazySet((int) tail & mMask, element);
+		return true;
+
+	    }
+	}
+    }
+
+    /**
+     * Gets the element at the head of this queue without removing it. Must only
+     * be called by the consumer.
+     * 
+     * @return The element mentioned, or <tt>null</tt> if there is none published.
+     */
+    public E peek() {
+	return mSlots.get((int) mHead.get() & mMask);
+
+    }
+
+    /**
+     * Removes the element at the head of this queue. Must only be called by the
+     * consumer.
+     * 
+     * @return The element mentioned, or <tt>null</tt> if there is none published.
+     */
+    public E poll() {
+	final long head = mHead.get();
+	final int slot = (int) head & mMask;
+	final E element = mSlots.get(slot);
+
+	if (element == null) {
+	    return null;
+
+	}
+	mSlots.lazySet(slot, null);
+
+	// only now the slot may be claimed again.
+	mHead.lazySet(head + 1);
+	return element;
+
+    }
+
+    /**
+     * Gets the amount of elements in this queue, which might already be outdated
+     * when returned.
+     * 
+     * @return The amount mentioned.
+     */
+    public int size() {
+	return (int) (mTail.get() - mHead.get());
+
+    }
+}
@@ -0,0 +1,108 @@
+package de.ativelox.rummyz.network.transport;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Provides JUnit test cases for {@link BoundedMpscQueue}.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+public final class BoundedMpscQueueTest {
+
+    /**
+     * The amount of producers used concurrently.
+     */
+    private static final int PRODUCERS = 4;
+
+    /**
+     * The amount of elements queued by each producer.
+     */
+    private static final int ELEMENTS = 200_000;
+
+    /**
+     * Tests that the capacity gets rounded up, and the queue refuses elements
+     * once it is full.
+     */
+    @Test
+    public void testBounded() {
+	final BoundedMpscQueue<Integer> queue = new BoundedMpscQueue<>(3);
+
+	Assert.assertEquals(4, queue.capacity());
+
+	for (int i = 0; i < 4; i++) {
+	    Assert.assertTrue(queue.offer(i));
+
+	}
+	Assert.assertFalse(queue.offer(4));
+	Assert.assertEquals(4, queue.size());
+
+	Assert.assertEquals(Integer.valueOf(0), queue.peek());
+	Assert.assertEquals(Integer.valueOf(0), queue.poll());
+	Assert.assertTrue(queue.offer(4));
+
+	for (int i = 1; i <= 4; i++) {
+	    Assert.assertEquals(Integer.valueOf(i), queue.poll());
+
+	}
+	Assert.assertNull(queue.poll());
+	Assert.assertTrue(queue.isEmpty());
+
+    }
+
+    /**
+     * Tests that concurrent producers lose no elements, and the elements of each
+     * producer keep their order.
+     * 
+     * @throws InterruptedException If interrupted while waiting for the producers.
+     */
+    @Test
+    public void testConcurrentProducers() throws InterruptedException {
+	final BoundedMpscQueue<long[]> queue = new BoundedMpscQueue<>(64);
+	final List<Thread> producers = new ArrayList<>();
+
+	for (int p = 0; p < PRODUCERS; p++) {
+	    final int producer = p;
+
+	    producers.add(new Thread(() -> {
+		for (int i = 0; i < ELEMENTS; i++) {
+		    final long[] element = new long[] { producer, i };
+
+		    while (!queue.offer(element)) {
+			Thread.yield();
+
+		    }
+		}
+	    }));
+	}
+	producers.forEach(Thread::start);
+
+	final int[] next = new int[PRODUCERS];
+	int received = 0;
+
+	while (received < PRODUCERS * ELEMENTS) {
+	    final long[] element = queue.poll();
+
+	    if (element == null) {
+		Thread.yield();
+		continue;
+
+	    }
+	    Assert.assertEquals(next[(int) element[0]], element[1]);
+	    next[(int) element[0]]++;
+	    received++;
+
+	}
+
+	for (final Thread producer : producers) {
+	    producer.join();
+
+	}
+	Assert.assertTrue(queue.isEmpty());
+
+    }
+}
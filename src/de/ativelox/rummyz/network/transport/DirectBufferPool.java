@@ -0,0 +1,71 @@
+package de.ativelox.rummyz.network.transport;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Provides a pool of direct {@link ByteBuffer}s of a fixed size, so outgoing
+ * frames can be coalesced into memory the channel writes from without copying,
+ * and without allocating direct memory for every write. This is not thread
+ * safe, every {@link EventLoop} owns its own pool.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+final class DirectBufferPool {
+
+    /**
+     * The size of each buffer, in bytes.
+     */
+    private final int mBufferSize;
+
+    /**
+     * The maximum amount of buffers kept while not in use.
+     */
+    private final int mMaxPooled;
+
+    /**
+     * The buffers not in use.
+     */
+    private final Deque<ByteBuffer> mPooled;
+
+    /**
+     * Creates a new {@link DirectBufferPool}.
+     * 
+     * @param bufferSize The size of each buffer, in bytes.
+     * @param maxPooled  The maximum amount of buffers kept while not in use,
+     *                   further ones get left to the garbage collector.
+     */
+    public DirectBufferPool(final int bufferSize, final int maxPooled) {
+	mBufferSize = bufferSize;
+	mMaxPooled = maxPooled;
+	mPooled = new ArrayDeque<>();
+
+    }
+
+    /**
+     * Takes a cleared buffer from this pool, or allocates a new one if there is
+     * none left.
+     * 
+     * @return The buffer mentioned.
+     */
+    public ByteBuffer acquire() {
+	final ByteBuffer buffer = mPooled.poll();
+	return buffer != null ? buffer : ByteBuffer.allocateDirect(mBufferSize);
+
+    }
+
+    /**
+     * Hands the given buffer back to this pool, once it is not used anymore.
+     * 
+     * @param buffer The buffer mentioned.
+     */
+    public void release(final ByteBuffer buffer) {
+	if (mPooled.size() < mMaxPooled) {
+	    buffer.clear();
+	    mPooled.push(buffer);
+
+	}
+    }
+}
@@ -0,0 +1,30 @@
+package de.ativelox.rummyz.network.transport;
+
+/**
+ * An enumeration for the different ways an {@link ITransport} reacts to a frame
+ * being written while its outbound queue is full, which happens when the remote
+ * end reads slower than it gets written to.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+public enum EBackpressure {
+
+    /**
+     * Closes the connection, since the remote end can not keep up anyway.
+     */
+    CLOSE,
+
+    /**
+     * Drops the frame, leaving the remote end with an incomplete view of the game.
+     */
+    DROP,
+
+    /**
+     * Blocks the writing Thread until there is room for the frame. Transports
+     * which would wait for themselves, like an {@link NioTransport} written to from
+     * its own {@link EventLoop}, close the connection instead.
+     */
+    BLOCK;
+
+}
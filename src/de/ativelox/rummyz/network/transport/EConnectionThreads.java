@@ -0,0 +1,93 @@
+package de.ativelox.rummyz.network.transport;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An enumeration for the kinds of Threads connections served with blocking
+ * I/O can run on. Every Thread of such a connection, the one reading as well
+ * as the one writing, gets started through the single executor created by
+ * {@link EConnectionThreads#newExecutor(int)}.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+public enum EConnectionThreads {
+
+    /**
+     * Each Thread is a platform Thread of a bounded pool, which reuses idle ones
+     * for a while.
+     */
+    PLATFORM,
+
+    /**
+     * Each Thread is a virtual Thread, which costs next to nothing while its
+     * connection is idle. Falls back to {@link EConnectionThreads#PLATFORM} if
+     * the running Java version does not support virtual Threads.
+     */
+    VIRTUAL;
+
+    /**
+     * The time in seconds an idle platform Thread is kept alive.
+     */
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    /**
+     * The factory method for executors running each task on a new virtual Thread,
+     * <tt>null</tt> if the running Java version does not support them.
+     */
+    private static final Method VIRTUAL_EXECUTOR_FACTORY = findVirtualExecutorFactory();
+
+    /**
+     * Looks up {@link Executors}<tt>#newVirtualThreadPerTaskExecutor()</tt>,
+     * which only exists as of Java 21.
+     * 
+     * @return The method mentioned, or <tt>null</tt> if it does not exist.
+     */
+    private static Method findVirtualExecutorFactory() {
+	try {
+	    return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+
+	} catch (NoSuchMethodException e) {
+	    return null;
+
+	}
+    }
+
+    /**
+     * Whether virtual Threads are supported by the running Java version.
+     * 
+     * @return <tt>True</tt> if they are, <tt>false</tt> otherwise.
+     */
+    public static boolean isVirtualSupported() {
+	return VIRTUAL_EXECUTOR_FACTORY != null;
+
+    }
+
+    /**
+     * Creates a new executor starting the Threads of connections.
+     * 
+     * @param maxThreads The maximum amount of platform Threads running at the same
+     *                   time, further tasks get rejected. Virtual Threads are not
+     *                   bounded.
+     * @return The executor mentioned.
+     */
+    public ExecutorService newExecutor(final int maxThreads) {
+	if (this == VIRTUAL && isVirtualSupported()) {
+	    try {
+		return (ExecutorService) VIRTUAL_EXECUTOR_FACTORY.invoke(null);
+
+	    } catch (IllegalAccessException | InvocationTargetException e) {
+		e.printStackTrace();
+
+	    }
+	}
+	return new ThreadPoolExecutor(0, maxThreads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new SynchronousQueue<>());
+
+    }
+}
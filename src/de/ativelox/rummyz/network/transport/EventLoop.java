@@ -0,0 +1,263 @@
+package de.ativelox.rummyz.network.transport;
+
+import java.io.IOException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Provides a single Thread multiplexing an arbitrary amount of
+ * {@link NioTransport}s with one {@link Selector}. Every read, write and
+ * registration of its transports happens on this loop, other Threads only ever
+ * hand tasks over to it by calling {@link EventLoop#execute(Runnable)}.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ * 
+ * @see EventLoopGroup
+ * 
+ */
+public final class EventLoop implements Runnable {
+
+    /**
+     * The size of the pooled direct buffers outgoing frames get coalesced into,
+     * in bytes.
+     */
+    private static final int POOLED_BUFFER_SIZE = 16 * 1024;
+
+    /**
+     * The maximum amount of direct buffers each loop keeps while not in use.
+     */
+    private static final int MAX_POOLED_BUFFERS = 64;
+
+    /**
+     * The selector used to wait for I/O readiness.
+     */
+    private final Selector mSelector;
+
+    /**
+     * The tasks handed over by other Threads, which are yet to be run on this
+     * loop.
+     */
+    private final Queue<Runnable> mTasks;
+
+    /**
+     * Whether this loop is currently running or not.
+     */
+    private volatile boolean mIsRunning;
+
+    /**
+     * The Thread this loop runs on.
+     */
+    private volatile Thread mThread;
+
+    /**
+     * The direct buffers the transports of this loop coalesce their outgoing
+     * frames into.
+     */
+    private final DirectBufferPool mBufferPool;
+
+    /**
+     * The stats the transports of this loop record their writes in.
+     */
+    private final TransportStats mStats;
+
+    /**
+     * Creates a new {@link EventLoop}, recording the writes of its transports in
+     * stats of its own.
+     * 
+     * @throws IOException If the underlying selector could not be opened.
+     */
+    public EventLoop() throws IOException {
+	this(new TransportStats());
+
+    }
+
+    /**
+     * Creates a new {@link EventLoop}.
+     * 
+     * @param stats The stats the transports of this loop record their writes in.
+     * @throws IOException If the underlying selector could not be opened.
+     */
+    public EventLoop(final TransportStats stats) throws IOException {
+	mSelector = Selector.open();
+	mTasks = new ConcurrentLinkedQueue<>();
+	mIsRunning = true;
+	mBufferPool = new DirectBufferPool(POOLED_BUFFER_SIZE, MAX_POOLED_BUFFERS);
+	mStats = stats;
+
+    }
+
+    /**
+     * Runs the given task on this loop. The task gets run in order with every
+     * other task handed over to this loop.
+     * 
+     * @param task The task to run.
+     */
+    public void execute(final Runnable task) {
+	mTasks.add(task);
+
+	if (Thread.currentThread() != mThread) {
+	    mSelector.wakeup();
+
+	}
+    }
+
+    /**
+     * Runs the given task of the given transport on this loop, in order with
+     * every other task handed over to this loop. If the task fails, only the
+     * transport gets closed, the loop keeps serving all the others.
+     * 
+     * @param transport The transport the task belongs to.
+     * @param task      The task to run.
+     */
+    void execute(final NioTransport transport, final Runnable task) {
+	this.execute(() -> {
+	    try {
+		task.run();
+
+	    } catch (RuntimeException e) {
+		e.printStackTrace();
+		transport.close();
+
+	    }
+	});
+    }
+
+    /**
+     * Gets the pool of direct buffers of this loop. Must only be used on the
+     * loop.
+     * 
+     * @return The pool mentioned.
+     */
+    DirectBufferPool getBufferPool() {
+	return mBufferPool;
+
+    }
+
+    /**
+     * Gets the stats the transports of this loop record their writes in.
+     * 
+     * @return The stats mentioned.
+     */
+    public TransportStats getStats() {
+	return mStats;
+
+    }
+
+    /**
+     * Whether the current Thread is the one this loop runs on.
+     * 
+     * @return <tt>True</tt> if called from within this loop, <tt>false</tt>
+     *         otherwise.
+     */
+    boolean inLoop() {
+	return Thread.currentThread() == mThread;
+
+    }
+
+    /**
+     * Registers the given transport with this loops selector, so its channel gets
+     * read from as soon as data is available.
+     * 
+     * @param transport The transport to register.
+     */
+    void register(final NioTransport transport) {
+	this.execute(transport, () -> {
+	    try {
+		transport.onRegistered(transport.getChannel().register(mSelector, SelectionKey.OP_READ, transport));
+
+	    } catch (IOException e) {
+		e.printStackTrace();
+		transport.close();
+
+	    }
+	});
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see java.lang.Runnable#run()
+     */
+    @Override
+    public void run() {
+	mThread = Thread.currentThread();
+
+	while (mIsRunning) {
+	    try {
+		if (mTasks.isEmpty()) {
+		    mSelector.select();
+
+		} else {
+		    mSelector.selectNow();
+
+		}
+
+	    } catch (IOException e) {
+		e.printStackTrace();
+		break;
+
+	    }
+
+	    final Iterator<SelectionKey> keys = mSelector.selectedKeys().iterator();
+
+	    while (keys.hasNext()) {
+		final SelectionKey key = keys.next();
+		keys.remove();
+
+		final NioTransport transport = (NioTransport) key.attachment();
+
+		try {
+		    if (key.isValid() && key.isReadable()) {
+			transport.onReadable();
+
+		    }
+
+		    if (key.isValid() && key.isWritable()) {
+			transport.onWritable();
+
+		    }
+
+		} catch (RuntimeException e) {
+		    // a malformed frame must only cost its own connection, not the whole loop.
+		    e.printStackTrace();
+		    transport.close();
+
+		}
+	    }
+
+	    Runnable task;
+
+	    while ((task = mTasks.poll()) != null) {
+		try {
+		    task.run();
+
+		} catch (RuntimeException e) {
+		    // a failing task must not end the loop, and all the connections with it.
+		    e.printStackTrace();
+
+		}
+	    }
+	}
+
+	try {
+	    mSelector.close();
+
+	} catch (IOException e) {
+	    e.printStackTrace();
+
+	}
+    }
+
+    /**
+     * Stops this loop after its current iteration. Transports still registered
+     * with it stop being served.
+     */
+    public void stop() {
+	mIsRunning = false;
+	mSelector.wakeup();
+
+    }
+}
@@ -0,0 +1,98 @@
+package de.ativelox.rummyz.network.transport;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Provides a fixed amount of {@link EventLoop}s, each running on its own
+ * Thread. New connections get spread across them in a round-robin fashion by
+ * {@link EventLoopGroup#next()}, so an arbitrary amount of connections is
+ * served by only those few Threads.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+public final class EventLoopGroup {
+
+    /**
+     * The loops of this group.
+     */
+    private final EventLoop[] mLoops;
+
+    /**
+     * The index of the loop to hand out next.
+     */
+    private final AtomicInteger mNext;
+
+    /**
+     * The stats shared by all the loops of this group.
+     */
+    private final TransportStats mStats;
+
+    /**
+     * Creates a new {@link EventLoopGroup} and starts all of its loops, which
+     * record the writes of their transports in stats of their own.
+     * 
+     * @param threads The amount of loops, and therefore Threads, to use.
+     * @throws IOException If a selector could not be opened.
+     */
+    public EventLoopGroup(final int threads) throws IOException {
+	this(threads, new TransportStats());
+
+    }
+
+    /**
+     * Creates a new {@link EventLoopGroup} and starts all of its loops.
+     * 
+     * @param threads The amount of loops, and therefore Threads, to use.
+     * @param stats   The stats the transports of all the loops record their
+     *                writes in.
+     * @throws IOException If a selector could not be opened.
+     */
+    public EventLoopGroup(final int threads, final TransportStats stats) throws IOException {
+	if (threads <= 0) {
+	    throw new IllegalArgumentException("An event loop group needs at least one thread, got " + threads);
+
+	}
+	mLoops = new EventLoop[threads];
+	mNext = new AtomicInteger();
+	mStats = stats;
+
+	for (int i = 0; i < threads; i++) {
+	    mLoops[i] = new EventLoop(mStats);
+	    new Thread(mLoops[i], "EventLoop-" + i).start();
+
+	}
+    }
+
+    /**
+     * Gets the stats the transports of all the loops of this group record their
+     * writes in.
+     * 
+     * @return The stats mentioned.
+     */
+    public TransportStats getStats() {
+	return mStats;
+
+    }
+
+    /**
+     * Gets the loop that should serve the next connection.
+     * 
+     * @return The loop mentioned.
+     */
+    public EventLoop next() {
+	return mLoops[Math.floorMod(mNext.getAndIncrement(), mLoops.length)];
+
+    }
+
+    /**
+     * Stops all the loops of this group.
+     */
+    public void shutdown() {
+	for (final EventLoop loop : mLoops) {
+	    loop.stop();
+
+	}
+    }
+}
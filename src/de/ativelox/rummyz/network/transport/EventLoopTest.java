@@ -0,0 +1,50 @@
+package de.ativelox.rummyz.network.transport;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Provides JUnit test cases for {@link EventLoop}.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+public final class EventLoopTest {
+
+    /**
+     * Tests that a task failing doesn't end the loop, so the tasks handed over
+     * afterwards still get run.
+     * 
+     * @throws IOException          If the selector of the loop could not be
+     *                              opened.
+     * @throws InterruptedException If the test got interrupted.
+     */
+    @Test
+    public void testFailingTask() throws IOException, InterruptedException {
+	final EventLoop loop = new EventLoop();
+	final Thread thread = new Thread(loop, "EventLoopTest");
+	thread.start();
+
+	final CountDownLatch ran = new CountDownLatch(1);
+
+	try {
+	    loop.execute(() -> {
+		throw new IllegalStateException("A task failing on purpose.");
+
+	    });
+	    loop.execute(ran::countDown);
+
+	    Assert.assertTrue(ran.await(10, TimeUnit.SECONDS));
+	    Assert.assertTrue(thread.isAlive());
+
+	} finally {
+	    loop.stop();
+	    thread.join();
+
+	}
+    }
+}
@@ -0,0 +1,49 @@
+package de.ativelox.rummyz.network.transport;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Provides an interface for the connection underlying an
+ * {@link de.ativelox.rummyz.model.INetworkController INetworkController}. A
+ * transport only moves bytes, it neither knows where a frame ends nor cares
+ * about the protocol the frames belong to.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+public interface ITransport {
+
+    /**
+     * Closes this transport. Frames not yet written might get lost.
+     */
+    void close();
+
+    /**
+     * Closes this transport once every frame queued up to this point got written,
+     * so the last frames sent reach the other end. This never blocks, frames
+     * queued afterwards might get lost.
+     */
+    void closeAfterFlush();
+
+    /**
+     * Starts to read from the underlying connection and passes the bytes read onto
+     * the given <tt>listener</tt>. Depending on the implementation this either
+     * blocks the current Thread until the connection gets closed, or returns
+     * immediately.
+     * 
+     * @param listener The listener to pass the read bytes to.
+     */
+    void open(final ITransportListener listener);
+
+    /**
+     * Queues the given frame to be written to the underlying connection. This may
+     * be called from any Thread and only blocks while the outbound queue is full
+     * under {@link EBackpressure#BLOCK}, until there is room for the frame. Frames
+     * get written in the order they got queued in, the caller must not modify the
+     * frame afterwards.
+     * 
+     * @param frame The frame to write, spanning from its position to its limit.
+     */
+    void write(final ByteBuffer frame);
+
+}
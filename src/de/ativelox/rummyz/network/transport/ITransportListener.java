@@ -0,0 +1,29 @@
+package de.ativelox.rummyz.network.transport;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Provides an interface to receive the bytes read by an {@link ITransport}.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+public interface ITransportListener {
+
+    /**
+     * Gets called when the underlying connection of the {@link ITransport} got
+     * closed, either by the remote end or by {@link ITransport#close()}.
+     */
+    void onClose();
+
+    /**
+     * Gets called whenever the {@link ITransport} has read new bytes. The given
+     * buffer holds every byte not yet consumed, from its position to its limit.
+     * The listener consumes all the complete frames by advancing the position, the
+     * remaining bytes are passed again, along with the following ones.
+     * 
+     * @param buffer The buffer mentioned.
+     */
+    void onRead(final ByteBuffer buffer);
+
+}
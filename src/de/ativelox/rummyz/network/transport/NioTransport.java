@@ -0,0 +1,489 @@
+package de.ativelox.rummyz.network.transport;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+import de.ativelox.rummyz.network.codec.IWireCodec;
+
+/**
+ * Provides a non-blocking {@link ITransport} on top of a {@link SocketChannel},
+ * being served by an {@link EventLoop}. {@link NioTransport#open(ITransportListener)}
+ * only registers this transport with its loop and returns immediately, the
+ * listener then gets called on the loops Thread. Outgoing frames are queued in
+ * a bounded queue, once it is full the {@link EBackpressure} given decides what
+ * happens. Whenever the loop flushes, every queued frame gets coalesced into a
+ * few pooled direct buffers, which are then handed to the channel by a single
+ * gathering write.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+public final class NioTransport implements ITransport {
+
+    /**
+     * The initial size of the buffer used for reading, in bytes.
+     */
+    private static final int READ_BUFFER_SIZE = 4096;
+
+    /**
+     * The time in nanoseconds a Thread blocked by {@link EBackpressure#BLOCK}
+     * waits before checking for room again.
+     */
+    private static final long BLOCK_PARK_NANOS = 100_000;
+
+    /**
+     * The maximum amount of pooled buffers handed to the channel by a single
+     * gathering write.
+     */
+    private static final int MAX_GATHERED_BUFFERS = 16;
+
+    /**
+     * The channel this transport reads from and writes to.
+     */
+    private final SocketChannel mChannel;
+
+    /**
+     * The loop serving this transport.
+     */
+    private final EventLoop mLoop;
+
+    /**
+     * The frames that are yet to be written.
+     */
+    private final BoundedMpscQueue<ByteBuffer> mOutbound;
+
+    /**
+     * What happens when a frame gets written while
+     * {@link NioTransport#mOutbound} is full.
+     */
+    private final EBackpressure mBackpressure;
+
+    /**
+     * Whether a flush of {@link NioTransport#mOutbound} is already scheduled on the
+     * loop, or the channel is waiting to become writable again.
+     */
+    private final AtomicBoolean mFlushScheduled;
+
+    /**
+     * The pooled buffers holding coalesced frames, which are yet to be written.
+     */
+    private final ByteBuffer[] mPending;
+
+    /**
+     * The index of the first buffer in {@link NioTransport#mPending} which is not
+     * completely written yet.
+     */
+    private int mPendingOffset;
+
+    /**
+     * The amount of buffers in {@link NioTransport#mPending}.
+     */
+    private int mPendingCount;
+
+    /**
+     * The buffer holding bytes read, but not yet making up a complete frame.
+     */
+    private ByteBuffer mReadBuffer;
+
+    /**
+     * The listener to pass the read bytes to.
+     */
+    private ITransportListener mListener;
+
+    /**
+     * The key of the channel registered with the loops selector.
+     */
+    private SelectionKey mKey;
+
+    /**
+     * Whether this transport got closed.
+     */
+    private volatile boolean mIsClosed;
+
+    /**
+     * Whether this transport closes, once every queued frame got written.
+     */
+    private volatile boolean mClosing;
+
+    /**
+     * Creates a new {@link NioTransport}, which queues up to
+     * {@link StreamTransport#DEFAULT_QUEUE_CAPACITY} frames and closes once they
+     * are exceeded. Switches the given channel into non-blocking mode.
+     * 
+     * @param channel The channel to read from and write to.
+     * @param loop    The loop serving this transport.
+     * @throws IOException If the channel could not be configured.
+     */
+    public NioTransport(final SocketChannel channel, final EventLoop loop) throws IOException {
+	this(channel, loop, StreamTransport.DEFAULT_QUEUE_CAPACITY, EBackpressure.CLOSE);
+
+    }
+
+    /**
+     * Creates a new {@link NioTransport}. Switches the given channel into
+     * non-blocking mode.
+     * 
+     * @param channel       The channel to read from and write to.
+     * @param loop          The loop serving this transport.
+     * @param queueCapacity The amount of frames that can be queued, rounded up to
+     *                      the next power of two.
+     * @param backpressure  What happens when a frame gets written while the queue
+     *                      is full.
+     * @throws IOException If the channel could not be configured.
+     */
+    public NioTransport(final SocketChannel channel, final EventLoop loop, final int queueCapacity,
+	    final EBackpressure backpressure) throws IOException {
+	mChannel = channel;
+	mChannel.configureBlocking(false);
+	mLoop = loop;
+	mOutbound = new BoundedMpscQueue<>(queueCapacity);
+	mBackpressure = backpressure;
+	mFlushScheduled = new AtomicBoolean(false);
+	mPending = new ByteBuffer[MAX_GATHERED_BUFFERS];
+	mPendingOffset = 0;
+	mPendingCount = 0;
+	mReadBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+	mIsClosed = false;
+	mClosing = false;
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see de.ativelox.rummyz.network.transport.ITransport#close()
+     */
+    @Override
+    public void close() {
+	if (mLoop.inLoop()) {
+	    this.closeNow();
+
+	} else {
+	    mLoop.execute(this, this::closeNow);
+
+	}
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see de.ativelox.rummyz.network.transport.ITransport#closeAfterFlush()
+     */
+    @Override
+    public void closeAfterFlush() {
+	mClosing = true;
+
+	// runs after the flushes scheduled by the frames written before.
+	mLoop.execute(this, () -> {
+	    // not registered yet, the flush happens as soon as it is.
+	    if (mKey != null) {
+		this.flush();
+
+	    }
+	});
+    }
+
+    /**
+     * Closes the channel and notifies the listener. Must only be called on the
+     * loop.
+     */
+    private void closeNow() {
+	if (mIsClosed) {
+	    return;
+
+	}
+	mIsClosed = true;
+
+	if (mKey != null) {
+	    mKey.cancel();
+
+	}
+
+	try {
+	    mChannel.close();
+
+	} catch (IOException e) {
+	    e.printStackTrace();
+
+	}
+	this.releasePending();
+
+	if (mListener != null) {
+	    mListener.onClose();
+
+	}
+    }
+
+    /**
+     * Writes as many of the queued frames as the channel accepts without
+     * blocking. If the channel cannot take all of them, this waits for it to
+     * become writable again. Closes this transport once every frame got written,
+     * if {@link NioTransport#closeAfterFlush()} got called. Must only be called on
+     * the loop.
+     */
+    private void flush() {
+	if (mIsClosed) {
+	    return;
+
+	}
+
+	try {
+	    while (true) {
+		while (mPendingOffset < mPendingCount || this.gather()) {
+		    mChannel.write(mPending, mPendingOffset, mPendingCount - mPendingOffset);
+		    mLoop.getStats().recordWriteCall();
+
+		    while (mPendingOffset < mPendingCount && !mPending[mPendingOffset].hasRemaining()) {
+			mLoop.getBufferPool().release(mPending[mPendingOffset]);
+			mPending[mPendingOffset++] = null;
+
+		    }
+
+		    if (mPendingOffset < mPendingCount) {
+			// the socket buffer is full, continue as soon as the channel is writable.
+			mKey.interestOps(mKey.interestOps() | SelectionKey.OP_WRITE);
+			return;
+
+		    }
+		}
+		mFlushScheduled.set(false);
+
+		// a frame might have been queued after the last poll, but before the flag
+		// got cleared.
+		if (mOutbound.isEmpty() || !mFlushScheduled.compareAndSet(false, true)) {
+		    break;
+
+		}
+
+		// the frame might be claimed but not yet published by its producer.
+		Thread.yield();
+
+	    }
+	    mKey.interestOps(mKey.interestOps() & ~SelectionKey.OP_WRITE);
+
+	    if (mClosing) {
+		this.closeNow();
+
+	    }
+
+	} catch (IOException e) {
+	    this.closeNow();
+
+	}
+    }
+
+    /**
+     * Coalesces the queued frames into pooled buffers, until either no frame is
+     * left or {@link NioTransport#MAX_GATHERED_BUFFERS} buffers are filled. A
+     * frame not fitting anymore gets split, its remainder stays queued. Must only
+     * be called on the loop, once every pending buffer got written.
+     * 
+     * @return <tt>True</tt> if there are buffers to write now, <tt>false</tt>
+     *         otherwise.
+     */
+    private boolean gather() {
+	mPendingOffset = 0;
+	mPendingCount = 0;
+
+	int messages = 0;
+	ByteBuffer target = null;
+	ByteBuffer frame;
+
+	while ((frame = mOutbound.peek()) != null) {
+	    if (target == null || !target.hasRemaining()) {
+		if (mPendingCount == mPending.length) {
+		    break;
+
+		}
+		target = mLoop.getBufferPool().acquire();
+		mPending[mPendingCount++] = target;
+
+	    }
+
+	    if (frame.remaining() <= target.remaining()) {
+		target.put(frame);
+		mOutbound.poll();
+		messages++;
+
+	    } else {
+		final int limit = frame.limit();
+		frame.limit(frame.position() + target.remaining());
+		target.put(frame);
+		frame.limit(limit);
+
+	    }
+	}
+
+	for (int i = 0; i < mPendingCount; i++) {
+	    mPending[i].flip();
+
+	}
+	mLoop.getStats().recordMessages(messages);
+	return mPendingCount > 0;
+
+    }
+
+    /**
+     * Hands every pending buffer back to the pool of the loop. Must only be called
+     * on the loop.
+     */
+    private void releasePending() {
+	for (int i = mPendingOffset; i < mPendingCount; i++) {
+	    mLoop.getBufferPool().release(mPending[i]);
+	    mPending[i] = null;
+
+	}
+	mPendingOffset = 0;
+	mPendingCount = 0;
+
+    }
+
+    /**
+     * Gets the channel of this transport.
+     * 
+     * @return The channel mentioned.
+     */
+    SocketChannel getChannel() {
+	return mChannel;
+
+    }
+
+    /**
+     * Gets called by the loop once the channel is readable. Reads all the
+     * available bytes and passes them onto the listener.
+     */
+    void onReadable() {
+	try {
+	    final int read = mChannel.read(mReadBuffer);
+
+	    if (read < 0) {
+		this.closeNow();
+		return;
+
+	    }
+
+	} catch (IOException e) {
+	    this.closeNow();
+	    return;
+
+	}
+
+	mReadBuffer.flip();
+	mListener.onRead(mReadBuffer);
+
+	if (mIsClosed) {
+	    return;
+
+	}
+	mReadBuffer.compact();
+
+	if (!mReadBuffer.hasRemaining()) {
+	    if (mReadBuffer.capacity() >= IWireCodec.MAX_FRAME_LENGTH) {
+		// the frame is longer than allowed, the peer is broken or hostile.
+		this.closeNow();
+		return;
+
+	    }
+	    // a single frame exceeds the buffer, so grow it.
+	    final ByteBuffer grown = ByteBuffer
+		    .allocate(Math.min(mReadBuffer.capacity() * 2, IWireCodec.MAX_FRAME_LENGTH));
+	    mReadBuffer.flip();
+	    grown.put(mReadBuffer);
+	    mReadBuffer = grown;
+
+	}
+    }
+
+    /**
+     * Gets called by the loop once this transport got registered with its
+     * selector.
+     * 
+     * @param key The key of the registered channel.
+     */
+    void onRegistered(final SelectionKey key) {
+	mKey = key;
+
+	if (!mOutbound.isEmpty() || mClosing) {
+	    this.flush();
+
+	}
+    }
+
+    /**
+     * Gets called by the loop once the channel is writable again.
+     */
+    void onWritable() {
+	this.flush();
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * de.ativelox.rummyz.network.transport.ITransport#open(de.ativelox.rummyz.
+     * network.transport.ITransportListener)
+     */
+    @Override
+    public void open(final ITransportListener listener) {
+	mListener = listener;
+	mLoop.register(this);
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * de.ativelox.rummyz.network.transport.ITransport#write(java.nio.ByteBuffer)
+     */
+    @Override
+    public void write(final ByteBuffer frame) {
+	if (mIsClosed) {
+	    return;
+
+	}
+
+	while (!mOutbound.offer(frame)) {
+	    if (mIsClosed) {
+		return;
+
+	    }
+
+	    switch (mBackpressure) {
+	    case BLOCK:
+		// the loop can not empty the queue while waiting for it.
+		if (mLoop.inLoop()) {
+		    this.close();
+		    return;
+
+		}
+		LockSupport.parkNanos(BLOCK_PARK_NANOS);
+		break;
+
+	    case DROP:
+		return;
+
+	    case CLOSE:
+	    default:
+		this.close();
+		return;
+
+	    }
+	}
+
+	if (mFlushScheduled.compareAndSet(false, true)) {
+	    mLoop.execute(this, () -> {
+		// not registered yet, the flush happens as soon as it is.
+		if (mKey != null) {
+		    this.flush();
+
+		}
+	    });
+	}
+    }
+}
@@ -0,0 +1,60 @@
+package de.ativelox.rummyz.network.transport;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Provides JUnit test cases for {@link NioTransport}.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+public final class NioTransportTest {
+
+    /**
+     * Tests that every frame queued before closing after a flush reaches the other
+     * end, before the connection gets closed.
+     * 
+     * @throws IOException          If the sockets or the selector could not be
+     *                              opened.
+     * @throws InterruptedException If the test got interrupted.
+     */
+    @Test
+    public void testCloseAfterFlush() throws IOException, InterruptedException {
+	final EventLoop loop = new EventLoop();
+	final Thread thread = new Thread(loop, "NioTransportTest");
+	thread.start();
+
+	try (ServerSocketChannel server = ServerSocketChannel.open()) {
+	    server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+
+	    try (Socket client = new Socket(InetAddress.getLoopbackAddress(), server.socket().getLocalPort())) {
+		final NioTransport transport = new NioTransport(server.accept(), loop, StreamTransportTest.FRAMES,
+			EBackpressure.BLOCK);
+		transport.open(StreamTransportTest.SKIPPING);
+
+		for (int i = 0; i < StreamTransportTest.FRAMES; i++) {
+		    transport.write(ByteBuffer.allocate(StreamTransportTest.FRAME_SIZE));
+
+		}
+		transport.closeAfterFlush();
+
+		Assert.assertEquals((long) StreamTransportTest.FRAMES * StreamTransportTest.FRAME_SIZE,
+			StreamTransportTest.readUntilClosed(client.getInputStream()));
+
+	    }
+
+	} finally {
+	    loop.stop();
+	    thread.join();
+
+	}
+    }
+}
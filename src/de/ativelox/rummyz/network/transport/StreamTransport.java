@@ -0,0 +1,415 @@
+package de.ativelox.rummyz.network.transport;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.LockSupport;
+
+import de.ativelox.rummyz.network.codec.IWireCodec;
+
+/**
+ * Provides an {@link ITransport} on top of an {@link InputStream} and an
+ * {@link OutputStream}. {@link StreamTransport#open(ITransportListener)} blocks
+ * the current Thread while reading from the stream, passing bytes on as soon as
+ * they arrive. Outgoing frames are written by a separate writer Thread, started
+ * through the {@link Executor} given, which
+ * wakes up whenever a frame gets queued, and then writes every frame queued up
+ * to that point before flushing once, so they get coalesced into as few writes
+ * on the underlying stream as its buffer allows. The frames are queued in a
+ * bounded queue, once it is full the {@link EBackpressure} given decides what
+ * happens.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+public final class StreamTransport implements ITransport {
+
+    /**
+     * The initial size of the buffer used for reading, in bytes.
+     */
+    private static final int READ_BUFFER_SIZE = 4096;
+
+    /**
+     * The amount of frames that can be queued by default.
+     */
+    public static final int DEFAULT_QUEUE_CAPACITY = 4096;
+
+    /**
+     * The time in nanoseconds a Thread blocked by {@link EBackpressure#BLOCK}
+     * waits before checking for room again.
+     */
+    private static final long BLOCK_PARK_NANOS = 100_000;
+
+    /**
+     * Starts each writer on a daemon Thread of its own.
+     */
+    private static final Executor DEDICATED_WRITER = task -> {
+	final Thread writer = new Thread(task, "StreamTransport-Writer");
+	writer.setDaemon(true);
+	writer.start();
+
+    };
+
+    /**
+     * Provides a {@link BufferedOutputStream} for the underlying
+     * {@link OutputStream}.
+     */
+    private final OutputStream mOs;
+
+    /**
+     * The underlying {@link InputStream}.
+     */
+    private final InputStream mIs;
+
+    /**
+     * Represents a buffer for all the frames that are yet to be written by the
+     * writer Thread.
+     */
+    private final BoundedMpscQueue<ByteBuffer> mMessageBuffer;
+
+    /**
+     * What happens when a frame gets written while
+     * {@link StreamTransport#mMessageBuffer} is full.
+     */
+    private final EBackpressure mBackpressure;
+
+    /**
+     * The stats this transport records its writes in.
+     */
+    private final TransportStats mStats;
+
+    /**
+     * The executor the writer Thread gets started through.
+     */
+    private final Executor mWriterExecutor;
+
+    /**
+     * Whether the writer Thread is about to park, or parked, waiting for frames.
+     */
+    private volatile boolean mWriterParked;
+
+    /**
+     * Whether this instance is currently running or not.
+     */
+    private volatile boolean mIsRunning;
+
+    /**
+     * Whether the writer closes this instance, once it finds the queue empty.
+     */
+    private volatile boolean mClosing;
+
+    /**
+     * The Thread writing the queued frames to the {@link OutputStream}.
+     */
+    private volatile Thread mWriter;
+
+    /**
+     * Creates a new {@link StreamTransport}, which queues up to
+     * {@link StreamTransport#DEFAULT_QUEUE_CAPACITY} frames and closes once they
+     * are exceeded.
+     * 
+     * @param is The input stream to read from.
+     * @param os The output stream to write to.
+     */
+    public StreamTransport(final InputStream is, final OutputStream os) {
+	this(is, os, DEFAULT_QUEUE_CAPACITY, EBackpressure.CLOSE);
+
+    }
+
+    /**
+     * Creates a new {@link StreamTransport}.
+     * 
+     * @param is            The input stream to read from.
+     * @param os            The output stream to write to.
+     * @param queueCapacity The amount of frames that can be queued, rounded up to
+     *                      the next power of two.
+     * @param backpressure  What happens when a frame gets written while the queue
+     *                      is full.
+     */
+    public StreamTransport(final InputStream is, final OutputStream os, final int queueCapacity,
+	    final EBackpressure backpressure) {
+	this(is, os, queueCapacity, backpressure, new TransportStats());
+
+    }
+
+    /**
+     * Creates a new {@link StreamTransport}.
+     * 
+     * @param is            The input stream to read from.
+     * @param os            The output stream to write to.
+     * @param queueCapacity The amount of frames that can be queued, rounded up to
+     *                      the next power of two.
+     * @param backpressure  What happens when a frame gets written while the queue
+     *                      is full.
+     * @param stats         The stats to record the writes of this transport in.
+     */
+    public StreamTransport(final InputStream is, final OutputStream os, final int queueCapacity,
+	    final EBackpressure backpressure, final TransportStats stats) {
+	this(is, os, queueCapacity, backpressure, stats, DEDICATED_WRITER);
+
+    }
+
+    /**
+     * Creates a new {@link StreamTransport}.
+     * 
+     * @param is             The input stream to read from.
+     * @param os             The output stream to write to.
+     * @param queueCapacity  The amount of frames that can be queued, rounded up
+     *                       to the next power of two.
+     * @param backpressure   What happens when a frame gets written while the
+     *                       queue is full.
+     * @param stats          The stats to record the writes of this transport in.
+     * @param writerExecutor The executor to start the writer Thread through, once
+     *                       this transport gets opened.
+     */
+    public StreamTransport(final InputStream is, final OutputStream os, final int queueCapacity,
+	    final EBackpressure backpressure, final TransportStats stats, final Executor writerExecutor) {
+	mStats = stats;
+	mWriterExecutor = writerExecutor;
+	mOs = new BufferedOutputStream(new FilterOutputStream(os) {
+	    @Override
+	    public void write(final byte[] b, final int off, final int len) throws IOException {
+		// every write reaching the underlying stream is a system call.
+		mStats.recordWriteCall();
+		out.write(b, off, len);
+
+	    }
+	});
+	mIs = is;
+	mMessageBuffer = new BoundedMpscQueue<>(queueCapacity);
+	mBackpressure = backpressure;
+	mWriterParked = false;
+	mIsRunning = true;
+	mClosing = false;
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see de.ativelox.rummyz.network.transport.ITransport#close()
+     */
+    @Override
+    public void close() {
+	if (!mIsRunning) {
+	    return;
+
+	}
+	mIsRunning = false;
+
+	// the writer might run on a pooled Thread, which must not be interrupted.
+	final Thread writer = mWriter;
+
+	if (writer != null) {
+	    LockSupport.unpark(writer);
+
+	}
+
+	// unblocks the reading Thread.
+	try {
+	    mIs.close();
+
+	} catch (IOException e) {
+	    e.printStackTrace();
+
+	}
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see de.ativelox.rummyz.network.transport.ITransport#closeAfterFlush()
+     */
+    @Override
+    public void closeAfterFlush() {
+	mClosing = true;
+
+	// the writer checks the flag before parking, so either it sees the flag or
+	// this sees it parked.
+	if (mWriterParked) {
+	    LockSupport.unpark(mWriter);
+
+	}
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * de.ativelox.rummyz.network.transport.ITransport#open(de.ativelox.rummyz.
+     * network.transport.ITransportListener)
+     */
+    @Override
+    public void open(final ITransportListener listener) {
+	try {
+	    mWriterExecutor.execute(this::write);
+
+	} catch (RejectedExecutionException e) {
+	    // without a writer nothing could ever be sent, so don't even start reading.
+	    e.printStackTrace();
+	    this.close();
+	    listener.onClose();
+	    return;
+
+	}
+
+	// block on the stream, every frame gets served as soon as it is complete.
+	try {
+	    ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+	    int read;
+
+	    while (mIsRunning && (read = mIs.read(buffer.array(), buffer.position(), buffer.remaining())) >= 0) {
+		buffer.position(buffer.position() + read);
+		buffer.flip();
+		listener.onRead(buffer);
+		buffer.compact();
+
+		if (!buffer.hasRemaining()) {
+		    if (buffer.capacity() >= IWireCodec.MAX_FRAME_LENGTH) {
+			// the frame is longer than allowed, the peer is broken or hostile.
+			break;
+
+		    }
+		    // a single frame exceeds the buffer, so grow it.
+		    final ByteBuffer grown = ByteBuffer
+			    .allocate(Math.min(buffer.capacity() * 2, IWireCodec.MAX_FRAME_LENGTH));
+		    buffer.flip();
+		    grown.put(buffer);
+		    buffer = grown;
+
+		}
+	    }
+
+	} catch (IOException e) {
+	    if (mIsRunning) {
+		e.printStackTrace();
+
+	    }
+
+	} catch (RuntimeException e) {
+	    // a malformed frame leaves the stream in an unknown state, so drop it.
+	    e.printStackTrace();
+
+	}
+	this.close();
+	listener.onClose();
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * de.ativelox.rummyz.network.transport.ITransport#write(java.nio.ByteBuffer)
+     */
+    @Override
+    public void write(final ByteBuffer frame) {
+	while (!mMessageBuffer.offer(frame)) {
+	    if (!mIsRunning) {
+		return;
+
+	    }
+
+	    switch (mBackpressure) {
+	    case BLOCK:
+		LockSupport.parkNanos(BLOCK_PARK_NANOS);
+		break;
+
+	    case DROP:
+		return;
+
+	    case CLOSE:
+	    default:
+		this.close();
+		return;
+
+	    }
+	}
+
+	// the writer sets the flag before checking the queue a last time, so either it
+	// sees this frame or this sees the flag.
+	if (mWriterParked) {
+	    LockSupport.unpark(mWriter);
+
+	}
+    }
+
+    /**
+     * The loop of the writing thread. Parks until a frame gets queued by
+     * {@link StreamTransport#write(ByteBuffer)}, then writes it along with every
+     * other frame queued up to that point and flushes the stream once.
+     */
+    private void write() {
+	mWriter = Thread.currentThread();
+
+	while (mIsRunning) {
+	    ByteBuffer frame = mMessageBuffer.poll();
+
+	    if (frame == null) {
+		if (!mMessageBuffer.isEmpty()) {
+		    // a producer claimed a slot, but did not publish its frame yet, so give it
+		    // the chance to.
+		    Thread.yield();
+		    continue;
+
+		}
+
+		if (mClosing) {
+		    // every frame queued before got written and flushed.
+		    this.close();
+		    break;
+
+		}
+		mWriterParked = true;
+
+		if (mMessageBuffer.isEmpty() && mIsRunning && !mClosing) {
+		    LockSupport.park(this);
+
+		}
+		mWriterParked = false;
+		continue;
+
+	    }
+
+	    try {
+		while (frame != null) {
+		    this.writeFrame(frame);
+		    frame = mMessageBuffer.poll();
+
+		}
+		mOs.flush();
+
+	    } catch (IOException e) {
+		if (mIsRunning) {
+		    e.printStackTrace();
+		    this.close();
+
+		}
+	    }
+	}
+    }
+
+    /**
+     * Writes the given frame to the buffered {@link OutputStream}.
+     * 
+     * @param frame The frame to write.
+     * @throws IOException If an I/O error occurs.
+     */
+    private void writeFrame(final ByteBuffer frame) throws IOException {
+	if (frame.hasArray()) {
+	    mOs.write(frame.array(), frame.arrayOffset() + frame.position(), frame.remaining());
+
+	} else {
+	    final byte[] bytes = new byte[frame.remaining()];
+	    frame.duplicate().get(bytes);
+	    mOs.write(bytes);
+
+	}
+	mStats.recordMessages(1);
+    }
+}
@@ -0,0 +1,107 @@
+package de.ativelox.rummyz.network.transport;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Provides JUnit test cases for {@link StreamTransport}.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+public final class StreamTransportTest {
+
+    /**
+     * The amount of frames written before closing.
+     */
+    static final int FRAMES = 64;
+
+    /**
+     * The size of every frame written, in bytes. All of them together exceed the
+     * socket buffers, so frames are still queued when closing.
+     */
+    static final int FRAME_SIZE = 16 * 1024;
+
+    /**
+     * A listener skipping every byte read.
+     */
+    static final ITransportListener SKIPPING = new ITransportListener() {
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.ativelox.rummyz.network.transport.ITransportListener#onClose()
+	 */
+	@Override
+	public void onClose() {
+	    // there is nothing to clean up.
+
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * de.ativelox.rummyz.network.transport.ITransportListener#onRead(java.nio.
+	 * ByteBuffer)
+	 */
+	@Override
+	public void onRead(final ByteBuffer buffer) {
+	    buffer.position(buffer.limit());
+
+	}
+    };
+
+    /**
+     * Reads the given stream until the other end closes it.
+     * 
+     * @param in The stream mentioned.
+     * @return The amount of bytes read.
+     * @throws IOException If an I/O error occurs.
+     */
+    static long readUntilClosed(final InputStream in) throws IOException {
+	final byte[] buffer = new byte[FRAME_SIZE];
+	long total = 0;
+	int read;
+
+	while ((read = in.read(buffer)) >= 0) {
+	    total += read;
+
+	}
+	return total;
+
+    }
+
+    /**
+     * Tests that every frame queued before closing after a flush reaches the other
+     * end, before the connection gets closed.
+     * 
+     * @throws IOException If the sockets could not be opened.
+     */
+    @Test
+    public void testCloseAfterFlush() throws IOException {
+	try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+		Socket client = new Socket(InetAddress.getLoopbackAddress(), server.getLocalPort());
+		Socket accepted = server.accept()) {
+	    final StreamTransport transport = new StreamTransport(accepted.getInputStream(),
+		    accepted.getOutputStream(), FRAMES, EBackpressure.BLOCK);
+	    new Thread(() -> transport.open(SKIPPING), "StreamTransportTest").start();
+
+	    for (int i = 0; i < FRAMES; i++) {
+		transport.write(ByteBuffer.allocate(FRAME_SIZE));
+
+	    }
+	    transport.closeAfterFlush();
+
+	    Assert.assertEquals((long) FRAMES * FRAME_SIZE, readUntilClosed(client.getInputStream()));
+
+	}
+    }
+}
@@ -0,0 +1,83 @@
+package de.ativelox.rummyz.network.transport;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Provides counters for the messages written by {@link ITransport}s and the
+ * write calls, each being a system call, it took to write them. Many transports
+ * may share the same instance, and update it from their own Threads.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+public final class TransportStats {
+
+    /**
+     * The amount of messages written.
+     */
+    private final LongAdder mMessages;
+
+    /**
+     * The amount of write calls made on the underlying connections.
+     */
+    private final LongAdder mWriteCalls;
+
+    /**
+     * Creates a new {@link TransportStats}.
+     */
+    public TransportStats() {
+	mMessages = new LongAdder();
+	mWriteCalls = new LongAdder();
+
+    }
+
+    /**
+     * Gets the amount of messages written so far.
+     * 
+     * @return The amount mentioned.
+     */
+    public long getMessages() {
+	return mMessages.sum();
+
+    }
+
+    /**
+     * Gets the amount of write calls made on the underlying connections so far.
+     * 
+     * @return The amount mentioned.
+     */
+    public long getWriteCalls() {
+	return mWriteCalls.sum();
+
+    }
+
+    /**
+     * Gets the average amount of write calls it took to write a message, lower
+     * values meaning more messages got coalesced into a single call.
+     * 
+     * @return The amount mentioned, or <tt>0</tt> if no message got written yet.
+     */
+    public double getWriteCallsPerMessage() {
+	final long messages = this.getMessages();
+	return messages == 0 ? 0 : (double) this.getWriteCalls() / messages;
+
+    }
+
+    /**
+     * Records the given amount of messages as written.
+     * 
+     * @param amount The amount mentioned.
+     */
+    void recordMessages(final int amount) {
+	mMessages.add(amount);
+
+    }
+
+    /**
+     * Records a single write call made on an underlying connection.
+     */
+    void recordWriteCall() {
+	mWriteCalls.increment();
+
+    }
+}
@@ -0,0 +1,33 @@
+package de.ativelox.rummyz.server;
+
+import java.io.IOException;
+
+import de.ativelox.rummyz.model.INetworkController;
+import de.ativelox.rummyz.network.protocol.EC2S;
+import de.ativelox.rummyz.network.protocol.ES2C;
+import de.ativelox.rummyz.server.controller.IGameControllerReceiver;
+
+/**
+ * Provides an interface to create the {@link INetworkController} for a player
+ * once it got a seat at a table.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ * 
+ * @see TableRegistry#seat(INetworkControllerFactory)
+ *
+ */
+public interface INetworkControllerFactory {
+
+    /**
+     * Creates the network controller for the player with <tt>playerId</tt>, which
+     * passes its read messages onto the given game.
+     * 
+     * @param game     The game the player got seated at.
+     * @param playerId The id of the player at that table.
+     * @return The network controller mentioned.
+     * @throws IOException If an I/O exception occurs when setting up the
+     *                     connection.
+     */
+    INetworkController<ES2C, EC2S> create(final IGameControllerReceiver game, final int playerId) throws IOException;
+
+}
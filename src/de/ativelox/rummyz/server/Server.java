@@ -1,39 +1,63 @@
 package de.ativelox.rummyz.server;
 
 import java.io.IOException;
+import java.net.InetSocketAddress;
 import java.net.ServerSocket;
 import java.net.Socket;
-import java.util.LinkedList;
-import java.util.List;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import de.ativelox.rummyz.model.INetworkController;
 import de.ativelox.rummyz.network.protocol.EC2S;
 import de.ativelox.rummyz.network.protocol.ES2C;
-import de.ativelox.rummyz.server.controller.GameController;
+import de.ativelox.rummyz.network.transport.EventLoopGroup;
+import de.ativelox.rummyz.network.transport.EBackpressure;
+import de.ativelox.rummyz.network.transport.EConnectionThreads;
+import de.ativelox.rummyz.network.transport.NioTransport;
+import de.ativelox.rummyz.network.transport.StreamTransport;
+import de.ativelox.rummyz.network.transport.TransportStats;
 import de.ativelox.rummyz.server.controller.IGameController;
+import de.ativelox.rummyz.server.controller.IGameControllerReceiver;
 import de.ativelox.rummyz.server.controller.ServerNetworkController;
+import de.ativelox.rummyz.server.journal.Journal;
 
 /**
  * The Server functions as the top-class for the Server, also having the
  * {@link Server#main(String[])} function. It maintains connection to its
- * clients, and creates an {@link IGameController} with multiple
- * {@link INetworkController} for each player which handles further socket
- * communication.
+ * clients, seats them at the tables of its {@link TableRegistry}, each having
+ * an {@link IGameController} with multiple {@link INetworkController} for each
+ * player which handles further socket communication. The connections are either
+ * served by the Threads of an {@link ExecutorService}, two for each connection,
+ * or multiplexed onto the fixed amount of Threads of an {@link EventLoopGroup}.
+ * The Threads of that executor are either bounded platform Threads, or virtual
+ * Threads, as given by {@link EConnectionThreads}.
+ * The games of all the tables share a small pool of Threads, at most one for
+ * each processor, which apply the commands of their players, and may record
+ * them in a single {@link Journal} for the whole server.
  * 
  * @author Ativelox {@literal <ativelox.dev@web.de>}
  *
  */
 public final class Server {
 
+    /**
+     * The maximum amount of pending connections, which haven't been accepted yet.
+     */
+    private static final int ACCEPT_BACKLOG = 1024;
+
     /**
      * The main method. Creates a new Server, calls {@link Server#init()} and
-     * {@link Server#waitForPlayers()} to start a game.
+     * {@link Server#waitForPlayers()} to start hosting games.
      * 
      * @param args The command-line arguments. Unused.
      * @throws IOException If a socket related I/O exception occurs.
      */
     public static void main(final String[] args) throws IOException {
-	final Server s = new Server(2556, 2);
+	final Server s = new Server(2556, 2, Runtime.getRuntime().availableProcessors(), 1000);
 	s.init();
 	s.waitForPlayers();
 
@@ -50,91 +74,325 @@ public final class Server {
     private final int mPort;
 
     /**
-     * The amount of players this server manages.
+     * The tables hosted by this server.
      */
-    private final int mPlayerAmount;
+    private final TableRegistry mTables;
 
     /**
-     * The game controller used to manage the game.
+     * The amount of event loop Threads serving all the connections, or <tt>0</tt>
+     * if each connection gets served by its own Thread.
      */
-    private final IGameController<ES2C, EC2S> mGameController;
+    private final int mIoThreads;
 
     /**
-     * A list of all the {@link INetworkController}s for each player.
+     * The event loops serving all the connections, <tt>null</tt> if each
+     * connection gets served by its own Thread.
      */
-    private final List<INetworkController<ES2C, EC2S>> mNetworkControllers;
+    private EventLoopGroup mLoops;
 
     /**
-     * A list of all the sockets corresponding to each client.
+     * The executor running one Thread for each connection, <tt>null</tt> if the
+     * connections are served by event loops.
      */
-    private final List<Socket> mSockets;
+    private ExecutorService mExecutor;
 
     /**
-     * Creates a new {@link Server}.
+     * The executor running the games of all the tables.
+     */
+    private final ExecutorService mGameExecutor;
+
+    /**
+     * The amount of frames that can be queued for each connection.
+     */
+    private int mQueueCapacity;
+
+    /**
+     * What happens when a frame gets sent to a connection whose queue is full.
+     */
+    private EBackpressure mBackpressure;
+
+    /**
+     * The kind of Threads serving the connections, if they aren't served by event
+     * loops.
+     */
+    private EConnectionThreads mConnectionThreads;
+
+    /**
+     * The stats every connection records its writes in.
+     */
+    private final TransportStats mStats;
+
+    /**
+     * The directory of the journal of this server, <tt>null</tt> if the games
+     * don't get journaled.
+     */
+    private Path mJournalDirectory;
+
+    /**
+     * The journal the games of this server record their moves and events in,
+     * <tt>null</tt> if they don't.
+     */
+    private Journal mJournal;
+
+    /**
+     * Whether this server is accepting connections or not.
+     */
+    private volatile boolean mIsRunning;
+
+    /**
+     * Creates a new {@link Server}, which hosts a single table and serves each
+     * connection with its own Thread.
      * 
      * @param port         The port this server listens on.
      * @param playerAmount The amount of players this server manages
      */
     public Server(final int port, final int playerAmount) {
+	this(port, playerAmount, 0, 1);
+
+    }
+
+    /**
+     * Creates a new {@link Server}.
+     * 
+     * @param port         The port this server listens on.
+     * @param playerAmount The amount of players seated at each table.
+     * @param ioThreads    The amount of event loop Threads serving all the
+     *                     connections, or <tt>0</tt> to serve each connection
+     *                     with its own Thread.
+     * @param maxTables    The maximum amount of tables hosted at the same time.
+     */
+    public Server(final int port, final int playerAmount, final int ioThreads, final int maxTables) {
 	mPort = port;
-	mPlayerAmount = playerAmount;
-	mGameController = new GameController(playerAmount);
-	mNetworkControllers = new LinkedList<>();
-	mSockets = new LinkedList<>();
+	mIoThreads = ioThreads;
+	mGameExecutor = Executors.newFixedThreadPool(
+		Math.min(maxTables, Runtime.getRuntime().availableProcessors()), task -> new Thread(task, "Game"));
+	mTables = new TableRegistry(playerAmount, maxTables, mGameExecutor);
+	mQueueCapacity = StreamTransport.DEFAULT_QUEUE_CAPACITY;
+	mBackpressure = EBackpressure.CLOSE;
+	mStats = new TransportStats();
+	mConnectionThreads = EConnectionThreads.PLATFORM;
+	mJournalDirectory = null;
+	mIsRunning = false;
+
+    }
+
+    /**
+     * Gets the tables hosted by this server.
+     * 
+     * @return The tables mentioned.
+     */
+    public TableRegistry getTables() {
+	return mTables;
 
     }
 
     /**
-     * Initializes this servers socket.
+     * Gets the stats all the connections of this server record their writes in,
+     * e.g. how many write calls it takes to send a message.
+     * 
+     * @return The stats mentioned.
+     */
+    public TransportStats getTransportStats() {
+	return mStats;
+
+    }
+
+    /**
+     * Initializes this servers socket, and either its event loops or the executor
+     * for its connections.
      * 
      * @throws IOException If an I/O exception occurs when trying to open the
      *                     socket.
      */
     public void init() throws IOException {
-	mSocket = new ServerSocket(mPort);
+	// sockets accepted by a channel backed server socket expose their channel,
+	// which is needed to serve them with an event loop.
+	mSocket = ServerSocketChannel.open().socket();
+	mSocket.bind(new InetSocketAddress(mPort), ACCEPT_BACKLOG);
+
+	if (mIoThreads > 0) {
+	    mLoops = new EventLoopGroup(mIoThreads, mStats);
+
+	} else {
+	    // one Thread reads from and one writes to each connection.
+	    mExecutor = mConnectionThreads.newExecutor(2 * mTables.getMaxSeats());
+
+	}
+
+	if (mJournalDirectory != null) {
+	    mJournal = new Journal(mJournalDirectory);
+	    mTables.setJournal(mJournal);
+
+	}
+	mIsRunning = true;
+
+    }
+
+    /**
+     * Sets how many frames can be queued for each connection, and what happens
+     * once a connection falls behind that far. Only affects connections accepted
+     * afterwards. By default {@link StreamTransport#DEFAULT_QUEUE_CAPACITY} frames
+     * can be queued, before the connection gets closed.
+     * 
+     * @param queueCapacity The amount of frames that can be queued.
+     * @param backpressure  What happens when a frame gets sent while the queue is
+     *                      full.
+     */
+    public void setBackpressure(final int queueCapacity, final EBackpressure backpressure) {
+	mQueueCapacity = queueCapacity;
+	mBackpressure = backpressure;
+
+    }
+
+    /**
+     * Sets the kind of Threads serving the connections, if they aren't served by
+     * event loops. Must be called before {@link Server#init()}. By default
+     * {@link EConnectionThreads#PLATFORM} Threads are used.
+     * 
+     * @param connectionThreads The kind of Threads mentioned.
+     */
+    public void setConnectionThreads(final EConnectionThreads connectionThreads) {
+	mConnectionThreads = connectionThreads;
+
     }
 
     /**
-     * Shuts down this server, by stopping all network controllers and closing all
-     * sockets.
+     * Sets the directory of the journal every move accepted and every event sent
+     * by the games of this server gets recorded in, see {@link Journal}. Must be
+     * called before {@link Server#init()}. By default the games don't get
+     * journaled.
+     * 
+     * @param directory The directory mentioned, <tt>null</tt> to not journal the
+     *                  games.
+     */
+    public void setJournal(final Path directory) {
+	mJournalDirectory = directory;
+
+    }
+
+    /**
+     * Shuts down this server, by closing its socket and stopping all network
+     * controllers.
      * 
      * @throws IOException If an I/O exception occurs when trying to close a socket.
      */
     public void shutdown() throws IOException {
-	for (final INetworkController<ES2C, EC2S> controller : mNetworkControllers) {
-	    controller.stop();
+	mIsRunning = false;
+	mSocket.close();
+
+	mTables.shutdown();
+	mGameExecutor.shutdown();
+
+	if (mJournal != null) {
+	    try {
+		// lets the games journal the moves they are still applying.
+		mGameExecutor.awaitTermination(1, TimeUnit.SECONDS);
+
+	    } catch (final InterruptedException e) {
+		Thread.currentThread().interrupt();
+
+	    }
+	    mJournal.close();
+
 	}
 
-	for (final Socket s : mSockets) {
-	    s.close();
+	if (mLoops != null) {
+	    mLoops.shutdown();
+
+	}
+
+	if (mExecutor != null) {
+	    mExecutor.shutdownNow();
+
+	}
+    }
+
+    /**
+     * Creates the network controller for the given socket and starts serving it.
+     * 
+     * @param s        The socket of the player.
+     * @param game     The game the player got seated at.
+     * @param playerId The id of the player at that table.
+     * @return The network controller mentioned.
+     * @throws IOException If an I/O exception occurs when setting up the
+     *                     connection.
+     */
+    private INetworkController<ES2C, EC2S> serve(final Socket s, final IGameControllerReceiver game,
+	    final int playerId) throws IOException {
+	if (mLoops != null) {
+	    final INetworkController<ES2C, EC2S> nc = new ServerNetworkController(game, playerId,
+		    new NioTransport(s.getChannel(), mLoops.next(), mQueueCapacity, mBackpressure), mTables);
+
+	    // only registers the connection with its event loop, doesn't block.
+	    nc.run();
+	    return nc;
+
+	}
+
+	final INetworkController<ES2C, EC2S> nc = new ServerNetworkController(game, playerId,
+		new StreamTransport(s.getInputStream(), s.getOutputStream(), mQueueCapacity, mBackpressure,
+			mStats, mExecutor),
+		mTables);
+
+	try {
+	    mExecutor.execute(() -> {
+		nc.run();
+
+		try {
+		    s.close();
+
+		} catch (IOException e) {
+		    e.printStackTrace();
+
+		}
+	    });
+
+	} catch (RejectedExecutionException e) {
+	    // players of ended games which are still connected occupy Threads as well.
+	    throw new IOException("No Thread left to serve player " + playerId + ".", e);
+
 	}
+	return nc;
+
     }
 
     /**
-     * Waits for {@link Server#mPlayerAmount} players, and then the game gets
-     * started indirectly by the underlying {@link IGameController}. This method
-     * blocks, until all players have connected.
+     * Accepts players until this server gets shut down, seating each of them at a
+     * table of its {@link TableRegistry}. The games get started indirectly by the
+     * underlying {@link IGameController}s, once their tables are full. Players
+     * arriving while the maximum amount of tables is reached get disconnected.
+     * This method blocks, until this server gets shut down.
      * 
-     * @throws IOException If an I/O exception occurs when trying to connect to
+     * @throws IOException If an I/O exception occurs when trying to accept
      *                     sockets.
      */
     public void waitForPlayers() throws IOException {
+	while (mIsRunning) {
+	    final Socket s;
 
-	int playerId = 1;
-	while (mSockets.size() < mPlayerAmount) {
-	    final Socket s = mSocket.accept();
-	    final INetworkController<ES2C, EC2S> nc = new ServerNetworkController(mGameController, playerId,
-		    s.getInputStream(), s.getOutputStream());
+	    try {
+		s = mSocket.accept();
 
-	    mNetworkControllers.add(nc);
-	    mSockets.add(s);
-	    new Thread(nc).start();
+	    } catch (IOException e) {
+		if (mIsRunning) {
+		    throw e;
 
-	    mGameController.register(playerId, nc);
-	    mGameController.sendWelcome(playerId);
+		}
+		break;
 
-	    playerId++;
-	}
+	    }
+
+	    try {
+		if (mTables.seat((game, playerId) -> this.serve(s, game, playerId)) == null) {
+		    s.close();
 
+		}
+
+	    } catch (IOException e) {
+		e.printStackTrace();
+		s.close();
+
+	    }
+	}
     }
 }
@@ -0,0 +1,386 @@
+package de.ativelox.rummyz.server;
+
+import java.io.IOException;
+import java.security.SecureRandom;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Executor;
+
+import de.ativelox.rummyz.model.INetworkController;
+import de.ativelox.rummyz.model.SessionToken;
+import de.ativelox.rummyz.model.util.ImmutablePair;
+import de.ativelox.rummyz.network.protocol.EC2S;
+import de.ativelox.rummyz.network.protocol.ES2C;
+import de.ativelox.rummyz.server.controller.GameActor;
+import de.ativelox.rummyz.server.controller.GameController;
+import de.ativelox.rummyz.server.controller.IGameController;
+import de.ativelox.rummyz.server.controller.IGameEndCallback;
+import de.ativelox.rummyz.server.controller.IGameJournal;
+import de.ativelox.rummyz.server.controller.ISessionRegistry;
+import de.ativelox.rummyz.server.controller.ServerNetworkController;
+import de.ativelox.rummyz.server.journal.Journal;
+
+/**
+ * Keeps track of all the tables hosted by a single {@link Server}. Each table
+ * consists of its own {@link IGameController} and the
+ * {@link INetworkController}s of the players seated at it. New players always
+ * get seated at a table currently being filled, and a new table gets created on
+ * demand once there is none. Tables get removed as soon as their game has ended.
+ * Every seated player gets welcomed with a token, which lets it resume its
+ * session on a new connection until the game has ended. Each game runs as a
+ * {@link GameActor}, so the commands of its players get applied one at a time,
+ * and all the games share the Threads of a single executor. The games may
+ * record their moves and events in a {@link Journal}, each under the id of its
+ * table.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+public final class TableRegistry implements IGameEndCallback, ISessionRegistry {
+
+    /**
+     * A single table, holding a game and the players seated at it.
+     */
+    private static final class Table {
+
+	/**
+	 * The controller managing the game at this table.
+	 */
+	private final IGameController<ES2C, EC2S> mGame;
+
+	/**
+	 * The network controllers of the players seated at this table, indexed by
+	 * their id minus one, <tt>null</tt> for vacant seats.
+	 */
+	private final List<INetworkController<ES2C, EC2S>> mSeats;
+
+	/**
+	 * The session tokens of the players seated at this table, indexed by their id
+	 * minus one, <tt>null</tt> for vacant seats.
+	 */
+	private final SessionToken[] mTokens;
+
+	/**
+	 * The ids of the seats given up by players resuming a session elsewhere.
+	 */
+	private final Deque<Integer> mVacant;
+
+	/**
+	 * Creates a new {@link Table}.
+	 * 
+	 * @param game         The controller managing the game at this table.
+	 * @param playerAmount The amount of players seated at this table.
+	 */
+	public Table(final IGameController<ES2C, EC2S> game, final int playerAmount) {
+	    mGame = game;
+	    mSeats = new ArrayList<>();
+	    mTokens = new SessionToken[playerAmount];
+	    mVacant = new ArrayDeque<>();
+
+	}
+
+	/**
+	 * Whether every seat of this table is taken.
+	 * 
+	 * @return <tt>True</tt> if it is, <tt>false</tt> otherwise.
+	 */
+	public boolean isFull() {
+	    return mSeats.size() >= mTokens.length && mVacant.isEmpty();
+
+	}
+    }
+
+    /**
+     * The amount of players seated at each table.
+     */
+    private final int mPlayerAmount;
+
+    /**
+     * The maximum amount of tables hosted at the same time.
+     */
+    private final int mMaxTables;
+
+    /**
+     * A mapping from each game to the table it is played at.
+     */
+    private final Map<IGameController<?, ?>, Table> mTables;
+
+    /**
+     * The tables new players get seated at, the first one being filled first.
+     */
+    private final Deque<Table> mOpenTables;
+
+    /**
+     * A mapping from each session token to the table and the id of the player it
+     * got issued to.
+     */
+    private final Map<SessionToken, ImmutablePair<Table, Integer>> mSessions;
+
+    /**
+     * The source of the session tokens.
+     */
+    private final Random mRandom;
+
+    /**
+     * The executor running the games of all the tables.
+     */
+    private final Executor mGameExecutor;
+
+    /**
+     * The journal the games of new tables record their moves and events in,
+     * <tt>null</tt> if they don't.
+     */
+    private Journal mJournal;
+
+    /**
+     * The id of the table created last, the ids starting at <tt>1</tt>.
+     */
+    private int mTableId;
+
+    /**
+     * Creates a new {@link TableRegistry}, whose games get run by the Threads of
+     * their players, still only one of them at a time.
+     * 
+     * @param playerAmount The amount of players seated at each table.
+     * @param maxTables    The maximum amount of tables hosted at the same time.
+     */
+    public TableRegistry(final int playerAmount, final int maxTables) {
+	this(playerAmount, maxTables, Runnable::run);
+
+    }
+
+    /**
+     * Creates a new {@link TableRegistry}.
+     * 
+     * @param playerAmount The amount of players seated at each table.
+     * @param maxTables    The maximum amount of tables hosted at the same time.
+     * @param gameExecutor The executor running the games of all the tables.
+     */
+    public TableRegistry(final int playerAmount, final int maxTables, final Executor gameExecutor) {
+	mPlayerAmount = playerAmount;
+	mMaxTables = maxTables;
+	mTables = new LinkedHashMap<>();
+	mOpenTables = new ArrayDeque<>();
+	mSessions = new HashMap<>();
+	mRandom = new SecureRandom();
+	mGameExecutor = gameExecutor;
+	mJournal = null;
+	mTableId = 0;
+
+    }
+
+    /**
+     * Gets the maximum amount of players seated at all tables at the same time.
+     * 
+     * @return The amount mentioned.
+     */
+    public int getMaxSeats() {
+	return mPlayerAmount * mMaxTables;
+
+    }
+
+    /**
+     * Gets the amount of tables currently hosted, including the one being filled.
+     * 
+     * @return The amount mentioned.
+     */
+    public synchronized int getTableAmount() {
+	return mTables.size();
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * de.ativelox.rummyz.server.controller.IGameEndCallback#onGameEnd(de.ativelox.
+     * rummyz.server.controller.IGameController)
+     */
+    @Override
+    public synchronized void onGameEnd(final IGameController<?, ?> game) {
+	// the connections stay open, so the last messages of the game still reach the
+	// players, they get closed by the players leaving.
+	final Table table = mTables.remove(game);
+
+	if (table != null) {
+	    mOpenTables.remove(table);
+
+	    for (final SessionToken token : table.mTokens) {
+		mSessions.remove(token);
+
+	    }
+	}
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * de.ativelox.rummyz.server.controller.ISessionRegistry#resume(de.ativelox.
+     * rummyz.model.SessionToken, int,
+     * de.ativelox.rummyz.server.controller.ServerNetworkController)
+     */
+    @Override
+    public synchronized boolean resume(final SessionToken token, final int lastSeq,
+	    final ServerNetworkController networkController) {
+	// give up the seat the new connection got, so another player can take it. The
+	// connection gets closed if resuming fails.
+	this.vacate(networkController);
+
+	final ImmutablePair<Table, Integer> session = mSessions.get(token);
+
+	if (session == null) {
+	    return false;
+
+	}
+	final Table table = session.getKey();
+	final int playerId = session.getValue();
+
+	if (!mTables.containsKey(table.mGame) || !table.mGame.canResume(playerId, lastSeq)) {
+	    return false;
+
+	}
+	final INetworkController<ES2C, EC2S> dropped = table.mSeats.set(playerId - 1, networkController);
+
+	if (dropped != null) {
+	    dropped.stop();
+
+	}
+	networkController.rebind(table.mGame, playerId);
+	table.mGame.resume(playerId, lastSeq, networkController);
+
+	return true;
+
+    }
+
+    /**
+     * Seats a new player at a table currently being filled, creating a new one if
+     * needed. The network controller for the player gets created by the given
+     * <tt>factory</tt>, registered with the game of the table and welcomed along
+     * with a new session token.
+     * 
+     * @param factory The factory creating the network controller of the player.
+     * @return The network controller of the seated player, or <tt>null</tt> if
+     *         the maximum amount of tables is reached and the player could not be
+     *         seated.
+     * @throws IOException If an I/O exception occurs when creating the network
+     *                     controller.
+     */
+    public synchronized INetworkController<ES2C, EC2S> seat(final INetworkControllerFactory factory)
+	    throws IOException {
+	if (mOpenTables.isEmpty()) {
+	    if (mTables.size() >= mMaxTables) {
+		return null;
+
+	    }
+	    mTableId++;
+
+	    final IGameJournal journal = mJournal == null ? null : mJournal.forTable(mTableId);
+	    final IGameController<ES2C, EC2S> game = new GameActor<>(
+		    endCallback -> new GameController(mPlayerAmount, endCallback, new Random(), journal), this,
+		    mGameExecutor);
+	    final Table table = new Table(game, mPlayerAmount);
+
+	    mTables.put(game, table);
+	    mOpenTables.add(table);
+
+	}
+	final Table table = mOpenTables.peekFirst();
+	final boolean vacant = !table.mVacant.isEmpty();
+	final int playerId = vacant ? table.mVacant.peek() : table.mSeats.size() + 1;
+
+	final INetworkController<ES2C, EC2S> nc = factory.create(table.mGame, playerId);
+
+	if (vacant) {
+	    table.mVacant.poll();
+	    table.mSeats.set(playerId - 1, nc);
+
+	} else {
+	    table.mSeats.add(nc);
+
+	}
+
+	if (table.isFull()) {
+	    mOpenTables.pollFirst();
+
+	}
+
+	SessionToken token;
+
+	do {
+	    token = SessionToken.generate(mRandom);
+
+	} while (mSessions.containsKey(token));
+
+	table.mTokens[playerId - 1] = token;
+	mSessions.put(token, new ImmutablePair<>(table, playerId));
+
+	table.mGame.register(playerId, nc);
+	table.mGame.sendWelcome(playerId, token);
+
+	return nc;
+
+    }
+
+    /**
+     * Sets the journal the games of the tables created afterwards record their
+     * moves and events in, each under the id of its table.
+     * 
+     * @param journal The journal mentioned, <tt>null</tt> to stop recording.
+     */
+    public synchronized void setJournal(final Journal journal) {
+	mJournal = journal;
+
+    }
+
+    /**
+     * Gives up the seat the given network controller got seated at, so another
+     * player can take it.
+     * 
+     * @param networkController The network controller mentioned.
+     */
+    private void vacate(final ServerNetworkController networkController) {
+	final Table seated = mTables.get(networkController.getGame());
+
+	if (seated == null) {
+	    return;
+
+	}
+	final int seatedId = networkController.getPlayerId();
+
+	seated.mSeats.set(seatedId - 1, null);
+	seated.mVacant.add(seatedId);
+	mSessions.remove(seated.mTokens[seatedId - 1]);
+	seated.mTokens[seatedId - 1] = null;
+
+	if (!mOpenTables.contains(seated)) {
+	    mOpenTables.addFirst(seated);
+
+	}
+    }
+
+    /**
+     * Stops the network controllers of all the players at every table, and
+     * removes all the tables.
+     */
+    public synchronized void shutdown() {
+	for (final Table table : mTables.values()) {
+	    for (final INetworkController<ES2C, EC2S> nc : table.mSeats) {
+		if (nc != null) {
+		    nc.stop();
+
+		}
+	    }
+	}
+	mTables.clear();
+	mOpenTables.clear();
+	mSessions.clear();
+
+    }
+}
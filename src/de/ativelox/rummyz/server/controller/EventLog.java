@@ -0,0 +1,203 @@
+package de.ativelox.rummyz.server.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import de.ativelox.rummyz.model.util.ImmutablePair;
+import de.ativelox.rummyz.network.protocol.ES2C;
+
+/**
+ * Provides a bounded log of the events sent to the players of a single game,
+ * so a player reconnecting after its connection dropped can be sent exactly
+ * the events it missed. The events sent to a player are numbered in the order
+ * they got sent, starting at <tt>1</tt>, so the sequence number of the last
+ * event a player received equals the amount of events it received. Once the
+ * log is full, the oldest event gets evicted, and players that missed it can
+ * no longer be caught up.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+public final class EventLog {
+
+    /**
+     * The protocol of each event.
+     */
+    private final ES2C[] mProtocols;
+
+    /**
+     * The additional arguments of each event.
+     */
+    private final String[][] mArgs;
+
+    /**
+     * The players each event got sent to, the bit <tt>1 &lt;&lt; playerId</tt>
+     * being set for each of them.
+     */
+    private final int[] mRecipients;
+
+    /**
+     * The amount of events sent to each player, indexed by its id.
+     */
+    private final int[] mSent;
+
+    /**
+     * The amount of events sent to each player that got evicted, indexed by its
+     * id.
+     */
+    private final int[] mEvicted;
+
+    /**
+     * The index of the oldest event.
+     */
+    private int mHead;
+
+    /**
+     * The amount of events in this log.
+     */
+    private int mSize;
+
+    /**
+     * Creates a new {@link EventLog}.
+     * 
+     * @param playerAmount The amount of players of the game, whose ids range from
+     *                     <tt>1</tt> up to this amount.
+     * @param capacity     The maximum amount of events kept.
+     */
+    public EventLog(final int playerAmount, final int capacity) {
+	if (playerAmount >= Integer.SIZE) {
+	    throw new IllegalArgumentException("An event log supports up to " + (Integer.SIZE - 1)
+		    + " players, got " + playerAmount);
+
+	}
+	mProtocols = new ES2C[capacity];
+	mArgs = new String[capacity][];
+	mRecipients = new int[capacity];
+	mSent = new int[playerAmount + 1];
+	mEvicted = new int[playerAmount + 1];
+	mHead = 0;
+	mSize = 0;
+
+    }
+
+    /**
+     * Appends an event sent to the given players, evicting the oldest one if this
+     * log is full.
+     * 
+     * @param protocol   The protocol of the event.
+     * @param args       The additional arguments of the event.
+     * @param recipients The players the event got sent to, the bit
+     *                   <tt>1 &lt;&lt; playerId</tt> being set for each of them.
+     */
+    public void append(final ES2C protocol, final String[] args, final int recipients) {
+	if (mProtocols.length == 0) {
+	    this.count(recipients, mEvicted);
+	    this.count(recipients, mSent);
+	    return;
+
+	}
+
+	if (mSize == mProtocols.length) {
+	    this.count(mRecipients[mHead], mEvicted);
+	    mHead = (mHead + 1) % mProtocols.length;
+	    mSize--;
+
+	}
+	final int index = (mHead + mSize) % mProtocols.length;
+
+	mProtocols[index] = protocol;
+	mArgs[index] = args;
+	mRecipients[index] = recipients;
+	mSize++;
+
+	this.count(recipients, mSent);
+
+    }
+
+    /**
+     * Whether the player with <tt>playerId</tt> can be caught up, having received
+     * the events up to <tt>lastSeq</tt>.
+     * 
+     * @param playerId The id of the player.
+     * @param lastSeq  The sequence number of the last event the player received.
+     * @return <tt>True</tt> if none of the events the player missed got evicted,
+     *         <tt>false</tt> otherwise.
+     */
+    public boolean canReplay(final int playerId, final int lastSeq) {
+	return playerId > 0 && playerId < mSent.length && lastSeq >= mEvicted[playerId]
+		&& lastSeq <= mSent[playerId];
+
+    }
+
+    /**
+     * Gets the amount of events sent to the player with <tt>playerId</tt>, which
+     * is the sequence number of the last one.
+     * 
+     * @param playerId The id of the player.
+     * @return The amount mentioned.
+     */
+    public int getSent(final int playerId) {
+	return mSent[playerId];
+
+    }
+
+    /**
+     * Gets the events sent to the player with <tt>playerId</tt> after the one
+     * with <tt>lastSeq</tt>, in the order they got sent.
+     * 
+     * @param playerId The id of the player.
+     * @param lastSeq  The sequence number of the last event the player received.
+     * @return The events mentioned, each being a pair of its protocol and its
+     *         additional arguments.
+     * @throws IllegalArgumentException If the player cannot be caught up, as told
+     *                                  by {@link EventLog#canReplay(int, int)}.
+     */
+    public List<ImmutablePair<ES2C, String[]>> since(final int playerId, final int lastSeq) {
+	if (!this.canReplay(playerId, lastSeq)) {
+	    throw new IllegalArgumentException(
+		    "The events of player " + playerId + " after " + lastSeq + " are not logged anymore.");
+
+	}
+	final List<ImmutablePair<ES2C, String[]>> toReturn = new ArrayList<>();
+	final int bit = 1 << playerId;
+
+	// the first events of the player in this log are the ones it already received.
+	int skip = lastSeq - mEvicted[playerId];
+
+	for (int i = 0; i < mSize; i++) {
+	    final int index = (mHead + i) % mProtocols.length;
+
+	    if ((mRecipients[index] & bit) == 0) {
+		continue;
+
+	    }
+
+	    if (skip > 0) {
+		skip--;
+
+	    } else {
+		toReturn.add(new ImmutablePair<>(mProtocols[index], mArgs[index]));
+
+	    }
+	}
+	return toReturn;
+
+    }
+
+    /**
+     * Increments the count of each player set in <tt>recipients</tt>.
+     * 
+     * @param recipients The players mentioned, the bit <tt>1 &lt;&lt; playerId</tt>
+     *                   being set for each of them.
+     * @param counts     The counts to increment, indexed by the ids of the
+     *                   players.
+     */
+    private void count(final int recipients, final int[] counts) {
+	for (int i = 1; i < counts.length; i++) {
+	    if ((recipients & (1 << i)) != 0) {
+		counts[i]++;
+
+	    }
+	}
+    }
+}
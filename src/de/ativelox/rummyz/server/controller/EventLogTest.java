@@ -0,0 +1,68 @@
+package de.ativelox.rummyz.server.controller;
+
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.ativelox.rummyz.model.util.ImmutablePair;
+import de.ativelox.rummyz.network.protocol.ES2C;
+
+/**
+ * Provides JUnit test cases for {@link EventLog}.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+public final class EventLogTest {
+
+    /**
+     * Tests that a player only gets replayed the events sent to it after the last
+     * one it received, in order.
+     */
+    @Test
+    public void testSince() {
+	final EventLog log = new EventLog(2, 8);
+
+	log.append(ES2C.SEND_CARDS, new String[] { "1" }, 1 << 1);
+	log.append(ES2C.SEND_CARDS, new String[] { "2" }, 1 << 2);
+	log.append(ES2C.GRAVEYARD_UPDATE, new String[] { "3" }, (1 << 1) | (1 << 2));
+	log.append(ES2C.TURN_START, null, 1 << 1);
+
+	Assert.assertEquals(3, log.getSent(1));
+	Assert.assertEquals(2, log.getSent(2));
+
+	final List<ImmutablePair<ES2C, String[]>> missed = log.since(1, 1);
+	Assert.assertEquals(2, missed.size());
+	Assert.assertEquals(ES2C.GRAVEYARD_UPDATE, missed.get(0).getKey());
+	Assert.assertEquals(ES2C.TURN_START, missed.get(1).getKey());
+
+	Assert.assertTrue(log.since(2, 2).isEmpty());
+	Assert.assertFalse(log.canReplay(2, 3));
+
+    }
+
+    /**
+     * Tests that players can no longer be caught up once an event they missed got
+     * evicted, while the ones having received it still can.
+     */
+    @Test
+    public void testEviction() {
+	final EventLog log = new EventLog(2, 2);
+
+	log.append(ES2C.BLOCK, null, 1 << 2);
+	log.append(ES2C.SEND_CARDS, new String[] { "1" }, 1 << 1);
+	log.append(ES2C.TURN_START, null, 1 << 1);
+
+	Assert.assertFalse(log.canReplay(2, 0));
+	Assert.assertTrue(log.canReplay(2, 1));
+	Assert.assertTrue(log.since(2, 1).isEmpty());
+
+	log.append(ES2C.BLOCK, null, 1 << 2);
+
+	Assert.assertFalse(log.canReplay(1, 0));
+	Assert.assertTrue(log.canReplay(1, 1));
+	Assert.assertEquals(ES2C.TURN_START, log.since(1, 1).get(0).getKey());
+
+    }
+}
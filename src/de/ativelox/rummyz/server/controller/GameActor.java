@@ -0,0 +1,416 @@
+package de.ativelox.rummyz.server.controller;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import de.ativelox.rummyz.model.ICard;
+import de.ativelox.rummyz.model.INetworkController;
+import de.ativelox.rummyz.model.SessionToken;
+
+/**
+ * Provides an {@link IGameController} which runs another one as an actor. Every
+ * call gets posted to the mailbox of this instance and returns immediately, the
+ * calls then get applied to the wrapped controller in the order they got posted,
+ * one at a time, by a task running on the given {@link Executor}. The wrapped
+ * controller therefore never gets called concurrently and doesn't need to be
+ * thread safe, even though the network controllers of all its players call this
+ * instance from their own Threads.
+ * <p>
+ * Many actors can share a small pool of Threads. Each actor only occupies a
+ * single Thread of the pool while it has calls in its mailbox, and gives it up
+ * after {@link GameActor#MAX_BATCH} calls, so a busy game can't starve the
+ * others.
+ * 
+ * @param <POut> The protocol sent by the wrapped controller.
+ * @param <PIn>  The protocol received by the wrapped controller.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+public final class GameActor<POut, PIn> implements IGameController<POut, PIn> {
+
+    /**
+     * The maximum amount of calls applied in a row, before the Thread is given
+     * up for the other actors sharing the executor.
+     */
+    public static final int MAX_BATCH = 16;
+
+    /**
+     * The controller the calls get applied to.
+     */
+    private final IGameController<POut, PIn> mGame;
+
+    /**
+     * The executor running the task applying the calls.
+     */
+    private final Executor mExecutor;
+
+    /**
+     * The calls not applied yet, in the order they got posted.
+     */
+    private final Queue<Runnable> mMailbox;
+
+    /**
+     * Whether a task applying the calls is scheduled or running.
+     */
+    private final AtomicBoolean mScheduled;
+
+    /**
+     * Creates a new {@link GameActor}.
+     * 
+     * @param game     The controller the calls get applied to.
+     * @param executor The executor running the task applying the calls.
+     */
+    public GameActor(final IGameController<POut, PIn> game, final Executor executor) {
+	mGame = game;
+	mExecutor = executor;
+	mMailbox = new ConcurrentLinkedQueue<>();
+	mScheduled = new AtomicBoolean(false);
+
+    }
+
+    /**
+     * Creates a new {@link GameActor}, whose wrapped controller reports the end of
+     * its game as the end of the game of this instance.
+     * 
+     * @param factory     The factory creating the controller the calls get applied
+     *                    to, given the callback it has to notify once the game has
+     *                    ended.
+     * @param endCallback The callback to notify once the game has ended, which
+     *                    gets passed this instance.
+     * @param executor    The executor running the task applying the calls.
+     */
+    public GameActor(final Function<IGameEndCallback, IGameController<POut, PIn>> factory,
+	    final IGameEndCallback endCallback, final Executor executor) {
+	mExecutor = executor;
+	mMailbox = new ConcurrentLinkedQueue<>();
+	mScheduled = new AtomicBoolean(false);
+	mGame = factory.apply(game -> endCallback.onGameEnd(this));
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * de.ativelox.rummyz.server.controller.IGameControllerSender#canResume(int,
+     * int)
+     */
+    @Override
+    public boolean canResume(final int playerId, final int lastSeq) {
+	// answered on the calling Thread, so the wrapped controller must not read the
+	// state of its game to answer it.
+	return mGame.canResume(playerId, lastSeq);
+
+    }
+
+    /**
+     * Applies the calls in the mailbox, up to {@link GameActor#MAX_BATCH} of them,
+     * and schedules itself again if there are calls left.
+     */
+    private void drain() {
+	for (int i = 0; i < MAX_BATCH; i++) {
+	    final Runnable call = mMailbox.poll();
+
+	    if (call == null) {
+		break;
+
+	    }
+
+	    try {
+		call.run();
+
+	    } catch (RuntimeException e) {
+		// a malformed command must only cost itself, not the whole game.
+		e.printStackTrace();
+
+	    }
+	}
+	mScheduled.set(false);
+
+	// a call posted while the flag was still set hasn't scheduled a task.
+	if (!mMailbox.isEmpty()) {
+	    this.schedule();
+
+	}
+    }
+
+    /**
+     * Gets the controller the calls get applied to.
+     * 
+     * @return The controller mentioned.
+     */
+    public IGameController<POut, PIn> getGame() {
+	return mGame;
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * de.ativelox.rummyz.server.controller.IGameControllerReceiver#onCardAppend(
+     * int, de.ativelox.rummyz.model.ICard, int, int)
+     */
+    @Override
+    public void onCardAppend(final int playerId, final ICard card, final int superIndex, final int insertIndex) {
+	this.post(() -> mGame.onCardAppend(playerId, card, superIndex, insertIndex));
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * de.ativelox.rummyz.server.controller.IGameControllerReceiver#onCardDiscard(
+     * int, de.ativelox.rummyz.model.ICard)
+     */
+    @Override
+    public void onCardDiscard(final int playerId, final ICard card) {
+	this.post(() -> mGame.onCardDiscard(playerId, card));
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see de.ativelox.rummyz.server.controller.IGameControllerReceiver#
+     * onCardDrawRequest(int)
+     */
+    @Override
+    public void onCardDrawRequest(final int playerId) {
+	this.post(() -> mGame.onCardDrawRequest(playerId));
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * de.ativelox.rummyz.server.controller.IGameControllerReceiver#onCardsPlayed(
+     * java.util.List, int)
+     */
+    @Override
+    public void onCardsPlayed(final List<List<ICard>> cards, final int playerId) {
+	this.post(() -> mGame.onCardsPlayed(cards, playerId));
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see de.ativelox.rummyz.server.controller.IGameControllerReceiver#
+     * onGraveyardPickup(int)
+     */
+    @Override
+    public void onGraveyardPickup(final int playerId) {
+	this.post(() -> mGame.onGraveyardPickup(playerId));
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * de.ativelox.rummyz.server.controller.IGameControllerReceiver#onReady(int)
+     */
+    @Override
+    public void onReady(final int playerId) {
+	this.post(() -> mGame.onReady(playerId));
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see de.ativelox.rummyz.server.controller.IGameControllerReceiver#
+     * onSnapshotRequest(int, int)
+     */
+    @Override
+    public void onSnapshotRequest(final int playerId, final int knownVersion) {
+	this.post(() -> mGame.onSnapshotRequest(playerId, knownVersion));
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * de.ativelox.rummyz.server.controller.IGameControllerReceiver#onTurnEnd(int)
+     */
+    @Override
+    public void onTurnEnd(final int playerId) {
+	this.post(() -> mGame.onTurnEnd(playerId));
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * de.ativelox.rummyz.server.controller.IGameControllerReceiver#onVictory(int)
+     */
+    @Override
+    public void onVictory(final int playerId) {
+	this.post(() -> mGame.onVictory(playerId));
+
+    }
+
+    /**
+     * Posts the given call to the mailbox of this instance.
+     * 
+     * @param call The call to apply to the wrapped controller.
+     */
+    private void post(final Runnable call) {
+	mMailbox.offer(call);
+	this.schedule();
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see de.ativelox.rummyz.server.controller.IGameControllerSender#register(int,
+     * de.ativelox.rummyz.model.INetworkController)
+     */
+    @Override
+    public void register(final int playerId, final INetworkController<POut, PIn> networkController) {
+	this.post(() -> mGame.register(playerId, networkController));
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see de.ativelox.rummyz.server.controller.IGameControllerSender#resume(int,
+     * int, de.ativelox.rummyz.model.INetworkController)
+     */
+    @Override
+    public void resume(final int playerId, final int lastSeq, final INetworkController<POut, PIn> networkController) {
+	this.post(() -> mGame.resume(playerId, lastSeq, networkController));
+
+    }
+
+    /**
+     * Schedules a task applying the calls, unless one is scheduled already.
+     */
+    private void schedule() {
+	if (!mScheduled.compareAndSet(false, true)) {
+	    return;
+
+	}
+
+	try {
+	    mExecutor.execute(this::drain);
+
+	} catch (RejectedExecutionException e) {
+	    // the server is shutting down, the calls left won't be applied anymore.
+	    mMailbox.clear();
+	    mScheduled.set(false);
+
+	}
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * de.ativelox.rummyz.server.controller.IGameControllerSender#sendBlock(int)
+     */
+    @Override
+    public void sendBlock(final int playerId) {
+	this.post(() -> mGame.sendBlock(playerId));
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * de.ativelox.rummyz.server.controller.IGameControllerSender#sendCards(int,
+     * java.util.List)
+     */
+    @Override
+    public void sendCards(final int playerId, final List<ICard> toSend) {
+	this.post(() -> mGame.sendCards(playerId, toSend));
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see de.ativelox.rummyz.server.controller.IGameControllerSender#
+     * sendCardsPlayedUpdate(int, java.util.List, java.lang.String[])
+     */
+    @Override
+    public void sendCardsPlayedUpdate(final int playerId, final List<List<ICard>> cards, final String[] ids) {
+	this.post(() -> mGame.sendCardsPlayedUpdate(playerId, cards, ids));
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * de.ativelox.rummyz.server.controller.IGameControllerSender#sendDefeat(int)
+     */
+    @Override
+    public void sendDefeat(final int playerId) {
+	this.post(() -> mGame.sendDefeat(playerId));
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see de.ativelox.rummyz.server.controller.IGameControllerSender#
+     * sendStateSnapshot(int, int)
+     */
+    @Override
+    public void sendStateSnapshot(final int playerId, final int knownVersion) {
+	this.post(() -> mGame.sendStateSnapshot(playerId, knownVersion));
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * de.ativelox.rummyz.server.controller.IGameControllerSender#sendTurnStart(int)
+     */
+    @Override
+    public void sendTurnStart(final int playerId) {
+	this.post(() -> mGame.sendTurnStart(playerId));
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * de.ativelox.rummyz.server.controller.IGameControllerSender#sendVictory(int)
+     */
+    @Override
+    public void sendVictory(final int playerId) {
+	this.post(() -> mGame.sendVictory(playerId));
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * de.ativelox.rummyz.server.controller.IGameControllerSender#sendWelcome(int,
+     * de.ativelox.rummyz.model.SessionToken)
+     */
+    @Override
+    public void sendWelcome(final int playerId, final SessionToken token) {
+	this.post(() -> mGame.sendWelcome(playerId, token));
+
+    }
+}
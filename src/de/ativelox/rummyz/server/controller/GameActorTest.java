@@ -0,0 +1,163 @@
+package de.ativelox.rummyz.server.controller;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.ativelox.rummyz.network.protocol.EC2S;
+import de.ativelox.rummyz.network.protocol.ES2C;
+
+/**
+ * Provides JUnit test cases for {@link GameActor}.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+public final class GameActorTest {
+
+    /**
+     * The amount of Threads posting calls at the same time.
+     */
+    private static final int POSTERS = 4;
+
+    /**
+     * The amount of calls each Thread posts.
+     */
+    private static final int CALLS = 2_000;
+
+    /**
+     * Creates a controller which records the ids passed to
+     * {@link IGameControllerReceiver#onReady(int)}, counts down the given latch on
+     * {@link IGameControllerReceiver#onVictory(int)} and sets the given flag if
+     * two calls ever overlap.
+     * 
+     * @param calls      The list the ids get recorded in.
+     * @param done       The latch counted down on a victory.
+     * @param concurrent The flag set once two calls overlap.
+     * @return The controller mentioned.
+     */
+    @SuppressWarnings("unchecked")
+    private static IGameController<ES2C, EC2S> recording(final List<Integer> calls, final CountDownLatch done,
+	    final AtomicBoolean concurrent) {
+	final AtomicBoolean entered = new AtomicBoolean(false);
+
+	return (IGameController<ES2C, EC2S>) Proxy.newProxyInstance(GameActorTest.class.getClassLoader(),
+		new Class<?>[] { IGameController.class }, (proxy, method, args) -> {
+		    if (!entered.compareAndSet(false, true)) {
+			concurrent.set(true);
+
+		    }
+
+		    if (method.getName().equals("onReady")) {
+			calls.add((Integer) args[0]);
+
+		    } else if (method.getName().equals("onVictory")) {
+			done.countDown();
+
+		    }
+		    entered.set(false);
+
+		    return method.getReturnType() == boolean.class ? Boolean.TRUE : null;
+		});
+    }
+
+    /**
+     * Test method for
+     * {@link de.ativelox.rummyz.server.controller.GameActor#onReady(int)}, posting
+     * calls from several Threads while several workers apply them.
+     * 
+     * @throws InterruptedException If interrupted while waiting for the calls.
+     */
+    @Test
+    public void testCallsAppliedOneAtATimeInOrder() throws InterruptedException {
+	final List<Integer> calls = new ArrayList<>();
+	final CountDownLatch done = new CountDownLatch(1);
+	final AtomicBoolean concurrent = new AtomicBoolean(false);
+	final ExecutorService workers = Executors.newFixedThreadPool(2);
+
+	try {
+	    final GameActor<ES2C, EC2S> actor = new GameActor<>(recording(calls, done, concurrent), workers);
+	    final List<Thread> posters = new ArrayList<>();
+
+	    for (int i = 0; i < POSTERS; i++) {
+		final int poster = i;
+
+		posters.add(new Thread(() -> {
+		    for (int j = 0; j < CALLS; j++) {
+			actor.onReady(poster * CALLS + j);
+
+		    }
+		}));
+	    }
+	    posters.forEach(Thread::start);
+
+	    for (final Thread poster : posters) {
+		poster.join();
+
+	    }
+
+	    // applied after every call posted before it.
+	    actor.onVictory(0);
+	    Assert.assertTrue(done.await(10, TimeUnit.SECONDS));
+
+	} finally {
+	    workers.shutdown();
+
+	}
+
+	Assert.assertFalse(concurrent.get());
+	Assert.assertEquals(POSTERS * CALLS, calls.size());
+
+	final int[] last = new int[POSTERS];
+
+	for (int i = 0; i < POSTERS; i++) {
+	    last[i] = i * CALLS - 1;
+
+	}
+
+	// the calls of each poster got applied in the order they got posted.
+	for (final int call : calls) {
+	    final int poster = call / CALLS;
+
+	    Assert.assertEquals(last[poster] + 1, call);
+	    last[poster] = call;
+
+	}
+    }
+
+    /**
+     * Test method for
+     * {@link de.ativelox.rummyz.server.controller.GameActor#GameActor(java.util.function.Function, IGameEndCallback, java.util.concurrent.Executor)}.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGameEndReportsActor() {
+	final AtomicReference<IGameController<?, ?>> ended = new AtomicReference<>();
+	final GameActor<ES2C, EC2S> actor = new GameActor<>(
+		endCallback -> (IGameController<ES2C, EC2S>) Proxy.newProxyInstance(
+			GameActorTest.class.getClassLoader(), new Class<?>[] { IGameController.class },
+			(proxy, method, args) -> {
+			    if (method.getName().equals("onVictory")) {
+				endCallback.onGameEnd((IGameController<?, ?>) proxy);
+
+			    }
+			    return null;
+			}),
+		ended::set, Runnable::run);
+
+	actor.onVictory(1);
+
+	Assert.assertSame(actor, ended.get());
+
+    }
+
+}
@@ -5,13 +5,21 @@ import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 import java.util.Stack;
 
+import de.ativelox.rummyz.client.controller.PackedGameRule;
+import de.ativelox.rummyz.model.CardSet;
 import de.ativelox.rummyz.model.Deck;
 import de.ativelox.rummyz.model.ICard;
 import de.ativelox.rummyz.model.INetworkController;
+import de.ativelox.rummyz.model.SessionToken;
+import de.ativelox.rummyz.model.TableSnapshot;
+import de.ativelox.rummyz.model.util.ImmutablePair;
 import de.ativelox.rummyz.model.util.NetworkUtils;
+import de.ativelox.rummyz.network.codec.SharedFrame;
 import de.ativelox.rummyz.network.protocol.EC2S;
+import de.ativelox.rummyz.network.protocol.ERejection;
 import de.ativelox.rummyz.network.protocol.ES2C;
 
 /**
@@ -19,18 +27,29 @@ import de.ativelox.rummyz.network.protocol.ES2C;
  * implementation doesn't care about <i>packet loss</i>, resulting in a
  * completely out of synch experience on the server and client sides if
  * happening, also doesn't care about encryption, so all network traffic is
- * <b>plain text</b> and doesn't care about checking if clients are doing
- * inappropriate stuff, e.g. a client could easily send {@link EC2S#VICTORY} and
- * would instantly win, without checking if it was actually <i>valid</i>. On the
- * other hand this provides an easy to understand and simple
+ * <b>plain text</b>. Every move of a player gets checked against the cards it
+ * holds and the rules of the game, using {@link PackedGameRule}, and rejected
+ * with an {@link ES2C#MOVE_REJECTED} naming the {@link ERejection} if it isn't
+ * <i>valid</i>, leaving the game untouched. On the other hand this provides an easy to understand and simple
  * {@link IGameController}, which could easily be extended to adhere to such
- * standards.
+ * standards. Every event sent to the players gets logged in an {@link EventLog},
+ * so a player whose connection dropped can resume its session and only gets
+ * sent the events it missed. Every move accepted and every event sent can
+ * further be recorded in an {@link IGameJournal}, to keep a durable record of
+ * the game. This implementation isn't thread safe, every call
+ * has to be made by the same Thread, e.g. by wrapping it in a {@link GameActor}.
  * 
  * @author Ativelox {@literal <ativelox.dev@web.de>}
  *
  */
 public final class GameController implements IGameController<ES2C, EC2S> {
 
+    /**
+     * The maximum amount of events kept to catch up players resuming their
+     * session.
+     */
+    private static final int EVENT_LOG_CAPACITY = 1024;
+
     /**
      * Provides a mapping from each player id to its associated
      * {@link INetworkController}.
@@ -55,11 +74,37 @@ public final class GameController implements IGameController<ES2C, EC2S> {
      */
     private final int mPlayerAmount;
 
+    /**
+     * The callback to notify once the game has ended, might be <tt>null</tt>.
+     */
+    private final IGameEndCallback mEndCallback;
+
+    /**
+     * The journal recording the moves accepted and the events sent, might be
+     * <tt>null</tt>.
+     */
+    private final IGameJournal mJournal;
+
     /**
      * The amount of players ready to play.
      */
     private int mReadyPlayers;
 
+    /**
+     * Whether each player is ready to play, indexed by its id.
+     */
+    private final boolean[] mReady;
+
+    /**
+     * Whether the player on its turn picked up a card from the grave yard in it.
+     */
+    private boolean mPickedUp;
+
+    /**
+     * Whether the player on its turn discarded a card in it.
+     */
+    private boolean mDiscarded;
+
     /**
      * Whether the game is running or not.
      */
@@ -81,35 +126,287 @@ public final class GameController implements IGameController<ES2C, EC2S> {
      */
     private int mCurrentPlayedCardsID;
 
+    /**
+     * The events sent to the players, to catch up players resuming their session.
+     */
+    private final EventLog mEvents;
+
+    /**
+     * The cards each player holds, indexed by its id.
+     */
+    private final CardSet[] mHands;
+
+    /**
+     * Whether each player has done its initial play, indexed by its id.
+     */
+    private final boolean[] mDidInitial;
+
+    /**
+     * The IDs of the cards of the move being checked, reused for every move.
+     */
+    private int[] mMoveIds;
+
+    /**
+     * The cards used by the move being checked, reused for every move.
+     */
+    private final CardSet mMove;
+
+    /**
+     * The last snapshot sent to each player, to only send a diff against it next
+     * time.
+     */
+    private final Map<Integer, TableSnapshot> mSnapshots;
+
+    /**
+     * The version of the state of this game, which grows with every event sent.
+     */
+    private int mVersion;
+
     /**
      * Creates a new {@link GameController}.
      * 
      * @param playerAmount The amount of players this instance manages.
      */
     public GameController(final int playerAmount) {
+	this(playerAmount, null);
+
+    }
+
+    /**
+     * Creates a new {@link GameController}.
+     * 
+     * @param playerAmount The amount of players this instance manages.
+     * @param endCallback  The callback to notify once the game has ended, might be
+     *                     <tt>null</tt>.
+     */
+    public GameController(final int playerAmount, final IGameEndCallback endCallback) {
+	this(playerAmount, endCallback, new Random());
+
+    }
+
+    /**
+     * Creates a new {@link GameController}, whose deck gets shuffled using the
+     * given source of randomness, so a seeded one plays the same game every time
+     * its players make the same moves.
+     * 
+     * @param playerAmount The amount of players this instance manages.
+     * @param endCallback  The callback to notify once the game has ended, might be
+     *                     <tt>null</tt>.
+     * @param random       The source of randomness used to shuffle the deck.
+     */
+    public GameController(final int playerAmount, final IGameEndCallback endCallback, final Random random) {
+	this(playerAmount, endCallback, random, null);
+
+    }
+
+    /**
+     * Creates a new {@link GameController}, which records every move it accepts
+     * and every event it sends in the given journal.
+     * 
+     * @param playerAmount The amount of players this instance manages.
+     * @param endCallback  The callback to notify once the game has ended, might be
+     *                     <tt>null</tt>.
+     * @param random       The source of randomness used to shuffle the deck.
+     * @param journal      The journal mentioned, might be <tt>null</tt>.
+     */
+    public GameController(final int playerAmount, final IGameEndCallback endCallback, final Random random,
+	    final IGameJournal journal) {
+	mEndCallback = endCallback;
+	mJournal = journal;
 	mPIdToNetwork = new HashMap<>();
 	mOnFieldState = new HashMap<>();
 	mGraveyard = new Stack<>();
 
 	mPlayerAmount = playerAmount;
 	mReadyPlayers = 0;
+	mReady = new boolean[playerAmount + 1];
+	mPickedUp = false;
+	mDiscarded = false;
 	mGameOngoing = false;
 	mCurrentTurnPlayerId = 0;
-	mDeck = new Deck();
+	mDeck = new Deck(random);
 
 	mCurrentPlayedCardsID = 0;
+	mEvents = new EventLog(playerAmount, EVENT_LOG_CAPACITY);
+	mHands = new CardSet[playerAmount + 1];
+
+	for (int i = 0; i < mHands.length; i++) {
+	    mHands[i] = new CardSet();
+
+	}
+	mDidInitial = new boolean[playerAmount + 1];
+	mMoveIds = new int[CardSet.CARD_IDS];
+	mMove = new CardSet();
+	mSnapshots = new HashMap<>();
+	mVersion = 0;
+
+    }
+
+    /**
+     * Adds the given card to the hand of the player with <tt>playerId</tt>.
+     * 
+     * @param playerId The id of the player.
+     * @param card     The card to add.
+     */
+    private void addToHand(final int playerId, final ICard card) {
+	mHands[playerId].add(card);
 
     }
 
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * de.ativelox.rummyz.server.controller.IGameControllerSender#canResume(int,
+     * int)
+     */
+    @Override
+    public boolean canResume(final int playerId, final int lastSeq) {
+	// only checks the arguments, as this might not be called on the Thread of the
+	// game. Players missing events not logged anymore get sent a snapshot instead.
+	return playerId > 0 && playerId <= mPlayerAmount && lastSeq >= 0;
+
+    }
+
+    /**
+     * Checks the given play of the player with <tt>playerId</tt>, which has to be
+     * on its turn, hold every card played, and every sequence played has to be a
+     * valid <i>play</i>. An initial play has to be worth enough points as well.
+     * 
+     * @param playerId The id of the player.
+     * @param cards    The sequences of cards played.
+     * @return The reason to reject the play with, or <tt>null</tt> if it is valid.
+     */
+    private ERejection checkPlay(final int playerId, final List<List<ICard>> cards) {
+	if (!this.isOnTurn(playerId)) {
+	    return ERejection.NOT_YOUR_TURN;
+
+	}
+	int size = 0;
+
+	for (final List<ICard> sequence : cards) {
+	    size += sequence.size();
+
+	}
+
+	if (size == 0) {
+	    return ERejection.INVALID_PLAY;
+
+	}
+	final int[] ids = this.getMoveIds(size);
+	int points = 0;
+	int to = 0;
+
+	for (final List<ICard> sequence : cards) {
+	    final int from = to;
+
+	    for (final ICard card : sequence) {
+		ids[to++] = NetworkUtils.encodeCardId(card);
+
+	    }
+	    final int sequencePoints = PackedGameRule.getPoints(ids, from, to);
+
+	    if (sequencePoints <= 0) {
+		return ERejection.INVALID_PLAY;
+
+	    }
+	    points += sequencePoints;
+
+	}
+
+	if (!this.holds(playerId, ids, size)) {
+	    return ERejection.NOT_IN_HAND;
+
+	}
+
+	if (!mDidInitial[playerId] && !PackedGameRule.isValidInitial(points)) {
+	    return ERejection.BELOW_THRESHOLD;
+
+	}
+	return null;
+
+    }
+
+    /**
+     * Gets the array to put the IDs of the cards of the move being checked into,
+     * growing it if needed.
+     * 
+     * @param size The amount of cards of the move.
+     * @return The array mentioned, holding at least <tt>size</tt> IDs.
+     */
+    private int[] getMoveIds(final int size) {
+	if (mMoveIds.length < size) {
+	    mMoveIds = new int[size];
+
+	}
+	return mMoveIds;
+
+    }
+
+    /**
+     * Whether the player with <tt>playerId</tt> holds all the given cards, each
+     * one as often as it is given.
+     * 
+     * @param playerId The id of the player.
+     * @param ids      The IDs of the cards.
+     * @param size     The amount of cards, starting at index <tt>0</tt>.
+     * @return <tt>True</tt> if the player does, <tt>false</tt> otherwise.
+     */
+    private boolean holds(final int playerId, final int[] ids, final int size) {
+	if (size > mHands[playerId].size()) {
+	    return false;
+
+	}
+	mMove.clear();
+
+	for (int i = 0; i < size; i++) {
+	    mMove.add(ids[i]);
+
+	}
+	return mHands[playerId].containsAll(mMove);
+
+    }
+
+    /**
+     * Whether the game is running and the player with <tt>playerId</tt> is on its
+     * turn.
+     * 
+     * @param playerId The id of the player.
+     * @return <tt>True</tt> if it is, <tt>false</tt> otherwise.
+     */
+    private boolean isOnTurn(final int playerId) {
+	return mGameOngoing && playerId == mCurrentTurnPlayerId;
+
+    }
+
+    /**
+     * Records the given move of the player with <tt>playerId</tt> in the journal,
+     * if there is one. Only called once the move got accepted and applied, before
+     * the events it results in get sent.
+     * 
+     * @param playerId The id of the player.
+     * @param protocol The protocol of the move.
+     * @param args     The additional arguments of the move, might be
+     *                 <tt>null</tt>.
+     */
+    private void journal(final int playerId, final EC2S protocol, final String[] args) {
+	if (mJournal != null) {
+	    mJournal.onCommand(playerId, protocol, args);
+
+	}
+    }
+
     /**
      * Passes the turn onto the next player and sends all the required messages to
      * all the connected clients.
      */
     private void nextTurn() {
-	mCurrentTurnPlayerId = (mCurrentTurnPlayerId % 2) + 1;
+	mCurrentTurnPlayerId = (mCurrentTurnPlayerId % mPlayerAmount) + 1;
+	mPickedUp = false;
+	mDiscarded = false;
 	this.sendExcluding(ES2C.BLOCK, mCurrentTurnPlayerId);
 
-	this.onCardDrawRequest(mCurrentTurnPlayerId, 1);
+	this.draw(mCurrentTurnPlayerId, 1);
 
 	this.sendTurnStart(mCurrentTurnPlayerId);
 
@@ -124,9 +421,49 @@ public final class GameController implements IGameController<ES2C, EC2S> {
      */
     @Override
     public void onCardAppend(final int playerId, final ICard card, final int superIndex, final int insertIndex) {
-	mOnFieldState.get(superIndex).add(insertIndex, card);
+	final List<ICard> sequence = mOnFieldState.get(superIndex);
+	final int id = NetworkUtils.encodeCardId(card);
+	ERejection rejection = null;
 
-	sendToAll(ES2C.CARD_APPEND_UPDATE, NetworkUtils.encodeAppendCard(card, superIndex, insertIndex));
+	if (!this.isOnTurn(playerId)) {
+	    rejection = ERejection.NOT_YOUR_TURN;
+
+	} else if (!mDidInitial[playerId]) {
+	    rejection = ERejection.NO_INITIAL_PLAY;
+
+	} else if (sequence == null) {
+	    rejection = ERejection.UNKNOWN_PLAY;
+
+	} else if (!mHands[playerId].contains(id)) {
+	    rejection = ERejection.NOT_IN_HAND;
+
+	} else {
+	    final int[] ids = this.getMoveIds(sequence.size());
+	    int size = 0;
+
+	    for (final ICard appendedTo : sequence) {
+		ids[size++] = NetworkUtils.encodeCardId(appendedTo);
+
+	    }
+
+	    if (PackedGameRule.getAppendPoints(ids, 0, size, id, insertIndex) <= 0) {
+		rejection = ERejection.INVALID_APPEND;
+
+	    }
+	}
+
+	if (rejection != null) {
+	    this.reject(playerId, EC2S.CARD_APPEND, rejection);
+	    return;
+
+	}
+	sequence.add(insertIndex, card);
+	this.removeFromHand(playerId, card);
+
+	final String[] args = NetworkUtils.encodeAppendCard(card, superIndex, insertIndex);
+	this.journal(playerId, EC2S.CARD_APPEND, args);
+
+	sendToAll(ES2C.CARD_APPEND_UPDATE, args);
     }
 
     /*
@@ -138,9 +475,31 @@ public final class GameController implements IGameController<ES2C, EC2S> {
      */
     @Override
     public void onCardDiscard(final int playerId, final ICard card) {
+	if (!this.isOnTurn(playerId)) {
+	    this.reject(playerId, EC2S.CARD_DISCARD, ERejection.NOT_YOUR_TURN);
+	    return;
+
+	}
+
+	if (mDiscarded) {
+	    this.reject(playerId, EC2S.CARD_DISCARD, ERejection.ALREADY_DISCARDED);
+	    return;
+
+	}
+
+	if (!mHands[playerId].contains(card)) {
+	    this.reject(playerId, EC2S.CARD_DISCARD, ERejection.NOT_IN_HAND);
+	    return;
+
+	}
+	mDiscarded = true;
 	mGraveyard.add(card);
+	this.removeFromHand(playerId, card);
+
+	final String[] args = NetworkUtils.encodeCard(card);
+	this.journal(playerId, EC2S.CARD_DISCARD, args);
 
-	sendToAll(ES2C.GRAVEYARD_UPDATE, NetworkUtils.encodeCard(card));
+	sendToAll(ES2C.GRAVEYARD_UPDATE, args);
     }
 
     /*
@@ -149,12 +508,31 @@ public final class GameController implements IGameController<ES2C, EC2S> {
      * @see de.ativelox.rummyz.server.controller.IGameControllerReceiver#
      * onCardDrawRequest(int)
      */
+    @SuppressWarnings("deprecation")
     @Override
-    public void onCardDrawRequest(final int playerId, final int amount) {
+    public void onCardDrawRequest(final int playerId) {
+	this.reject(playerId, EC2S.DRAW_CARDS, ERejection.DRAWING_NOT_ALLOWED);
+
+    }
+
+    /**
+     * Draws the given amount of cards from the deck for the player with
+     * <tt>playerId</tt>, shuffling the grave yard into the deck whenever it runs
+     * empty. If both of them are empty, the player only gets the cards drawn so
+     * far.
+     * 
+     * @param playerId The id of the player.
+     * @param amount   The amount of cards to draw.
+     */
+    private void draw(final int playerId, final int amount) {
 	final List<ICard> toSend = new LinkedList<>();
 
 	for (int i = 0; i < amount; i++) {
 	    if (mDeck.isEmpty()) {
+		if (mGraveyard.isEmpty()) {
+		    break;
+
+		}
 		// fetch all cards from the graveyard stack, and shuffle those back into the
 		// deck.
 		List<ICard> toShuffle = new ArrayList<>();
@@ -167,6 +545,11 @@ public final class GameController implements IGameController<ES2C, EC2S> {
 	    }
 	    toSend.add(mDeck.draw());
 
+	}
+
+	for (final ICard card : toSend) {
+	    this.addToHand(playerId, card);
+
 	}
 	this.sendCards(playerId, toSend);
 
@@ -181,6 +564,15 @@ public final class GameController implements IGameController<ES2C, EC2S> {
      */
     @Override
     public void onCardsPlayed(final List<List<ICard>> cards, final int playerId) {
+	final ERejection rejection = this.checkPlay(playerId, cards);
+
+	if (rejection != null) {
+	    this.reject(playerId, EC2S.CARDS_PLAYED, rejection);
+	    return;
+
+	}
+	mDidInitial[playerId] = true;
+
 	// register the played cards, and assign an ID, so everyone can refer to them in
 	// a uniform manner.
 
@@ -191,14 +583,17 @@ public final class GameController implements IGameController<ES2C, EC2S> {
 
 	    mOnFieldState.put(mCurrentPlayedCardsID, cards.get(i));
 
-	    mCurrentPlayedCardsID++;
+	    for (final ICard card : cards.get(i)) {
+		this.removeFromHand(playerId, card);
 
-	}
+	    }
 
-	for (int i = 1; i <= mPlayerAmount; i++) {
-	    this.sendCardsPlayedUpdate(i, cards, ids);
+	    mCurrentPlayedCardsID++;
 
 	}
+	this.journal(playerId, EC2S.CARDS_PLAYED, NetworkUtils.encodeCardsPlayed(cards));
+
+	this.sendToAll(ES2C.CARDS_PLAYED_UPDATE, NetworkUtils.encodeCardsPlayed(cards, ids));
 
     }
 
@@ -210,7 +605,31 @@ public final class GameController implements IGameController<ES2C, EC2S> {
      */
     @Override
     public void onGraveyardPickup(final int playerId) {
-	this.sendExcluding(ES2C.GRAVEYARD_DECREASE, NetworkUtils.encodeCard(mGraveyard.pop()), playerId);
+	ERejection rejection = null;
+
+	if (!this.isOnTurn(playerId)) {
+	    rejection = ERejection.NOT_YOUR_TURN;
+
+	} else if (mPickedUp) {
+	    rejection = ERejection.ALREADY_PICKED_UP;
+
+	} else if (mGraveyard.isEmpty()) {
+	    rejection = ERejection.GRAVEYARD_EMPTY;
+
+	}
+
+	if (rejection != null) {
+	    this.reject(playerId, EC2S.GRAVEYARD_PICKUP, rejection);
+	    return;
+
+	}
+	mPickedUp = true;
+
+	final ICard card = mGraveyard.pop();
+	this.addToHand(playerId, card);
+	this.journal(playerId, EC2S.GRAVEYARD_PICKUP, null);
+
+	this.sendExcluding(ES2C.GRAVEYARD_DECREASE, NetworkUtils.encodeCard(card), playerId);
 
     }
 
@@ -221,14 +640,21 @@ public final class GameController implements IGameController<ES2C, EC2S> {
      */
     @Override
     public void onReady(final int playerId) {
+	if (mReady[playerId]) {
+	    // a seat only counts once, no matter how often it sends ready.
+	    return;
+
+	}
+	mReady[playerId] = true;
 	mReadyPlayers++;
+	this.journal(playerId, EC2S.READY, null);
 
 	if (mReadyPlayers >= mPlayerAmount && !mGameOngoing) {
 	    mDeck.generate();
 
 	    // deal the hand
 	    for (int i = 1; i <= mPlayerAmount; i++) {
-		this.onCardDrawRequest(i, 10);
+		this.draw(i, 10);
 
 	    }
 	    this.nextTurn();
@@ -237,6 +663,18 @@ public final class GameController implements IGameController<ES2C, EC2S> {
 	}
     }
 
+    /*
+     * (non-Javadoc)
+     * 
+     * @see de.ativelox.rummyz.server.controller.IGameControllerReceiver#
+     * onSnapshotRequest(int, int)
+     */
+    @Override
+    public void onSnapshotRequest(final int playerId, final int knownVersion) {
+	this.sendStateSnapshot(playerId, knownVersion);
+
+    }
+
     /*
      * (non-Javadoc)
      * 
@@ -244,6 +682,12 @@ public final class GameController implements IGameController<ES2C, EC2S> {
      */
     @Override
     public void onTurnEnd(final int playerId) {
+	if (!this.isOnTurn(playerId)) {
+	    this.reject(playerId, EC2S.TURN_END, ERejection.NOT_YOUR_TURN);
+	    return;
+
+	}
+	this.journal(playerId, EC2S.TURN_END, null);
 	this.nextTurn();
 
     }
@@ -256,9 +700,27 @@ public final class GameController implements IGameController<ES2C, EC2S> {
      */
     @Override
     public void onVictory(final int playerId) {
+	if (!this.isOnTurn(playerId)) {
+	    this.reject(playerId, EC2S.VICTORY, ERejection.NOT_YOUR_TURN);
+	    return;
+
+	}
+
+	if (!mHands[playerId].isEmpty()) {
+	    this.reject(playerId, EC2S.VICTORY, ERejection.HAND_NOT_EMPTY);
+	    return;
+
+	}
+	this.journal(playerId, EC2S.VICTORY, null);
 	sendExcluding(ES2C.DEFEAT, playerId);
 	this.sendVictory(playerId);
 
+	mGameOngoing = false;
+
+	if (mEndCallback != null) {
+	    mEndCallback.onGameEnd(this);
+
+	}
     }
 
     /*
@@ -273,6 +735,92 @@ public final class GameController implements IGameController<ES2C, EC2S> {
 
     }
 
+    /*
+     * (non-Javadoc)
+     * 
+     * @see de.ativelox.rummyz.server.controller.IGameControllerSender#resume(int,
+     * int, de.ativelox.rummyz.model.INetworkController)
+     */
+    @Override
+    public void resume(final int playerId, final int lastSeq,
+	    final INetworkController<ES2C, EC2S> networkController) {
+	mPIdToNetwork.put(playerId, networkController);
+
+	if (mEvents.canReplay(playerId, lastSeq)) {
+	    networkController.send(ES2C.RESUMED, new String[] { playerId + "", lastSeq + "" });
+
+	    for (final ImmutablePair<ES2C, String[]> event : mEvents.since(playerId, lastSeq)) {
+		networkController.send(event.getKey(), event.getValue());
+
+	    }
+
+	} else {
+	    // the following events continue the sequence after the ones covered by the
+	    // snapshot.
+	    networkController.send(ES2C.RESUMED, new String[] { playerId + "", mEvents.getSent(playerId) + "" });
+	    this.sendStateSnapshot(playerId, TableSnapshot.NO_BASE);
+
+	}
+    }
+
+    /**
+     * Records the given event sent to the given players, in the {@link EventLog}
+     * and in the journal if there is one, and advances the version of the state
+     * of this game.
+     * 
+     * @param protocol   The protocol of the event.
+     * @param args       The additional arguments of the event.
+     * @param recipients The players the event got sent to, the bit
+     *                   <tt>1 &lt;&lt; playerId</tt> being set for each of them.
+     */
+    private void log(final ES2C protocol, final String[] args, final int recipients) {
+	mEvents.append(protocol, args, recipients);
+	mVersion++;
+
+	if (mJournal != null) {
+	    mJournal.onEvent(recipients, protocol, args);
+
+	}
+    }
+
+    /**
+     * Rejects the given move of the player with <tt>playerId</tt>, leaving the
+     * game untouched.
+     * 
+     * @param playerId  The id of the player.
+     * @param move      The protocol of the move rejected.
+     * @param rejection The reason the move got rejected.
+     */
+    private void reject(final int playerId, final EC2S move, final ERejection rejection) {
+	this.send(playerId, ES2C.MOVE_REJECTED, new String[] { move.ordinal() + "", rejection.ordinal() + "" });
+
+    }
+
+    /**
+     * Removes the given card from the hand of the player with <tt>playerId</tt>.
+     * 
+     * @param playerId The id of the player.
+     * @param card     The card to remove.
+     */
+    private void removeFromHand(final int playerId, final ICard card) {
+	mHands[playerId].remove(card);
+
+    }
+
+    /**
+     * Sends the given message to the player with <tt>playerId</tt>, and logs it to
+     * catch the player up if needed.
+     * 
+     * @param playerId The id of the player.
+     * @param protocol The protocol to send.
+     * @param args     The additional arguments.
+     */
+    private void send(final int playerId, final ES2C protocol, final String[] args) {
+	this.log(protocol, args, 1 << playerId);
+	mPIdToNetwork.get(playerId).send(protocol, args);
+
+    }
+
     /*
      * (non-Javadoc)
      * 
@@ -281,7 +829,7 @@ public final class GameController implements IGameController<ES2C, EC2S> {
      */
     @Override
     public void sendBlock(final int playerId) {
-	this.mPIdToNetwork.get(playerId).send(ES2C.BLOCK);
+	this.send(playerId, ES2C.BLOCK, null);
 
     }
 
@@ -294,7 +842,7 @@ public final class GameController implements IGameController<ES2C, EC2S> {
      */
     @Override
     public void sendCards(final int playerId, final List<ICard> toSend) {
-	mPIdToNetwork.get(playerId).send(ES2C.SEND_CARDS, NetworkUtils.encodeCards(toSend));
+	this.send(playerId, ES2C.SEND_CARDS, NetworkUtils.encodeCards(toSend));
 
     }
 
@@ -306,7 +854,7 @@ public final class GameController implements IGameController<ES2C, EC2S> {
      */
     @Override
     public void sendCardsPlayedUpdate(final int playerId, final List<List<ICard>> cards, final String[] ids) {
-	mPIdToNetwork.get(playerId).send(ES2C.CARDS_PLAYED_UPDATE, NetworkUtils.encodeCardsPlayed(cards, ids));
+	this.send(playerId, ES2C.CARDS_PLAYED_UPDATE, NetworkUtils.encodeCardsPlayed(cards, ids));
 
     }
 
@@ -318,7 +866,7 @@ public final class GameController implements IGameController<ES2C, EC2S> {
      */
     @Override
     public void sendDefeat(final int playerId) {
-	this.mPIdToNetwork.get(playerId).send(ES2C.DEFEAT);
+	this.send(playerId, ES2C.DEFEAT, null);
 
     }
 
@@ -337,30 +885,75 @@ public final class GameController implements IGameController<ES2C, EC2S> {
 
     /**
      * Sends the given message to all players, except the one with
-     * <tt>excludePlayerId</tt>.
+     * <tt>excludePlayerId</tt>, encoding it only once.
      * 
      * @param protocol        The protocol to send.
      * @param args            The additional arguments.
      * @param excludePlayerId The player id <b>not</b> to send this to.
      */
     private void sendExcluding(final ES2C protocol, final String[] args, final int excludePlayerId) {
+	final SharedFrame<ES2C> frame = SharedFrame.of(protocol, args);
+	int recipients = 0;
 
 	for (int i = 0; i < mPlayerAmount - 1; i++) {
 	    int playerIdToSend = ((excludePlayerId + i) % mPlayerAmount) + 1;
-	    this.mPIdToNetwork.get(playerIdToSend).send(protocol, args);
+	    this.mPIdToNetwork.get(playerIdToSend).send(frame);
+	    recipients |= 1 << playerIdToSend;
 
 	}
+	this.log(protocol, args, recipients);
     }
 
     /**
-     * Sends the given message to all players.
+     * Sends the given message to all players, encoding it only once.
      * 
      * @param protocol The protocol to send.
      * @param args     The additional arguments.
      */
     private void sendToAll(final ES2C protocol, final String[] args) {
+	final SharedFrame<ES2C> frame = SharedFrame.of(protocol, args);
+	int recipients = 0;
+
 	for (int i = 1; i <= mPlayerAmount; i++) {
-	    mPIdToNetwork.get(i).send(protocol, args);
+	    mPIdToNetwork.get(i).send(frame);
+	    recipients |= 1 << i;
+	}
+	this.log(protocol, args, recipients);
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see de.ativelox.rummyz.server.controller.IGameControllerSender#
+     * sendStateSnapshot(int, int)
+     */
+    @Override
+    public void sendStateSnapshot(final int playerId, final int knownVersion) {
+	final Map<Integer, List<ICard>> melds = new HashMap<>();
+
+	for (final Map.Entry<Integer, List<ICard>> meld : mOnFieldState.entrySet()) {
+	    melds.put(meld.getKey(), new ArrayList<>(meld.getValue()));
+
+	}
+	final int[] handCounts = new int[mPlayerAmount];
+
+	for (int i = 1; i <= mPlayerAmount; i++) {
+	    handCounts[i - 1] = mHands[i].size();
+
+	}
+	final List<ICard> hand = mHands[playerId].toList();
+	final ICard graveyardTop = mGraveyard.isEmpty() ? null : mGraveyard.peek();
+	final TableSnapshot snapshot = new TableSnapshot(mVersion, TableSnapshot.NO_BASE, mCurrentTurnPlayerId, melds,
+		graveyardTop, mGraveyard.size(), handCounts, hand);
+	final TableSnapshot last = mSnapshots.put(playerId, snapshot);
+
+	// not logged, the snapshot covers every event up to this point.
+	if (last != null && knownVersion != TableSnapshot.NO_BASE && last.getVersion() == knownVersion) {
+	    mPIdToNetwork.get(playerId).send(ES2C.STATE_SNAPSHOT, NetworkUtils.encodeSnapshot(snapshot.diff(last)));
+
+	} else {
+	    mPIdToNetwork.get(playerId).send(ES2C.STATE_SNAPSHOT, NetworkUtils.encodeSnapshot(snapshot));
+
 	}
     }
 
@@ -372,7 +965,7 @@ public final class GameController implements IGameController<ES2C, EC2S> {
      */
     @Override
     public void sendTurnStart(final int playerId) {
-	this.mPIdToNetwork.get(playerId).send(ES2C.TURN_START);
+	this.send(playerId, ES2C.TURN_START, null);
 
     }
 
@@ -384,7 +977,7 @@ public final class GameController implements IGameController<ES2C, EC2S> {
      */
     @Override
     public void sendVictory(final int playerId) {
-	this.mPIdToNetwork.get(playerId).send(ES2C.VICTORY);
+	this.send(playerId, ES2C.VICTORY, null);
 
     }
 
@@ -392,11 +985,13 @@ public final class GameController implements IGameController<ES2C, EC2S> {
      * (non-Javadoc)
      * 
      * @see
-     * de.ativelox.rummyz.server.controller.IGameControllerSender#sendWelcome(int)
+     * de.ativelox.rummyz.server.controller.IGameControllerSender#sendWelcome(int,
+     * de.ativelox.rummyz.model.SessionToken)
      */
     @Override
-    public void sendWelcome(final int playerId) {
-	this.mPIdToNetwork.get(playerId).send(ES2C.WELCOME, new String[] { playerId + "" });
+    public void sendWelcome(final int playerId, final SessionToken token) {
+	// not logged, a resuming player got welcomed on its new connection already.
+	this.mPIdToNetwork.get(playerId).send(ES2C.WELCOME, NetworkUtils.encodeWelcome(playerId, token));
 
     }
 }
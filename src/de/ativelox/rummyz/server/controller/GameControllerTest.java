@@ -0,0 +1,250 @@
+package de.ativelox.rummyz.server.controller;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.ativelox.rummyz.model.ICard;
+import de.ativelox.rummyz.model.INetworkController;
+import de.ativelox.rummyz.model.util.ImmutablePair;
+import de.ativelox.rummyz.model.util.NetworkUtils;
+import de.ativelox.rummyz.network.codec.SharedFrame;
+import de.ativelox.rummyz.network.protocol.EC2S;
+import de.ativelox.rummyz.network.protocol.ERejection;
+import de.ativelox.rummyz.network.protocol.ES2C;
+
+/**
+ * Provides JUnit test cases for the checks {@link GameController} does on the
+ * moves of its players.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+public final class GameControllerTest {
+
+    /**
+     * The game checked, with both players ready and the first one on its turn.
+     */
+    private GameController mGame;
+
+    /**
+     * The messages sent to each player, indexed by its id.
+     */
+    private List<List<ImmutablePair<ES2C, String[]>>> mSent;
+
+    /**
+     * The cards dealt to the first player.
+     */
+    private List<ICard> mHand;
+
+    /**
+     * Creates a network controller which records every message sent to it.
+     * 
+     * @param sent The list the messages get recorded in.
+     * @return The network controller mentioned.
+     */
+    @SuppressWarnings("unchecked")
+    private static INetworkController<ES2C, EC2S> recording(final List<ImmutablePair<ES2C, String[]>> sent) {
+	return (INetworkController<ES2C, EC2S>) Proxy.newProxyInstance(GameControllerTest.class.getClassLoader(),
+		new Class<?>[] { INetworkController.class }, (proxy, method, args) -> {
+		    if (method.getName().equals("send")) {
+			if (args[0] instanceof SharedFrame) {
+			    final SharedFrame<ES2C> frame = (SharedFrame<ES2C>) args[0];
+			    sent.add(new ImmutablePair<>(frame.getProtocol(), frame.getAdditional()));
+
+			} else {
+			    sent.add(new ImmutablePair<>((ES2C) args[0], args.length > 1 ? (String[]) args[1] : null));
+
+			}
+		    }
+		    return null;
+		});
+    }
+
+    /**
+     * Asserts that the last message sent to the player with <tt>playerId</tt>
+     * rejects the given move for the given reason.
+     * 
+     * @param playerId  The id of the player.
+     * @param move      The protocol of the move.
+     * @param rejection The reason expected.
+     */
+    private void assertRejected(final int playerId, final EC2S move, final ERejection rejection) {
+	final List<ImmutablePair<ES2C, String[]>> sent = mSent.get(playerId);
+	final ImmutablePair<ES2C, String[]> last = sent.get(sent.size() - 1);
+
+	Assert.assertEquals(ES2C.MOVE_REJECTED, last.getKey());
+	Assert.assertArrayEquals(new String[] { move.ordinal() + "", rejection.ordinal() + "" }, last.getValue());
+
+    }
+
+    /**
+     * Sets up a game of two players, both of them ready.
+     */
+    @Before
+    public void setUp() {
+	mGame = new GameController(2);
+	mSent = new ArrayList<>();
+	mSent.add(null);
+
+	for (int i = 1; i <= 2; i++) {
+	    mSent.add(new ArrayList<>());
+	    mGame.register(i, recording(mSent.get(i)));
+
+	}
+	mGame.onReady(1);
+	mGame.onReady(2);
+
+	mHand = new ArrayList<>();
+
+	for (final ImmutablePair<ES2C, String[]> message : mSent.get(1)) {
+	    if (message.getKey() == ES2C.SEND_CARDS) {
+		mHand.addAll(NetworkUtils.decodeCards(message.getValue()));
+
+	    }
+	}
+    }
+
+    /**
+     * Tests that discards are only accepted from the player on its turn, for cards
+     * it holds and only once in it.
+     */
+    @Test
+    public void testDiscard() {
+	mGame.onCardDiscard(2, mHand.get(0));
+	this.assertRejected(2, EC2S.CARD_DISCARD, ERejection.NOT_YOUR_TURN);
+
+	final ICard foreign = NetworkUtils.decodeCards(mSent.get(2).get(0).getValue()).get(0);
+	mGame.onCardDiscard(1, foreign);
+	this.assertRejected(1, EC2S.CARD_DISCARD, ERejection.NOT_IN_HAND);
+
+	mGame.onCardDiscard(1, mHand.get(0));
+	final List<ImmutablePair<ES2C, String[]>> sent = mSent.get(1);
+	Assert.assertEquals(ES2C.GRAVEYARD_UPDATE, sent.get(sent.size() - 1).getKey());
+
+	mGame.onCardDiscard(1, mHand.get(1));
+	this.assertRejected(1, EC2S.CARD_DISCARD, ERejection.ALREADY_DISCARDED);
+
+	mGame.onTurnEnd(1);
+	mGame.onTurnEnd(2);
+
+	// the card is gone now, while another one may be discarded again.
+	mGame.onCardDiscard(1, mHand.get(0));
+	this.assertRejected(1, EC2S.CARD_DISCARD, ERejection.NOT_IN_HAND);
+
+	mGame.onCardDiscard(1, mHand.get(1));
+	Assert.assertEquals(ES2C.GRAVEYARD_UPDATE, sent.get(sent.size() - 1).getKey());
+
+    }
+
+    /**
+     * Tests that requests to draw cards, as sent by older clients, get rejected.
+     */
+    @SuppressWarnings("deprecation")
+    @Test
+    public void testDrawRequest() {
+	final int sent = mSent.get(1).size();
+
+	// no cards get dealt along with the rejection.
+	mGame.onCardDrawRequest(1);
+	this.assertRejected(1, EC2S.DRAW_CARDS, ERejection.DRAWING_NOT_ALLOWED);
+	Assert.assertEquals(sent + 1, mSent.get(1).size());
+
+    }
+
+    /**
+     * Tests that a player sending ready more than once only counts once, so the
+     * game doesn't start with a seat left empty.
+     */
+    @Test
+    public void testRepeatedReady() {
+	final GameController game = new GameController(2);
+	final List<ImmutablePair<ES2C, String[]>> sent = new ArrayList<>();
+	game.register(1, recording(sent));
+
+	game.onReady(1);
+	game.onReady(1);
+	Assert.assertTrue(sent.isEmpty());
+
+    }
+
+    /**
+     * Tests that plays and appends breaking the rules get rejected.
+     */
+    @Test
+    public void testPlay() {
+	mGame.onCardsPlayed(Collections.singletonList(mHand.subList(0, 2)), 1);
+	this.assertRejected(1, EC2S.CARDS_PLAYED, ERejection.INVALID_PLAY);
+
+	mGame.onCardsPlayed(Collections.emptyList(), 1);
+	this.assertRejected(1, EC2S.CARDS_PLAYED, ERejection.INVALID_PLAY);
+
+	mGame.onCardsPlayed(Arrays.asList(Arrays.asList(mHand.get(0), mHand.get(0), mHand.get(0))), 2);
+	this.assertRejected(2, EC2S.CARDS_PLAYED, ERejection.NOT_YOUR_TURN);
+
+	// a player holds every card only once.
+	mGame.onCardsPlayed(Arrays.asList(Arrays.asList(mHand.get(0), mHand.get(0), mHand.get(0))), 1);
+	this.assertRejected(1, EC2S.CARDS_PLAYED, ERejection.NOT_IN_HAND);
+
+	mGame.onCardAppend(1, mHand.get(0), 0, 0);
+	this.assertRejected(1, EC2S.CARD_APPEND, ERejection.NO_INITIAL_PLAY);
+
+    }
+
+    /**
+     * Tests that a player still holding cards can't claim victory.
+     */
+    @Test
+    public void testVictory() {
+	mGame.onVictory(1);
+	this.assertRejected(1, EC2S.VICTORY, ERejection.HAND_NOT_EMPTY);
+
+	mGame.onTurnEnd(2);
+	this.assertRejected(2, EC2S.TURN_END, ERejection.NOT_YOUR_TURN);
+
+    }
+
+    /**
+     * Tests that a player can only pick up a card from a grave yard holding one,
+     * on its turn and only once in it.
+     */
+    @Test
+    public void testGraveyardPickup() {
+	mGame.onGraveyardPickup(1);
+	this.assertRejected(1, EC2S.GRAVEYARD_PICKUP, ERejection.GRAVEYARD_EMPTY);
+
+	mGame.onCardDiscard(1, mHand.get(0));
+	mGame.onGraveyardPickup(2);
+	this.assertRejected(2, EC2S.GRAVEYARD_PICKUP, ERejection.NOT_YOUR_TURN);
+
+	mGame.onGraveyardPickup(1);
+	final List<ImmutablePair<ES2C, String[]>> sent = mSent.get(2);
+	Assert.assertEquals(ES2C.GRAVEYARD_DECREASE, sent.get(sent.size() - 1).getKey());
+
+	mGame.onGraveyardPickup(1);
+	this.assertRejected(1, EC2S.GRAVEYARD_PICKUP, ERejection.ALREADY_PICKED_UP);
+
+    }
+
+    /**
+     * Tests that players get dealt no more cards once both the deck and the grave
+     * yard ran empty, instead of the game failing.
+     */
+    @Test
+    public void testEmptyDeck() {
+	for (int turn = 0; turn < 200; turn++) {
+	    mGame.onTurnEnd(1 + (turn % 2));
+
+	}
+	final List<ImmutablePair<ES2C, String[]>> sent = mSent.get(1);
+	Assert.assertEquals(ES2C.TURN_START, sent.get(sent.size() - 1).getKey());
+
+    }
+
+}
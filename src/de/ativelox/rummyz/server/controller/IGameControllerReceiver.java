@@ -3,6 +3,7 @@ package de.ativelox.rummyz.server.controller;
 import java.util.List;
 
 import de.ativelox.rummyz.model.ICard;
+import de.ativelox.rummyz.model.TableSnapshot;
 
 /**
  * Provides an interface to receive data to control the game flow.
@@ -34,12 +35,12 @@ public interface IGameControllerReceiver {
 
     /**
      * Signifies that the player with <tt>playerId</tt> has requested to draw
-     * <tt>amount</tt> cards.
+     * cards, which always gets rejected, since the server deals every card on its
+     * own.
      * 
      * @param playerId The id of the player.
-     * @param amount   The amount of cards the player requested.
      */
-    void onCardDrawRequest(final int playerId, final int amount);
+    void onCardDrawRequest(final int playerId);
 
     /**
      * Signifies that the player with <tt>playerId</tt> has put cards on the board.
@@ -64,6 +65,17 @@ public interface IGameControllerReceiver {
      */
     void onReady(final int playerId);
 
+    /**
+     * Signifies that the player with <tt>playerId</tt> requests a snapshot of the
+     * whole state of the table. If the player still holds the last snapshot it got
+     * sent, only a diff against that one needs to be sent.
+     * 
+     * @param playerId     The id of the player.
+     * @param knownVersion The version of the last snapshot the player holds, or
+     *                     {@link TableSnapshot#NO_BASE} if it holds none.
+     */
+    void onSnapshotRequest(final int playerId, final int knownVersion);
+
     /**
      * Signifies that the player with <tt>playerId</tt> has ended his turn.
      * 
@@ -4,6 +4,8 @@ import java.util.List;
 
 import de.ativelox.rummyz.model.ICard;
 import de.ativelox.rummyz.model.INetworkController;
+import de.ativelox.rummyz.model.SessionToken;
+import de.ativelox.rummyz.model.TableSnapshot;
 
 /**
  * Provides an interface to send data, to properly control the game flow.
@@ -23,6 +25,35 @@ public interface IGameControllerSender<POut, PIn> {
      */
     void register(final int playerId, final INetworkController<POut, PIn> networkController);
 
+    /**
+     * Whether the player with <tt>playerId</tt> can resume its session, having
+     * received the events up to <tt>lastSeq</tt>. Unlike the other calls, this
+     * gets answered right away even by a {@link GameActor}, so it must not depend
+     * on the state of the game.
+     * 
+     * @param playerId The id of the player.
+     * @param lastSeq  The sequence number of the last event the player received.
+     * @return <tt>True</tt> if the player can be caught up, <tt>false</tt>
+     *         otherwise.
+     */
+    boolean canResume(final int playerId, final int lastSeq);
+
+    /**
+     * Resumes the session of the player with <tt>playerId</tt> on the given
+     * network controller, which replaces the one registered before. Sends the
+     * player every event after <tt>lastSeq</tt> it missed, or a snapshot of the
+     * whole state of the table if those aren't known anymore.
+     * 
+     * @param playerId          The id of the player.
+     * @param lastSeq           The sequence number of the last event the player
+     *                          received.
+     * @param networkController The network controller, controlling communication
+     *                          with this player from now on.
+     * 
+     * @see IGameControllerSender#canResume(int, int)
+     */
+    void resume(final int playerId, final int lastSeq, final INetworkController<POut, PIn> networkController);
+
     /**
      * Sends data to the player with <tt>playerId</tt> to block critical actions,
      * e.g. appending cards when he hasn't done his initial play.
@@ -58,6 +89,17 @@ public interface IGameControllerSender<POut, PIn> {
      */
     void sendDefeat(final int playerId);
 
+    /**
+     * Sends a snapshot of the whole state of the table to the player with
+     * <tt>playerId</tt>. The snapshot is a diff against the last one sent to the
+     * player, if the player still holds that one.
+     * 
+     * @param playerId     The id of the player.
+     * @param knownVersion The version of the last snapshot the player holds, or
+     *                     {@link TableSnapshot#NO_BASE} if it holds none.
+     */
+    void sendStateSnapshot(final int playerId, final int knownVersion);
+
     /**
      * Sends data to the player with <tt>playerId</tt> to start his turn.
      * 
@@ -77,8 +119,9 @@ public interface IGameControllerSender<POut, PIn> {
      * Sends data to the player with <tt>playerId</tt> that signalizes that the
      * server has registered this player.
      * 
-     * @param playerId
+     * @param playerId The id of the player.
+     * @param token    The token the player can resume its session with.
      */
-    void sendWelcome(final int playerId);
+    void sendWelcome(final int playerId, final SessionToken token);
 
 }
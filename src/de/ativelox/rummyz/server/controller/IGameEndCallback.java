@@ -0,0 +1,20 @@
+package de.ativelox.rummyz.server.controller;
+
+/**
+ * Provides a callback for instances interested in when the game managed by an
+ * {@link IGameController} has ended.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+public interface IGameEndCallback {
+
+    /**
+     * Gets called when the game managed by the given controller has ended, i.e. a
+     * player has won.
+     * 
+     * @param game The controller of the game that ended.
+     */
+    void onGameEnd(final IGameController<?, ?> game);
+
+}
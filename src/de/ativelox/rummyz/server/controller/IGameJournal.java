@@ -0,0 +1,41 @@
+package de.ativelox.rummyz.server.controller;
+
+import de.ativelox.rummyz.network.protocol.EC2S;
+import de.ativelox.rummyz.network.protocol.ES2C;
+
+/**
+ * Provides a journal for instances interested in everything happening in the
+ * game managed by a {@link GameController}, that is every move of a player it
+ * accepted and every event it sent to its players, in the order they happened.
+ * Moves that got rejected are only journaled as the
+ * {@link ES2C#MOVE_REJECTED} sent to the player.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+public interface IGameJournal {
+
+    /**
+     * Gets called when a move of a player got accepted and applied to the game,
+     * before any of the events it results in get sent. Requests not changing the
+     * game, like the ones for a snapshot, don't get journaled.
+     * 
+     * @param playerId The id of the player making the move.
+     * @param protocol The protocol of the move.
+     * @param args     The additional arguments of the move, might be
+     *                 <tt>null</tt>.
+     */
+    void onCommand(final int playerId, final EC2S protocol, final String[] args);
+
+    /**
+     * Gets called when an event got sent to the given players.
+     * 
+     * @param recipients The players the event got sent to, the bit
+     *                   <tt>1 &lt;&lt; playerId</tt> being set for each of them.
+     * @param protocol   The protocol of the event.
+     * @param args       The additional arguments of the event, might be
+     *                   <tt>null</tt>.
+     */
+    void onEvent(final int recipients, final ES2C protocol, final String[] args);
+
+}
@@ -0,0 +1,33 @@
+package de.ativelox.rummyz.server.controller;
+
+import de.ativelox.rummyz.model.SessionToken;
+
+/**
+ * Provides an interface for instances keeping track of the sessions of the
+ * players, so a player whose connection dropped can resume its session on a
+ * new connection.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+public interface ISessionRegistry {
+
+    /**
+     * Resumes the session identified by <tt>token</tt> on the given network
+     * controller. On success the network controller gets rebound to the game and
+     * player of the session, giving up the seat it got when connecting, and the
+     * player gets sent every event after <tt>lastSeq</tt> it missed. On failure
+     * the network controller gives up the seat it got when connecting as well, as
+     * its connection gets closed.
+     * 
+     * @param token             The token the session got welcomed with.
+     * @param lastSeq           The sequence number of the last event the player
+     *                          received.
+     * @param networkController The network controller of the new connection.
+     * @return <tt>True</tt> if the session got resumed, <tt>false</tt> if it is
+     *         unknown, its game has ended or the events missed are not logged
+     *         anymore.
+     */
+    boolean resume(final SessionToken token, final int lastSeq, final ServerNetworkController networkController);
+
+}
@@ -6,24 +6,32 @@ import java.io.OutputStream;
 import de.ativelox.rummyz.model.ANetworkController;
 import de.ativelox.rummyz.model.ICard;
 import de.ativelox.rummyz.model.INetworkController;
+import de.ativelox.rummyz.model.SessionToken;
 import de.ativelox.rummyz.model.util.ImmutableTriple;
 import de.ativelox.rummyz.model.util.NetworkUtils;
+import de.ativelox.rummyz.network.codec.ECodec;
+import de.ativelox.rummyz.network.codec.MessageCursor;
+import de.ativelox.rummyz.network.codec.SharedFrame;
 import de.ativelox.rummyz.network.exception.UnsupportedProtocolException;
+import de.ativelox.rummyz.network.log.ProtocolLog;
 import de.ativelox.rummyz.network.protocol.EC2S;
 import de.ativelox.rummyz.network.protocol.ES2C;
+import de.ativelox.rummyz.network.transport.ITransport;
 
 /**
  * Provides a {@link INetworkController} for the server, which sends the
  * protocol specified by {@link ES2C} to its given {@link OutputStream} and
  * reads the protocol specified by {@link EC2S} from its given
- * {@link InputStream}. This implementation does <b>not</b> care about
- * encryption.
+ * {@link InputStream}, or the given {@link ITransport}. A player whose
+ * connection dropped may resume its session on a new connection, which then
+ * gets rebound to the game and player of that session. This implementation
+ * does <b>not</b> care about encryption.
  * 
  * @author Ativelox {@literal <ativelox.dev@web.de>}
  * 
  * @see INetworkController
  * @see ANetworkController
- *
+ * 
  */
 public final class ServerNetworkController extends ANetworkController<ES2C, EC2S> {
 
@@ -32,12 +40,18 @@ public final class ServerNetworkController extends ANetworkController<ES2C, EC2S
      * designed to receive messages read from this instances underlying
      * {@link InputStream}.
      */
-    private final IGameControllerReceiver mGc;
+    private volatile IGameControllerReceiver mGc;
 
     /**
      * The id of the player this instance is managing.
      */
-    private final int mPlayerId;
+    private volatile int mPlayerId;
+
+    /**
+     * The registry to resume sessions with, <tt>null</tt> if sessions can't be
+     * resumed.
+     */
+    private final ISessionRegistry mSessions;
 
     /**
      * Creates a new {@link ServerNetworkController}.
@@ -53,6 +67,70 @@ public final class ServerNetworkController extends ANetworkController<ES2C, EC2S
 
 	mPlayerId = playerId;
 	mGc = gc;
+	mSessions = null;
+    }
+
+    /**
+     * Creates a new {@link ServerNetworkController}.
+     * 
+     * @param gc        The controller used to manage the game flow.
+     * @param playerId  The id of the player this instance manages.
+     * @param transport The transport this instance reads from and writes to.
+     */
+    public ServerNetworkController(final IGameControllerReceiver gc, final int playerId, final ITransport transport) {
+	this(gc, playerId, transport, null);
+
+    }
+
+    /**
+     * Creates a new {@link ServerNetworkController}.
+     * 
+     * @param gc        The controller used to manage the game flow.
+     * @param playerId  The id of the player this instance manages.
+     * @param transport The transport this instance reads from and writes to.
+     * @param sessions  The registry to resume sessions with, <tt>null</tt> if
+     *                  sessions can't be resumed.
+     */
+    public ServerNetworkController(final IGameControllerReceiver gc, final int playerId, final ITransport transport,
+	    final ISessionRegistry sessions) {
+	super(transport, EC2S.class);
+
+	mPlayerId = playerId;
+	mGc = gc;
+	mSessions = sessions;
+    }
+
+    /**
+     * Gets the controller this instance passes the messages read onto.
+     * 
+     * @return The controller mentioned.
+     */
+    public IGameControllerReceiver getGame() {
+	return mGc;
+
+    }
+
+    /**
+     * Gets the id of the player this instance manages.
+     * 
+     * @return The id mentioned.
+     */
+    public int getPlayerId() {
+	return mPlayerId;
+
+    }
+
+    /**
+     * Rebinds this instance to the given game and player, whose session got
+     * resumed on this connection.
+     * 
+     * @param gc       The controller used to manage the game flow from now on.
+     * @param playerId The id of the player this instance manages from now on.
+     */
+    public void rebind(final IGameControllerReceiver gc, final int playerId) {
+	mGc = gc;
+	mPlayerId = playerId;
+
     }
 
     /*
@@ -65,7 +143,21 @@ public final class ServerNetworkController extends ANetworkController<ES2C, EC2S
     public void send(final ES2C protocol, final String[] additional) {
 	super.send(protocol, additional);
 
-	System.out.println("Sending " + protocol.toString() + " to player " + mPlayerId);
+	ProtocolLog.get().sent(protocol, mPlayerId);
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * de.ativelox.rummyz.model.ANetworkController#send(de.ativelox.rummyz.network.
+     * codec.SharedFrame)
+     */
+    @Override
+    public void send(final SharedFrame<ES2C> frame) {
+	super.send(frame);
+
+	ProtocolLog.get().sent(frame.getProtocol(), mPlayerId);
     }
 
     /*
@@ -75,7 +167,20 @@ public final class ServerNetworkController extends ANetworkController<ES2C, EC2S
      */
     @Override
     public void serve(final EC2S protocol, final String[] op) {
-	System.out.println("Received " + protocol.toString() + " from player " + mPlayerId);
+	this.serve(protocol, MessageCursor.wrap(op));
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see de.ativelox.rummyz.model.ANetworkController#serve(java.lang.Enum,
+     * de.ativelox.rummyz.network.codec.MessageCursor)
+     */
+    @SuppressWarnings("deprecation")
+    @Override
+    public void serve(final EC2S protocol, final MessageCursor op) {
+	ProtocolLog.get().received(protocol, mPlayerId);
 
 	switch (protocol) {
 	case CARDS_PLAYED:
@@ -90,13 +195,14 @@ public final class ServerNetworkController extends ANetworkController<ES2C, EC2S
 	    mGc.onTurnEnd(mPlayerId);
 	    break;
 
-	case DRAW_CARDS:
-	    mGc.onCardDrawRequest(mPlayerId, Integer.parseInt(op[0]));
-
 	case CARD_DISCARD:
 	    mGc.onCardDiscard(mPlayerId, NetworkUtils.decodeCard(op));
 	    break;
 
+	case DRAW_CARDS:
+	    mGc.onCardDrawRequest(mPlayerId);
+	    break;
+
 	case CARD_APPEND:
 	    final ImmutableTriple<ICard, Integer, Integer> triple = NetworkUtils.decodeAppendCard(op);
 	    mGc.onCardAppend(mPlayerId, triple.getFirst(), triple.getSecond(), triple.getThird());
@@ -110,6 +216,29 @@ public final class ServerNetworkController extends ANetworkController<ES2C, EC2S
 	    mGc.onGraveyardPickup(mPlayerId);
 	    break;
 
+	case CODEC:
+	    // every following frame of the client uses the codec, acknowledge it as the
+	    // last frame using the current one.
+	    final ECodec codec = NetworkUtils.ensureEnumConversion(ECodec.class, op.nextInt());
+	    this.switchInputCodec(codec);
+	    this.switchOutputCodec(ES2C.CODEC, new String[] { codec.ordinal() + "" }, codec);
+	    break;
+
+	case SNAPSHOT_REQUEST:
+	    mGc.onSnapshotRequest(mPlayerId, op.nextInt());
+	    break;
+
+	case RESUME:
+	    final SessionToken token = NetworkUtils.decodeToken(op);
+
+	    if (mSessions == null || !mSessions.resume(token, op.nextInt(), this)) {
+		// a connection may only try a single token, so tokens can't be guessed.
+		this.send(ES2C.RESUME_REJECTED);
+		this.stopAfterFlush();
+
+	    }
+	    break;
+
 	default:
 	    throw new UnsupportedProtocolException(
 		    "The protocol named " + EC2S.class.getName() + "." + protocol.toString() + " isn't supported.");
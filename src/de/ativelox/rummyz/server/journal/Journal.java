@@ -0,0 +1,650 @@
+package de.ativelox.rummyz.server.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+import de.ativelox.rummyz.model.util.ImmutablePair;
+import de.ativelox.rummyz.network.codec.ECodec;
+import de.ativelox.rummyz.network.codec.IWireCodec;
+import de.ativelox.rummyz.network.protocol.EC2S;
+import de.ativelox.rummyz.network.protocol.ES2C;
+import de.ativelox.rummyz.network.protocol.IProtocol;
+import de.ativelox.rummyz.server.controller.IGameJournal;
+
+/**
+ * Provides an append-only journal of the moves accepted and the events sent by
+ * all the games of a server, so they survive a crash of the server and can be
+ * audited afterwards, see {@link Journal#read(Path, Consumer)}. The journal is
+ * split into segment files of a fixed size, each being mapped into memory, and
+ * a new segment gets started once the current one is full. Every record
+ * consists of fixed-size slots of {@link Journal#RECORD_SIZE} bytes, the first
+ * one starting with a header, followed by the move or event encoded by
+ * {@link ECodec#BINARY}, which spills over into the following slots if needed.
+ * <p>
+ * Appending only copies the record into the mapped segment, so it takes well
+ * below a microsecond. The records are forced to the disk by a Thread of their
+ * own, committing all the records appended since the last commit together
+ * every {@link Journal#DEFAULT_COMMIT_MILLIS} milliseconds, so a crash of the
+ * operating system loses at most the records of that interval, while a crash of
+ * the server alone loses none. Callers needing a record on the disk can wait
+ * for it by {@link Journal#awaitCommit(long)}. This implementation is thread
+ * safe.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+public final class Journal implements Closeable {
+
+    /**
+     * The size of every slot of a record in bytes.
+     */
+    public static final int RECORD_SIZE = 64;
+
+    /**
+     * The default amount of slots of a segment, making up 8 MiB.
+     */
+    public static final int DEFAULT_SEGMENT_RECORDS = 1 << 17;
+
+    /**
+     * The default interval between two commits, in milliseconds.
+     */
+    public static final long DEFAULT_COMMIT_MILLIS = 2;
+
+    /**
+     * The offset of the sequence number of a record in its header, being
+     * <tt>0</tt> as long as the record is not completely written.
+     */
+    private static final int SEQUENCE = 0;
+
+    /**
+     * The offset of the time a record got appended at in its header.
+     */
+    private static final int TIME = 8;
+
+    /**
+     * The offset of the id of the table of a record in its header.
+     */
+    private static final int TABLE = 16;
+
+    /**
+     * The offset of the id of the player making the move, or the players the
+     * event got sent to, in the header of a record.
+     */
+    private static final int PLAYERS = 20;
+
+    /**
+     * The offset of the kind of a record in its header, either
+     * {@link Journal#COMMAND} or {@link Journal#EVENT}.
+     */
+    private static final int KIND = 24;
+
+    /**
+     * The offset of the length of the encoded move or event in the header of a
+     * record.
+     */
+    private static final int LENGTH = 26;
+
+    /**
+     * The size of the header of a record in bytes, the encoded move or event
+     * following right after it.
+     */
+    private static final int HEADER_SIZE = 28;
+
+    /**
+     * The kind of the records of moves.
+     */
+    private static final byte COMMAND = 0;
+
+    /**
+     * The kind of the records of events.
+     */
+    private static final byte EVENT = 1;
+
+    /**
+     * The suffix of the names of the segment files, which are named by the
+     * sequence number of their first record.
+     */
+    private static final String SUFFIX = ".journal";
+
+    /**
+     * The codec encoding the moves and events.
+     */
+    private static final IWireCodec CODEC = ECodec.BINARY.getCodec();
+
+    /**
+     * The directory holding the segment files.
+     */
+    private final Path mDirectory;
+
+    /**
+     * The amount of slots of every new segment.
+     */
+    private final int mSegmentRecords;
+
+    /**
+     * The interval between two commits, in milliseconds.
+     */
+    private final long mCommitMillis;
+
+    /**
+     * The segment currently appended to.
+     */
+    private MappedByteBuffer mSegment;
+
+    /**
+     * The index of the next free slot of {@link Journal#mSegment}.
+     */
+    private int mSlot;
+
+    /**
+     * The sequence number of the last record appended.
+     */
+    private long mSequence;
+
+    /**
+     * The sequence number of the last record forced to the disk.
+     */
+    private volatile long mCommitted;
+
+    /**
+     * The segments that got full since the last commit, which still need to be
+     * forced to the disk.
+     */
+    private final List<MappedByteBuffer> mSealed;
+
+    /**
+     * Whether records can be appended to this journal.
+     */
+    private boolean mOpen;
+
+    /**
+     * The Thread committing the records.
+     */
+    private final Thread mCommitter;
+
+    /**
+     * Creates a new {@link Journal} in the given directory, with segments of
+     * {@link Journal#DEFAULT_SEGMENT_RECORDS} slots committed every
+     * {@link Journal#DEFAULT_COMMIT_MILLIS} milliseconds.
+     * 
+     * @param directory The directory mentioned, created if it doesn't exist.
+     * @throws IOException If an I/O exception occurs when opening the segments.
+     * @see Journal#Journal(Path, int, long)
+     */
+    public Journal(final Path directory) throws IOException {
+	this(directory, DEFAULT_SEGMENT_RECORDS, DEFAULT_COMMIT_MILLIS);
+
+    }
+
+    /**
+     * Creates a new {@link Journal} in the given directory. If the directory
+     * already holds a journal, the records get appended to it, continuing its
+     * sequence numbers after the last complete record.
+     * 
+     * @param directory      The directory mentioned, created if it doesn't exist.
+     * @param segmentRecords The amount of slots of every new segment.
+     * @param commitMillis   The interval between two commits, in milliseconds.
+     * @throws IOException If an I/O exception occurs when opening the segments.
+     */
+    public Journal(final Path directory, final int segmentRecords, final long commitMillis) throws IOException {
+	mDirectory = directory;
+	mSegmentRecords = segmentRecords;
+	mCommitMillis = commitMillis;
+	mSealed = new ArrayList<>();
+
+	Files.createDirectories(directory);
+	final List<Path> segments = segments(directory);
+
+	if (segments.isEmpty()) {
+	    mSegment = map(this.segment(1), segmentRecords);
+	    mSlot = 0;
+	    mSequence = 0;
+
+	} else {
+	    // continue the last segment after its last complete record.
+	    final Path last = segments.get(segments.size() - 1);
+
+	    try (final FileChannel channel = FileChannel.open(last, StandardOpenOption.READ,
+		    StandardOpenOption.WRITE)) {
+		mSegment = channel.map(MapMode.READ_WRITE, 0, channel.size());
+
+	    }
+	    long sequence = firstSequence(last);
+	    int slot = 0;
+
+	    while (isComplete(mSegment, slot, sequence)) {
+		slot += slots(mSegment.getShort(slot * RECORD_SIZE + LENGTH) & 0xFFFF);
+		sequence++;
+
+	    }
+	    mSlot = slot;
+	    mSequence = sequence - 1;
+
+	    // a record torn by a crash must not be taken for one appended later on.
+	    for (int i = mSlot * RECORD_SIZE; i + Long.BYTES <= mSegment.capacity(); i += Long.BYTES) {
+		if (mSegment.getLong(i) != 0) {
+		    mSegment.putLong(i, 0);
+
+		}
+	    }
+	}
+	mCommitted = mSequence;
+	mOpen = true;
+
+	mCommitter = new Thread(this::commit, "Journal");
+	mCommitter.setDaemon(true);
+	mCommitter.start();
+
+    }
+
+    /**
+     * Reads all the records of the journal in the given directory, in the order
+     * they got appended, passing each one to the given consumer. Reading stops at
+     * the first record of a segment that is incomplete, e.g. because it got torn
+     * by a crash.
+     * 
+     * @param directory The directory holding the journal.
+     * @param consumer  The consumer mentioned.
+     * @throws IOException If an I/O exception occurs when reading the segments.
+     */
+    public static void read(final Path directory, final Consumer<JournalRecord> consumer) throws IOException {
+	for (final Path path : segments(directory)) {
+	    final MappedByteBuffer segment;
+
+	    try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+		segment = channel.map(MapMode.READ_ONLY, 0, channel.size());
+
+	    }
+	    long sequence = firstSequence(path);
+	    int slot = 0;
+
+	    while (isComplete(segment, slot, sequence)) {
+		final int offset = slot * RECORD_SIZE;
+		final int length = segment.getShort(offset + LENGTH) & 0xFFFF;
+
+		final ByteBuffer frame = segment.duplicate();
+		frame.limit(offset + HEADER_SIZE + length);
+		frame.position(offset + HEADER_SIZE);
+
+		final ImmutablePair<? extends IProtocol, String[]> decoded = segment.get(offset + KIND) == COMMAND
+			? CODEC.decode(EC2S.class, frame.slice())
+			: CODEC.decode(ES2C.class, frame.slice());
+
+		consumer.accept(new JournalRecord(sequence, segment.getLong(offset + TIME),
+			segment.getInt(offset + TABLE), segment.getInt(offset + PLAYERS), decoded.getKey(),
+			decoded.getValue()));
+
+		slot += slots(length);
+		sequence++;
+
+	    }
+	}
+    }
+
+    /**
+     * Gets the sequence number of the first record of the given segment file.
+     * 
+     * @param segment The path to the segment file.
+     * @return The sequence number mentioned.
+     */
+    private static long firstSequence(final Path segment) {
+	final String name = segment.getFileName().toString();
+	return Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+
+    }
+
+    /**
+     * Whether the record starting at the given slot of the given segment is
+     * complete and has the given sequence number.
+     * 
+     * @param segment  The segment.
+     * @param slot     The index of the slot.
+     * @param sequence The sequence number expected.
+     * @return <tt>True</tt> if it is, <tt>false</tt> otherwise.
+     */
+    private static boolean isComplete(final ByteBuffer segment, final int slot, final long sequence) {
+	final int offset = slot * RECORD_SIZE;
+
+	if (offset + RECORD_SIZE > segment.capacity() || segment.getLong(offset + SEQUENCE) != sequence) {
+	    return false;
+
+	}
+	return offset + HEADER_SIZE + (segment.getShort(offset + LENGTH) & 0xFFFF) <= segment.capacity();
+
+    }
+
+    /**
+     * Maps the given segment file into memory, creating it if it doesn't exist.
+     * 
+     * @param segment The path to the segment file.
+     * @param records The amount of slots of the segment.
+     * @return The segment mapped.
+     * @throws IOException If an I/O exception occurs when mapping the file.
+     */
+    private static MappedByteBuffer map(final Path segment, final int records) throws IOException {
+	try (final FileChannel channel = FileChannel.open(segment, StandardOpenOption.CREATE,
+		StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+	    return channel.map(MapMode.READ_WRITE, 0, (long) records * RECORD_SIZE);
+
+	}
+    }
+
+    /**
+     * Gets the segment files of the journal in the given directory, in the order
+     * their records got appended.
+     * 
+     * @param directory The directory.
+     * @return The paths to the segment files mentioned.
+     * @throws IOException If an I/O exception occurs when listing the directory.
+     */
+    private static List<Path> segments(final Path directory) throws IOException {
+	final List<Path> segments = new ArrayList<>();
+
+	try (final DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+	    for (final Path file : files) {
+		segments.add(file);
+
+	    }
+	}
+	// the names are padded with zeros, so they sort like their sequence numbers.
+	Collections.sort(segments);
+
+	return segments;
+
+    }
+
+    /**
+     * Gets the amount of slots a record takes up.
+     * 
+     * @param length The length of the encoded move or event of the record.
+     * @return The amount mentioned.
+     */
+    private static int slots(final int length) {
+	return (HEADER_SIZE + length + RECORD_SIZE - 1) / RECORD_SIZE;
+
+    }
+
+    /**
+     * Appends the given move accepted by the game at the given table.
+     * 
+     * @param tableId  The id of the table.
+     * @param playerId The id of the player making the move.
+     * @param protocol The protocol of the move.
+     * @param args     The additional arguments of the move, might be
+     *                 <tt>null</tt>.
+     * @return The sequence number of the record appended.
+     * @throws IllegalStateException If this journal is closed.
+     * @throws UncheckedIOException  If an I/O exception occurs when starting a
+     *                               new segment.
+     */
+    public long append(final int tableId, final int playerId, final EC2S protocol, final String[] args) {
+	return this.append(tableId, playerId, COMMAND, CODEC.encode(protocol, args));
+
+    }
+
+    /**
+     * Appends the given event sent by the game at the given table.
+     * 
+     * @param tableId    The id of the table.
+     * @param recipients The players the event got sent to, the bit
+     *                   <tt>1 &lt;&lt; playerId</tt> being set for each of them.
+     * @param protocol   The protocol of the event.
+     * @param args       The additional arguments of the event, might be
+     *                   <tt>null</tt>.
+     * @return The sequence number of the record appended.
+     * @throws IllegalStateException If this journal is closed.
+     * @throws UncheckedIOException  If an I/O exception occurs when starting a
+     *                               new segment.
+     */
+    public long append(final int tableId, final int recipients, final ES2C protocol, final String[] args) {
+	return this.append(tableId, recipients, EVENT, CODEC.encode(protocol, args));
+
+    }
+
+    /**
+     * Appends a record holding the given encoded move or event, starting a new
+     * segment if it doesn't fit into the current one.
+     * 
+     * @param tableId The id of the table.
+     * @param players The id of the player making the move, or the players the
+     *                event got sent to.
+     * @param kind    The kind of the record.
+     * @param frame   The encoded move or event.
+     * @return The sequence number of the record appended.
+     */
+    private synchronized long append(final int tableId, final int players, final byte kind, final ByteBuffer frame) {
+	if (!mOpen) {
+	    throw new IllegalStateException("The journal in " + mDirectory + " is closed.");
+
+	}
+	final int length = frame.remaining();
+	final int slots = slots(length);
+
+	if (slots > mSegmentRecords) {
+	    throw new IllegalArgumentException("A record of " + length + " bytes doesn't fit into a segment.");
+
+	}
+
+	if ((mSlot + slots) * RECORD_SIZE > mSegment.capacity()) {
+	    try {
+		mSealed.add(mSegment);
+		mSegment = map(this.segment(mSequence + 1), mSegmentRecords);
+		mSlot = 0;
+
+	    } catch (IOException e) {
+		throw new UncheckedIOException("Could not start a new segment in " + mDirectory + ".", e);
+
+	    }
+	}
+	final int offset = mSlot * RECORD_SIZE;
+	final long sequence = mSequence + 1;
+
+	mSegment.putLong(offset + TIME, System.currentTimeMillis());
+	mSegment.putInt(offset + TABLE, tableId);
+	mSegment.putInt(offset + PLAYERS, players);
+	mSegment.put(offset + KIND, kind);
+	mSegment.putShort(offset + LENGTH, (short) length);
+
+	mSegment.position(offset + HEADER_SIZE);
+	mSegment.put(frame);
+
+	// written last, so a record only counts once it is complete.
+	mSegment.putLong(offset + SEQUENCE, sequence);
+
+	mSlot += slots;
+	mSequence = sequence;
+
+	return sequence;
+
+    }
+
+    /**
+     * Waits until the record with the given sequence number is forced to the
+     * disk.
+     * 
+     * @param sequence The sequence number of the record.
+     * @throws InterruptedException     If the current Thread got interrupted while
+     *                                  waiting.
+     * @throws IllegalArgumentException If no record with the given sequence
+     *                                  number got appended yet.
+     */
+    public synchronized void awaitCommit(final long sequence) throws InterruptedException {
+	if (sequence > mSequence) {
+	    throw new IllegalArgumentException("The record " + sequence + " didn't get appended yet.");
+
+	}
+
+	while (mCommitted < sequence) {
+	    this.wait();
+
+	}
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see java.io.Closeable#close()
+     */
+    @Override
+    public void close() {
+	synchronized (this) {
+	    if (!mOpen) {
+		return;
+
+	    }
+	    mOpen = false;
+	    this.notifyAll();
+
+	}
+
+	try {
+	    // the committer forces the last records before it ends.
+	    mCommitter.join();
+
+	} catch (InterruptedException e) {
+	    Thread.currentThread().interrupt();
+
+	}
+    }
+
+    /**
+     * Forces the records appended to the disk every
+     * {@link Journal#mCommitMillis} milliseconds, until this journal is closed
+     * and all its records are committed.
+     */
+    private void commit() {
+	while (true) {
+	    final long target;
+	    final MappedByteBuffer segment;
+	    final List<MappedByteBuffer> sealed;
+
+	    synchronized (this) {
+		if (mOpen) {
+		    try {
+			this.wait(mCommitMillis);
+
+		    } catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return;
+
+		    }
+		}
+
+		if (mSequence == mCommitted && mSealed.isEmpty()) {
+		    if (!mOpen) {
+			return;
+
+		    }
+		    continue;
+
+		}
+		target = mSequence;
+		segment = mSegment;
+		sealed = new ArrayList<>(mSealed);
+		mSealed.clear();
+
+	    }
+
+	    // forced outside the lock, so appending goes on meanwhile.
+	    try {
+		for (final MappedByteBuffer full : sealed) {
+		    full.force();
+
+		}
+		segment.force();
+
+	    } catch (RuntimeException e) {
+		e.printStackTrace();
+
+	    }
+
+	    synchronized (this) {
+		mCommitted = target;
+		this.notifyAll();
+
+	    }
+	}
+    }
+
+    /**
+     * Gets an {@link IGameJournal} appending the moves and events of the game at
+     * the table with the given id to this journal.
+     * 
+     * @param tableId The id of the table.
+     * @return The journal mentioned.
+     */
+    public IGameJournal forTable(final int tableId) {
+	return new IGameJournal() {
+
+	    /*
+	     * (non-Javadoc)
+	     * 
+	     * @see
+	     * de.ativelox.rummyz.server.controller.IGameJournal#onCommand(int,
+	     * de.ativelox.rummyz.network.protocol.EC2S, java.lang.String[])
+	     */
+	    @Override
+	    public void onCommand(final int playerId, final EC2S protocol, final String[] args) {
+		Journal.this.append(tableId, playerId, protocol, args);
+
+	    }
+
+	    /*
+	     * (non-Javadoc)
+	     * 
+	     * @see de.ativelox.rummyz.server.controller.IGameJournal#onEvent(int,
+	     * de.ativelox.rummyz.network.protocol.ES2C, java.lang.String[])
+	     */
+	    @Override
+	    public void onEvent(final int recipients, final ES2C protocol, final String[] args) {
+		Journal.this.append(tableId, recipients, protocol, args);
+
+	    }
+	};
+    }
+
+    /**
+     * Gets the sequence number of the last record forced to the disk.
+     * 
+     * @return The sequence number mentioned, <tt>0</tt> if there is none.
+     */
+    public long getCommitted() {
+	return mCommitted;
+
+    }
+
+    /**
+     * Gets the sequence number of the last record appended.
+     * 
+     * @return The sequence number mentioned, <tt>0</tt> if there is none.
+     */
+    public synchronized long getSequence() {
+	return mSequence;
+
+    }
+
+    /**
+     * Gets the path to the segment file whose first record has the given
+     * sequence number.
+     * 
+     * @param first The sequence number mentioned.
+     * @return The path mentioned.
+     */
+    private Path segment(final long first) {
+	return mDirectory.resolve(String.format("%020d%s", first, SUFFIX));
+
+    }
+}
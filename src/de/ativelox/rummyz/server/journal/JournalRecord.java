@@ -0,0 +1,164 @@
+package de.ativelox.rummyz.server.journal;
+
+import de.ativelox.rummyz.network.protocol.EC2S;
+import de.ativelox.rummyz.network.protocol.ES2C;
+import de.ativelox.rummyz.network.protocol.IProtocol;
+
+/**
+ * Provides a single record read from a {@link Journal}, being either a move of
+ * a player accepted by a game, or an event a game sent to its players.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+public final class JournalRecord {
+
+    /**
+     * The sequence number of this record, unique across the journal.
+     */
+    private final long mSequence;
+
+    /**
+     * The time this record got appended at, in milliseconds since the epoch.
+     */
+    private final long mTime;
+
+    /**
+     * The id of the table of the game this record belongs to.
+     */
+    private final int mTableId;
+
+    /**
+     * The id of the player making the move, or the players the event got sent
+     * to.
+     */
+    private final int mPlayers;
+
+    /**
+     * The protocol of this record, either an {@link EC2S} or an {@link ES2C}.
+     */
+    private final IProtocol mProtocol;
+
+    /**
+     * The additional arguments of this record.
+     */
+    private final String[] mArgs;
+
+    /**
+     * Creates a new {@link JournalRecord}.
+     * 
+     * @param sequence The sequence number of the record, unique across the
+     *                 journal.
+     * @param time     The time the record got appended at, in milliseconds since
+     *                 the epoch.
+     * @param tableId  The id of the table of the game the record belongs to.
+     * @param players  The id of the player making the move, or the players the
+     *                 event got sent to.
+     * @param protocol The protocol of the record, either an {@link EC2S} or an
+     *                 {@link ES2C}.
+     * @param args     The additional arguments of the record.
+     */
+    public JournalRecord(final long sequence, final long time, final int tableId, final int players,
+	    final IProtocol protocol, final String[] args) {
+	mSequence = sequence;
+	mTime = time;
+	mTableId = tableId;
+	mPlayers = players;
+	mProtocol = protocol;
+	mArgs = args;
+
+    }
+
+    /**
+     * Gets the additional arguments of this record.
+     * 
+     * @return The arguments mentioned, empty if there are none.
+     */
+    public String[] getArgs() {
+	return mArgs;
+
+    }
+
+    /**
+     * Gets the id of the player that made the move of this record.
+     * 
+     * @return The id mentioned.
+     * @throws IllegalStateException If this record is an event.
+     */
+    public int getPlayerId() {
+	if (!this.isCommand()) {
+	    throw new IllegalStateException("The record " + mSequence + " is an event, not a move.");
+
+	}
+	return mPlayers;
+
+    }
+
+    /**
+     * Gets the protocol of this record.
+     * 
+     * @return The protocol mentioned, an {@link EC2S} for a move and an
+     *         {@link ES2C} for an event.
+     */
+    public IProtocol getProtocol() {
+	return mProtocol;
+
+    }
+
+    /**
+     * Gets the players the event of this record got sent to.
+     * 
+     * @return The players mentioned, the bit <tt>1 &lt;&lt; playerId</tt> being
+     *         set for each of them.
+     * @throws IllegalStateException If this record is a move.
+     */
+    public int getRecipients() {
+	if (this.isCommand()) {
+	    throw new IllegalStateException("The record " + mSequence + " is a move, not an event.");
+
+	}
+	return mPlayers;
+
+    }
+
+    /**
+     * Gets the sequence number of this record, which is one more than the one of
+     * the record appended before it.
+     * 
+     * @return The sequence number mentioned.
+     */
+    public long getSequence() {
+	return mSequence;
+
+    }
+
+    /**
+     * Gets the id of the table of the game this record belongs to.
+     * 
+     * @return The id mentioned.
+     */
+    public int getTableId() {
+	return mTableId;
+
+    }
+
+    /**
+     * Gets the time this record got appended at.
+     * 
+     * @return The time mentioned, in milliseconds since the epoch.
+     */
+    public long getTime() {
+	return mTime;
+
+    }
+
+    /**
+     * Whether this record is a move of a player or an event sent to the players.
+     * 
+     * @return <tt>True</tt> if this record is a move, <tt>false</tt> otherwise.
+     */
+    public boolean isCommand() {
+	return mProtocol instanceof EC2S;
+
+    }
+}
@@ -0,0 +1,229 @@
+package de.ativelox.rummyz.server.journal;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.ativelox.rummyz.model.Deck;
+import de.ativelox.rummyz.model.ICard;
+import de.ativelox.rummyz.model.INetworkController;
+import de.ativelox.rummyz.model.util.NetworkUtils;
+import de.ativelox.rummyz.network.protocol.EC2S;
+import de.ativelox.rummyz.network.protocol.ES2C;
+import de.ativelox.rummyz.server.controller.GameController;
+
+/**
+ * Provides JUnit test cases for {@link Journal}.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+public final class JournalTest {
+
+    /**
+     * The directory the journals checked get written to.
+     */
+    private Path mDirectory;
+
+    /**
+     * Reads all the records of the journal in {@link JournalTest#mDirectory}.
+     * 
+     * @return The records mentioned, in the order they got appended.
+     * @throws IOException If an I/O exception occurs when reading the journal.
+     */
+    private List<JournalRecord> read() throws IOException {
+	final List<JournalRecord> records = new ArrayList<>();
+	Journal.read(mDirectory, records::add);
+
+	return records;
+
+    }
+
+    /**
+     * Creates the directory the journals get written to.
+     * 
+     * @throws IOException If an I/O exception occurs when creating the directory.
+     */
+    @Before
+    public void setUp() throws IOException {
+	mDirectory = Files.createTempDirectory("journal");
+
+    }
+
+    /**
+     * Deletes the directory the journals got written to.
+     * 
+     * @throws IOException If an I/O exception occurs when deleting the directory.
+     */
+    @After
+    public void tearDown() throws IOException {
+	try (final Stream<Path> paths = Files.walk(mDirectory)) {
+	    for (final Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+		Files.delete(path);
+
+	    }
+	}
+    }
+
+    /**
+     * Tests that moves and events get read back as they got appended, with
+     * consecutive sequence numbers, once they got committed.
+     * 
+     * @throws IOException          If an I/O exception occurs.
+     * @throws InterruptedException If the test got interrupted.
+     */
+    @Test
+    public void testAppend() throws IOException, InterruptedException {
+	final Deck deck = new Deck(new Random(3));
+	deck.generate();
+	final String[] card = NetworkUtils.encodeCard(deck.draw());
+
+	try (final Journal journal = new Journal(mDirectory)) {
+	    Assert.assertEquals(1, journal.append(3, 1, EC2S.SNAPSHOT_REQUEST, new String[] { "1" }));
+	    Assert.assertEquals(2, journal.append(3, (1 << 1) | (1 << 2), ES2C.GRAVEYARD_UPDATE, card));
+	    Assert.assertEquals(3, journal.append(4, 2, EC2S.TURN_END, null));
+
+	    journal.awaitCommit(3);
+	    Assert.assertTrue(journal.getCommitted() >= 3);
+
+	}
+	final List<JournalRecord> records = this.read();
+	Assert.assertEquals(3, records.size());
+
+	final JournalRecord request = records.get(0);
+	Assert.assertEquals(1, request.getSequence());
+	Assert.assertTrue(request.isCommand());
+	Assert.assertEquals(3, request.getTableId());
+	Assert.assertEquals(1, request.getPlayerId());
+	Assert.assertEquals(EC2S.SNAPSHOT_REQUEST, request.getProtocol());
+	Assert.assertArrayEquals(new String[] { "1" }, request.getArgs());
+
+	final JournalRecord update = records.get(1);
+	Assert.assertEquals(2, update.getSequence());
+	Assert.assertFalse(update.isCommand());
+	Assert.assertEquals((1 << 1) | (1 << 2), update.getRecipients());
+	Assert.assertEquals(ES2C.GRAVEYARD_UPDATE, update.getProtocol());
+	Assert.assertArrayEquals(card, update.getArgs());
+
+	Assert.assertEquals(3, records.get(2).getSequence());
+	Assert.assertEquals(4, records.get(2).getTableId());
+	Assert.assertEquals(EC2S.TURN_END, records.get(2).getProtocol());
+
+    }
+
+    /**
+     * Tests that records spanning several slots roll over into new segments, and
+     * that a reopened journal continues after its last record.
+     * 
+     * @throws IOException If an I/O exception occurs.
+     */
+    @Test
+    public void testRollover() throws IOException {
+	final Deck deck = new Deck(new Random(3));
+	deck.generate();
+	final List<ICard> hand = new ArrayList<>();
+
+	for (int i = 0; i < 40; i++) {
+	    hand.add(deck.draw());
+
+	}
+	final String[] args = NetworkUtils.encodeCards(hand);
+
+	try (final Journal journal = new Journal(mDirectory, 8, 1)) {
+	    for (int i = 0; i < 10; i++) {
+		journal.append(1, 1 << 1, ES2C.SEND_CARDS, args);
+
+	    }
+	}
+
+	try (final Stream<Path> segments = Files.list(mDirectory)) {
+	    Assert.assertTrue(segments.count() > 1);
+
+	}
+
+	try (final Journal journal = new Journal(mDirectory, 8, 1)) {
+	    Assert.assertEquals(10, journal.getSequence());
+	    Assert.assertEquals(11, journal.append(2, 1, EC2S.VICTORY, null));
+
+	}
+	final List<JournalRecord> records = this.read();
+	Assert.assertEquals(11, records.size());
+
+	for (int i = 0; i < 10; i++) {
+	    Assert.assertEquals(i + 1, records.get(i).getSequence());
+	    Assert.assertArrayEquals(args, records.get(i).getArgs());
+
+	}
+	Assert.assertEquals(EC2S.VICTORY, records.get(10).getProtocol());
+
+    }
+
+    /**
+     * Tests that a game journals the moves it accepted before the events they
+     * result in, while rejected moves only show up as the rejection sent.
+     * 
+     * @throws IOException If an I/O exception occurs.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testGame() throws IOException {
+	final List<ICard> hand = new ArrayList<>();
+
+	try (final Journal journal = new Journal(mDirectory)) {
+	    final GameController game = new GameController(2, g -> {
+	    }, new Random(5), journal.forTable(7));
+
+	    for (int i = 1; i <= 2; i++) {
+		final int playerId = i;
+
+		game.register(i, (INetworkController<ES2C, EC2S>) Proxy.newProxyInstance(
+			JournalTest.class.getClassLoader(), new Class<?>[] { INetworkController.class },
+			(proxy, method, methodArgs) -> {
+			    if (playerId == 1 && method.getName().equals("send") && methodArgs[0] == ES2C.SEND_CARDS) {
+				hand.addAll(NetworkUtils.decodeCards((String[]) methodArgs[1]));
+
+			    }
+			    return null;
+			}));
+
+	    }
+	    game.onReady(1);
+	    game.onReady(2);
+
+	    game.onCardDiscard(2, hand.get(0));
+	    game.onCardDiscard(1, hand.get(0));
+
+	}
+	final List<JournalRecord> records = this.read();
+	Assert.assertEquals(EC2S.READY, records.get(0).getProtocol());
+	Assert.assertEquals(1, records.get(0).getPlayerId());
+
+	for (final JournalRecord record : records) {
+	    Assert.assertEquals(7, record.getTableId());
+	    Assert.assertFalse(record.isCommand() && record.getPlayerId() == 2
+		    && record.getProtocol() == EC2S.CARD_DISCARD);
+
+	}
+	final JournalRecord rejection = records.get(records.size() - 3);
+	Assert.assertEquals(ES2C.MOVE_REJECTED, rejection.getProtocol());
+	Assert.assertEquals(1 << 2, rejection.getRecipients());
+
+	final JournalRecord discard = records.get(records.size() - 2);
+	Assert.assertEquals(EC2S.CARD_DISCARD, discard.getProtocol());
+	Assert.assertEquals(1, discard.getPlayerId());
+	Assert.assertEquals(ES2C.GRAVEYARD_UPDATE, records.get(records.size() - 1).getProtocol());
+
+    }
+
+}
@@ -0,0 +1,120 @@
+package de.ativelox.rummyz.simulation;
+
+/**
+ * Provides the outcome of a single game played by a {@link SelfPlayGame}.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+public final class GameResult {
+
+    /**
+     * The winner of a game nobody won, since it got stopped or failed.
+     */
+    public static final int NO_WINNER = 0;
+
+    /**
+     * The id of the player who won the game, or {@link GameResult#NO_WINNER}.
+     */
+    private final int mWinner;
+
+    /**
+     * The amount of turns played.
+     */
+    private final int mTurns;
+
+    /**
+     * The amount of messages delivered.
+     */
+    private final long mMessages;
+
+    /**
+     * The amount of moves the server rejected.
+     */
+    private final int mRejections;
+
+    /**
+     * Whether the game failed with an exception.
+     */
+    private final boolean mFailed;
+
+    /**
+     * Creates a new {@link GameResult}.
+     * 
+     * @param winner     The id of the player who won the game, or
+     *                   {@link GameResult#NO_WINNER}.
+     * @param turns      The amount of turns played.
+     * @param messages   The amount of messages delivered.
+     * @param rejections The amount of moves the server rejected.
+     * @param failed     Whether the game failed with an exception.
+     */
+    public GameResult(final int winner, final int turns, final long messages, final int rejections,
+	    final boolean failed) {
+	mWinner = winner;
+	mTurns = turns;
+	mMessages = messages;
+	mRejections = rejections;
+	mFailed = failed;
+
+    }
+
+    /**
+     * Gets the amount of messages delivered.
+     * 
+     * @return The amount mentioned.
+     */
+    public long getMessages() {
+	return mMessages;
+
+    }
+
+    /**
+     * Gets the amount of moves the server rejected.
+     * 
+     * @return The amount mentioned.
+     */
+    public int getRejections() {
+	return mRejections;
+
+    }
+
+    /**
+     * Gets the amount of turns played.
+     * 
+     * @return The amount mentioned.
+     */
+    public int getTurns() {
+	return mTurns;
+
+    }
+
+    /**
+     * Gets the id of the player who won the game.
+     * 
+     * @return The id mentioned, or {@link GameResult#NO_WINNER} if nobody won.
+     */
+    public int getWinner() {
+	return mWinner;
+
+    }
+
+    /**
+     * Whether the game failed with an exception.
+     * 
+     * @return <tt>True</tt> if it did, <tt>false</tt> otherwise.
+     */
+    public boolean isFailed() {
+	return mFailed;
+
+    }
+
+    /**
+     * Whether the game got stopped before anybody won, without failing.
+     * 
+     * @return <tt>True</tt> if it did, <tt>false</tt> otherwise.
+     */
+    public boolean isStalled() {
+	return !mFailed && mWinner == NO_WINNER;
+
+    }
+}
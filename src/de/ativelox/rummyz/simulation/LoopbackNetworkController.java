@@ -0,0 +1,150 @@
+package de.ativelox.rummyz.simulation;
+
+import java.util.Queue;
+import java.util.function.BiConsumer;
+
+import de.ativelox.rummyz.model.INetworkController;
+import de.ativelox.rummyz.model.property.EIO;
+import de.ativelox.rummyz.network.codec.SharedFrame;
+
+/**
+ * Provides an {@link INetworkController} without any socket, which hands every
+ * message sent to it to its peer in the same process, e.g. to the
+ * <tt>serve</tt> method of the network controller of the other side. Messages
+ * don't get delivered right away but get queued, so the peer handles them only
+ * after the call sending them returned, as if they went over the network. The
+ * queue is shared by every controller of a game and gets drained by a single
+ * Thread, so neither this nor the peer has to be thread safe.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ * 
+ * @param <POut> The protocol sent to the peer.
+ * @param <PIn>  The protocol received from the peer.
+ */
+public final class LoopbackNetworkController<POut, PIn> implements INetworkController<POut, PIn> {
+
+    /**
+     * The queue the deliveries get queued in.
+     */
+    private final Queue<Runnable> mQueue;
+
+    /**
+     * The peer the messages get delivered to.
+     */
+    private final BiConsumer<POut, String[]> mPeer;
+
+    /**
+     * Whether this instance got stopped, dropping every message sent from then
+     * on.
+     */
+    private boolean mStopped;
+
+    /**
+     * Creates a new {@link LoopbackNetworkController}.
+     * 
+     * @param queue The queue the deliveries get queued in.
+     * @param peer  The peer the messages get delivered to.
+     */
+    public LoopbackNetworkController(final Queue<Runnable> queue, final BiConsumer<POut, String[]> peer) {
+	mQueue = queue;
+	mPeer = peer;
+	mStopped = false;
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * de.ativelox.rummyz.model.INetworkController#ignore(de.ativelox.rummyz.model.
+     * property.EIO)
+     */
+    @Override
+    public void ignore(final EIO ioType) {
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see java.lang.Runnable#run()
+     */
+    @Override
+    public void run() {
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see de.ativelox.rummyz.model.INetworkController#send(java.lang.Object)
+     */
+    @Override
+    public void send(final POut protocol) {
+	this.send(protocol, null);
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see de.ativelox.rummyz.model.INetworkController#send(java.lang.Object,
+     * java.lang.String[])
+     */
+    @Override
+    public void send(final POut protocol, final String[] additional) {
+	if (mStopped) {
+	    return;
+
+	}
+	mQueue.add(() -> mPeer.accept(protocol, additional));
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * de.ativelox.rummyz.model.INetworkController#send(de.ativelox.rummyz.network.
+     * codec.SharedFrame)
+     */
+    @Override
+    public void send(final SharedFrame<POut> frame) {
+	this.send(frame.getProtocol(), frame.getAdditional());
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see de.ativelox.rummyz.model.INetworkController#serve(java.lang.Object,
+     * java.lang.String[])
+     */
+    @Override
+    public void serve(final PIn protocol, final String[] additional) {
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see de.ativelox.rummyz.model.INetworkController#stop()
+     */
+    @Override
+    public void stop() {
+	mStopped = true;
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * de.ativelox.rummyz.model.INetworkController#unignore(de.ativelox.rummyz.model
+     * .property.EIO)
+     */
+    @Override
+    public void unignore(final EIO ioType) {
+
+    }
+}
@@ -0,0 +1,144 @@
+package de.ativelox.rummyz.simulation;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+
+import de.ativelox.rummyz.client.controller.BotController;
+import de.ativelox.rummyz.client.controller.ClientNetworkController;
+import de.ativelox.rummyz.client.controller.IBotStrategy;
+import de.ativelox.rummyz.network.protocol.EC2S;
+import de.ativelox.rummyz.network.protocol.ES2C;
+import de.ativelox.rummyz.network.transport.ITransport;
+import de.ativelox.rummyz.server.controller.GameController;
+import de.ativelox.rummyz.server.controller.ServerNetworkController;
+
+/**
+ * Plays a single game of {@link BotController}s against a
+ * {@link GameController}, all in the calling Thread. The messages of both sides
+ * go through {@link LoopbackNetworkController}s into a single queue, which gets
+ * drained until the game has ended, so neither sockets nor sleeps are involved,
+ * and a game given the same seed and strategies plays out the same way every
+ * time.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+public final class SelfPlayGame {
+
+    /**
+     * The strategies of the bots, the one of the player with the id <tt>i</tt>
+     * at index <tt>i - 1</tt>.
+     */
+    private final List<IBotStrategy> mStrategies;
+
+    /**
+     * The maximum amount of turns played, before the game gets stopped.
+     */
+    private final int mMaxTurns;
+
+    /**
+     * Creates a new {@link SelfPlayGame}.
+     * 
+     * @param strategies The strategies of the bots, the one of the player with the
+     *                   id <tt>i</tt> at index <tt>i - 1</tt>.
+     * @param maxTurns   The maximum amount of turns played, before the game gets
+     *                   stopped.
+     */
+    public SelfPlayGame(final List<IBotStrategy> strategies, final int maxTurns) {
+	mStrategies = strategies;
+	mMaxTurns = maxTurns;
+
+    }
+
+    /**
+     * Plays a game, whose deck gets shuffled using the given source of
+     * randomness. A game failing with an exception gets reported as failed
+     * rather than passing the exception on, so a single broken game doesn't end
+     * a whole simulation.
+     * 
+     * @param random The source of randomness used to shuffle the deck.
+     * @return The outcome of the game.
+     */
+    public GameResult play(final Random random) {
+	final Queue<Runnable> queue = new ArrayDeque<>();
+	final GameController game = new GameController(mStrategies.size(), null, random);
+	final List<BotController> bots = new ArrayList<>();
+
+	for (int id = 1; id <= mStrategies.size(); id++) {
+	    final BotController bot = new BotController(mStrategies.get(id - 1));
+	    final ClientNetworkController client = new ClientNetworkController(bot, (ITransport) null);
+	    final ServerNetworkController server = new ServerNetworkController(game, id, (ITransport) null);
+
+	    game.register(id, new LoopbackNetworkController<ES2C, EC2S>(queue, client::serve));
+	    bot.register(new LoopbackNetworkController<EC2S, ES2C>(queue, server::serve));
+	    bots.add(bot);
+
+	}
+	long messages = 0;
+
+	try {
+	    for (int id = 1; id <= bots.size(); id++) {
+		bots.get(id - 1).onServerWelcome(id);
+
+	    }
+
+	    while (!queue.isEmpty() && turns(bots) <= mMaxTurns) {
+		queue.poll().run();
+		messages++;
+
+	    }
+
+	} catch (RuntimeException e) {
+	    e.printStackTrace();
+	    return new GameResult(GameResult.NO_WINNER, turns(bots), messages, rejections(bots), true);
+
+	}
+	int winner = GameResult.NO_WINNER;
+
+	for (int id = 1; id <= bots.size(); id++) {
+	    if (bots.get(id - 1).hasWon()) {
+		winner = id;
+
+	    }
+	}
+	return new GameResult(winner, turns(bots), messages, rejections(bots), false);
+
+    }
+
+    /**
+     * Gets the amount of moves of the given bots the server rejected.
+     * 
+     * @param bots The bots.
+     * @return The amount mentioned.
+     */
+    private static int rejections(final List<BotController> bots) {
+	int rejections = 0;
+
+	for (final BotController bot : bots) {
+	    rejections += bot.getRejections();
+
+	}
+	return rejections;
+
+    }
+
+    /**
+     * Gets the amount of turns the given bots started.
+     * 
+     * @param bots The bots.
+     * @return The amount mentioned.
+     */
+    private static int turns(final List<BotController> bots) {
+	int turns = 0;
+
+	for (final BotController bot : bots) {
+	    turns += bot.getTurns();
+
+	}
+	return turns;
+
+    }
+}
@@ -0,0 +1,193 @@
+package de.ativelox.rummyz.simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import de.ativelox.rummyz.client.controller.IBotStrategy;
+import de.ativelox.rummyz.client.controller.SolverBotStrategy;
+
+/**
+ * Plays many {@link SelfPlayGame}s in parallel on a {@link ForkJoinPool}, and
+ * sums up their outcomes in {@link SimulationStats}. The range of games gets
+ * split in halves until the parts are small enough, so idle Threads steal the
+ * parts of busy ones. Each game gets its own source of randomness, seeded from
+ * the seed of the simulation and the index of the game, so a simulation plays
+ * the same games no matter how many Threads it runs on. Used to measure how a
+ * change of the rules or of a strategy plays out over many games, and to check
+ * the rules of the client and the server agree, see
+ * {@link SimulationStats#getRejections()}.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+public final class SelfPlaySimulator {
+
+    /**
+     * The default maximum amount of turns of a game, before it gets stopped.
+     */
+    public static final int DEFAULT_MAX_TURNS = 1_000;
+
+    /**
+     * The amount of games played by a single task without splitting it further.
+     */
+    private static final int GAMES_PER_TASK = 16;
+
+    /**
+     * Plays the games of a range of indices, splitting it if it is too large.
+     * 
+     * @author Ativelox {@literal <ativelox.dev@web.de>}
+     *
+     */
+    private final class GameRange extends RecursiveTask<SimulationStats> {
+
+	/**
+	 * The serial version UID.
+	 */
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * The index of the first game of this range.
+	 */
+	private final int mFrom;
+
+	/**
+	 * The index after the last game of this range.
+	 */
+	private final int mTo;
+
+	/**
+	 * Creates a new {@link GameRange}.
+	 * 
+	 * @param from The index of the first game of the range.
+	 * @param to   The index after the last game of the range.
+	 */
+	private GameRange(final int from, final int to) {
+	    mFrom = from;
+	    mTo = to;
+
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.util.concurrent.RecursiveTask#compute()
+	 */
+	@Override
+	protected SimulationStats compute() {
+	    if (mTo - mFrom > GAMES_PER_TASK) {
+		final int middle = (mFrom + mTo) >>> 1;
+		final GameRange upper = new GameRange(middle, mTo);
+		upper.fork();
+
+		final SimulationStats stats = new GameRange(mFrom, middle).compute();
+		return stats.merge(upper.join());
+
+	    }
+	    final SimulationStats stats = new SimulationStats(mStrategies.size());
+	    final SelfPlayGame game = new SelfPlayGame(mStrategies, mMaxTurns);
+
+	    for (int i = mFrom; i < mTo; i++) {
+		stats.add(game.play(randomOf(mSeed, i)));
+
+	    }
+	    return stats;
+
+	}
+    }
+
+    /**
+     * Runs a simulation of games of bots using the {@link SolverBotStrategy}, on
+     * a Thread for each processor, and prints its statistics.
+     * 
+     * @param args The command-line arguments, optionally the amount of games, the
+     *             amount of players of each game and the seed, in this order.
+     */
+    public static void main(final String[] args) {
+	final int games = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+	final int players = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+	final long seed = args.length > 2 ? Long.parseLong(args[2]) : 0;
+
+	final List<IBotStrategy> strategies = new ArrayList<>();
+	final IBotStrategy strategy = new SolverBotStrategy();
+
+	for (int i = 0; i < players; i++) {
+	    strategies.add(strategy);
+
+	}
+	final ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+	System.out.println(new SelfPlaySimulator(strategies, seed, DEFAULT_MAX_TURNS).run(games, pool));
+	pool.shutdown();
+
+    }
+
+    /**
+     * Creates the source of randomness of the game with the given index.
+     * 
+     * @param seed  The seed of the simulation.
+     * @param index The index of the game.
+     * @return The source of randomness mentioned.
+     */
+    private static Random randomOf(final long seed, final int index) {
+	// spread the indices, as close seeds start off alike.
+	return new Random(seed + index * 0x9E3779B97F4A7C15L);
+
+    }
+
+    /**
+     * The strategies of the bots, the one of the player with the id <tt>i</tt> at
+     * index <tt>i - 1</tt>.
+     */
+    private final List<IBotStrategy> mStrategies;
+
+    /**
+     * The seed of the simulation.
+     */
+    private final long mSeed;
+
+    /**
+     * The maximum amount of turns of a game, before it gets stopped.
+     */
+    private final int mMaxTurns;
+
+    /**
+     * Creates a new {@link SelfPlaySimulator}. The strategies get shared by the
+     * games played in parallel, so they have to be thread safe.
+     * 
+     * @param strategies The strategies of the bots, the one of the player with the
+     *                   id <tt>i</tt> at index <tt>i - 1</tt>.
+     * @param seed       The seed of the simulation.
+     * @param maxTurns   The maximum amount of turns of a game, before it gets
+     *                   stopped.
+     * @throws IllegalArgumentException If there are less than two strategies.
+     */
+    public SelfPlaySimulator(final List<IBotStrategy> strategies, final long seed, final int maxTurns) {
+	if (strategies.size() < 2) {
+	    throw new IllegalArgumentException("Could not simulate games of " + strategies.size() + " players.");
+
+	}
+	mStrategies = new ArrayList<>(strategies);
+	mSeed = seed;
+	mMaxTurns = maxTurns;
+
+    }
+
+    /**
+     * Plays the given amount of games on the given pool, waiting for all of them
+     * to end.
+     * 
+     * @param games The amount of games to play.
+     * @param pool  The pool the games get played on.
+     * @return The statistics of the games.
+     */
+    public SimulationStats run(final int games, final ForkJoinPool pool) {
+	final long start = System.nanoTime();
+	final SimulationStats stats = pool.invoke(new GameRange(0, games));
+	stats.setNanos(System.nanoTime() - start);
+
+	return stats;
+
+    }
+}
@@ -0,0 +1,87 @@
+package de.ativelox.rummyz.simulation;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.ativelox.rummyz.client.controller.IBotStrategy;
+import de.ativelox.rummyz.client.controller.SolverBotStrategy;
+
+/**
+ * Provides JUnit test cases for {@link SelfPlaySimulator}.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+public final class SelfPlaySimulatorTest {
+
+    /**
+     * The amount of games played by each simulation.
+     */
+    private static final int GAMES = 40;
+
+    /**
+     * Runs a simulation of games of the given amount of bots using the
+     * {@link SolverBotStrategy}.
+     * 
+     * @param players     The amount of players of each game.
+     * @param parallelism The amount of Threads the games get played on.
+     * @return The statistics of the games.
+     */
+    private static SimulationStats simulate(final int players, final int parallelism) {
+	final List<IBotStrategy> strategies = Collections.nCopies(players, new SolverBotStrategy());
+	final ForkJoinPool pool = new ForkJoinPool(parallelism);
+
+	try {
+	    return new SelfPlaySimulator(strategies, 7, SelfPlaySimulator.DEFAULT_MAX_TURNS).run(GAMES, pool);
+
+	} finally {
+	    pool.shutdown();
+
+	}
+    }
+
+    /**
+     * Tests that every game ends with a winner, without any move getting
+     * rejected.
+     */
+    @Test
+    public void testOutcome() {
+	for (int players = 2; players <= 3; players++) {
+	    final SimulationStats stats = simulate(players, 2);
+	    long wins = 0;
+
+	    for (int id = 1; id <= players; id++) {
+		wins += stats.getWins(id);
+
+	    }
+	    Assert.assertEquals(GAMES, stats.getGames());
+	    Assert.assertEquals(stats.toString(), 0, stats.getFailed());
+	    Assert.assertEquals(stats.toString(), 0, stats.getRejections());
+	    Assert.assertEquals(stats.toString(), GAMES - stats.getStalled(), wins);
+	    Assert.assertTrue(stats.toString(), stats.getTurnsPercentile(0.5) > 0);
+
+	}
+    }
+
+    /**
+     * Tests that the same seed plays the same games, no matter the amount of
+     * Threads.
+     */
+    @Test
+    public void testSeeded() {
+	final SimulationStats single = simulate(2, 1);
+	final SimulationStats parallel = simulate(2, 4);
+
+	Assert.assertEquals(single.getWins(1), parallel.getWins(1));
+	Assert.assertEquals(single.getWins(2), parallel.getWins(2));
+	Assert.assertEquals(single.getMessages(), parallel.getMessages());
+	Assert.assertEquals(single.getMeanTurns(), parallel.getMeanTurns(), 0);
+	Assert.assertEquals(single.getTurnsPercentile(0.9), parallel.getTurnsPercentile(0.9));
+
+    }
+
+}
@@ -0,0 +1,283 @@
+package de.ativelox.rummyz.simulation;
+
+/**
+ * Provides the statistics of a simulation, summed up over the
+ * {@link GameResult}s of its games. The statistics of parts of a simulation
+ * can be {@link SimulationStats#merge(SimulationStats) merged}, which doesn't
+ * depend on the order the parts got played in, so a simulation run on any
+ * amount of Threads ends with the same statistics. The lengths of the games are
+ * counted in a histogram of one bucket per amount of turns, up to
+ * {@link SimulationStats#MAX_RECORDED_TURNS}.
+ * 
+ * @author Ativelox {@literal <ativelox.dev@web.de>}
+ *
+ */
+public final class SimulationStats {
+
+    /**
+     * The maximum amount of turns with a bucket of its own, every longer game
+     * gets counted in the bucket of this amount.
+     */
+    public static final int MAX_RECORDED_TURNS = 1_000;
+
+    /**
+     * The amount of games won by each player, indexed by its id.
+     */
+    private final long[] mWins;
+
+    /**
+     * The amount of games won after each amount of turns, indexed by the amount.
+     */
+    private final long[] mTurns;
+
+    /**
+     * The amount of games played.
+     */
+    private long mGames;
+
+    /**
+     * The amount of games stopped before anybody won.
+     */
+    private long mStalled;
+
+    /**
+     * The amount of games failed with an exception.
+     */
+    private long mFailed;
+
+    /**
+     * The amount of moves the server rejected.
+     */
+    private long mRejections;
+
+    /**
+     * The amount of messages delivered.
+     */
+    private long mMessages;
+
+    /**
+     * The sum of the turns of all the games won.
+     */
+    private long mTurnSum;
+
+    /**
+     * The time it took to play all the games, in nanoseconds.
+     */
+    private long mNanos;
+
+    /**
+     * Creates a new {@link SimulationStats} without any games.
+     * 
+     * @param playerAmount The amount of players of each game.
+     */
+    public SimulationStats(final int playerAmount) {
+	mWins = new long[playerAmount + 1];
+	mTurns = new long[MAX_RECORDED_TURNS + 1];
+
+    }
+
+    /**
+     * Adds the given outcome of a game.
+     * 
+     * @param result The outcome mentioned.
+     */
+    public void add(final GameResult result) {
+	mGames++;
+	mRejections += result.getRejections();
+	mMessages += result.getMessages();
+
+	if (result.isFailed()) {
+	    mFailed++;
+
+	} else if (result.isStalled()) {
+	    mStalled++;
+
+	} else {
+	    mWins[result.getWinner()]++;
+	    mTurns[Math.min(result.getTurns(), MAX_RECORDED_TURNS)]++;
+	    mTurnSum += result.getTurns();
+
+	}
+    }
+
+    /**
+     * Gets the amount of games failed with an exception.
+     * 
+     * @return The amount mentioned.
+     */
+    public long getFailed() {
+	return mFailed;
+
+    }
+
+    /**
+     * Gets the amount of games played.
+     * 
+     * @return The amount mentioned.
+     */
+    public long getGames() {
+	return mGames;
+
+    }
+
+    /**
+     * Gets the amount of games played per second.
+     * 
+     * @return The amount mentioned, <tt>0</tt> if no time got measured.
+     */
+    public double getGamesPerSecond() {
+	return mNanos == 0 ? 0 : mGames * 1e9 / mNanos;
+
+    }
+
+    /**
+     * Gets the average amount of turns of the games won.
+     * 
+     * @return The amount mentioned, <tt>0</tt> if no game got won.
+     */
+    public double getMeanTurns() {
+	final long won = mGames - mStalled - mFailed;
+	return won == 0 ? 0 : mTurnSum / (double) won;
+
+    }
+
+    /**
+     * Gets the amount of messages delivered.
+     * 
+     * @return The amount mentioned.
+     */
+    public long getMessages() {
+	return mMessages;
+
+    }
+
+    /**
+     * Gets the amount of moves the server rejected. As the bots check their moves
+     * against the rules themselves, this is <tt>0</tt> as long as the rules of the
+     * client and the server agree.
+     * 
+     * @return The amount mentioned.
+     */
+    public long getRejections() {
+	return mRejections;
+
+    }
+
+    /**
+     * Gets the amount of games stopped before anybody won.
+     * 
+     * @return The amount mentioned.
+     */
+    public long getStalled() {
+	return mStalled;
+
+    }
+
+    /**
+     * Gets the least amount of turns, which at least the given fraction of the
+     * games won took at most.
+     * 
+     * @param fraction The fraction, between <tt>0</tt> and <tt>1</tt>.
+     * @return The amount mentioned, <tt>0</tt> if no game got won.
+     */
+    public int getTurnsPercentile(final double fraction) {
+	final long won = mGames - mStalled - mFailed;
+	final long rank = (long) Math.ceil(fraction * won);
+	long seen = 0;
+
+	for (int turns = 0; turns < mTurns.length; turns++) {
+	    seen += mTurns[turns];
+
+	    if (seen > 0 && seen >= rank) {
+		return turns;
+
+	    }
+	}
+	return 0;
+
+    }
+
+    /**
+     * Gets the amount of games won by the player with the given id.
+     * 
+     * @param playerId The id of the player.
+     * @return The amount mentioned.
+     */
+    public long getWins(final int playerId) {
+	return mWins[playerId];
+
+    }
+
+    /**
+     * Gets the fraction of all the games won by the player with the given id.
+     * 
+     * @param playerId The id of the player.
+     * @return The fraction mentioned, <tt>0</tt> if no game got played.
+     */
+    public double getWinRate(final int playerId) {
+	return mGames == 0 ? 0 : mWins[playerId] / (double) mGames;
+
+    }
+
+    /**
+     * Adds the statistics of the given games, played by the same amount of
+     * players.
+     * 
+     * @param other The statistics to add.
+     * @return This instance.
+     */
+    public SimulationStats merge(final SimulationStats other) {
+	for (int i = 0; i < mWins.length; i++) {
+	    mWins[i] += other.mWins[i];
+
+	}
+
+	for (int i = 0; i < mTurns.length; i++) {
+	    mTurns[i] += other.mTurns[i];
+
+	}
+	mGames += other.mGames;
+	mStalled += other.mStalled;
+	mFailed += other.mFailed;
+	mRejections += other.mRejections;
+	mMessages += other.mMessages;
+	mTurnSum += other.mTurnSum;
+
+	return this;
+
+    }
+
+    /**
+     * Sets the time it took to play all the games.
+     * 
+     * @param nanos The time mentioned, in nanoseconds.
+     */
+    public void setNanos(final long nanos) {
+	mNanos = nanos;
+
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+	final StringBuilder sb = new StringBuilder();
+	sb.append(String.format("games: %d in %.1f s, %.0f games/s, %.0f messages/s%n", mGames, mNanos / 1e9,
+		this.getGamesPerSecond(), mNanos == 0 ? 0 : mMessages * 1e9 / mNanos));
+
+	for (int id = 1; id < mWins.length; id++) {
+	    sb.append(String.format("player %d: %d wins (%.1f %%)%n", id, mWins[id], this.getWinRate(id) * 100));
+
+	}
+	sb.append(String.format("stalled: %d, failed: %d, rejected moves: %d%n", mStalled, mFailed, mRejections));
+	sb.append(String.format("turns: mean %.1f, p50 %d, p90 %d, p99 %d, max %d", this.getMeanTurns(),
+		this.getTurnsPercentile(0.5), this.getTurnsPercentile(0.9), this.getTurnsPercentile(0.99),
+		this.getTurnsPercentile(1)));
+
+	return sb.toString();
+
+    }
+}